@@ -22,4 +22,9 @@ public interface RestClusterClient {
     * @return The cluster distribution information.
     */
    CompletionStage<RestResponse> distribution();
+
+   /**
+    * @return The state transfer progress of the clustered caches on each node.
+    */
+   CompletionStage<RestResponse> stateTransfer();
 }
@@ -40,4 +40,9 @@ public CompletionStage<RestResponse> stop(List<String> servers) {
    public CompletionStage<RestResponse> distribution() {
       return client.get(path + "?action=distribution");
    }
+
+   @Override
+   public CompletionStage<RestResponse> stateTransfer() {
+      return client.get(path + "?action=state-transfer");
+   }
 }
@@ -0,0 +1,131 @@
+package org.infinispan.commons.jdkspecific;
+
+import java.lang.reflect.Field;
+
+import org.infinispan.commons.logging.Log;
+import org.infinispan.commons.util.Util;
+
+import sun.misc.Unsafe;
+
+/**
+ * Provides the {@link org.infinispan.commons.spi.NativeMemory} implementation used to access off-heap memory.
+ * <p>
+ * By default memory is accessed through {@link Unsafe}. On JDK 22 and later an implementation based on the Foreign
+ * Function and Memory API is used instead when the {@code org.infinispan.offheap.segments} system property is
+ * {@code true}, or when {@link Unsafe} is not accessible.
+ *
+ * @since 15.1
+ **/
+public class NativeMemory {
+   private static final org.infinispan.commons.spi.NativeMemory INSTANCE = getInstance();
+
+   public static boolean useMemorySegments() {
+      return Boolean.getBoolean("org.infinispan.offheap.segments");
+   }
+
+   private static org.infinispan.commons.spi.NativeMemory getInstance() {
+      Unsafe unsafe = getUnsafe();
+      if (useMemorySegments() || unsafe == null) {
+         try {
+            org.infinispan.commons.spi.NativeMemory instance = Util.getInstance("org.infinispan.commons.jdk22.NativeMemoryImpl", NativeMemory.class.getClassLoader());
+            Log.CONTAINER.infof("Off-heap memory access through memory segments enabled");
+            return instance;
+         } catch (Throwable t) {
+            Log.CONTAINER.debugf("Could not initialize memory segments support", t);
+         }
+      }
+      if (unsafe == null) {
+         throw new IllegalStateException("Neither Unsafe nor memory segments are available to access off-heap memory");
+      }
+      return new UnsafeNativeMemory(unsafe);
+   }
+
+   private static Unsafe getUnsafe() {
+      try {
+         Field unsafeField = Unsafe.class.getDeclaredField("theUnsafe");
+         unsafeField.setAccessible(true);
+         return (Unsafe) unsafeField.get(null);
+      } catch (Throwable t) {
+         Log.CONTAINER.debugf("Could not access Unsafe", t);
+         return null;
+      }
+   }
+
+   public static org.infinispan.commons.spi.NativeMemory instance() {
+      return INSTANCE;
+   }
+
+   static class UnsafeNativeMemory implements org.infinispan.commons.spi.NativeMemory {
+      private static final long BYTE_ARRAY_BASE_OFFSET = Unsafe.ARRAY_BYTE_BASE_OFFSET;
+      private final Unsafe unsafe;
+
+      UnsafeNativeMemory(Unsafe unsafe) {
+         this.unsafe = unsafe;
+      }
+
+      @Override
+      public long allocate(long size) {
+         return unsafe.allocateMemory(size);
+      }
+
+      @Override
+      public void free(long address) {
+         unsafe.freeMemory(address);
+      }
+
+      @Override
+      public void setMemory(long address, long bytes, byte value) {
+         unsafe.setMemory(address, bytes, value);
+      }
+
+      @Override
+      public byte getByte(long address) {
+         return unsafe.getByte(address);
+      }
+
+      @Override
+      public void putByte(long address, byte value) {
+         unsafe.putByte(address, value);
+      }
+
+      @Override
+      public int getInt(long address) {
+         return unsafe.getInt(address);
+      }
+
+      @Override
+      public void putInt(long address, int value) {
+         unsafe.putInt(address, value);
+      }
+
+      @Override
+      public long getLong(long address) {
+         return unsafe.getLong(address);
+      }
+
+      @Override
+      public void putLong(long address, long value) {
+         unsafe.putLong(address, value);
+      }
+
+      @Override
+      public long getAndSetLong(long address, long value) {
+         return unsafe.getAndSetLong(null, address, value);
+      }
+
+      @Override
+      public void copyToArray(long srcAddress, byte[] destArray, int destOffset, int length) {
+         unsafe.copyMemory(null, srcAddress, destArray, BYTE_ARRAY_BASE_OFFSET + destOffset, length);
+      }
+
+      @Override
+      public void copyFromArray(byte[] srcArray, int srcOffset, long destAddress, int length) {
+         unsafe.copyMemory(srcArray, BYTE_ARRAY_BASE_OFFSET + srcOffset, null, destAddress, length);
+      }
+
+      @Override
+      public void copy(long srcAddress, long destAddress, long length) {
+         unsafe.copyMemory(srcAddress, destAddress, length);
+      }
+   }
+}
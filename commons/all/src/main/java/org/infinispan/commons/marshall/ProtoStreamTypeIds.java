@@ -131,6 +131,11 @@ public interface ProtoStreamTypeIds {
    int MULTIMAP_SORTED_SET_BUCKET = MULTIMAP_LOWER_BOUND + 7;
    int MULTIMAP_SCORED_VALUE = MULTIMAP_LOWER_BOUND + 8;
    int MULTIMAP_INDEX_VALUE = MULTIMAP_LOWER_BOUND + 9;
+   int MULTIMAP_STREAM_ENTRY_ID = MULTIMAP_LOWER_BOUND + 10;
+   int MULTIMAP_STREAM_ENTRY = MULTIMAP_LOWER_BOUND + 11;
+   int MULTIMAP_STREAM_BUCKET = MULTIMAP_LOWER_BOUND + 12;
+   int MULTIMAP_STREAM_CONSUMER_GROUP = MULTIMAP_LOWER_BOUND + 13;
+   int MULTIMAP_STREAM_PENDING_ENTRY = MULTIMAP_LOWER_BOUND + 14;
 
    // Server Core 5400 -> 5799
    int SERVER_CORE_LOWER_BOUND = 5400;
@@ -157,6 +162,8 @@ public interface ProtoStreamTypeIds {
    int CACHE_DISTRIBUTION_INFO = DATA_DISTRIBUTION_LOWER_BOUND;
    int CLUSTER_DISTRIBUTION_INFO = DATA_DISTRIBUTION_LOWER_BOUND + 1;
    int KEY_DISTRIBUTION_INFO = DATA_DISTRIBUTION_LOWER_BOUND + 2;
+   int CLUSTER_STATE_TRANSFER_INFO = DATA_DISTRIBUTION_LOWER_BOUND + 3;
+   int CACHE_STATE_TRANSFER_INFO = DATA_DISTRIBUTION_LOWER_BOUND + 4;
 
    // RESP Objects 6100 -> 6199
    int RESP_LOWER_BOUND = 6100;
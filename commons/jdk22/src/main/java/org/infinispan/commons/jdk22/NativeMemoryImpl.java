@@ -0,0 +1,124 @@
+package org.infinispan.commons.jdk22;
+
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.Linker;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.SymbolLookup;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.VarHandle;
+
+/**
+ * {@link org.infinispan.commons.spi.NativeMemory} implementation based on the Foreign Function and Memory API.
+ * <p>
+ * Memory is obtained from the system allocator through downcalls to {@code malloc} and {@code free}, and accessed
+ * through a single zero based segment covering the whole address space, so that absolute addresses can be used as
+ * segment offsets. Copies between the heap and native memory are bounds checked against the array.
+ * <p>
+ * The off-heap container stores absolute addresses in its own structures (the hash table buckets and the links
+ * between entries) and the {@link org.infinispan.commons.spi.NativeMemory} contract has no bounds checks, so there is
+ * no segment per allocation that could check them: keeping one would mean looking it up on every access. The whole
+ * address space segment is built with {@link MemorySegment#reinterpret(long)}, and memory is allocated through
+ * {@link Linker#downcallHandle}, which are both restricted methods. The JVM should be started with
+ * {@code --enable-native-access=ALL-UNNAMED} (or the module containing Infinispan): JDK 22 only prints a warning
+ * without it, but if a later JDK denies the access this class fails to initialize and
+ * {@code org.infinispan.commons.jdkspecific.NativeMemory} falls back to {@code Unsafe} when it is accessible.
+ *
+ * @since 15.1
+ **/
+public class NativeMemoryImpl implements org.infinispan.commons.spi.NativeMemory {
+   // Restricted: allows any native address to be read and written, see the class documentation
+   private static final MemorySegment ALL = MemorySegment.NULL.reinterpret(Long.MAX_VALUE);
+   private static final VarHandle LONG = ValueLayout.JAVA_LONG.varHandle();
+   private static final MethodHandle MALLOC;
+   private static final MethodHandle FREE;
+
+   static {
+      Linker linker = Linker.nativeLinker();
+      SymbolLookup lookup = linker.defaultLookup();
+      MALLOC = linker.downcallHandle(lookup.find("malloc").orElseThrow(),
+            FunctionDescriptor.of(ValueLayout.ADDRESS, ValueLayout.JAVA_LONG));
+      FREE = linker.downcallHandle(lookup.find("free").orElseThrow(),
+            FunctionDescriptor.ofVoid(ValueLayout.ADDRESS));
+   }
+
+   @Override
+   public long allocate(long size) {
+      MemorySegment segment;
+      try {
+         segment = (MemorySegment) MALLOC.invokeExact(size);
+      } catch (Throwable t) {
+         throw new IllegalStateException(t);
+      }
+      long address = segment.address();
+      if (address == 0) {
+         throw new OutOfMemoryError("Unable to allocate " + size + " bytes of native memory");
+      }
+      return address;
+   }
+
+   @Override
+   public void free(long address) {
+      try {
+         FREE.invokeExact(MemorySegment.ofAddress(address));
+      } catch (Throwable t) {
+         throw new IllegalStateException(t);
+      }
+   }
+
+   @Override
+   public void setMemory(long address, long bytes, byte value) {
+      ALL.asSlice(address, bytes).fill(value);
+   }
+
+   @Override
+   public byte getByte(long address) {
+      return ALL.get(ValueLayout.JAVA_BYTE, address);
+   }
+
+   @Override
+   public void putByte(long address, byte value) {
+      ALL.set(ValueLayout.JAVA_BYTE, address, value);
+   }
+
+   @Override
+   public int getInt(long address) {
+      return ALL.get(ValueLayout.JAVA_INT_UNALIGNED, address);
+   }
+
+   @Override
+   public void putInt(long address, int value) {
+      ALL.set(ValueLayout.JAVA_INT_UNALIGNED, address, value);
+   }
+
+   @Override
+   public long getLong(long address) {
+      return ALL.get(ValueLayout.JAVA_LONG_UNALIGNED, address);
+   }
+
+   @Override
+   public void putLong(long address, long value) {
+      ALL.set(ValueLayout.JAVA_LONG_UNALIGNED, address, value);
+   }
+
+   @Override
+   public long getAndSetLong(long address, long value) {
+      // Atomic access requires the address to be aligned, which holds for the pointers it is used with
+      return (long) LONG.getAndSet(ALL, address, value);
+   }
+
+   @Override
+   public void copyToArray(long srcAddress, byte[] destArray, int destOffset, int length) {
+      MemorySegment.copy(ALL, ValueLayout.JAVA_BYTE, srcAddress, destArray, destOffset, length);
+   }
+
+   @Override
+   public void copyFromArray(byte[] srcArray, int srcOffset, long destAddress, int length) {
+      MemorySegment.copy(srcArray, srcOffset, ALL, ValueLayout.JAVA_BYTE, destAddress, length);
+   }
+
+   @Override
+   public void copy(long srcAddress, long destAddress, long length) {
+      MemorySegment.copy(ALL, srcAddress, ALL, destAddress, length);
+   }
+}
@@ -0,0 +1,89 @@
+package org.infinispan.commons.jdk22;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertThrows;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class NativeMemoryImplTest {
+   private static final int SIZE = 64;
+
+   private final NativeMemoryImpl memory = new NativeMemoryImpl();
+   private long address;
+
+   @Before
+   public void allocate() {
+      address = memory.allocate(SIZE);
+      assertNotEquals(0, address);
+   }
+
+   @After
+   public void free() {
+      memory.free(address);
+   }
+
+   @Test
+   public void testGetAndPut() {
+      memory.putByte(address, (byte) 7);
+      assertEquals(7, memory.getByte(address));
+      memory.putInt(address + 8, 0xCAFEBABE);
+      assertEquals(0xCAFEBABE, memory.getInt(address + 8));
+      memory.putLong(address + 16, Long.MIN_VALUE + 3);
+      assertEquals(Long.MIN_VALUE + 3, memory.getLong(address + 16));
+      // Entries are not aligned, as their fields follow variable length keys and values
+      memory.putInt(address + 33, -2);
+      assertEquals(-2, memory.getInt(address + 33));
+      memory.putLong(address + 41, Long.MAX_VALUE);
+      assertEquals(Long.MAX_VALUE, memory.getLong(address + 41));
+   }
+
+   @Test
+   public void testGetAndSetLong() {
+      memory.putLong(address, 1);
+      assertEquals(1, memory.getAndSetLong(address, 2));
+      assertEquals(2, memory.getLong(address));
+   }
+
+   @Test
+   public void testSetMemoryAndCopy() {
+      memory.setMemory(address, SIZE, (byte) 0);
+      memory.setMemory(address, SIZE / 2, (byte) 1);
+      assertEquals(1, memory.getByte(address + SIZE / 2 - 1));
+      assertEquals(0, memory.getByte(address + SIZE / 2));
+
+      memory.copy(address, address + SIZE / 2, SIZE / 2);
+      byte[] bytes = new byte[SIZE];
+      memory.copyToArray(address, bytes, 0, SIZE);
+      for (byte b : bytes) {
+         assertEquals(1, b);
+      }
+   }
+
+   @Test
+   public void testCopyArrays() {
+      byte[] src = {1, 2, 3, 4, 5, 6, 7, 8};
+      memory.copyFromArray(src, 2, address, 4);
+      assertEquals(3, memory.getByte(address));
+      assertEquals(6, memory.getByte(address + 3));
+
+      byte[] dest = new byte[6];
+      memory.copyToArray(address, dest, 1, 4);
+      assertArrayEquals(new byte[]{0, 3, 4, 5, 6, 0}, dest);
+   }
+
+   @Test
+   public void testBounds() {
+      byte[] bytes = new byte[8];
+      // Copies are checked against the array
+      assertThrows(IndexOutOfBoundsException.class, () -> memory.copyToArray(address, bytes, 4, 8));
+      assertThrows(IndexOutOfBoundsException.class, () -> memory.copyFromArray(bytes, -1, address, 4));
+      assertThrows(IndexOutOfBoundsException.class, () -> memory.copyFromArray(bytes, 0, address, 9));
+      // Native addresses are only checked against the address space
+      assertThrows(IndexOutOfBoundsException.class, () -> memory.getLong(-1));
+      assertThrows(IndexOutOfBoundsException.class, () -> memory.putInt(Long.MAX_VALUE - 2, 0));
+   }
+}
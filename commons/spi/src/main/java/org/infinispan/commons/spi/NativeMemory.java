@@ -0,0 +1,35 @@
+package org.infinispan.commons.spi;
+
+/**
+ * Raw access to memory allocated outside of the Java heap. Memory is referenced by its absolute address and no
+ * bounds checks are performed on the addresses, callers are responsible for only accessing memory they allocated.
+ *
+ * @since 15.1
+ **/
+public interface NativeMemory {
+   long allocate(long size);
+
+   void free(long address);
+
+   void setMemory(long address, long bytes, byte value);
+
+   byte getByte(long address);
+
+   void putByte(long address, byte value);
+
+   int getInt(long address);
+
+   void putInt(long address, int value);
+
+   long getLong(long address);
+
+   void putLong(long address, long value);
+
+   long getAndSetLong(long address, long value);
+
+   void copyToArray(long srcAddress, byte[] destArray, int destOffset, int length);
+
+   void copyFromArray(byte[] srcArray, int srcOffset, long destAddress, int length);
+
+   void copy(long srcAddress, long destAddress, long length);
+}
@@ -22,11 +22,12 @@ public class MemoryConfiguration extends ConfigurationElement<MemoryConfiguratio
    public static final AttributeDefinition<String> MAX_SIZE = AttributeDefinition.builder(Attribute.MAX_SIZE, null, String.class).matcher((a1, a2) -> maxSizeToBytes(a1.get()) == maxSizeToBytes(a2.get())).build();
    public static final AttributeDefinition<Long> MAX_COUNT = AttributeDefinition.builder(Attribute.MAX_COUNT, -1L).build();
    public static final AttributeDefinition<EvictionStrategy> WHEN_FULL = AttributeDefinition.builder(Attribute.WHEN_FULL, EvictionStrategy.NONE).immutable().build();
+   public static final AttributeDefinition<OffHeapAllocatorType> ALLOCATOR = AttributeDefinition.builder(Attribute.ALLOCATOR, OffHeapAllocatorType.UNPOOLED).immutable().build();
 
    private final MemoryStorageConfiguration memoryStorageConfiguration;
 
    static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(MemoryConfiguration.class, STORAGE, MAX_SIZE, MAX_COUNT, WHEN_FULL);
+      return new AttributeSet(MemoryConfiguration.class, STORAGE, MAX_SIZE, MAX_COUNT, WHEN_FULL, ALLOCATOR);
    }
 
    MemoryConfiguration(AttributeSet attributes, MemoryStorageConfiguration memoryStorageConfiguration) {
@@ -149,6 +150,13 @@ public EvictionStrategy whenFull() {
       return attributes.attribute(WHEN_FULL).get();
    }
 
+   /**
+    * @return The {@link OffHeapAllocatorType} used to allocate native memory when the storage is off-heap.
+    */
+   public OffHeapAllocatorType allocator() {
+      return attributes.attribute(ALLOCATOR).get();
+   }
+
    /**
     * Returns whether remove eviction is in use
     */
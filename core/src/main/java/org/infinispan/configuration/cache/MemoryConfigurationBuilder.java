@@ -241,6 +241,22 @@ public EvictionStrategy whenFull() {
       return attributes.attribute(MemoryConfiguration.WHEN_FULL).get();
    }
 
+   /**
+    * Sets the allocator used to obtain native memory for entries when the storage is {@link StorageType#OFF_HEAP}.
+    * This setting is ignored for the other storage types.
+    *
+    * @param allocator the allocator type
+    * @return this
+    */
+   public MemoryConfigurationBuilder allocator(OffHeapAllocatorType allocator) {
+      attributes.attribute(MemoryConfiguration.ALLOCATOR).set(allocator);
+      return this;
+   }
+
+   public OffHeapAllocatorType allocator() {
+      return attributes.attribute(MemoryConfiguration.ALLOCATOR).get();
+   }
+
    /**
     * The configured eviction strategy, please see {@link MemoryConfigurationBuilder#evictionStrategy(EvictionStrategy)}.
     * @return the configured eviction stategy
@@ -0,0 +1,21 @@
+package org.infinispan.configuration.cache;
+
+/**
+ * Enumeration defining the allocators that can be used to obtain native memory for an {@link StorageType#OFF_HEAP}
+ * data container.
+ *
+ * @since 15.1
+ */
+public enum OffHeapAllocatorType {
+
+   /**
+    * Every entry is allocated and freed directly through the system allocator. This is the default.
+    */
+   UNPOOLED,
+
+   /**
+    * Entries are carved out of larger slabs grouped by size class, and freed blocks are reused for later allocations
+    * of the same size class instead of being returned to the system allocator.
+    */
+   POOLED
+}
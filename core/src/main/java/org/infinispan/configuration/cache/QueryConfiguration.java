@@ -13,9 +13,10 @@ public class QueryConfiguration extends ConfigurationElement<QueryConfiguration>
 
    public static final AttributeDefinition<Integer> DEFAULT_MAX_RESULTS = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.DEFAULT_MAX_RESULTS, 100).immutable().build();
    public static final AttributeDefinition<Integer> HIT_COUNT_ACCURACY = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.HIT_COUNT_ACCURACY, 10_000).immutable().build();
+   public static final AttributeDefinition<Integer> RESULT_CACHE_SIZE = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.RESULT_CACHE_SIZE, 0).immutable().build();
 
    static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(QueryConfiguration.class, AbstractTypedPropertiesConfiguration.attributeSet(), DEFAULT_MAX_RESULTS, HIT_COUNT_ACCURACY);
+      return new AttributeSet(QueryConfiguration.class, AbstractTypedPropertiesConfiguration.attributeSet(), DEFAULT_MAX_RESULTS, HIT_COUNT_ACCURACY, RESULT_CACHE_SIZE);
    }
 
    protected QueryConfiguration(AttributeSet attributes) {
@@ -39,4 +40,12 @@ public int defaultMaxResults() {
    public int hitCountAccuracy() {
       return attributes.attribute(HIT_COUNT_ACCURACY).get();
    }
+
+   /**
+    * The maximum number of query results cached for the indexed caches. The cached results are invalidated when an
+    * entry of the queried entity type is written. 0 disables the result cache.
+    */
+   public int resultCacheSize() {
+      return attributes.attribute(RESULT_CACHE_SIZE).get();
+   }
 }
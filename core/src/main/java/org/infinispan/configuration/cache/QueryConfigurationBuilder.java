@@ -2,6 +2,7 @@
 
 import static org.infinispan.configuration.cache.QueryConfiguration.DEFAULT_MAX_RESULTS;
 import static org.infinispan.configuration.cache.QueryConfiguration.HIT_COUNT_ACCURACY;
+import static org.infinispan.configuration.cache.QueryConfiguration.RESULT_CACHE_SIZE;
 
 import org.infinispan.commons.configuration.Builder;
 import org.infinispan.commons.configuration.Combine;
@@ -55,6 +56,23 @@ public int hitCountAccuracy() {
       return attributes.attribute(HIT_COUNT_ACCURACY).get();
    }
 
+   /**
+    * Caches the results of the queries executed on an indexed cache, keyed by the query string and its parameters.
+    * The cached results of an entity type are invalidated when an entry of that type is written.
+    * Only local and replicated caches, and local queries of distributed caches, use the result cache.
+    *
+    * @param resultCacheSize The maximum number of cached results, 0 to disable the result cache
+    * @return <code>this</code>, for method chaining
+    */
+   public QueryConfigurationBuilder resultCacheSize(int resultCacheSize) {
+      attributes.attribute(RESULT_CACHE_SIZE).set(resultCacheSize);
+      return this;
+   }
+
+   public int resultCacheSize() {
+      return attributes.attribute(RESULT_CACHE_SIZE).get();
+   }
+
    @Override
    public QueryConfiguration create() {
       return new QueryConfiguration(attributes.protect());
@@ -0,0 +1,18 @@
+package org.infinispan.configuration.cache;
+
+/**
+ * The order in which a node sends the segments requested by another node during state transfer.
+ *
+ * @since 15.1
+ */
+public enum SegmentTransferOrder {
+   /**
+    * Segments are sent in the order of their ids.
+    */
+   NATURAL,
+   /**
+    * Segments read most often on the sending node are sent first, so that the new owner serves the hottest keys
+    * locally as soon as possible.
+    */
+   HOTTEST_FIRST
+}
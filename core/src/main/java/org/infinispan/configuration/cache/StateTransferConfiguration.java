@@ -4,6 +4,7 @@
 import org.infinispan.commons.configuration.attributes.AttributeDefinition;
 import org.infinispan.commons.configuration.attributes.AttributeSet;
 import org.infinispan.commons.configuration.attributes.ConfigurationElement;
+import org.infinispan.commons.util.ByteQuantity;
 import org.infinispan.commons.util.TimeQuantity;
 import org.infinispan.configuration.parsing.Element;
 
@@ -18,15 +19,24 @@ public class StateTransferConfiguration extends ConfigurationElement<StateTransf
    public static final AttributeDefinition<Boolean> FETCH_IN_MEMORY_STATE = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.ENABLED, true).immutable().build();
    public static final AttributeDefinition<TimeQuantity> TIMEOUT = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.TIMEOUT, TimeQuantity.valueOf("4m")).parser(TimeQuantity.PARSER).immutable().build();
    public static final AttributeDefinition<Integer> CHUNK_SIZE = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.CHUNK_SIZE, 512).immutable().build();
+   public static final AttributeDefinition<String> CHUNK_MAX_SIZE = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.CHUNK_MAX_SIZE, "8MiB", String.class).immutable().build();
+   public static final AttributeDefinition<Boolean> COMPRESS_CHUNKS = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.COMPRESS_CHUNKS, false).immutable().build();
+   public static final AttributeDefinition<Integer> MAX_TRANSFERS_PER_DESTINATION = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.MAX_TRANSFERS_PER_DESTINATION, 0).immutable().build();
+   public static final AttributeDefinition<SegmentTransferOrder> SEGMENT_ORDER = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.SEGMENT_ORDER, SegmentTransferOrder.NATURAL).immutable().build();
 
    static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(StateTransferConfiguration.class, FETCH_IN_MEMORY_STATE, TIMEOUT, CHUNK_SIZE, AWAIT_INITIAL_TRANSFER);
+      return new AttributeSet(StateTransferConfiguration.class, FETCH_IN_MEMORY_STATE, TIMEOUT, CHUNK_SIZE, AWAIT_INITIAL_TRANSFER,
+            CHUNK_MAX_SIZE, COMPRESS_CHUNKS, MAX_TRANSFERS_PER_DESTINATION, SEGMENT_ORDER);
    }
 
    private final Attribute<Boolean> awaitInitialTransfer;
    private final Attribute<Boolean> fetchInMemoryState;
    private final Attribute<TimeQuantity> timeout;
    private final Attribute<Integer> chunkSize;
+   private final Attribute<String> chunkMaxSize;
+   private final Attribute<Boolean> compressChunks;
+   private final Attribute<Integer> maxTransfersPerDestination;
+   private final Attribute<SegmentTransferOrder> segmentOrder;
 
    StateTransferConfiguration(AttributeSet attributes) {
       super(Element.STATE_TRANSFER, attributes);
@@ -34,6 +44,10 @@ static AttributeSet attributeDefinitionSet() {
       fetchInMemoryState = attributes.attribute(FETCH_IN_MEMORY_STATE);
       timeout = attributes.attribute(TIMEOUT);
       chunkSize = attributes.attribute(CHUNK_SIZE);
+      chunkMaxSize = attributes.attribute(CHUNK_MAX_SIZE);
+      compressChunks = attributes.attribute(COMPRESS_CHUNKS);
+      maxTransfersPerDestination = attributes.attribute(MAX_TRANSFERS_PER_DESTINATION);
+      segmentOrder = attributes.attribute(SEGMENT_ORDER);
    }
 
    /**
@@ -76,6 +90,37 @@ public int chunkSize() {
       return chunkSize.get();
    }
 
+   /**
+    * The maximum size, in bytes, of the keys and values in a batch. A batch is sent as soon as it reaches either
+    * {@link #chunkSize()} entries or this size, so caches with small values can use a large chunk size without
+    * creating huge messages for large values.
+    */
+   public long chunkMaxSize() {
+      return ByteQuantity.parse(chunkMaxSize.get());
+   }
+
+   /**
+    * If {@code true}, the entries of each batch are compressed before they are sent to the new owner.
+    */
+   public boolean compressChunks() {
+      return compressChunks.get();
+   }
+
+   /**
+    * The maximum number of transfers this node sends to the same node at the same time. Further requests from that
+    * node wait until one of the transfers completes. Not limited when not positive.
+    */
+   public int maxTransfersPerDestination() {
+      return maxTransfersPerDestination.get();
+   }
+
+   /**
+    * The order in which this node sends the segments requested by another node.
+    */
+   public SegmentTransferOrder segmentOrder() {
+      return segmentOrder.get();
+   }
+
    /**
     * If {@code true}, this will cause the first call to method {@code CacheManager.getCache()} on the joiner node to
     * block and wait until the joining is complete and the cache has finished receiving state from neighboring caches
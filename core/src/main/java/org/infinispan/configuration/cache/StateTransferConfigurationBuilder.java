@@ -1,8 +1,12 @@
 package org.infinispan.configuration.cache;
 
 import static org.infinispan.configuration.cache.StateTransferConfiguration.AWAIT_INITIAL_TRANSFER;
+import static org.infinispan.configuration.cache.StateTransferConfiguration.CHUNK_MAX_SIZE;
 import static org.infinispan.configuration.cache.StateTransferConfiguration.CHUNK_SIZE;
+import static org.infinispan.configuration.cache.StateTransferConfiguration.COMPRESS_CHUNKS;
 import static org.infinispan.configuration.cache.StateTransferConfiguration.FETCH_IN_MEMORY_STATE;
+import static org.infinispan.configuration.cache.StateTransferConfiguration.MAX_TRANSFERS_PER_DESTINATION;
+import static org.infinispan.configuration.cache.StateTransferConfiguration.SEGMENT_ORDER;
 import static org.infinispan.configuration.cache.StateTransferConfiguration.TIMEOUT;
 import static org.infinispan.util.logging.Log.CONFIG;
 
@@ -12,6 +16,7 @@
 import org.infinispan.commons.configuration.Combine;
 import org.infinispan.commons.configuration.attributes.Attribute;
 import org.infinispan.commons.configuration.attributes.AttributeSet;
+import org.infinispan.commons.util.ByteQuantity;
 import org.infinispan.commons.util.TimeQuantity;
 import org.infinispan.configuration.global.GlobalConfiguration;
 
@@ -65,6 +70,51 @@ public StateTransferConfigurationBuilder chunkSize(int i) {
       return this;
    }
 
+   /**
+    * The maximum size of the keys and values in a batch, as a quantity with an optional unit, e.g. {@code 8MiB}.
+    * A batch is sent as soon as it reaches either {@link #chunkSize(int)} entries or this size.
+    */
+   public StateTransferConfigurationBuilder chunkMaxSize(String size) {
+      attributes.attribute(CHUNK_MAX_SIZE).set(size);
+      return this;
+   }
+
+   /**
+    * Same as {@link #chunkMaxSize(String)} but with the size in bytes.
+    */
+   public StateTransferConfigurationBuilder chunkMaxSize(long bytes) {
+      return chunkMaxSize(String.valueOf(bytes));
+   }
+
+   /**
+    * If {@code true}, the entries of each batch are compressed before they are sent to the new owner. This trades
+    * CPU on both nodes for less network traffic, and is worth enabling for large compressible values. Only enable it
+    * once every node of the cluster runs a version that can read compressed chunks.
+    */
+   public StateTransferConfigurationBuilder compressChunks(boolean b) {
+      attributes.attribute(COMPRESS_CHUNKS).set(b);
+      return this;
+   }
+
+   /**
+    * The maximum number of transfers this node sends to the same node at the same time. Further requests from that
+    * node wait until one of the transfers completes. Not limited when not positive.
+    */
+   public StateTransferConfigurationBuilder maxTransfersPerDestination(int maxTransfers) {
+      attributes.attribute(MAX_TRANSFERS_PER_DESTINATION).set(maxTransfers);
+      return this;
+   }
+
+   /**
+    * The order in which this node sends the segments requested by another node. With
+    * {@link SegmentTransferOrder#HOTTEST_FIRST} the data container counts the reads of each segment, and the most
+    * read segments are sent first.
+    */
+   public StateTransferConfigurationBuilder segmentOrder(SegmentTransferOrder order) {
+      attributes.attribute(SEGMENT_ORDER).set(order);
+      return this;
+   }
+
    /**
     * This is the maximum amount of time - in milliseconds - to wait for state from neighboring
     * caches, before throwing an exception and aborting startup.
@@ -100,6 +150,10 @@ public void validate() {
       if (chunkSize <= 0) {
          throw CONFIG.invalidChunkSize(chunkSize);
       }
+      String chunkMaxSize = attributes.attribute(CHUNK_MAX_SIZE).get();
+      if (ByteQuantity.parse(chunkMaxSize) <= 0) {
+         throw CONFIG.invalidChunkMaxSize(chunkMaxSize);
+      }
 
       if (clustering().cacheMode().isInvalidation()) {
          Attribute<Boolean> fetchAttribute = attributes.attribute(FETCH_IN_MEMORY_STATE);
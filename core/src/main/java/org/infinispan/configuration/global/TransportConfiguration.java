@@ -28,6 +28,8 @@ public class TransportConfiguration {
    public static final AttributeDefinition<TimeQuantity> INITIAL_CLUSTER_TIMEOUT = AttributeDefinition.builder(
            "initialClusterTimeout", TimeQuantity.valueOf("1m")).parser(TimeQuantity.PARSER).build();
    public static final AttributeDefinition<String> STACK = AttributeDefinition.builder("stack", null, String.class).build();
+   public static final AttributeDefinition<Long> STATE_TRANSFER_RATE_LIMIT = AttributeDefinition.builder("stateTransferRateLimit", 0L)
+         .immutable().build();
    public static final AttributeDefinition<String> TRANSPORT_EXECUTOR = AttributeDefinition.builder("executor", "transport-pool", String.class).build();
    public static final AttributeDefinition<String> REMOTE_EXECUTOR = AttributeDefinition.builder("remoteCommandExecutor", "remote-command-pool", String.class).build();
    @SuppressWarnings("unchecked")
@@ -41,7 +43,7 @@ public class TransportConfiguration {
    static AttributeSet attributeSet() {
       return new AttributeSet(TransportConfiguration.class, CLUSTER_NAME, MACHINE_ID, RACK_ID, SITE_ID, NODE_NAME,
             DISTRIBUTED_SYNC_TIMEOUT, INITIAL_CLUSTER_SIZE, INITIAL_CLUSTER_TIMEOUT, STACK, TRANSPORT_EXECUTOR, REMOTE_EXECUTOR,
-            RAFT_MEMBERS);
+            RAFT_MEMBERS, STATE_TRANSFER_RATE_LIMIT);
    }
 
    private final Attribute<String> clusterName;
@@ -120,6 +122,14 @@ public long initialClusterTimeout() {
       return initialClusterTimeout.get().longValue();
    }
 
+   /**
+    * The maximum number of bytes per second this node sends to other nodes for the state transfer of all its caches.
+    * Not limited when not positive.
+    */
+   public long stateTransferRateLimit() {
+      return attributes.attribute(STATE_TRANSFER_RATE_LIMIT).get();
+   }
+
    public Transport transport() {
       return jgroupsConfiguration.transport();
    }
@@ -10,6 +10,7 @@
 import static org.infinispan.configuration.global.TransportConfiguration.RAFT_MEMBERS;
 import static org.infinispan.configuration.global.TransportConfiguration.SITE_ID;
 import static org.infinispan.configuration.global.TransportConfiguration.STACK;
+import static org.infinispan.configuration.global.TransportConfiguration.STATE_TRANSFER_RATE_LIMIT;
 import static org.infinispan.configuration.global.TransportConfiguration.TRANSPORT_EXECUTOR;
 import static org.infinispan.util.logging.Log.CONFIG;
 
@@ -151,6 +152,16 @@ public TransportConfigurationBuilder initialClusterTimeout(String initialCluster
       return this;
    }
 
+   /**
+    * Sets the maximum number of bytes per second this node sends to other nodes when they request state, so that
+    * rebalancing does not saturate the network. The limit is shared by the state transfers of all the caches of this
+    * node. Not limited when not positive, which is the default.
+    */
+   public TransportConfigurationBuilder stateTransferRateLimit(long bytesPerSecond) {
+      attributes.attribute(STATE_TRANSFER_RATE_LIMIT).set(bytesPerSecond);
+      return this;
+   }
+
    /**
     * Class that represents a network transport. Must implement
     * org.infinispan.remoting.transport.Transport
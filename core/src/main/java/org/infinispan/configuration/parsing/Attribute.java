@@ -18,6 +18,7 @@ public enum Attribute {
     ADDRESS_COUNT,
     AFTER,
     ALIASES,
+    ALLOCATOR,
     @Deprecated(forRemoval=true, since = "11.0")
     ALLOW_DUPLICATE_DOMAINS("duplicate-domains"),
     @Deprecated(forRemoval=true, since = "11.0")
@@ -38,13 +39,17 @@ public enum Attribute {
     CAPACITY,
     CAPACITY_FACTOR,
     CATEGORIES,
+    CHUNK_MAX_SIZE,
     CHUNK_SIZE,
     CLASS,
     CLUSTER,
     COLLECTOR_ENDPOINT,
     COMMIT_INTERVAL,
+    COMPACTION_RATE_LIMIT,
     COMPACTION_THRESHOLD,
+    COMPACTION_WORKERS,
     COMPLETED_TX_TIMEOUT("complete-timeout"),
+    COMPRESS_CHUNKS,
     CONCURRENCY_LEVEL,
     CONFIGURATION,
     CONNECTION_ATTEMPTS,
@@ -119,9 +124,11 @@ public enum Attribute {
     MAX_FORCED_SIZE,
     MAX_SIZE,
     MAX_THREADS,
+    MAX_TRANSFERS_PER_DESTINATION,
     MBEAN_SERVER_LOOKUP,
     MERGE_POLICY,
     MEDIA_TYPE,
+    MEMORY_MAPPED,
     MIN_NODE_SIZE,
     MODE,
     NODE_NAME,
@@ -154,6 +161,7 @@ public enum Attribute {
     RACK_ID("rack"),
     RAM_BUFFER_SIZE,
     RAFT_MEMBERS,
+    READ_CONCURRENCY,
     READ_ONLY,
     REAPER_WAKE_UP_INTERVAL("reaper-interval"),
     RECOVERY_INFO_CACHE_NAME("recovery-cache"),
@@ -163,10 +171,12 @@ public enum Attribute {
     REMOTE_COMMAND_EXECUTOR,
     REMOTE_SITE,
     REMOTE_TIMEOUT,
+    RESULT_CACHE_SIZE,
     ROLES,
     SCHEMA_COMPATIBILITY,
     SECURITY,
     SEGMENTED,
+    SEGMENT_ORDER,
     SEGMENTS,
     SERVICE_NAME,
     SHARDS,
@@ -178,6 +188,7 @@ public enum Attribute {
     STATISTICS,
     START,
     STARTUP_MODE,
+    STATE_TRANSFER_RATE_LIMIT,
     STORAGE,
     STORE_KEYS_AS_BINARY("keys"),
     STORE_VALUES_AS_BINARY("values"),
@@ -1009,6 +1009,27 @@ protected void parseFileStore(ConfigurationReader reader, ConfigurationBuilderHo
                   throw ParseUtils.unexpectedAttribute(reader, i);
                }
                break;
+            case COMPACTION_WORKERS:
+               if (fileStoreBuilder != null) {
+                  fileStoreBuilder.compactionWorkers(ParseUtils.parseInt(reader, i, value));
+               } else {
+                  throw ParseUtils.unexpectedAttribute(reader, i);
+               }
+               break;
+            case COMPACTION_RATE_LIMIT:
+               if (fileStoreBuilder != null) {
+                  fileStoreBuilder.compactionRateLimit(ParseUtils.parseLong(reader, i, value));
+               } else {
+                  throw ParseUtils.unexpectedAttribute(reader, i);
+               }
+               break;
+            case READ_CONCURRENCY:
+               if (fileStoreBuilder != null) {
+                  fileStoreBuilder.readConcurrency(ParseUtils.parseInt(reader, i, value));
+               } else {
+                  throw ParseUtils.unexpectedAttribute(reader, i);
+               }
+               break;
             case PURGE: {
                actualStoreConfig.purgeOnStartup(ParseUtils.parseBoolean(reader, i, value));
                break;
@@ -1061,6 +1082,9 @@ private void parseData(ConfigurationReader reader, SoftIndexFileStoreConfigurati
             case SYNC_WRITES:
                builder.syncWrites(ParseUtils.parseBoolean(reader, i, value));
                break;
+            case MEMORY_MAPPED:
+               builder.memoryMapped(ParseUtils.parseBoolean(reader, i, value));
+               break;
             default:
                throw ParseUtils.unexpectedAttribute(reader, i);
          }
@@ -1095,6 +1119,9 @@ private void parseIndex(ConfigurationReader reader, SoftIndexFileStoreConfigurat
             case MAX_NODE_SIZE:
                builder.maxNodeSize(ParseUtils.parseInt(reader, i, value));
                break;
+            case CACHE_SIZE:
+               builder.indexCacheSize(ParseUtils.parseLong(reader, i, value));
+               break;
             default:
                throw ParseUtils.unexpectedAttribute(reader, i);
          }
@@ -1369,6 +1396,9 @@ private void parseQuery(ConfigurationReader reader, ConfigurationBuilderHolder h
             case HIT_COUNT_ACCURACY:
                builder.query().hitCountAccuracy(ParseUtils.parseInt(reader, i, value));
                break;
+            case RESULT_CACHE_SIZE:
+               builder.query().resultCacheSize(ParseUtils.parseInt(reader, i, value));
+               break;
             default:
                throw ParseUtils.unexpectedAttribute(reader, i);
          }
@@ -1252,6 +1252,9 @@ private void parseTransport(ConfigurationReader reader, ConfigurationBuilderHold
                case RAFT_MEMBERS:
                   transport.raftMembers(reader.getListAttributeValue(i));
                   break;
+               case STATE_TRANSFER_RATE_LIMIT:
+                  transport.stateTransferRateLimit(ParseUtils.parseLong(reader, i, value));
+                  break;
                default: {
                   throw ParseUtils.unexpectedAttribute(reader, i);
                }
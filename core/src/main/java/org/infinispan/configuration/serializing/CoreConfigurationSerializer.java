@@ -520,6 +520,7 @@ private void writeTransport(ConfigurationWriter writer, GlobalConfiguration glob
          attributes.write(writer, TransportConfiguration.DISTRIBUTED_SYNC_TIMEOUT, Attribute.LOCK_TIMEOUT);
          attributes.write(writer, TransportConfiguration.INITIAL_CLUSTER_SIZE, Attribute.INITIAL_CLUSTER_SIZE);
          attributes.write(writer, TransportConfiguration.INITIAL_CLUSTER_TIMEOUT, Attribute.INITIAL_CLUSTER_TIMEOUT);
+         attributes.write(writer, TransportConfiguration.STATE_TRANSFER_RATE_LIMIT, Attribute.STATE_TRANSFER_RATE_LIMIT);
          if (!transport.raftMembers().isEmpty()) {
             attributes.write(writer, TransportConfiguration.RAFT_MEMBERS, RAFT_MEMBERS);
          }
@@ -677,6 +678,7 @@ private void writeMemory(ConfigurationWriter writer, Configuration configuration
             attributes.write(writer, MemoryConfiguration.MAX_SIZE, Attribute.MAX_SIZE);
          }
          attributes.write(writer, MemoryConfiguration.WHEN_FULL, Attribute.WHEN_FULL);
+         attributes.write(writer, MemoryConfiguration.ALLOCATOR, Attribute.ALLOCATOR);
          writer.writeEndElement();
       }
    }
@@ -688,6 +690,7 @@ private void writeQuery(ConfigurationWriter writer, Configuration configuration)
          writer.writeStartElement(Element.QUERY);
          attributes.write(writer, QueryConfiguration.DEFAULT_MAX_RESULTS, Attribute.DEFAULT_MAX_RESULTS);
          attributes.write(writer, QueryConfiguration.HIT_COUNT_ACCURACY, Attribute.HIT_COUNT_ACCURACY);
+         attributes.write(writer, QueryConfiguration.RESULT_CACHE_SIZE, Attribute.RESULT_CACHE_SIZE);
          writer.writeEndElement();
       }
    }
@@ -851,7 +854,8 @@ private void writeDataElement(ConfigurationWriter writer, SoftIndexFileStoreConf
       configuration.data().attributes().write(writer, Element.DATA.getLocalName(),
             DataConfiguration.DATA_LOCATION,
             DataConfiguration.MAX_FILE_SIZE,
-            DataConfiguration.SYNC_WRITES);
+            DataConfiguration.SYNC_WRITES,
+            DataConfiguration.MEMORY_MAPPED);
    }
 
    private void writeIndexElement(ConfigurationWriter writer, SoftIndexFileStoreConfiguration configuration) {
@@ -860,7 +864,8 @@ private void writeIndexElement(ConfigurationWriter writer, SoftIndexFileStoreCon
             IndexConfiguration.INDEX_QUEUE_LENGTH,
             IndexConfiguration.INDEX_SEGMENTS,
             IndexConfiguration.MIN_NODE_SIZE,
-            IndexConfiguration.MAX_NODE_SIZE);
+            IndexConfiguration.MAX_NODE_SIZE,
+            IndexConfiguration.CACHE_SIZE);
    }
 
    private void writeSingleFileStore(ConfigurationWriter writer, SingleFileStoreConfiguration configuration) {
@@ -50,6 +50,11 @@ public InternalCacheEntry<K, V> peek(int segment, Object k) {
       return delegate().peek(segment, k);
    }
 
+   @Override
+   public long accessCount(int segment) {
+      return delegate().accessCount(segment);
+   }
+
    @Override
    public boolean touch(int segment, Object k, long currentTimeMillis) {
       return delegate().touch(segment, k, currentTimeMillis);
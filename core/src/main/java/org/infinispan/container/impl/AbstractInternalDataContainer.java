@@ -14,6 +14,7 @@
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -27,6 +28,7 @@
 import org.infinispan.commons.util.Util;
 import org.infinispan.commons.util.concurrent.CompletableFutures;
 import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.configuration.cache.SegmentTransferOrder;
 import org.infinispan.container.DataContainer;
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.distribution.ch.KeyPartitioner;
@@ -36,6 +38,7 @@
 import org.infinispan.factories.KnownComponentNames;
 import org.infinispan.factories.annotations.ComponentName;
 import org.infinispan.factories.annotations.Inject;
+import org.infinispan.factories.annotations.Start;
 import org.infinispan.factories.impl.ComponentRef;
 import org.infinispan.factories.scopes.Scope;
 import org.infinispan.factories.scopes.Scopes;
@@ -81,11 +84,33 @@
     */
    private final AtomicLong expirable = new AtomicLong();
 
+   /**
+    * Reads of each segment, used to send the hottest segments first during state transfer. {@code null} when they are
+    * not needed.
+    */
+   private LongAdder[] accessCounters;
+
+   @Start
+   public void startAccessCounters() {
+      if (configuration.clustering().stateTransfer().segmentOrder() == SegmentTransferOrder.HOTTEST_FIRST) {
+         LongAdder[] counters = new LongAdder[configuration.clustering().hash().numSegments()];
+         for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+         }
+         accessCounters = counters;
+      }
+   }
+
    protected abstract PeekableTouchableMap<K, V> getMapForSegment(int segment);
    protected abstract int getSegmentForKey(Object key);
 
    @Override
    public InternalCacheEntry<K, V> get(int segment, Object k) {
+      LongAdder[] counters = accessCounters;
+      // Containers that are not segmented use -1 when the segment is unknown
+      if (counters != null && segment >= 0) {
+         counters[segment].increment();
+      }
       PeekableTouchableMap<K, V> map = getMapForSegment(segment);
       InternalCacheEntry<K, V> e = map != null ? map.get(k) : null;
       if (e != null && e.canExpire()) {
@@ -105,6 +130,12 @@ public InternalCacheEntry<K, V> get(Object k) {
       return get(getSegmentForKey(k), k);
    }
 
+   @Override
+   public long accessCount(int segment) {
+      LongAdder[] counters = accessCounters;
+      return counters != null ? counters[segment].sum() : 0;
+   }
+
    @Override
    public InternalCacheEntry<K, V> peek(int segment, Object k) {
       PeekableTouchableMap<K, V> entries = getMapForSegment(segment);
@@ -127,6 +127,16 @@ void put(int segment, K k, V v, Metadata metadata, PrivateMetadata internalMetad
     */
    InternalCacheEntry<K, V> compute(int segment, K key, ComputeAction<K, V> action);
 
+   /**
+    * Returns how many times entries of the segment were read with {@link #get(int, Object)}. Reads are only counted
+    * when the state transfer segment order is {@link org.infinispan.configuration.cache.SegmentTransferOrder#HOTTEST_FIRST}.
+    * @param segment the segment
+    * @return the number of reads of the segment, or 0 if they are not counted
+    */
+   default long accessCount(int segment) {
+      return 0;
+   }
+
    /**
     * Returns how many entries are present in the data container that map to the given segments without counting entries
     * that are currently expired.
@@ -4,14 +4,11 @@
 
 import org.infinispan.commons.util.Util;
 
-import sun.misc.Unsafe;
-
 /**
  * @author wburns
  * @since 9.0
  */
 public class MemoryAddressHash {
-   private static final Unsafe UNSAFE = UnsafeHolder.UNSAFE;
    private static final OffHeapMemory MEMORY = OffHeapMemory.INSTANCE;
 
    private final long memory;
@@ -24,7 +21,7 @@ public MemoryAddressHash(int pointers, OffHeapMemoryAllocator allocator) {
       this.allocator = allocator;
       memory = allocator.allocate(bytes);
       // Have to clear out bytes to make sure no bad stuff was read in
-      UNSAFE.setMemory(memory, bytes, (byte) 0);
+      MEMORY.setMemory(memory, bytes, (byte) 0);
    }
 
    public void putMemoryAddressOffset(int offset, long address) {
@@ -13,19 +13,24 @@
 import java.util.PrimitiveIterator;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.StampedLock;
 import java.util.function.BiFunction;
 import java.util.function.LongConsumer;
 import java.util.stream.LongStream;
 
+import org.infinispan.commons.marshall.WrappedByteArray;
 import org.infinispan.commons.marshall.WrappedBytes;
 import org.infinispan.commons.util.IntSet;
 import org.infinispan.commons.util.IntSets;
 import org.infinispan.commons.util.IteratorMapper;
 import org.infinispan.commons.util.ProcessorInfo;
 import org.infinispan.commons.util.Util;
+import org.infinispan.container.entries.ImmortalCacheEntry;
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.container.impl.PeekableTouchableMap;
 import org.infinispan.util.logging.Log;
@@ -70,6 +75,12 @@
  * write lock for the lock region, are ({@code put}, {@code remove}, {@code replace}, {@code compute}. A clear
  * will acquire all write locks when invoked. This allows the clear to also resize the map down to the initial size.
  * <p>
+ * Lookups that do not need to notify the {@link EntryListener} first attempt an optimistic read of their lock region,
+ * copying the entry without acquiring the read lock and validating afterwards that no write occurred in the meantime.
+ * Only if the validation fails is the lookup repeated while holding the read lock. The memory of removed or replaced
+ * entries is retired instead of being freed right away, and only freed once no optimistic read that could have seen it
+ * is in progress, see {@link StripedLock#retire()}.
+ * <p>
  * When this map is constructed it is also possible to provide an {@link EntryListener} that is invoked when various
  * operations are performed in the map. Note that the various modification callbacks <b>MUST</b> free the old address,
  * or else a memory leak will occur. Please see the various methods for clarification on these methods.
@@ -109,6 +120,12 @@ public class OffHeapConcurrentMap implements ConcurrentMap<WrappedBytes, Interna
    private final static int LOCK_SHIFT = 31 - Integer.numberOfTrailingZeros(LOCK_COUNT);
    // The number of bits required to shift to the right to get the bucket size from a given pointer address
    private final static int LOCK_REGION_SHIFT = Integer.numberOfTrailingZeros(LOCK_COUNT);
+   // How many retired entries are kept before trying to free them
+   private final static int RECLAIM_THRESHOLD = 64;
+
+   // Marker returned by an optimistic read that must be retried while holding the read lock
+   private static final InternalCacheEntry<WrappedBytes, WrappedBytes> RETRY = new ImmortalCacheEntry(
+         new WrappedByteArray(Util.EMPTY_BYTE_ARRAY), new WrappedByteArray(Util.EMPTY_BYTE_ARRAY));
 
    private final AtomicLong size = new AtomicLong();
    private final StripedLock locks;
@@ -118,6 +135,11 @@ public class OffHeapConcurrentMap implements ConcurrentMap<WrappedBytes, Interna
 
    private final EntryListener listener;
 
+   // Entries no longer in the map that optimistic readers may still be reading
+   private final Queue<RetiredEntry> retiredEntries = new ConcurrentLinkedQueue<>();
+   private final AtomicInteger retiredCount = new AtomicInteger();
+   private final AtomicBoolean reclaiming = new AtomicBoolean();
+
    // Once this threshold size is met, the underlying buckets will be re-sized if possible
    // This variable can be read outside of locks - thus is volatile, however should only be modified while holding
    // all write locks
@@ -275,7 +297,7 @@ private void entryRemoved(long removedAddress) {
       if (listener != null) {
          listener.entryRemoved(removedAddress);
       }
-      allocator.deallocate(removedAddress, offHeapEntryFactory.getSize(removedAddress, false));
+      retire(removedAddress);
    }
 
    @GuardedBy("locks#writeLock")
@@ -283,7 +305,55 @@ private void entryReplaced(long newAddress, long oldAddress) {
       if (listener != null) {
          listener.entryReplaced(newAddress, oldAddress);
       }
-      allocator.deallocate(oldAddress, offHeapEntryFactory.getSize(oldAddress, false));
+      retire(oldAddress);
+   }
+
+   /**
+    * Frees the entry at the given address once no optimistic reader can be reading it. The entry must be unlinked
+    * before the write lock is released.
+    * @param address the address of the entry being removed
+    */
+   @GuardedBy("locks#writeLock")
+   private void retire(long address) {
+      retiredEntries.add(new RetiredEntry(address, offHeapEntryFactory.getSize(address, false), locks.retire()));
+      if (retiredCount.incrementAndGet() >= RECLAIM_THRESHOLD) {
+         reclaimRetiredEntries();
+      }
+   }
+
+   /**
+    * Frees the retired entries that no optimistic read in progress may be reading. Only a single thread frees
+    * entries at a time, others return immediately.
+    */
+   private void reclaimRetiredEntries() {
+      if (!reclaiming.compareAndSet(false, true)) {
+         return;
+      }
+      try {
+         long oldestReadEpoch = locks.oldestReadEpoch();
+         RetiredEntry entry;
+         // Entries are queued close to epoch order, stopping at the first one still readable only delays the others
+         while ((entry = retiredEntries.peek()) != null && entry.epoch < oldestReadEpoch) {
+            retiredEntries.poll();
+            retiredCount.decrementAndGet();
+            allocator.deallocate(entry.address, entry.size);
+         }
+      } finally {
+         reclaiming.set(false);
+      }
+   }
+
+   /**
+    * Waits for the optimistic reads in progress and frees all retired entries.
+    */
+   @GuardedBy("locks#lockAll")
+   private void freeRetiredEntries() {
+      locks.awaitOptimisticReaders();
+      RetiredEntry entry;
+      while ((entry = retiredEntries.poll()) != null) {
+         retiredCount.decrementAndGet();
+         allocator.deallocate(entry.address, entry.size);
+      }
    }
 
    @GuardedBy("locks#readLock")
@@ -466,6 +536,7 @@ private void transferComplete() {
       }
       this.oldMemoryLookup = null;
 
+      locks.awaitOptimisticReaders();
       oldMemoryLookup.deallocate();
    }
 
@@ -548,6 +619,7 @@ public void close() {
       locks.lockAll();
       try {
          actualClear();
+         locks.awaitOptimisticReaders();
          memoryLookup.deallocate();
          memoryLookup = null;
       } finally {
@@ -621,6 +693,27 @@ public boolean containsValue(Object value) {
    private InternalCacheEntry<WrappedBytes, WrappedBytes> peekOrGet(WrappedBytes k, boolean peek) {
       int hashCode = k.hashCode();
       int lockOffset = getLockOffset(hashCode);
+      // The listener must be notified of retrievals while holding the read lock, so only a peek can be optimistic then
+      if (peek || listener == null) {
+         long optimisticStamp = locks.beginOptimisticRead(lockOffset);
+         if (optimisticStamp != 0) {
+            InternalCacheEntry<WrappedBytes, WrappedBytes> ice;
+            try {
+               ice = optimisticPeekOrGet(k, hashCode, lockOffset, optimisticStamp);
+            } catch (RuntimeException | OutOfMemoryError e) {
+               // The entry may have been read while being concurrently modified, for example a torn length may have
+               // requested a huge allocation. This is a failed validation, the read lock below will tell if not.
+               ice = RETRY;
+            } finally {
+               if (!locks.endOptimisticRead(lockOffset, optimisticStamp)) {
+                  ice = RETRY;
+               }
+            }
+            if (ice != RETRY) {
+               return ice;
+            }
+         }
+      }
       StampedLock stampedLock = locks.getLockWithOffset(lockOffset);
       long readStamp = stampedLock.readLock();
       try {
@@ -637,6 +730,43 @@ private InternalCacheEntry<WrappedBytes, WrappedBytes> peekOrGet(WrappedBytes k,
       }
    }
 
+   /**
+    * Same as {@link #lockedPeekOrGet(MemoryAddressHash, WrappedBytes, int, boolean)} except that no lock is held, only
+    * an optimistic read that guarantees memory is not freed, as removed entries are only retired. The stamp is validated before following any address
+    * read from memory, returning {@link #RETRY} if it is found invalid. The caller must still validate the stamp
+    * after this method returns as the entry could have been modified while it was copied.
+    */
+   private InternalCacheEntry<WrappedBytes, WrappedBytes> optimisticPeekOrGet(WrappedBytes k, int hashCode,
+         int lockOffset, long stamp) {
+      StampedLock stampedLock = locks.getLockWithOffset(lockOffset);
+      MemoryAddressHash memoryLookup;
+      int shift;
+      if (pendingBlocks != null && pendingBlocks.contains(lockOffset)) {
+         memoryLookup = this.oldMemoryLookup;
+         shift = oldMemoryShift;
+      } else {
+         memoryLookup = this.memoryLookup;
+         shift = memoryShift;
+      }
+      if (!stampedLock.validate(stamp) || memoryLookup == null) {
+         // A null lookup means the map was closed, let the read lock path throw
+         return RETRY;
+      }
+      long address = memoryLookup.getMemoryAddressOffset(getOffset(hashCode, shift));
+      while (address != 0) {
+         if (!stampedLock.validate(stamp)) {
+            return RETRY;
+         }
+         long nextAddress = offHeapEntryFactory.getNext(address);
+         if (offHeapEntryFactory.equalsKey(address, k, hashCode)) {
+            // Do not allocate the copy from lengths that may already be stale
+            return stampedLock.validate(stamp) ? offHeapEntryFactory.fromMemory(address) : RETRY;
+         }
+         address = nextAddress;
+      }
+      return null;
+   }
+
    @GuardedBy("locks#readLock")
    private InternalCacheEntry<WrappedBytes, WrappedBytes> lockedPeekOrGet(MemoryAddressHash memoryLookup,
          WrappedBytes k, int hashCode, boolean peek) {
@@ -944,6 +1074,7 @@ private void actualClear() {
       };
       int pointerCount = memoryLookup.getPointerCount();
       memoryLookup.removeAll().forEach(removeEntries);
+      locks.awaitOptimisticReaders();
       memoryLookup.deallocate();
       memoryLookup = null;
       if (listener != null) {
@@ -954,6 +1085,7 @@ private void actualClear() {
          oldMemoryLookup.removeAll().forEach(removeEntries);
          transferComplete();
       }
+      freeRetiredEntries();
 
       // Initialize to beginning again
       sizeMemoryBuckets(INITIAL_SIZE);
@@ -1275,4 +1407,16 @@ public int size() {
          }
       };
    }
+
+   private static class RetiredEntry {
+      private final long address;
+      private final long size;
+      private final long epoch;
+
+      RetiredEntry(long address, long size, long epoch) {
+         this.address = address;
+         this.size = size;
+         this.epoch = epoch;
+      }
+   }
 }
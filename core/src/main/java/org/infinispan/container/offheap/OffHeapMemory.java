@@ -1,14 +1,14 @@
 package org.infinispan.container.offheap;
 
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.infinispan.commons.jdkspecific.NativeMemory;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
-import sun.misc.Unsafe;
-
-import java.util.concurrent.ConcurrentHashMap;
-
 /**
- * Simple wrapper around Unsafe to provide for trace messages for method calls.
+ * Simple wrapper around the {@link org.infinispan.commons.spi.NativeMemory} in use, either based on Unsafe or on
+ * memory segments, to provide for trace messages for method calls.
  * @author wburns
  * @since 9.0
  */
@@ -16,16 +16,15 @@ class OffHeapMemory {
    private static final Log log = LogFactory.getLog(OffHeapMemory.class);
    private final ConcurrentHashMap<Long, Long> allocatedBlocks = log.isTraceEnabled() ? new ConcurrentHashMap<>() : null;
 
-   private static final Unsafe UNSAFE = UnsafeHolder.UNSAFE;
+   private static final org.infinispan.commons.spi.NativeMemory NATIVE = NativeMemory.instance();
 
    static final OffHeapMemory INSTANCE = new OffHeapMemory();
-   private static final int BYTE_ARRAY_BASE_OFFSET = Unsafe.ARRAY_BYTE_BASE_OFFSET;
 
    private OffHeapMemory() { }
 
    byte getByte(long srcAddress, long offset) {
       checkAddress(srcAddress, offset + 1);
-      byte value = UNSAFE.getByte(srcAddress + offset);
+      byte value = NATIVE.getByte(srcAddress + offset);
       if (log.isTraceEnabled()) {
          log.tracef("Read byte value 0x%02x from address 0x%016x+%d", value, srcAddress, offset);
       }
@@ -37,12 +36,12 @@ void putByte(long destAddress, long offset, byte value) {
       if (log.isTraceEnabled()) {
          log.tracef("Wrote byte value 0x%02x to address 0x%016x+%d", value, destAddress, offset);
       }
-      UNSAFE.putByte(destAddress + offset, value);
+      NATIVE.putByte(destAddress + offset, value);
    }
 
    int getInt(long srcAddress, long offset) {
       checkAddress(srcAddress, offset + 4);
-      int value = UNSAFE.getInt(srcAddress + offset);
+      int value = NATIVE.getInt(srcAddress + offset);
       if (log.isTraceEnabled()) {
          log.tracef("Read int value 0x%08x from address 0x%016x+%d", value, srcAddress, offset);
       }
@@ -54,7 +53,7 @@ void putInt(long destAddress, long offset, int value) {
       if (log.isTraceEnabled()) {
          log.tracef("Wrote int value 0x%08x to address 0x%016x+%d", value, destAddress, offset);
       }
-      UNSAFE.putInt(destAddress + offset, value);
+      NATIVE.putInt(destAddress + offset, value);
    }
 
    long getLong(long srcAddress, long offset) {
@@ -66,12 +65,12 @@ long getAndSetLong(long destAddress, long offset, long value) {
       if (log.isTraceEnabled()) {
          log.tracef("Get and setting long value 0x%016x to address 0x%016x+%d", value, destAddress, offset);
       }
-      return UNSAFE.getAndSetLong(null, destAddress + offset, value);
+      return NATIVE.getAndSetLong(destAddress + offset, value);
    }
 
    long getAndSetLongNoTraceIfAbsent(long destAddress, long offset, long value) {
       checkAddress(destAddress, offset + 8);
-      long previous = UNSAFE.getAndSetLong(null, destAddress + offset, value);
+      long previous = NATIVE.getAndSetLong(destAddress + offset, value);
       if (previous != 0) {
          if (log.isTraceEnabled()) {
             log.tracef("Get and set long value 0x%016x to address 0x%016x+%d was 0x%016x", value, destAddress, offset, previous);
@@ -86,7 +85,7 @@ long getLongNoTraceIfAbsent(long srcAddress, long offset) {
 
    private long getLong(long srcAddress, long offset, boolean alwaysTrace) {
       checkAddress(srcAddress, offset + 8);
-      long value = UNSAFE.getLong(srcAddress + offset);
+      long value = NATIVE.getLong(srcAddress + offset);
       if (log.isTraceEnabled() && (alwaysTrace || value != 0)) {
          log.tracef("Read long value 0x%016x from address 0x%016x+%d", value, srcAddress, offset);
       }
@@ -98,7 +97,7 @@ void putLong(long destAddress, long offset, long value) {
       if (log.isTraceEnabled()) {
          log.tracef("Wrote long value 0x%016x to address 0x%016x+%d", value, destAddress, offset);
       }
-      UNSAFE.putLong(destAddress + offset, value);
+      NATIVE.putLong(destAddress + offset, value);
    }
 
    void getBytes(long srcAddress, long srcOffset, byte[] destArray, long destOffset, long length) {
@@ -106,7 +105,7 @@ void getBytes(long srcAddress, long srcOffset, byte[] destArray, long destOffset
       if (log.isTraceEnabled()) {
          log.tracef("Read %d bytes from address 0x%016x+%d into array %s+%d", length, srcAddress, srcOffset, destArray, destOffset);
       }
-      UNSAFE.copyMemory(null, srcAddress + srcOffset, destArray, BYTE_ARRAY_BASE_OFFSET + destOffset, length);
+      NATIVE.copyToArray(srcAddress + srcOffset, destArray, (int) destOffset, (int) length);
    }
 
    void putBytes(byte[] srcArray, long srcOffset, long destAddress, long destOffset, long length) {
@@ -114,7 +113,7 @@ void putBytes(byte[] srcArray, long srcOffset, long destAddress, long destOffset
       if (log.isTraceEnabled()) {
          log.tracef("Wrote %d bytes from array %s+%d to address 0x%016x+%d", length, srcArray, srcOffset, destAddress, destOffset);
       }
-      UNSAFE.copyMemory(srcArray, BYTE_ARRAY_BASE_OFFSET + srcOffset, null, destAddress + destOffset, length);
+      NATIVE.copyFromArray(srcArray, (int) srcOffset, destAddress + destOffset, (int) length);
    }
 
    void copy(long srcAddress, long srcOffset, long destAddress, long destOffset, long length) {
@@ -124,7 +123,15 @@ void copy(long srcAddress, long srcOffset, long destAddress, long destOffset, lo
       if (log.isTraceEnabled()) {
          log.tracef("Copying %d bytes from address 0x%016x+%d to address 0x%016x+%d", length, srcAddress, srcOffset, destAddress, destOffset);
       }
-      UNSAFE.copyMemory(srcAddress + srcOffset, destAddress + destOffset, length);
+      NATIVE.copy(srcAddress + srcOffset, destAddress + destOffset, length);
+   }
+
+   void setMemory(long destAddress, long length, byte value) {
+      checkAddress(destAddress, length);
+      if (log.isTraceEnabled()) {
+         log.tracef("Set %d bytes to 0x%02x at address 0x%016x", length, value, destAddress);
+      }
+      NATIVE.setMemory(destAddress, length, value);
    }
 
    /**
@@ -133,7 +140,7 @@ void copy(long srcAddress, long srcOffset, long destAddress, long destOffset, lo
    private byte[] getBytes(long srcAddress, long srcOffset, int length) {
       checkAddress(srcAddress, srcOffset + length);
       byte[] bytes = new byte[length];
-      UNSAFE.copyMemory(null, srcAddress + srcOffset, bytes, BYTE_ARRAY_BASE_OFFSET, length);
+      NATIVE.copyToArray(srcAddress + srcOffset, bytes, 0, length);
       return bytes;
    }
 
@@ -149,7 +156,7 @@ private void checkAddress(long address, long offset) {
    }
 
    long allocate(long size) {
-      long address = UNSAFE.allocateMemory(size);
+      long address = NATIVE.allocate(size);
       if (log.isTraceEnabled()) {
          Long prev = allocatedBlocks.put(address, size);
          if (prev != null) {
@@ -166,6 +173,36 @@ void free(long address) {
             throw new IllegalArgumentException();
          }
       }
-      UNSAFE.freeMemory(address);
+      NATIVE.free(address);
+   }
+
+   /**
+    * Allocates a region of memory that is subdivided by the caller, thus the region itself is not tracked. Each
+    * block handed out from the region must be registered through {@link #trackBlock(long, long)}.
+    */
+   long allocateRegion(long size) {
+      return NATIVE.allocate(size);
+   }
+
+   void freeRegion(long address) {
+      NATIVE.free(address);
+   }
+
+   void trackBlock(long address, long size) {
+      if (log.isTraceEnabled()) {
+         Long prev = allocatedBlocks.put(address, size);
+         if (prev != null) {
+            throw new IllegalArgumentException();
+         }
+      }
+   }
+
+   void untrackBlock(long address) {
+      if (log.isTraceEnabled()) {
+         Long prev = allocatedBlocks.remove(address);
+         if (prev == null) {
+            throw new IllegalArgumentException();
+         }
+      }
    }
 }
@@ -0,0 +1,369 @@
+package org.infinispan.container.offheap;
+
+import java.util.Arrays;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.infinispan.commons.util.ProcessorInfo;
+import org.infinispan.commons.util.Util;
+import org.infinispan.factories.annotations.Stop;
+import org.infinispan.factories.scopes.Scope;
+import org.infinispan.factories.scopes.Scopes;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.MeasurementType;
+import org.infinispan.jmx.annotations.Units;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+import net.jcip.annotations.GuardedBy;
+
+/**
+ * Memory allocator that carves allocations out of larger slabs of native memory, grouped by size class.
+ * <p>
+ * Every allocation up to {@link #MAX_POOLED_SIZE} bytes is rounded up to its size class and served from a slab of
+ * {@link #SLAB_SIZE} bytes. Freed blocks are kept in a free list for their size class and are handed out again on
+ * later allocations of the same class, so the system allocator is only invoked when a new slab is needed. Larger
+ * allocations, such as the bucket arrays of the map, bypass the pool and use the system allocator directly.
+ * <p>
+ * To limit contention there are multiple arenas, each with its own set of size classes, and a thread always uses the
+ * same arena. A freed block is returned to the arena of the thread releasing it, which is safe since blocks of the
+ * same size class are interchangeable. Slabs are only returned to the system when the allocator is stopped.
+ * @since 15.1
+ */
+@MBean(objectName = "OffHeapMemoryAllocator", description = "Allocator of the off-heap memory used by the data container")
+@Scope(Scopes.NAMED_CACHE)
+public class PooledOffHeapMemoryAllocator implements OffHeapMemoryAllocator {
+   private static final Log log = LogFactory.getLog(PooledOffHeapMemoryAllocator.class, Log.class);
+   private static final OffHeapMemory MEMORY = OffHeapMemory.INSTANCE;
+
+   // Size classes are spaced 16 bytes apart up to this size, allowing the class to be computed directly
+   private static final int SMALL_LIMIT = 1024;
+   private static final int SMALL_CLASSES = SMALL_LIMIT >>> 4;
+   static final int MAX_POOLED_SIZE = 64 * 1024;
+   static final int SLAB_SIZE = 1024 * 1024;
+
+   private static final long[] SIZE_CLASSES = sizeClasses();
+   private static final int MAX_ARENAS = 32;
+
+   private final Arena[] arenas;
+   private final int arenaMask;
+
+   // Ordered so that the slab holding a block can be found when the block is released
+   private final NavigableSet<Long> slabs = new ConcurrentSkipListSet<>();
+   private final LongAdder reservedAmount = new LongAdder();
+   private final LongAdder usedAmount = new LongAdder();
+   private final LongAdder requestedAmount = new LongAdder();
+   private final LongAdder pooledAllocations = new LongAdder();
+   private final LongAdder reusedAllocations = new LongAdder();
+   private final LongAdder unpooledAllocations = new LongAdder();
+
+   public PooledOffHeapMemoryAllocator() {
+      this(Math.min(Util.findNextHighestPowerOfTwo(ProcessorInfo.availableProcessors()), MAX_ARENAS));
+   }
+
+   PooledOffHeapMemoryAllocator(int arenaCount) {
+      arenas = new Arena[Util.findNextHighestPowerOfTwo(arenaCount)];
+      for (int i = 0; i < arenas.length; ++i) {
+         arenas[i] = new Arena();
+      }
+      arenaMask = arenas.length - 1;
+   }
+
+   /**
+    * Sizes of every pooled size class: 16 byte steps up to {@link #SMALL_LIMIT} followed by four classes per power of
+    * two up to {@link #MAX_POOLED_SIZE}.
+    */
+   private static long[] sizeClasses() {
+      long[] classes = new long[SMALL_CLASSES + 4 * Integer.numberOfTrailingZeros(MAX_POOLED_SIZE / SMALL_LIMIT)];
+      int i = 0;
+      for (long size = 16; size <= SMALL_LIMIT; size += 16) {
+         classes[i++] = size;
+      }
+      for (long base = SMALL_LIMIT; base < MAX_POOLED_SIZE; base <<= 1) {
+         for (int quarter = 5; quarter <= 8; ++quarter) {
+            classes[i++] = base * quarter / 4;
+         }
+      }
+      return classes;
+   }
+
+   /**
+    * @param size the requested allocation size
+    * @return the index of the smallest size class able to hold the size, or -1 if the size cannot be pooled
+    */
+   static int sizeClassIndex(long size) {
+      if (size <= SMALL_LIMIT) {
+         return size <= 16 ? 0 : (int) ((size - 1) >>> 4);
+      }
+      if (size > MAX_POOLED_SIZE) {
+         return -1;
+      }
+      int index = Arrays.binarySearch(SIZE_CLASSES, SMALL_CLASSES, SIZE_CLASSES.length, size);
+      return index >= 0 ? index : -index - 1;
+   }
+
+   static long sizeClassSize(int index) {
+      return SIZE_CLASSES[index];
+   }
+
+   private Arena currentArena() {
+      long id = Thread.currentThread().getId();
+      return arenas[(int) (id ^ (id >>> 16)) & arenaMask];
+   }
+
+   @Override
+   public long allocate(long memoryLength) {
+      int index = sizeClassIndex(memoryLength);
+      if (index < 0) {
+         long memoryLocation = MEMORY.allocate(memoryLength);
+         long estimatedMemoryLength = UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(memoryLength);
+         reservedAmount.add(estimatedMemoryLength);
+         usedAmount.add(estimatedMemoryLength);
+         requestedAmount.add(memoryLength);
+         unpooledAllocations.increment();
+         if (log.isTraceEnabled()) {
+            log.tracef("Allocated unpooled off-heap memory at 0x%016x with %d bytes", memoryLocation, memoryLength);
+         }
+         return memoryLocation;
+      }
+      SizeClass sizeClass = currentArena().sizeClasses[index];
+      long memoryLocation;
+      synchronized (sizeClass) {
+         memoryLocation = sizeClass.pop();
+         if (memoryLocation == 0) {
+            memoryLocation = sizeClass.carve();
+         } else {
+            reusedAllocations.increment();
+         }
+      }
+      MEMORY.trackBlock(memoryLocation, sizeClass.blockSize);
+      usedAmount.add(sizeClass.blockSize);
+      requestedAmount.add(memoryLength);
+      pooledAllocations.increment();
+      if (log.isTraceEnabled()) {
+         log.tracef("Allocated pooled off-heap memory at 0x%016x with %d bytes for %d requested. Total reserved: %d",
+               memoryLocation, sizeClass.blockSize, memoryLength, reservedAmount.sum());
+      }
+      return memoryLocation;
+   }
+
+   @Override
+   public void deallocate(long memoryAddress, long size) {
+      int index = sizeClassIndex(size);
+      if (index < 0) {
+         requestedAmount.add(-size);
+         long estimatedMemoryLength = UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(size);
+         reservedAmount.add(-estimatedMemoryLength);
+         usedAmount.add(-estimatedMemoryLength);
+         if (log.isTraceEnabled()) {
+            log.tracef("Deallocating unpooled off-heap memory at 0x%016x with %d bytes", memoryAddress, size);
+         }
+         MEMORY.free(memoryAddress);
+         return;
+      }
+      if (!isSlabAddress(memoryAddress)) {
+         // Pushing it to a free list would later hand it out as a block of its whole size class
+         throw new IllegalArgumentException(String.format(
+               "Off-heap memory at 0x%016x with %d bytes was not allocated by this allocator", memoryAddress, size));
+      }
+      SizeClass sizeClass = currentArena().sizeClasses[index];
+      MEMORY.untrackBlock(memoryAddress);
+      requestedAmount.add(-size);
+      usedAmount.add(-sizeClass.blockSize);
+      if (log.isTraceEnabled()) {
+         log.tracef("Returning off-heap memory at 0x%016x with %d bytes to the pool", memoryAddress, sizeClass.blockSize);
+      }
+      synchronized (sizeClass) {
+         sizeClass.push(memoryAddress);
+      }
+   }
+
+   private boolean isSlabAddress(long memoryAddress) {
+      Long slab = slabs.floor(memoryAddress);
+      return slab != null && memoryAddress < slab + SLAB_SIZE;
+   }
+
+   /**
+    * Returns the amount of native memory reserved by this allocator, which includes all slabs regardless of how many
+    * of their blocks are in use.
+    */
+   @Override
+   public long getAllocatedAmount() {
+      return reservedAmount.sum();
+   }
+
+   @ManagedAttribute(
+         description = "Amount of native memory reserved by the allocator, including free pooled blocks",
+         displayName = "Reserved off-heap memory",
+         units = Units.BYTES
+   )
+   public long getReservedAmount() {
+      return reservedAmount.sum();
+   }
+
+   @ManagedAttribute(
+         description = "Amount of native memory held by blocks currently in use",
+         displayName = "Used off-heap memory",
+         units = Units.BYTES
+   )
+   public long getUsedAmount() {
+      return usedAmount.sum();
+   }
+
+   @ManagedAttribute(
+         description = "Amount of native memory requested by the blocks currently in use",
+         displayName = "Requested off-heap memory",
+         units = Units.BYTES
+   )
+   public long getRequestedAmount() {
+      return requestedAmount.sum();
+   }
+
+   @ManagedAttribute(
+         description = "Number of slabs allocated by the pool",
+         displayName = "Number of slabs"
+   )
+   public int getSlabCount() {
+      return slabs.size();
+   }
+
+   @ManagedAttribute(
+         description = "Fraction of the used memory lost to rounding requests up to their size class",
+         displayName = "Internal fragmentation",
+         units = Units.PERCENTAGE
+   )
+   public double getInternalFragmentation() {
+      long used = usedAmount.sum();
+      if (used <= 0)
+         return 0;
+      return 1 - (double) requestedAmount.sum() / used;
+   }
+
+   @ManagedAttribute(
+         description = "Fraction of the reserved memory not held by any block in use",
+         displayName = "External fragmentation",
+         units = Units.PERCENTAGE
+   )
+   public double getExternalFragmentation() {
+      long reserved = reservedAmount.sum();
+      if (reserved <= 0)
+         return 0;
+      return 1 - (double) usedAmount.sum() / reserved;
+   }
+
+   @ManagedAttribute(
+         description = "Number of allocations served by the pool",
+         displayName = "Pooled allocations",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getPooledAllocations() {
+      return pooledAllocations.sum();
+   }
+
+   @ManagedAttribute(
+         description = "Number of pooled allocations that reused a previously freed block",
+         displayName = "Reused allocations",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getReusedAllocations() {
+      return reusedAllocations.sum();
+   }
+
+   @ManagedAttribute(
+         description = "Number of allocations too large to be pooled",
+         displayName = "Unpooled allocations",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getUnpooledAllocations() {
+      return unpooledAllocations.sum();
+   }
+
+   @Stop
+   public void stop() {
+      for (Arena arena : arenas) {
+         for (SizeClass sizeClass : arena.sizeClasses) {
+            synchronized (sizeClass) {
+               sizeClass.reset();
+            }
+         }
+      }
+      Long slab;
+      while ((slab = slabs.pollFirst()) != null) {
+         MEMORY.freeRegion(slab);
+         reservedAmount.add(-SLAB_SIZE);
+      }
+   }
+
+   private long allocateSlab() {
+      long slab = MEMORY.allocateRegion(SLAB_SIZE);
+      slabs.add(slab);
+      reservedAmount.add(SLAB_SIZE);
+      if (log.isTraceEnabled()) {
+         log.tracef("Allocated off-heap slab at 0x%016x with %d bytes. Total reserved: %d", slab, SLAB_SIZE,
+               reservedAmount.sum());
+      }
+      return slab;
+   }
+
+   private final class Arena {
+      final SizeClass[] sizeClasses = new SizeClass[SIZE_CLASSES.length];
+
+      Arena() {
+         for (int i = 0; i < sizeClasses.length; ++i) {
+            sizeClasses[i] = new SizeClass(SIZE_CLASSES[i]);
+         }
+      }
+   }
+
+   private final class SizeClass {
+      final long blockSize;
+
+      @GuardedBy("this")
+      private long[] freeBlocks = new long[16];
+      @GuardedBy("this")
+      private int freeCount;
+      // Next unused address of the slab being carved and the end of said slab
+      @GuardedBy("this")
+      private long slabPosition;
+      @GuardedBy("this")
+      private long slabLimit;
+
+      SizeClass(long blockSize) {
+         this.blockSize = blockSize;
+      }
+
+      @GuardedBy("this")
+      long pop() {
+         return freeCount == 0 ? 0 : freeBlocks[--freeCount];
+      }
+
+      @GuardedBy("this")
+      void push(long address) {
+         if (freeCount == freeBlocks.length) {
+            freeBlocks = Arrays.copyOf(freeBlocks, freeCount << 1);
+         }
+         freeBlocks[freeCount++] = address;
+      }
+
+      @GuardedBy("this")
+      long carve() {
+         if (slabLimit - slabPosition < blockSize) {
+            slabPosition = allocateSlab();
+            slabLimit = slabPosition + SLAB_SIZE;
+         }
+         long address = slabPosition;
+         slabPosition += blockSize;
+         return address;
+      }
+
+      @GuardedBy("this")
+      void reset() {
+         freeBlocks = new long[16];
+         freeCount = 0;
+         slabPosition = 0;
+         slabLimit = 0;
+      }
+   }
+}
@@ -1,5 +1,8 @@
 package org.infinispan.container.offheap;
 
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.StampedLock;
 
 import org.infinispan.commons.util.Util;
@@ -7,11 +10,24 @@
 /**
  * Holder for stamped locks that provides ability to retrieve them by offset and hashCode
  * Note that locks protect entries
+ * <p>
+ * Besides the normal read and write locks each region supports optimistic reads through
+ * {@link #beginOptimisticRead(int)} and {@link #endOptimisticRead(int, long)}. As the protected memory lives outside
+ * of the heap, an optimistic reader could otherwise dereference memory freed by a concurrent writer. Instead of
+ * waiting for readers, writers retire the memory they unlink with {@link #retire()} and only free it once
+ * {@link #oldestReadEpoch()} is past the returned epoch, that is once every optimistic read that could have seen the
+ * memory has completed. An optimistic reader only publishes the epoch it started in to a slot owned by its thread,
+ * so readers never write to memory shared with other readers or writers.
  * @author wburns
  * @since 9.0
  */
 public class StripedLock {
    private final StampedLock[] locks;
+   // Advanced by every retire, readers record the value when starting. 0 is used by readers not reading.
+   private final AtomicLong epoch = new AtomicLong(1);
+   private final ThreadLocal<ReaderSlot> readerSlot = ThreadLocal.withInitial(this::registerReader);
+   // Copy on write, only modified while holding the monitor of this instance
+   private volatile ReaderSlot[] readerSlots = new ReaderSlot[0];
 
    public StripedLock(int lockCount) {
       locks = new StampedLock[Util.findNextHighestPowerOfTwo(lockCount)];
@@ -33,6 +49,88 @@ public StampedLock getLockWithOffset(int offset) {
       return locks[offset];
    }
 
+   /**
+    * Starts an optimistic read of the region at the given offset. If a stamp other than 0 is returned, memory reachable
+    * from the region will not be freed until {@link #endOptimisticRead(int, long)} is invoked, however it may still be
+    * modified concurrently. The caller must validate the stamp before trusting anything read.
+    * @param offset the offset of the lock to read with
+    * @return the stamp to validate against or 0 if the region is write locked
+    */
+   public long beginOptimisticRead(int offset) {
+      ReaderSlot slot = readerSlot.get();
+      // Memory retired from now on is not freed before the read ends, memory retired before is no longer reachable
+      slot.epoch = epoch.get();
+      long stamp = locks[offset].tryOptimisticRead();
+      if (stamp == 0) {
+         slot.epoch = 0;
+      }
+      return stamp;
+   }
+
+   /**
+    * Completes an optimistic read started by {@link #beginOptimisticRead(int)}. After this returns the memory read
+    * while the optimistic read was in progress may be freed.
+    * @param offset the offset of the lock that was read with
+    * @param stamp the stamp returned from {@link #beginOptimisticRead(int)}
+    * @return whether no write occurred since the optimistic read started
+    */
+   public boolean endOptimisticRead(int offset, long stamp) {
+      boolean valid = locks[offset].validate(stamp);
+      readerSlot.get().epoch = 0;
+      return valid;
+   }
+
+   /**
+    * Marks memory that is being made unreachable as retired. The memory can be freed once {@link #oldestReadEpoch()}
+    * returns a value greater than the returned epoch. The caller must hold the write lock of the region the memory is
+    * reachable from until it is unreachable, thus a reader starting in a later epoch either fails to begin its read or
+    * can no longer reach the memory.
+    * @return the epoch the memory was retired in
+    */
+   long retire() {
+      return epoch.getAndIncrement();
+   }
+
+   /**
+    * @return the epoch the oldest optimistic read in progress started in, or {@link Long#MAX_VALUE} if there is none
+    */
+   long oldestReadEpoch() {
+      long oldest = Long.MAX_VALUE;
+      for (ReaderSlot slot : readerSlots) {
+         long readEpoch = slot.epoch;
+         if (readEpoch != 0 && readEpoch < oldest) {
+            oldest = readEpoch;
+         }
+      }
+      return oldest;
+   }
+
+   /**
+    * Waits until all optimistic reads that may have seen memory made unreachable before this invocation are
+    * completed. Used before freeing memory that is not retired one entry at a time, such as a whole memory lookup.
+    */
+   void awaitOptimisticReaders() {
+      long retired = retire();
+      while (oldestReadEpoch() <= retired) {
+         Thread.onSpinWait();
+      }
+   }
+
+   private synchronized ReaderSlot registerReader() {
+      ReaderSlot slot = new ReaderSlot(Thread.currentThread());
+      // Drop the slots of threads that terminated, they are never reading
+      ReaderSlot[] slots = new ReaderSlot[readerSlots.length + 1];
+      int count = 0;
+      for (ReaderSlot existing : readerSlots) {
+         if (existing.isAlive()) {
+            slots[count++] = existing;
+         }
+      }
+      slots[count++] = slot;
+      readerSlots = Arrays.copyOf(slots, count);
+      return slot;
+   }
+
    /**
     * Locks all write locks.  Ensure that {@link StripedLock#unlockAll()} is called in a proper finally block
     */
@@ -50,4 +148,19 @@ void unlockAll() {
          rwLock.asWriteLock().unlock();
       }
    }
+
+   private static class ReaderSlot {
+      private final WeakReference<Thread> thread;
+      // Written only by the owning thread
+      volatile long epoch;
+
+      ReaderSlot(Thread thread) {
+         this.thread = new WeakReference<>(thread);
+      }
+
+      boolean isAlive() {
+         Thread owner = thread.get();
+         return owner != null && owner.isAlive();
+      }
+   }
 }
@@ -6,10 +6,8 @@
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
-import sun.misc.Unsafe;
-
 /**
- * Memory allocator that just allocates memory directly using {@link Unsafe}.
+ * Memory allocator that just allocates memory directly using the system allocator.
  * @author wburns
  * @since 9.0
  */
@@ -108,9 +108,9 @@ private boolean purgeInMemoryContents(LocalizedCacheTopology topology) {
       int removedEntries = 0;
       AtomicInteger errors = new AtomicInteger();
       try {
+         start = timeService.time();
          if (log.isTraceEnabled()) {
             log.tracef("Purging data container on cache %s for topology %d", cacheName, topology.getTopologyId());
-            start = timeService.time();
          }
          // We limit how many non blocking expiration removals performed concurrently
          // The addition to the queue shouldn't ever block but rather pollForCompletion when we are waiting for
@@ -170,6 +170,7 @@ private boolean purgeInMemoryContents(LocalizedCacheTopology topology) {
                return false;
             }
          }
+         recordSweep(timeService.timeDuration(start, TimeUnit.MILLISECONDS), removedEntries - errors.get());
          printResults("Purging data container on cache %s completed in %s and removed %d entries with %d errors", start, removedEntries, errors);
       } catch (InterruptedException e) {
          Thread.currentThread().interrupt();
@@ -2,8 +2,9 @@
 
 import static org.infinispan.util.logging.Log.CONTAINER;
 
-import java.util.Iterator;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Spliterator;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
@@ -12,12 +13,15 @@
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.infinispan.AdvancedCache;
 import org.infinispan.cache.impl.AbstractDelegatingCache;
 import org.infinispan.commons.time.TimeService;
 import org.infinispan.commons.util.ByRef;
+import org.infinispan.commons.util.ProcessorInfo;
 import org.infinispan.commons.util.Util;
+import org.infinispan.commons.util.concurrent.AggregateCompletionStage;
 import org.infinispan.commons.util.concurrent.CompletableFutures;
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.container.entries.InternalCacheEntry;
@@ -31,6 +35,10 @@
 import org.infinispan.factories.impl.ComponentRef;
 import org.infinispan.factories.scopes.Scope;
 import org.infinispan.factories.scopes.Scopes;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.MeasurementType;
+import org.infinispan.jmx.annotations.Units;
 import org.infinispan.metadata.Metadata;
 import org.infinispan.metadata.impl.PrivateMetadata;
 import org.infinispan.notifications.cachelistener.CacheNotifier;
@@ -45,9 +53,25 @@
 
 @ThreadSafe
 @Scope(Scopes.NAMED_CACHE)
+@MBean(objectName = "ExpirationManager", description = "Component that removes expired entries from memory and from the stores")
 public class ExpirationManagerImpl<K, V> implements InternalExpirationManager<K, V> {
    private static final Log log = LogFactory.getLog(ExpirationManagerImpl.class);
 
+   /**
+    * The number of shards processed concurrently when purging the data container, so a sweep uses at most that many
+    * blocking threads.
+    */
+   static final int REAPER_CONCURRENCY = ProcessorInfo.availableProcessors();
+   /**
+    * The data container is split in more shards than threads so that a shard holding many expired entries does not
+    * delay the end of the sweep.
+    */
+   private static final int REAPER_SHARDS_PER_THREAD = 4;
+   /**
+    * How many expired entries of a shard are removed from the stores and notified before waiting for them to complete.
+    */
+   static final int REAPER_BATCH_SIZE = 128;
+
    @Inject @ComponentName(KnownComponentNames.EXPIRATION_SCHEDULED_EXECUTOR)
    protected ScheduledExecutorService executor;
    @Inject protected Configuration configuration;
@@ -74,6 +98,12 @@
 
    private final List<ExpirationConsumer<K, V>> listeners = new CopyOnWriteArrayList<>();
 
+   private volatile BlockingManager.BlockingExecutor reaperExecutor;
+   private final LongAdder sweeps = new LongAdder();
+   private final LongAdder reapedEntries = new LongAdder();
+   private volatile long lastSweepDuration;
+   private volatile long lastSweepReapedEntries;
+
    @Start
    // make sure this starts after the PersistenceManager
    public void start() {
@@ -97,31 +127,16 @@ public void start() {
 
    @Override
    public void processExpiration() {
-      long start = 0;
       if (!Thread.currentThread().isInterrupted()) {
          try {
-            if (log.isTraceEnabled()) {
-               log.trace("Purging data container of expired entries");
-               start = timeService.time();
-            }
-            long currentTimeMillis = timeService.wallClockTime();
-            for (Iterator<InternalCacheEntry<K, V>> purgeCandidates = dataContainer.running().iteratorIncludingExpired();
-                 purgeCandidates.hasNext();) {
-               InternalCacheEntry<K, V> e = purgeCandidates.next();
-               if (e.isExpired(currentTimeMillis)) {
-                  CompletionStages.join(entryExpiredInMemory(e, currentTimeMillis, false));
-               }
-            }
-            if (log.isTraceEnabled()) {
-               log.tracef("Purging data container completed in %s",
-                     Util.prettyPrintTime(timeService.timeDuration(start, TimeUnit.MILLISECONDS)));
-            }
+            purgeInMemoryContents();
          } catch (Exception e) {
             CONTAINER.exceptionPurgingDataContainer(e);
          }
       }
 
       if (!Thread.currentThread().isInterrupted()) {
+         long start = 0;
          if (log.isTraceEnabled()) {
             log.trace("Purging store(s) of expired entries");
             start = timeService.time();
@@ -134,6 +149,138 @@ public void processExpiration() {
       }
    }
 
+   /**
+    * Removes the expired entries of the data container. The container is split in shards, by segment when it is
+    * segmented, which are processed concurrently on a limited number of blocking threads. The expired entries of a
+    * shard are removed from the stores and notified in batches, instead of waiting for each entry.
+    */
+   private void purgeInMemoryContents() {
+      long start = timeService.time();
+      if (log.isTraceEnabled()) {
+         log.trace("Purging data container of expired entries");
+      }
+      long currentTimeMillis = timeService.wallClockTime();
+      LongAdder reaped = new LongAdder();
+      List<Spliterator<InternalCacheEntry<K, V>>> shards = split(dataContainer.running().spliteratorIncludingExpired(),
+            REAPER_CONCURRENCY * REAPER_SHARDS_PER_THREAD);
+      BlockingManager.BlockingExecutor executor = reaperExecutor();
+      AggregateCompletionStage<Void> stage = CompletionStages.aggregateCompletionStage();
+      for (Spliterator<InternalCacheEntry<K, V>> shard : shards) {
+         stage.dependsOn(executor.execute(() -> purgeShard(shard, currentTimeMillis, reaped), "expiration-reaper"));
+      }
+      CompletionStages.join(stage.freeze());
+      long duration = timeService.timeDuration(start, TimeUnit.MILLISECONDS);
+      recordSweep(duration, reaped.sum());
+      if (log.isTraceEnabled()) {
+         log.tracef("Purging data container completed in %s and removed %d entries from %d shards",
+               Util.prettyPrintTime(duration), reaped.sum(), shards.size());
+      }
+   }
+
+   private BlockingManager.BlockingExecutor reaperExecutor() {
+      BlockingManager.BlockingExecutor executor = reaperExecutor;
+      if (executor == null) {
+         synchronized (this) {
+            executor = reaperExecutor;
+            if (executor == null) {
+               executor = blockingManager.limitedBlockingExecutor("ExpirationReaper-" + cacheName, REAPER_CONCURRENCY);
+               reaperExecutor = executor;
+            }
+         }
+      }
+      return executor;
+   }
+
+   /**
+    * Splits the spliterator until there are <code>shards</code> of them, or none can be split anymore.
+    */
+   static <E> List<Spliterator<E>> split(Spliterator<E> spliterator, int shards) {
+      List<Spliterator<E>> result = new ArrayList<>(shards);
+      result.add(spliterator);
+      boolean split = true;
+      while (split && result.size() < shards) {
+         split = false;
+         for (int i = result.size() - 1; i >= 0 && result.size() < shards; i--) {
+            Spliterator<E> prefix = result.get(i).trySplit();
+            if (prefix != null) {
+               result.add(prefix);
+               split = true;
+            }
+         }
+      }
+      return result;
+   }
+
+   private void purgeShard(Spliterator<InternalCacheEntry<K, V>> shard, long currentTimeMillis, LongAdder reaped) {
+      List<InternalCacheEntry<K, V>> batch = new ArrayList<>(REAPER_BATCH_SIZE);
+      while (!Thread.currentThread().isInterrupted() && shard.tryAdvance(ice -> {
+         if (ice.isExpired(currentTimeMillis)) {
+            InternalCacheEntry<K, V> removed = removeExpiredFromContainer(ice, currentTimeMillis);
+            if (removed != null) {
+               batch.add(removed);
+            }
+         }
+      })) {
+         if (batch.size() >= REAPER_BATCH_SIZE) {
+            deleteFromStoresAndNotify(batch);
+            reaped.add(batch.size());
+            batch.clear();
+         }
+      }
+      if (!batch.isEmpty()) {
+         deleteFromStoresAndNotify(batch);
+         reaped.add(batch.size());
+      }
+   }
+
+   /**
+    * Records the outcome of a sweep of the data container.
+    *
+    * @param duration the duration of the sweep, in milliseconds
+    * @param reaped   the number of expired entries removed
+    */
+   protected void recordSweep(long duration, long reaped) {
+      sweeps.increment();
+      reapedEntries.add(reaped);
+      lastSweepDuration = duration;
+      lastSweepReapedEntries = reaped;
+   }
+
+   @ManagedAttribute(
+         description = "Number of times the data container was purged of its expired entries",
+         displayName = "Number of expiration sweeps",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getSweeps() {
+      return sweeps.sum();
+   }
+
+   @ManagedAttribute(
+         description = "Number of expired entries removed from the data container by the expiration sweeps",
+         displayName = "Number of entries removed by expiration sweeps",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getSweepRemovedEntries() {
+      return reapedEntries.sum();
+   }
+
+   @ManagedAttribute(
+         description = "Duration of the last expiration sweep of the data container",
+         displayName = "Duration of the last expiration sweep",
+         units = Units.MILLISECONDS
+   )
+   public long getLastSweepDuration() {
+      return lastSweepDuration;
+   }
+
+   @ManagedAttribute(
+         description = "Number of expired entries removed from the data container by the last expiration sweep",
+         displayName = "Number of entries removed by the last expiration sweep"
+   )
+   public long getLastSweepRemovedEntries() {
+      return lastSweepReapedEntries;
+   }
+
    @Override
    public boolean isEnabled() {
       return enabled;
@@ -143,19 +290,7 @@ public boolean isEnabled() {
    public CompletableFuture<Boolean> entryExpiredInMemory(InternalCacheEntry<K, V> entry, long currentTime,
                                                           boolean hasLock) {
       return blockingManager.supplyBlocking(() -> {
-         ByRef<InternalCacheEntry<K, V>> oldRef = new ByRef<>(null);
-         dataContainer.running().compute(entry.getKey(), ((k, oldEntry, factory) -> {
-            if (oldEntry != null) {
-               synchronized (oldEntry) {
-                  if (!oldEntry.isExpired(currentTime)) {
-                     return oldEntry;
-                  }
-                  oldRef.set(oldEntry);
-               }
-            }
-            return null;
-         }));
-         InternalCacheEntry<K, V> oldEntry = oldRef.get();
+         InternalCacheEntry<K, V> oldEntry = removeExpiredFromContainer(entry, currentTime);
          if (oldEntry == null) {
             return Boolean.FALSE;
          }
@@ -166,6 +301,27 @@ public CompletableFuture<Boolean> entryExpiredInMemory(InternalCacheEntry<K, V>
       }, "local-expiration").toCompletableFuture();
    }
 
+   /**
+    * Removes the entry from the data container if it is still expired.
+    *
+    * @return the removed entry, or <code>null</code> if it was not expired or not present anymore
+    */
+   private InternalCacheEntry<K, V> removeExpiredFromContainer(InternalCacheEntry<K, V> entry, long currentTime) {
+      ByRef<InternalCacheEntry<K, V>> oldRef = new ByRef<>(null);
+      dataContainer.running().compute(entry.getKey(), ((k, oldEntry, factory) -> {
+         if (oldEntry != null) {
+            synchronized (oldEntry) {
+               if (!oldEntry.isExpired(currentTime)) {
+                  return oldEntry;
+               }
+               oldRef.set(oldEntry);
+            }
+         }
+         return null;
+      }));
+      return oldRef.get();
+   }
+
    @Override
    public CompletionStage<Void> handleInStoreExpirationInternal(K key) {
       // Note since this is invoked without the actual key lock it is entirely possible for a remove to occur
@@ -221,6 +377,21 @@ private void deleteFromStoresAndNotify(K key, V value, Metadata metadata, Privat
             cacheNotifier.notifyCacheEntryExpired(key, value, metadata, null)));
    }
 
+   /**
+    * Same as {@link #deleteFromStoresAndNotify(Object, Object, Metadata, PrivateMetadata)} for several entries, waiting
+    * only once for all the stores and listeners.
+    */
+   private void deleteFromStoresAndNotify(List<InternalCacheEntry<K, V>> entries) {
+      AggregateCompletionStage<Void> stage = CompletionStages.aggregateCompletionStage();
+      for (InternalCacheEntry<K, V> entry : entries) {
+         K key = entry.getKey();
+         listeners.forEach(l -> l.expired(key, entry.getValue(), entry.getMetadata(), entry.getInternalMetadata()));
+         stage.dependsOn(persistenceManager.deleteFromAllStores(key, keyPartitioner.getSegment(key), PersistenceManager.AccessMode.BOTH));
+         stage.dependsOn(cacheNotifier.notifyCacheEntryExpired(key, entry.getValue(), entry.getMetadata(), null));
+      }
+      CompletionStages.join(stage.freeze());
+   }
+
    private void notify(K key, V value, Metadata metadata, PrivateMetadata privateMetadata) {
       listeners.forEach(l -> l.expired(key, value, metadata, privateMetadata)); //for internal use, assume non-blocking
       CompletionStages.join(cacheNotifier.notifyCacheEntryExpired(key, value, metadata, null));
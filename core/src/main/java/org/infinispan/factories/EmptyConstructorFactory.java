@@ -18,6 +18,7 @@
 import org.infinispan.remoting.inboundhandler.InboundInvocationHandler;
 import org.infinispan.security.PrincipalRoleMapper;
 import org.infinispan.security.RolePermissionMapper;
+import org.infinispan.statetransfer.OutboundTransferThrottle;
 import org.infinispan.stats.ClusterContainerStats;
 import org.infinispan.stats.ContainerStats;
 import org.infinispan.stats.impl.ClusterContainerStatsImpl;
@@ -55,7 +56,7 @@
       GlobalStateManager.class, GlobalConfigurationManager.class,
       SerializationContextRegistry.class, BlockingManager.class, NonBlockingManager.class,
       RankCalculator.class, EventLoggerNotifier.class, PrincipalRoleMapper.class, RolePermissionMapper.class,
-      XSiteCacheMapper.class, XSiteEventsManager.class
+      XSiteCacheMapper.class, XSiteEventsManager.class, OutboundTransferThrottle.class
 })
 @Scope(Scopes.GLOBAL)
 public class EmptyConstructorFactory extends AbstractComponentFactory implements AutoInstantiableFactory {
@@ -110,6 +111,8 @@ else if (componentName.equals(XSiteCacheMapper.class.getName())) {
          return globalConfiguration.isClustered() ?
                new XSiteEventsManagerImpl() :
                NoOpXSiteEventsManager.INSTANCE;
+      } else if (componentName.equals(OutboundTransferThrottle.class.getName())) {
+         return new OutboundTransferThrottle();
       }
 
       throw CONTAINER.factoryCannotConstructComponent(componentName);
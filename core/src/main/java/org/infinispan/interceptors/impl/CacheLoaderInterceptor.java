@@ -5,9 +5,13 @@
 import static org.infinispan.persistence.manager.PersistenceManager.AccessMode.PRIVATE;
 import static org.infinispan.persistence.manager.PersistenceManager.AccessMode.SHARED;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -173,6 +177,15 @@ public Object visitComputeIfAbsentCommand(InvocationContext ctx, ComputeIfAbsent
    }
 
    private Object visitManyDataCommand(InvocationContext ctx, FlagAffectedCommand command, Collection<?> keys) {
+      if (keys.size() > 1 && canLoadInBulk()) {
+         List<Object> keysToLoad = new ArrayList<>(keys.size());
+         for (Object key : keys) {
+            if (!skipLoad(ctx, key, SegmentSpecificCommand.extractSegment(command, key, partitioner), command)) {
+               keysToLoad.add(key);
+            }
+         }
+         return asyncInvokeNext(ctx, command, loadInContext(ctx, keysToLoad, command));
+      }
       AggregateCompletionStage<Void> stage = null;
       for (Object key : keys) {
          CompletionStage<?> innerStage = loadIfNeeded(ctx, key, command);
@@ -297,6 +310,14 @@ protected boolean canLoad(Object key, int segment) {
       return true;
    }
 
+   /**
+    * @return whether the keys of a multi-key command can be loaded from the stores with a single bulk load, instead of
+    * one load per key.
+    */
+   protected boolean canLoadInBulk() {
+      return true;
+   }
+
    /**
     * Loads from the cache loader the entry for the given key.  A found value is loaded into the current context.  The
     * method returns whether the value was found or not, or even if the cache loader was checked.
@@ -352,6 +373,76 @@ protected CompletionStage<?> loadInContext(InvocationContext ctx, Object key, in
       return cf;
    }
 
+   /**
+    * Same as {@link #loadInContext(InvocationContext, Object, int, FlagAffectedCommand)}, but the keys that are not in
+    * the data container and are not being loaded already are loaded from the stores with a single bulk load.
+    * @param ctx context for this invocation
+    * @param keys keys to find the entries for
+    * @param cmd the command that initiated this load
+    * @return null or a stage that when complete will have the entries loaded into the provided context
+    */
+   protected CompletionStage<?> loadInContext(InvocationContext ctx, Collection<?> keys, FlagAffectedCommand cmd) {
+      AggregateCompletionStage<Void> stage = null;
+      Map<Object, CompletableFuture<InternalCacheEntry<K, V>>> loads = null;
+      for (Object key : keys) {
+         CompletionStage<?> innerStage;
+         int segment = SegmentSpecificCommand.extractSegment(cmd, key, partitioner);
+         InternalCacheEntry<K, V> entry = dataContainer.peek(segment, key);
+         if (entry != null) {
+            // Expired entries are only loaded from the loaders, leave them to the single key load
+            innerStage = loadInContext(ctx, key, segment, cmd);
+         } else {
+            CompletableFuture<InternalCacheEntry<K, V>> cf = new CompletableFuture<>();
+            CompletionStage<InternalCacheEntry<K, V>> otherCF = pendingLoads.putIfAbsent(key, cf);
+            if (otherCF != null) {
+               if (log.isTraceEnabled()) {
+                  log.tracef("Piggybacking on concurrent load for key %s", key);
+               }
+               innerStage = otherCF.thenAcceptAsync(e -> putInContext(ctx, key, cmd, e), nonBlockingExecutor);
+            } else {
+               if (loads == null) {
+                  loads = new HashMap<>();
+               }
+               loads.put(key, cf);
+               innerStage = cf;
+            }
+         }
+         if (!CompletionStages.isCompletedSuccessfully(innerStage)) {
+            if (stage == null) {
+               stage = CompletionStages.aggregateCompletionStage();
+            }
+            stage.dependsOn(innerStage);
+         }
+      }
+      if (loads != null) {
+         loadAndStoreInDataContainer(ctx, loads, cmd);
+      }
+      return stage != null ? stage.freeze() : null;
+   }
+
+   private void loadAndStoreInDataContainer(InvocationContext ctx,
+                                            Map<Object, CompletableFuture<InternalCacheEntry<K, V>>> loads,
+                                            FlagAffectedCommand cmd) {
+      if (log.isTraceEnabled()) {
+         log.tracef("Loading entries for keys %s", loads.keySet());
+      }
+      try {
+         Flowable.fromPublisher(persistenceManager.<K, V>loadFromAllStores(loads.keySet(), ctx.isOriginLocal(), true))
+               .collect(HashMap<Object, MarshallableEntry<K, V>>::new, (map, me) -> map.put(me.getKey(), me))
+               .subscribe(entries -> loads.forEach((key, cf) -> {
+                  try {
+                     int segment = SegmentSpecificCommand.extractSegment(cmd, key, partitioner);
+                     storeInDataContainer(ctx, key, segment, cmd, entries.get(key))
+                           .whenComplete((value, throwable) -> finishLoadInContext(ctx, key, cmd, cf, value, throwable));
+                  } catch (Throwable t) {
+                     finishLoadInContext(ctx, key, cmd, cf, null, t);
+                  }
+               }), throwable -> loads.forEach((key, cf) -> finishLoadInContext(ctx, key, cmd, cf, null, throwable)));
+      } catch (Throwable t) {
+         loads.forEach((key, cf) -> finishLoadInContext(ctx, key, cmd, cf, null, t));
+      }
+   }
+
    private void finishLoadInContext(InvocationContext ctx, Object key, FlagAffectedCommand cmd, CompletableFuture<InternalCacheEntry<K, V>> cf, InternalCacheEntry<K, V> value, Throwable throwable) {
       // Make sure we clean up our pendingLoads properly and before completing any responses
       pendingLoads.remove(key);
@@ -388,55 +479,51 @@ public CompletionStage<InternalCacheEntry<K, V>> loadAndStoreInDataContainer(Inv
       if (log.isTraceEnabled()) {
          log.tracef("Loading entry for key %s", key);
       }
-      CompletionStage<InternalCacheEntry<K, V>> resultStage = persistenceManager.<K, V>loadFromAllStores(key, segment,
-            ctx.isOriginLocal(), includeStores).thenApply(me -> {
-         if (me != null) {
-            InternalCacheEntry<K, V> ice = PersistenceUtil.convert(me, iceFactory);
-            if (getStatisticsEnabled()) {
-               cacheLoads.incrementAndGet();
-            }
-            if (log.isTraceEnabled()) {
-               log.tracef("Loaded entry: %s for key %s from store and attempting to insert into data container",
-                     ice, key);
-            }
+      return persistenceManager.<K, V>loadFromAllStores(key, segment, ctx.isOriginLocal(), includeStores)
+            .thenCompose(me -> storeInDataContainer(ctx, key, segment, cmd, me));
+   }
 
-            DataContainer.ComputeAction<K, V> putIfAbsentOrExpired = (k, oldEntry, factory) -> {
-               if (oldEntry != null &&
-                     (!oldEntry.canExpire() || !oldEntry.isExpired(timeService.wallClockTime()))) {
-                  return oldEntry;
-               }
-               if (ice.canExpire()) {
-                  ice.touch(timeService.wallClockTime());
-               }
-               return ice;
-            };
+   private CompletionStage<InternalCacheEntry<K, V>> storeInDataContainer(InvocationContext ctx, Object key, int segment,
+                                                                          FlagAffectedCommand cmd,
+                                                                          MarshallableEntry<K, V> me) {
+      if (me == null) {
+         if (log.isTraceEnabled()) {
+            log.tracef("Missed entry load for key %s from store", key);
+         }
+         if (getStatisticsEnabled()) {
+            cacheMisses.incrementAndGet();
+         }
+         return CompletableFutures.completedNull();
+      }
+      InternalCacheEntry<K, V> ice = PersistenceUtil.convert(me, iceFactory);
+      if (getStatisticsEnabled()) {
+         cacheLoads.incrementAndGet();
+      }
+      if (log.isTraceEnabled()) {
+         log.tracef("Loaded entry: %s for key %s from store and attempting to insert into data container",
+               ice, key);
+      }
 
-            dataContainer.compute(segment, (K) key, putIfAbsentOrExpired);
-            return ice;
-         } else {
-            if (log.isTraceEnabled()) {
-               log.tracef("Missed entry load for key %s from store", key);
-            }
-            if (getStatisticsEnabled()) {
-               cacheMisses.incrementAndGet();
-            }
-            return null;
+      DataContainer.ComputeAction<K, V> putIfAbsentOrExpired = (k, oldEntry, factory) -> {
+         if (oldEntry != null &&
+               (!oldEntry.canExpire() || !oldEntry.isExpired(timeService.wallClockTime()))) {
+            return oldEntry;
          }
-      });
+         if (ice.canExpire()) {
+            ice.touch(timeService.wallClockTime());
+         }
+         return ice;
+      };
+
+      dataContainer.compute(segment, (K) key, putIfAbsentOrExpired);
 
       if (notifier.hasListener(CacheEntryLoaded.class) || notifier.hasListener(CacheEntryActivated.class)) {
-         return resultStage.thenCompose(ice -> {
-            if (ice != null) {
-               V value = ice.getValue();
-               CompletionStage<Void> notificationStage = sendNotification(key, value, true, ctx, cmd);
-               notificationStage = notificationStage.thenCompose(v -> sendNotification(key, value, false, ctx, cmd));
-               return notificationStage.thenApply(ignore -> ice);
-            } else {
-               return CompletableFutures.completedNull();
-            }
-         });
+         V value = ice.getValue();
+         CompletionStage<Void> notificationStage = sendNotification(key, value, true, ctx, cmd);
+         notificationStage = notificationStage.thenCompose(v -> sendNotification(key, value, false, ctx, cmd));
+         return notificationStage.thenApply(ignore -> ice);
       }
-      return resultStage;
+      return CompletableFuture.completedFuture(ice);
    }
 
    private boolean skipLoad(InvocationContext ctx, Object key, int segment, FlagAffectedCommand cmd) {
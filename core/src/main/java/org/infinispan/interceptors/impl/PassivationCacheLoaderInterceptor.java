@@ -19,6 +19,12 @@
 
    @Inject DataOperationOrderer orderer;
 
+   @Override
+   protected boolean canLoadInBulk() {
+      // Each load has to be ordered with the concurrent operations on its key
+      return false;
+   }
+
    // Normally the data container/store is updated in the order of updating the store and then the data container.
    // In doing so loading from the store and saving into the container is usually safe.
    // However, passivation with a concurrent remove can cause an issue with a read where the result is the
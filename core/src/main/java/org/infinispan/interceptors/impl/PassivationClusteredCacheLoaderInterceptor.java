@@ -13,6 +13,12 @@
 public class PassivationClusteredCacheLoaderInterceptor<K, V> extends ClusteredCacheLoaderInterceptor<K, V> {
    @Inject DataOperationOrderer orderer;
 
+   @Override
+   protected boolean canLoadInBulk() {
+      // Each load has to be ordered with the concurrent operations on its key
+      return false;
+   }
+
    @Override
    public CompletionStage<InternalCacheEntry<K, V>> loadAndStoreInDataContainer(InvocationContext ctx, Object key,
                                                                                 int segment, FlagAffectedCommand cmd) {
@@ -207,6 +207,7 @@ static ClassToExternalizerMap load(GlobalComponentRegistry gcr, RemoteCommandsFa
       addInternalExternalizer(new ReplicatedConsistentHashFactory.Externalizer(), exts); // TODO: Untested in core
       addInternalExternalizer(new SimpleClusteredVersion.Externalizer(), exts);
       addInternalExternalizer(new StateChunk.Externalizer(), exts);
+      addInternalExternalizer(new StateChunk.CompressedExternalizer(gcr), exts);
       addInternalExternalizer(new StatsEnvelope.Externalizer(), exts);
       addInternalExternalizer(new StreamMarshalling.StreamMarshallingExternalizer(), exts);
       addInternalExternalizer(new SuccessfulResponse.Externalizer(), exts);
@@ -156,6 +156,18 @@ public Set<Object> registerExternalMetrics(Object instance, String prefix) {
       return registerAttributes(instance, beanMetadata.getJmxObjectName(), beanMetadata.getAttributes(), null, null, prefix);
    }
 
+   /**
+    * Register metrics of an object that has no MBean metadata, such as a third party library handle, under the given
+    * name. The metric ids will <b>NOT</b> be tracked and unregistration will <b>NOT</b> be performed automatically on
+    * stop.
+    */
+   public Set<Object> registerExternalMetrics(Object instance, String name, Collection<MetricInfo> metrics) {
+      if (metricsCollector == null) {
+         throw new IllegalStateException("Metrics are not initialized.");
+      }
+      return registerMetrics(instance, name, metrics, null, null, null);
+   }
+
    public void unregisterMetrics(Set<Object> metricIds) {
       if (metricsCollector == null) {
          throw new IllegalStateException("Metrics are not initialized.");
@@ -2,8 +2,11 @@
 
 import java.lang.invoke.MethodHandles;
 import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -14,6 +17,7 @@
 import java.util.function.BiFunction;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 
 import org.infinispan.commons.CacheException;
 import org.infinispan.commons.IllegalLifecycleStateException;
@@ -39,6 +43,7 @@
 
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.flowables.ConnectableFlowable;
 import io.reactivex.rxjava3.functions.Function;
 import net.jcip.annotations.GuardedBy;
@@ -420,6 +425,30 @@ public CompletionStage<MarshallableEntry<K, V>> load(int segment, Object key) {
       return actual.load(segment, key);
    }
 
+   @Override
+   public Publisher<MarshallableEntry<K, V>> load(Collection<?> keys, ToIntFunction<Object> segmentMapper) {
+      assertNotStopped();
+      List<CompletionStage<MarshallableEntry<K, V>>> pendingStages = null;
+      List<Object> keysToLoad = new ArrayList<>(keys.size());
+      for (Object key : keys) {
+         CompletionStage<MarshallableEntry<K, V>> pendingStage = getStageFromPending(key);
+         if (pendingStage != null) {
+            if (pendingStages == null) {
+               pendingStages = new ArrayList<>();
+            }
+            pendingStages.add(pendingStage);
+         } else {
+            keysToLoad.add(key);
+         }
+      }
+      if (pendingStages == null) {
+         return actual.load(keysToLoad, segmentMapper);
+      }
+      Flowable<MarshallableEntry<K, V>> pendingEntries = Flowable.fromIterable(pendingStages)
+            .concatMapMaybe(Maybe::fromCompletionStage);
+      return keysToLoad.isEmpty() ? pendingEntries : pendingEntries.concatWith(actual.load(keysToLoad, segmentMapper));
+   }
+
    private CompletionStage<MarshallableEntry<K, V>> getStageFromPending(Object key) {
       Object wrappedKey = wrapKeyIfNeeded(key);
       Map<Object, Modification> modificationsToReplicate;
@@ -1,8 +1,11 @@
 package org.infinispan.persistence.manager;
 
 import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -72,6 +75,34 @@ public <K, V> CompletionStage<MarshallableEntry<K, V>> loadFromAllStores(Object
       return super.loadFromAllStores(key, localInvocation, includeStores);
    }
 
+   @Override
+   public <K, V> Publisher<MarshallableEntry<K, V>> loadFromAllStores(Collection<?> keys, boolean localInvocation,
+                                                                      boolean includeStores) {
+      if (map.isEmpty()) {
+         return super.loadFromAllStores(keys, localInvocation, includeStores);
+      }
+      List<MarshallableEntry<K, V>> entries = new ArrayList<>();
+      List<Object> keysToLoad = new ArrayList<>(keys.size());
+      for (Object key : keys) {
+         MarshallableEntry<K, V> entry = map.get(key);
+         if (entry != null) {
+            if (log.isTraceEnabled()) {
+               log.tracef("Retrieved entry for key %s from temporary passivation map", key);
+            }
+            entries.add(entry);
+         } else {
+            keysToLoad.add(key);
+         }
+      }
+      if (keysToLoad.isEmpty()) {
+         return Flowable.fromIterable(entries);
+      }
+      return Flowable.concat(
+            Flowable.fromIterable(entries),
+            super.loadFromAllStores(keysToLoad, localInvocation, includeStores)
+      );
+   }
+
    @Override
    public <K> Publisher<K> publishKeys(Predicate<? super K> filter, Predicate<? super StoreConfiguration> predicate) {
       if (map.isEmpty()) {
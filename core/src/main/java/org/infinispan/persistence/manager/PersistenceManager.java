@@ -23,6 +23,7 @@
 import org.reactivestreams.Publisher;
 
 import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Maybe;
 
 /**
  * Defines the logic for interacting with the chain of external storage.
@@ -195,6 +196,21 @@ default <K, V> CompletionStage<MarshallableEntry<K, V>> loadFromAllStores(Object
       return loadFromAllStores(key, localInvocation, includeStores);
    }
 
+   /**
+    * Loads the entries of the given keys from the persistence stores. Each key is looked up in the stores in order,
+    * until one of them has the entry, so a key is published at most once. Keys that are not found in any store are
+    * not published. The published entries are guaranteed to not be expired when they were returned.
+    * @param keys keys to read the entries from
+    * @param localInvocation whether this invocation is a local invocation. Some loaders may be ignored if it is not local
+    * @param includeStores if a loader that is also a store can be loaded from
+    * @return publisher of the entries found, in no particular order
+    * @implSpec default implementation invokes {@link #loadFromAllStores(Object, boolean, boolean)} for each key
+    */
+   default <K, V> Publisher<MarshallableEntry<K, V>> loadFromAllStores(Collection<?> keys, boolean localInvocation, boolean includeStores) {
+      return Flowable.fromIterable(keys)
+            .flatMapMaybe(key -> Maybe.fromCompletionStage(this.<K, V>loadFromAllStores(key, localInvocation, includeStores)));
+   }
+
    /**
     * Returns an approximate count of how many entries are persisted in the given segments.
     *
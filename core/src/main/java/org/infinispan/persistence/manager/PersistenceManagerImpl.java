@@ -905,6 +905,48 @@ private <K, V> CompletionStage<MarshallableEntry<K, V>> loadFromStoresIterator(O
       return CompletableFutures.completedNull();
    }
 
+   @Override
+   public <K, V> Publisher<MarshallableEntry<K, V>> loadFromAllStores(Collection<?> keys, boolean localInvocation,
+                                                                      boolean includeStores) {
+      return Flowable.using(this::acquireReadLock,
+                            ignore -> {
+                               if (!checkStoreAvailability()) {
+                                  return Flowable.empty();
+                               }
+                               if (log.isTraceEnabled()) {
+                                  log.tracef("Loading entries for keys %s", keys);
+                               }
+                               return loadFromStoresIterator(new HashSet<>(keys), stores.iterator(), localInvocation,
+                                     includeStores);
+                            },
+                            this::releaseReadLock);
+   }
+
+   private <K, V> Flowable<MarshallableEntry<K, V>> loadFromStoresIterator(Set<Object> remainingKeys,
+                                                                          Iterator<StoreStatus> iterator,
+                                                                          boolean localInvocation,
+                                                                          boolean includeStores) {
+      while (iterator.hasNext()) {
+         StoreStatus storeStatus = iterator.next();
+         if (!allowLoad(storeStatus, localInvocation, includeStores)) {
+            continue;
+         }
+         NonBlockingStore<K, V> store = storeStatus.store();
+         // Only the keys not found in this store are looked up in the next ones
+         Flowable<MarshallableEntry<K, V>> flowable = Flowable.fromPublisher(
+               store.load(new ArrayList<>(remainingKeys), k -> segmentOrZero(storeStatus, keyPartitioner.getSegment(k))))
+               .filter(e -> remainingKeys.remove(e.getKey()));
+         // Read only we apply lifespan expiration to the entry, so it can be reread later
+         if (storeStatus.hasCharacteristic(Characteristic.READ_ONLY) && configuration.expiration().lifespan() > 0) {
+            flowable = flowable.map(e -> marshallableEntryFactory.cloneWithExpiration((MarshallableEntry) e,
+                  timeService.wallClockTime(), configuration.expiration().lifespan()));
+         }
+         return flowable.concatWith(Flowable.defer(() -> remainingKeys.isEmpty() ? Flowable.empty() :
+               loadFromStoresIterator(remainingKeys, iterator, localInvocation, includeStores)));
+      }
+      return Flowable.empty();
+   }
+
    private boolean allowLoad(StoreStatus storeStatus, boolean localInvocation, boolean includeStores) {
       return !storeStatus.hasCharacteristic(Characteristic.WRITE_ONLY) &&
             (localInvocation || !isLocalOnlyLoader(storeStatus.store)) &&
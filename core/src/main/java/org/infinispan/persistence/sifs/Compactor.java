@@ -1,7 +1,9 @@
 package org.infinispan.persistence.sifs;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -12,8 +14,11 @@
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 
 import org.infinispan.commons.io.ByteBuffer;
 import org.infinispan.commons.io.ByteBufferImpl;
@@ -34,11 +39,17 @@
 import io.reactivex.rxjava3.processors.FlowableProcessor;
 import io.reactivex.rxjava3.processors.UnicastProcessor;
 import io.reactivex.rxjava3.schedulers.Schedulers;
+import net.jcip.annotations.GuardedBy;
 
 /**
  * Component keeping the data about log file usage - as soon as entries from some file are overwritten so that the file
  * becomes cluttered with old records, the valid records are moved to another file and the old ones are dropped.
  * Expired records are moved as tombstones without values (records of entry removal).
+ * <p>
+ * Files are compacted by a configurable number of workers, each moving the records to its own file, so independent
+ * files can be compacted in parallel. Requests are still dispatched in order by a single thread, which also waits
+ * for all workers to become idle before clearing. The bytes read and written by all workers can be capped with a
+ * rate limit so that compaction does not starve the log appender.
  *
  * @author Radim Vansa &lt;rvansa@redhat.com&gt;
  */
@@ -55,6 +66,19 @@ class Compactor {
    private final int maxFileSize;
    private final double compactionThreshold;
    private final Executor blockingExecutor;
+   private final RateLimiter rateLimiter;
+   private final List<Worker> workers;
+   @GuardedBy("this")
+   private final Deque<Worker> idleWorkers = new ArrayDeque<>();
+   // Completed when a worker becomes idle, null if nobody is waiting for that
+   @GuardedBy("this")
+   private CompletableFuture<Void> workerReleased;
+
+   private final ConcurrentMap<Integer, Progress> inProgress = new ConcurrentHashMap<>();
+   private final LongAdder compactedFiles = new LongAdder();
+   private final LongAdder compactedBytes = new LongAdder();
+   private final LongAdder movedBytes = new LongAdder();
+   private final LongAdder compactionNanos = new LongAdder();
 
    // Initialize so we can enqueue operations until start begins
    private FlowableProcessor<CompletableFuture<Void>> processor = UnicastProcessor.<CompletableFuture<Void>>create().toSerialized();
@@ -67,17 +91,13 @@ class Compactor {
    // This variable is never to be null
    private volatile CompletableFuture<?> stopped = CompletableFutures.completedNull();
 
-   // This buffer is used by the compactor thread to avoid allocating buffers per entry written that are smaller
-   // than the header size
-   private final java.nio.ByteBuffer REUSED_BUFFER = java.nio.ByteBuffer.allocate(EntryHeader.HEADER_SIZE_11_0);
-
-   FileProvider.Log logFile = null;
-   long nextExpirationTime = -1;
-   int currentOffset = 0;
-
+   /**
+    * @param workers           number of files that can be compacted in parallel
+    * @param maxBytesPerSecond limit of bytes read and written by all workers per second, not limited if not positive
+    */
    public Compactor(NonBlockingManager nonBlockingManager, FileProvider fileProvider, TemporaryTable temporaryTable,
          Marshaller marshaller, TimeService timeService, KeyPartitioner keyPartitioner, int maxFileSize,
-         double compactionThreshold, Executor blockingExecutor) {
+         double compactionThreshold, Executor blockingExecutor, int workers, long maxBytesPerSecond) {
       this.nonBlockingManager = nonBlockingManager;
       this.fileProvider = fileProvider;
       this.temporaryTable = temporaryTable;
@@ -87,6 +107,13 @@ public Compactor(NonBlockingManager nonBlockingManager, FileProvider fileProvide
       this.maxFileSize = maxFileSize;
       this.compactionThreshold = compactionThreshold;
       this.blockingExecutor = blockingExecutor;
+      this.rateLimiter = maxBytesPerSecond > 0 ? new RateLimiter(maxBytesPerSecond) : null;
+      this.workers = new ArrayList<>(workers);
+      for (int i = 0; i < workers; ++i) {
+         Worker worker = new Worker();
+         this.workers.add(worker);
+         idleWorkers.add(worker);
+      }
    }
 
    public void setIndex(Index index) {
@@ -158,16 +185,16 @@ public void start() {
       Scheduler scheduler = Schedulers.from(blockingExecutor);
       processor.observeOn(scheduler)
             .concatMapCompletable(stage -> {
-               processRequest(stage);
-               Completable completable = Completable.fromCompletionStage(stage);
+               CompletableFuture<Void> dispatched = dispatch(stage).toCompletableFuture();
+               Completable completable = Completable.fromCompletionStage(dispatched);
                // If stage is completed asynchronously it could be on a non blocking thread, make sure to resume
                // on our blocking executor
-               if (!stage.isDone()) {
+               if (!dispatched.isDone()) {
                   completable = completable.observeOn(scheduler);
                }
                return completable;
             })
-            .subscribe(() -> stopped.complete(null), error -> {
+            .subscribe(() -> allWorkersIdle().thenRun(() -> stopped.complete(null)), error -> {
                log.compactorEncounteredException(error, -1);
                stopped.completeExceptionally(error);
             });
@@ -318,6 +345,76 @@ private void schedule(int file, Stats stats) {
       }
    }
 
+   /**
+    * Hands the request to an idle worker. The returned stage completes when the next request can be dispatched.
+    * <p>
+    * This method is only invoked from the dispatching thread. If the request takes the last idle worker it is processed
+    * on the dispatching thread itself.
+    */
+   private CompletionStage<Void> dispatch(CompletableFuture<Void> stageRequest) {
+      if (!(stageRequest instanceof CompactionRequest)) {
+         // A clear must not run concurrently with any compaction
+         return allWorkersIdle().thenComposeAsync(ignore -> {
+            processRequest(stageRequest, null);
+            return stageRequest;
+         }, blockingExecutor);
+      }
+      Worker worker;
+      boolean lastIdle;
+      synchronized (this) {
+         worker = idleWorkers.poll();
+         lastIdle = idleWorkers.isEmpty();
+      }
+      assert worker != null;
+      stageRequest.whenComplete((ignore, t) -> {
+         if (t != null) {
+            // The other workers keep going, so the failure does not terminate the compactor
+            log.compactorEncounteredException(t, ((CompactionRequest) stageRequest).fileId);
+         }
+         releaseWorker(worker);
+      });
+      if (lastIdle) {
+         processRequest(stageRequest, worker);
+      } else {
+         blockingExecutor.execute(() -> processRequest(stageRequest, worker));
+      }
+      return workerAvailable();
+   }
+
+   private void releaseWorker(Worker worker) {
+      CompletableFuture<Void> released;
+      synchronized (this) {
+         idleWorkers.push(worker);
+         released = workerReleased;
+         workerReleased = null;
+      }
+      if (released != null) {
+         released.complete(null);
+      }
+   }
+
+   private synchronized CompletionStage<Void> workerAvailable() {
+      if (!idleWorkers.isEmpty()) {
+         return CompletableFutures.completedNull();
+      }
+      if (workerReleased == null) {
+         workerReleased = new CompletableFuture<>();
+      }
+      return workerReleased;
+   }
+
+   private CompletionStage<Void> allWorkersIdle() {
+      synchronized (this) {
+         if (idleWorkers.size() == workers.size()) {
+            return CompletableFutures.completedNull();
+         }
+         if (workerReleased == null) {
+            workerReleased = new CompletableFuture<>();
+         }
+         return workerReleased.thenCompose(ignore -> allWorkersIdle());
+      }
+   }
+
    /**
     * Immediately sends a request to clear the compactor. The returned stage will complete when the
     * compactor is actually paused. To resume the compactor the {@link #resumeAfterClear()} method
@@ -359,11 +456,13 @@ public void stopOperations() {
       // The stopped CompletableFuture is completed in onComplete or onError callback for the processor, so this will
       // return after all compaction calls are completed
       stopped.join();
-      if (logFile != null) {
-         Util.close(logFile);
-         // Complete the file, this file should not be compacted
-         completeFile(logFile.fileId, currentOffset, nextExpirationTime, false);
-         logFile = null;
+      for (Worker worker : workers) {
+         if (worker.logFile != null) {
+            Util.close(worker.logFile);
+            // Complete the file, this file should not be compacted
+            completeFile(worker.logFile.fileId, worker.currentOffset, worker.nextExpirationTime, false);
+            worker.logFile = null;
+         }
       }
 
       // Reinitialize processor so it can be started again possibly
@@ -399,24 +498,27 @@ void completeFuture(CompletableFuture<Void> future) {
       nonBlockingManager.complete(future, null);
    }
 
-   public void processRequest(CompletableFuture<Void> stageRequest) throws Throwable {
+   private void processRequest(CompletableFuture<Void> stageRequest, Worker worker) {
       if (terminateSignal) {
          log.tracef("Compactor already terminated, ignoring request " + stageRequest);
          // Just ignore if terminated
          completeFuture(stageRequest);
          return;
       }
-      // Note that this accept is only invoked from a single thread at a time so we don't have to worry about
+      // Note that clear is only processed when all workers are idle so we don't have to worry about
       // any other threads decrementing clear signal. However, another thread can increment, that is okay for us
       if (clearSignal.get()) {
          // We ignore any entries since it was last cleared
          if (stageRequest instanceof ClearFuture) {
             log.tracef("Compactor ignoring all future compactions until clear completes");
 
-            if (logFile != null) {
-               logFile.close();
-               logFile = null;
-               nextExpirationTime = -1;
+            // All workers are idle when clear is processed
+            for (Worker idleWorker : workers) {
+               if (idleWorker.logFile != null) {
+                  Util.close(idleWorker.logFile);
+                  idleWorker.logFile = null;
+                  idleWorker.nextExpirationTime = -1;
+               }
             }
 
             completeFuture(stageRequest);
@@ -435,7 +537,7 @@ public void processRequest(CompletableFuture<Void> stageRequest) throws Throwabl
          // Double check that the file wasn't removed. If stats are null that means the file was previously removed
          // and also make sure the file wasn't marked for deletion, but hasn't yet
          if (stats != null && !stats.markedForDeletion()) {
-            compactSingleFile(request, timeService.wallClockTime());
+            compactSingleFile(request, worker, timeService.wallClockTime());
             if (request.isLogFile) {
                // Unschedule the compaction for log file as we can't remove it
                stats.scheduled.set(false);
@@ -463,10 +565,11 @@ public void processRequest(CompletableFuture<Void> stageRequest) throws Throwabl
     * of a non log file the expiration listener is notified and the entry is not moved, however if no expiration listener
     * is provided the expired entry is moved to the new file as is still expired.
     * @param compactionRequest the request containing the fileId and if it is a log file and optional subscriber
+    * @param worker            the worker the request was handed to
     * @throws IOException            thrown if there was an issue with reading or writing to a file
     * @throws ClassNotFoundException thrown if there is an issue deserializing the key for an entry
     */
-   private void compactSingleFile(CompactionRequest compactionRequest,
+   private void compactSingleFile(CompactionRequest compactionRequest, Worker worker,
          long currentTimeMilliseconds) throws IOException, ClassNotFoundException {
       int scheduledFile = compactionRequest.fileId;
       assert scheduledFile >= 0;
@@ -492,8 +595,11 @@ private void compactSingleFile(CompactionRequest compactionRequest,
       if (handle == null) {
          throw new IllegalStateException("Compactor should not get deleted file for compaction!");
       }
+      long startTime = timeService.time();
       try (handle) {
          long fileSize = handle.getFileSize();
+         Progress progress = new Progress(fileSize);
+         inProgress.put(scheduledFile, progress);
          AggregateCompletionStage<Void> aggregateCompletionStage = CompletionStages.aggregateCompletionStage();
          EntryHeader header;
          while ((header = EntryRecord.readEntryHeader(handle, scheduledOffset)) != null) {
@@ -512,6 +618,8 @@ private void compactSingleFile(CompactionRequest compactionRequest,
                log.compactedFileNotLongEnough(serializedKey, scheduledFile, scheduledOffset, fileSize, header);
                break;
             }
+            progress.processed = scheduledOffset;
+            throttle(header.totalLength());
             byte[] serializedKey = EntryRecord.readKey(handle, header, scheduledOffset);
             if (serializedKey == null) {
                throw new IllegalStateException("Concurrent update to compacting file when reading key on "
@@ -641,15 +749,19 @@ private void compactSingleFile(CompactionRequest compactionRequest,
                }
                index.handleRequest(IndexRequest.dropped(segment, key, ByteBufferImpl.create(serializedKey), prevFile, prevOffset, scheduledFile, scheduledOffset));
             } else {
-               if (logFile == null || currentOffset + header.totalLength() > maxFileSize) {
-                  if (logFile != null) {
-                     logFile.close();
-                     completeFile(logFile.fileId, currentOffset, nextExpirationTime);
-                     nextExpirationTime = -1;
+               if (worker.logFile == null || worker.currentOffset + header.totalLength() > maxFileSize) {
+                  if (worker.logFile != null) {
+                     worker.logFile.close();
+                     // Other workers must not compact the file before the index is updated with the moved entries
+                     int completedFile = worker.logFile.fileId;
+                     int completedSize = worker.currentOffset;
+                     long completedExpirationTime = worker.nextExpirationTime;
+                     compactionRequest.whenComplete((ignore, t) -> completeFile(completedFile, completedSize, completedExpirationTime));
+                     worker.nextExpirationTime = -1;
                   }
-                  currentOffset = 0;
-                  logFile = fileProvider.getFileForLog();
-                  log.debugf("Compacting to %d", (Object) logFile.fileId);
+                  worker.currentOffset = 0;
+                  worker.logFile = fileProvider.getFileForLog();
+                  log.debugf("Compacting to %d", (Object) worker.logFile.fileId);
                }
 
                byte[] serializedValue = null;
@@ -665,16 +777,18 @@ private void compactSingleFile(CompactionRequest compactionRequest,
                   if (header.internalMetadataLength() > 0) {
                      serializedInternalMetadata = EntryRecord.readInternalMetadata(handle, header, scheduledOffset);
                   }
-                  entryOffset = currentOffset;
+                  entryOffset = worker.currentOffset;
                   writtenLength = header.totalLength();
                   // Update the next expiration time only for entries that are not removed
-                  nextExpirationTime = ExpiryHelper.mostRecentExpirationTime(nextExpirationTime, header.expiryTime());
+                  worker.nextExpirationTime = ExpiryHelper.mostRecentExpirationTime(worker.nextExpirationTime, header.expiryTime());
                } else {
-                  entryOffset = ~currentOffset;
+                  entryOffset = ~worker.currentOffset;
                   writtenLength = header.getHeaderLength() + header.keyLength();
                }
-               EntryRecord.writeEntry(logFile.fileChannel, REUSED_BUFFER, serializedKey, metadata, serializedValue, serializedInternalMetadata, header.seqId(), header.expiryTime());
-               TemporaryTable.LockedEntry lockedEntry = temporaryTable.replaceOrLock(segment, key, logFile.fileId, entryOffset, scheduledFile, indexedOffset);
+               EntryRecord.writeEntry(worker.logFile.fileChannel, worker.buffer, serializedKey, metadata, serializedValue, serializedInternalMetadata, header.seqId(), header.expiryTime());
+               movedBytes.add(writtenLength);
+               throttle(writtenLength);
+               TemporaryTable.LockedEntry lockedEntry = temporaryTable.replaceOrLock(segment, key, worker.logFile.fileId, entryOffset, scheduledFile, indexedOffset);
                if (lockedEntry == null) {
                   if (log.isTraceEnabled()) {
                      log.trace("Found entry in temporary table");
@@ -695,7 +809,7 @@ private void compactSingleFile(CompactionRequest compactionRequest,
                      }
                   } finally {
                      if (update) {
-                        temporaryTable.updateAndUnlock(lockedEntry, logFile.fileId, entryOffset);
+                        temporaryTable.updateAndUnlock(lockedEntry, worker.logFile.fileId, entryOffset);
                      } else {
                         temporaryTable.removeAndUnlock(lockedEntry, segment, key);
                      }
@@ -703,22 +817,22 @@ private void compactSingleFile(CompactionRequest compactionRequest,
                }
                if (log.isTraceEnabled()) {
                   log.tracef("Update %d:%d -> %d:%d | %d,%d", scheduledFile, indexedOffset,
-                        logFile.fileId, entryOffset, logFile.fileChannel.position(), logFile.fileChannel.size());
+                        worker.logFile.fileId, entryOffset, worker.logFile.fileChannel.position(), worker.logFile.fileChannel.size());
                }
                IndexRequest indexRequest;
                ByteBuffer keyBuffer = ByteBufferImpl.create(serializedKey);
                if (isLogFile) {
                   // When it is a log file we are still keeping the original entry, we are just updating it to say
                   // it was expired
-                  indexRequest = IndexRequest.update(segment, key, keyBuffer, logFile.fileId, entryOffset, writtenLength);
+                  indexRequest = IndexRequest.update(segment, key, keyBuffer, worker.logFile.fileId, entryOffset, writtenLength, header.seqId());
                } else {
                   // entryFile cannot be used as we have to report the file due to free space statistics
-                  indexRequest = IndexRequest.moved(segment, key, keyBuffer, logFile.fileId, entryOffset, writtenLength,
-                        scheduledFile, indexedOffset);
+                  indexRequest = IndexRequest.moved(segment, key, keyBuffer, worker.logFile.fileId, entryOffset, writtenLength,
+                        scheduledFile, indexedOffset, header.seqId());
                }
                aggregateCompletionStage.dependsOn(index.handleRequest(indexRequest));
 
-               currentOffset += writtenLength;
+               worker.currentOffset += writtenLength;
             }
             scheduledOffset += header.totalLength();
          }
@@ -743,7 +857,7 @@ private void compactSingleFile(CompactionRequest compactionRequest,
                // execution pipeline otherwise we can invoke compactor operations in the wrong thread
                aggregate.whenComplete((ignore, t) -> {
                   if (t != null) {
-                     log.error("There was a problem moving indexes for compactor with file " + logFile.fileId, t);
+                     log.error("There was a problem moving indexes for compactor with file " + worker.logFile.fileId, t);
                      compactionRequest.completeExceptionally(t);
                   } else {
                      log.tracef("Compaction ended after index was updated for %s", scheduledFile);
@@ -758,6 +872,10 @@ private void compactSingleFile(CompactionRequest compactionRequest,
             log.tracef("Compaction ended early for %s due to pending clear signalled", scheduledFile);
             completeFuture(compactionRequest);
          }
+         compactedBytes.add(scheduledOffset);
+      } finally {
+         inProgress.remove(scheduledFile);
+         compactionNanos.add(timeService.timeDuration(startTime, TimeUnit.NANOSECONDS));
       }
 
       if (isLogFile) {
@@ -771,6 +889,118 @@ private void compactSingleFile(CompactionRequest compactionRequest,
             stats.markForDeletion();
          }
          index.deleteFileAsync(scheduledFile);
+         compactedFiles.increment();
+      }
+   }
+
+   private void throttle(int bytes) {
+      if (rateLimiter != null) {
+         rateLimiter.acquire(bytes);
+      }
+   }
+
+   /**
+    * @return the number of files being compacted at the moment
+    */
+   public int getCompactionsInProgress() {
+      return inProgress.size();
+   }
+
+   /**
+    * @return the files being compacted at the moment with the percentage of their content that was processed
+    */
+   public Map<Integer, Integer> getCompactionProgress() {
+      Map<Integer, Integer> progress = new HashMap<>();
+      inProgress.forEach((file, p) -> progress.put(file, p.percentage()));
+      return progress;
+   }
+
+   /**
+    * @return the number of files that were compacted and deleted
+    */
+   public long getCompactedFiles() {
+      return compactedFiles.sum();
+   }
+
+   /**
+    * @return the number of bytes read from the compacted files
+    */
+   public long getCompactedBytes() {
+      return compactedBytes.sum();
+   }
+
+   /**
+    * @return the number of bytes written by the compactor to the new files
+    */
+   public long getMovedBytes() {
+      return movedBytes.sum();
+   }
+
+   /**
+    * @return the number of bytes read from the compacted files per second spent compacting a file, summed over
+    * all workers
+    */
+   public long getCompactionThroughput() {
+      long nanos = compactionNanos.sum();
+      return nanos == 0 ? 0 : (long) (compactedBytes.sum() * (double) TimeUnit.SECONDS.toNanos(1) / nanos);
+   }
+
+   /**
+    * State of a single compaction worker. Each worker moves the entries to its own file so that the workers never
+    * write to the same file.
+    */
+   private static class Worker {
+      // This buffer is used by the worker to avoid allocating buffers per entry written that are smaller
+      // than the header size
+      private final java.nio.ByteBuffer buffer = java.nio.ByteBuffer.allocate(EntryHeader.HEADER_SIZE_11_0);
+
+      FileProvider.Log logFile = null;
+      long nextExpirationTime = -1;
+      int currentOffset = 0;
+   }
+
+   private static class Progress {
+      private final long total;
+      private volatile long processed;
+
+      private Progress(long total) {
+         this.total = total;
+      }
+
+      int percentage() {
+         return total <= 0 ? 100 : (int) (processed * 100 / total);
+      }
+   }
+
+   /**
+    * Limits the number of bytes processed per second by all workers. Each worker reserves the time slot needed to
+    * process the bytes after the slots reserved before and waits until it begins.
+    */
+   static class RateLimiter {
+      private final double bytesPerNano;
+      private long nextFree;
+
+      RateLimiter(long bytesPerSecond) {
+         this.bytesPerNano = bytesPerSecond / (double) TimeUnit.SECONDS.toNanos(1);
+         this.nextFree = Long.MIN_VALUE;
+      }
+
+      void acquire(int bytes) {
+         long waitNanos = reserve(bytes, System.nanoTime());
+         while (waitNanos > 0) {
+            long deadline = System.nanoTime() + waitNanos;
+            LockSupport.parkNanos(this, waitNanos);
+            waitNanos = deadline - System.nanoTime();
+         }
+      }
+
+      /**
+       * @return nanoseconds to wait before the bytes can be processed
+       */
+      synchronized long reserve(int bytes, long now) {
+         long start = Math.max(nextFree, now);
+         nextFree = start + (long) (bytes / bytesPerNano);
+         return start - now;
       }
    }
 
@@ -8,7 +8,12 @@
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -31,6 +36,12 @@
 /**
  * Provides resource management for files - only limited amount of files may be opened in one moment, and opened file
  * should not be deleted. Also allows to generate file indexes.
+ * <p>
+ * When memory mapping is enabled, files that are no longer written to are mapped read-only on the first read and
+ * further reads are served from the mapping. The mapping is owned by the open file record and it is unmapped explicitly
+ * together with closing the channel once the last handle is closed, rather than waiting for the buffer to be garbage
+ * collected - a file scheduled for deletion by the compactor is therefore never unmapped while some reader is still
+ * using it, but its pages are released as soon as it is deleted.
  *
  * @author Radim Vansa &lt;rvansa@redhat.com&gt;
  */
@@ -40,6 +51,7 @@ public class FileProvider {
 
    private static final String REGEX_FORMAT = "^%s[0-9]+$";
    private static final boolean ATTEMPT_PMEM;
+   private static final MethodHandle INVOKE_CLEANER = lookupInvokeCleaner();
 
    private final File directoryFile;
    private final int openFileLimit;
@@ -51,6 +63,7 @@ public class FileProvider {
    private final Set<FileIterator> iterators = ConcurrentHashMap.newKeySet();
    private final String prefix;
    private final int maxFileSize;
+   private final boolean memoryMapped;
 
    private boolean canTryPmem = true;
 
@@ -68,7 +81,26 @@ public class FileProvider {
       ATTEMPT_PMEM = attemptPmem;
    }
 
+   private static MethodHandle lookupInvokeCleaner() {
+      try {
+         Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+         Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+         theUnsafe.setAccessible(true);
+         return MethodHandles.lookup()
+               .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+               .bindTo(theUnsafe.get(null));
+      } catch (Throwable t) {
+         log.debug("Cannot explicitly unmap memory mapped files, mappings are released by garbage collection", t);
+         return null;
+      }
+   }
+
    public FileProvider(Path fileDirectory, int openFileLimit, String prefix, int maxFileSize) {
+      this(fileDirectory, openFileLimit, prefix, maxFileSize, false);
+   }
+
+   public FileProvider(Path fileDirectory, int openFileLimit, String prefix, int maxFileSize, boolean memoryMapped) {
+      this.memoryMapped = memoryMapped;
       this.openFileLimit = openFileLimit;
       this.recordQueue = new ArrayBlockingQueue<>(openFileLimit);
       this.directoryFile = fileDirectory.toFile();
@@ -415,9 +447,23 @@ private Handle(Record record) {
 
       public int read(ByteBuffer buffer, long offset) throws IOException {
          if (!usable) throw new IllegalStateException();
+         ByteBuffer mapped = record.getMappedBuffer();
+         if (mapped != null) {
+            return readMapped(mapped, buffer, offset);
+         }
          return record.getFileChannel().read(buffer, offset);
       }
 
+      private static int readMapped(ByteBuffer mapped, ByteBuffer buffer, long offset) {
+         if (offset >= mapped.limit()) {
+            return -1;
+         }
+         int length = Math.min(buffer.remaining(), mapped.limit() - (int) offset);
+         buffer.put(buffer.position(), mapped, (int) offset, length);
+         buffer.position(buffer.position() + length);
+         return length;
+      }
+
       @Override
       public void close() throws IOException {
          usable = false;
@@ -453,6 +499,7 @@ public void force(boolean metaData) throws IOException {
    private class Record {
       private final int fileId;
       private FileChannel fileChannel;
+      private volatile MappedByteBuffer mappedBuffer;
       private int handleCount;
       private boolean deleteOnClose = false;
 
@@ -465,6 +512,31 @@ FileChannel getFileChannel() {
          return fileChannel;
       }
 
+      /**
+       * Returns a read-only mapping of the whole file, or null if memory mapping is disabled or the file is still
+       * being appended to. Must be invoked only while a handle to this record is held.
+       */
+      ByteBuffer getMappedBuffer() throws IOException {
+         if (!memoryMapped) {
+            return null;
+         }
+         MappedByteBuffer buffer = mappedBuffer;
+         if (buffer == null) {
+            // Log files are still growing, once they are closed they are never written again
+            if (isLogFile(fileId)) {
+               return null;
+            }
+            synchronized (this) {
+               buffer = mappedBuffer;
+               if (buffer == null) {
+                  buffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+                  mappedBuffer = buffer;
+               }
+            }
+         }
+         return buffer;
+      }
+
       void increaseHandleCount() {
          handleCount++;
       }
@@ -476,11 +548,28 @@ void decreaseHandleCount() throws IOException {
             // but physically close and delete the file
             fileChannel.close();
             fileChannel = null;
+            unmap();
             openFiles.remove(fileId, this);
             delete();
          }
       }
 
+      /**
+       * Releases the mapping, if any. Must be invoked only once no handle to this record is held.
+       */
+      private void unmap() {
+         MappedByteBuffer buffer = mappedBuffer;
+         mappedBuffer = null;
+         if (buffer != null && INVOKE_CLEANER != null) {
+            try {
+               INVOKE_CLEANER.invokeExact((ByteBuffer) buffer);
+            } catch (Throwable t) {
+               // the mapping will be released when the buffer is collected
+               log.debugf(t, "Cannot unmap file %d", fileId);
+            }
+         }
+      }
+
       boolean isOpen() {
          return fileChannel != null;
       }
@@ -496,6 +585,7 @@ public int getFileId() {
       public void close() throws IOException {
          fileChannel.close();
          fileChannel = null;
+         unmap();
          if (deleteOnClose) {
             delete();
          }
@@ -512,6 +602,7 @@ public void deleteOnClose() throws IOException {
             if (fileChannel != null) {
                fileChannel.close();
                fileChannel = null;
+               unmap();
             }
             openFiles.remove(fileId, this);
             delete();
@@ -19,6 +19,7 @@
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -71,6 +72,7 @@ class Index {
    private final Compactor compactor;
    private final int minNodeSize;
    private final int maxNodeSize;
+   private final IndexNodeCache nodeCache;
    private final StampedLock lock = new StampedLock();
    @GuardedBy("lock")
    private final Segment[] segments;
@@ -83,6 +85,12 @@ class Index {
    private final TemporaryTable temporaryTable;
 
    private final Executor executor;
+   // Bloom filters are loaded, and rebuilt if missing, with this executor, so that they do not hold up the index updates
+   private final Executor bloomFilterExecutor;
+
+   private final LongAdder bloomFilterNegatives = new LongAdder();
+   private final LongAdder bloomFilterFalsePositives = new LongAdder();
+   private final LongAdder bloomFilterRebuilds = new LongAdder();
 
    // This is used to signal that a segment is not currently being used
    private final Segment emptySegment;
@@ -127,7 +135,7 @@ public void setOverwritten(IndexRequest request, int cacheSegment, boolean overw
    };
 
    public Index(NonBlockingManager nonBlockingManager, FileProvider dataFileProvider, Path indexDir, int cacheSegments,
-                int minNodeSize, int maxNodeSize, TemporaryTable temporaryTable, Compactor compactor,
+                int minNodeSize, int maxNodeSize, long nodeCacheSize, TemporaryTable temporaryTable, Compactor compactor,
                 TimeService timeService, Executor executor, int maxOpenFiles) throws IOException {
       this.nonBlockingManager = nonBlockingManager;
       this.dataFileProvider = dataFileProvider;
@@ -136,6 +144,7 @@ public Index(NonBlockingManager nonBlockingManager, FileProvider dataFileProvide
       this.indexDir = indexDir;
       this.minNodeSize = minNodeSize;
       this.maxNodeSize = maxNodeSize;
+      this.nodeCache = IndexNodeCache.create(nodeCacheSize);
       this.sizePerSegment = new AtomicLongArray(cacheSegments);
       this.indexFileProvider = new FileProvider(indexDir, maxOpenFiles, "index.", Integer.MAX_VALUE);
       this.indexSizeFile = new File(indexDir.toFile(), "index-count");
@@ -148,6 +157,7 @@ public Index(NonBlockingManager nonBlockingManager, FileProvider dataFileProvide
       // segments. Note that this uses blocking threads so this number is still limited by that as well
       int concurrency = Math.max(cacheSegments >> 4, 1);
       this.executor = new LimitedExecutor("sifs-index", executor, concurrency);
+      this.bloomFilterExecutor = executor;
       this.emptySegment = new Segment(this, -1, temporaryTable);
       this.emptySegment.complete(null);
 
@@ -285,7 +295,17 @@ public void reset() throws IOException {
     * Get record or null if expired
     */
    public EntryRecord getRecord(Object key, int cacheSegment, org.infinispan.commons.io.ByteBuffer serializedKey) throws IOException {
-      return getRecord(key, cacheSegment, toIndexKey(serializedKey), IndexNode.ReadOperation.GET_RECORD);
+      byte[] indexKey = toIndexKey(serializedKey);
+      long stamp = lock.readLock();
+      try {
+         Segment segment = segments[cacheSegment];
+         if (!segment.mightContain(indexKey)) {
+            return null;
+         }
+         return recordFalsePositive(IndexNode.applyOnLeaf(segment, cacheSegment, indexKey, segment.rootReadLock(), IndexNode.ReadOperation.GET_RECORD));
+      } finally {
+         lock.unlockRead(stamp);
+      }
    }
 
    /**
@@ -308,14 +328,65 @@ private EntryRecord getRecord(Object key, int cacheSegment, byte[] indexKey, Ind
     * Get position or null if expired
     */
    public EntryPosition getPosition(Object key, int cacheSegment, org.infinispan.commons.io.ByteBuffer serializedKey) throws IOException {
+      return getPosition(key, cacheSegment, toIndexKey(serializedKey));
+   }
+
+   /**
+    * Get position or null if expired
+    */
+   public EntryPosition getPosition(Object key, int cacheSegment, byte[] indexKey) throws IOException {
       long stamp = lock.readLock();
       try {
-         return IndexNode.applyOnLeaf(segments[cacheSegment], cacheSegment, toIndexKey(serializedKey), segments[cacheSegment].rootReadLock(), IndexNode.ReadOperation.GET_POSITION);
+         Segment segment = segments[cacheSegment];
+         if (!segment.mightContain(indexKey)) {
+            return null;
+         }
+         EntryPosition position = IndexNode.applyOnLeaf(segment, cacheSegment, indexKey, segment.rootReadLock(), IndexNode.ReadOperation.GET_POSITION);
+         // An expired key is still in the index, only a key missing from the tree is a false positive
+         if (position == null && IndexNode.applyOnLeaf(segment, cacheSegment, indexKey, segment.rootReadLock(), IndexNode.ReadOperation.GET_INFO) == null) {
+            segment.recordFalsePositive();
+         }
+         return position;
+      } finally {
+         lock.unlockRead(stamp);
+      }
+   }
+
+   /**
+    * Get the leaf node the key maps to without reading the data file, or null if the key is surely not present. The
+    * key stored on the returned position may differ from the requested one and the entry may be expired, the caller
+    * is expected to verify both when reading the entry and report a key mismatch through
+    * {@link #recordBloomFilterFalsePositive(int)}.
+    */
+   IndexNode.LeafNode getLeaf(int cacheSegment, byte[] indexKey) throws IOException {
+      long stamp = lock.readLock();
+      try {
+         Segment segment = segments[cacheSegment];
+         if (!segment.mightContain(indexKey)) {
+            return null;
+         }
+         IndexNode.LeafNode leafNode = IndexNode.applyOnLeaf(segment, cacheSegment, indexKey, segment.rootReadLock(), IndexNode.ReadOperation.GET_LEAF);
+         if (leafNode == null) {
+            segment.recordFalsePositive();
+         }
+         return leafNode;
       } finally {
          lock.unlockRead(stamp);
       }
    }
 
+   /**
+    * Records that the bloom filter of the segment reported a key that is not in the index. Removed and expired keys
+    * are still in the index and must not be reported.
+    */
+   void recordBloomFilterFalsePositive(int cacheSegment) {
+      Segment segment = segments[cacheSegment];
+      // The segment may have been removed since the lookup
+      if (segment != null) {
+         segment.recordFalsePositive();
+      }
+   }
+
    /**
     * Get position + numRecords, without expiration
     */
@@ -461,6 +532,40 @@ public CompletionStage<Void> stop() throws InterruptedException {
       });
    }
 
+   IndexNodeCache getNodeCache() {
+      return nodeCache;
+   }
+
+   long getBloomFilterNegatives() {
+      return bloomFilterNegatives.sum();
+   }
+
+   long getBloomFilterFalsePositives() {
+      return bloomFilterFalsePositives.sum();
+   }
+
+   long getBloomFilterRebuilds() {
+      return bloomFilterRebuilds.sum();
+   }
+
+   double getBloomFilterEstimatedFalsePositiveRate() {
+      double rate = 0;
+      int count = 0;
+      long stamp = lock.readLock();
+      try {
+         for (Segment segment : segments) {
+            IndexBloomFilter bloomFilter;
+            if (segment != null && segment != emptySegment && (bloomFilter = segment.bloomFilter) != null) {
+               rate += bloomFilter.estimatedFalsePositiveRate();
+               count++;
+            }
+         }
+      } finally {
+         lock.unlockRead(stamp);
+      }
+      return count == 0 ? 0 : rate / count;
+   }
+
    public long approximateSize(IntSet cacheSegments) {
       long size = 0;
       for (PrimitiveIterator.OfInt segIter = cacheSegments.iterator(); segIter.hasNext(); ) {
@@ -685,6 +790,12 @@ static class Segment extends CompletableFuture<Void> implements Consumer<IndexRe
       private long indexFileSize = INDEX_FILE_HEADER_SIZE;
 
       private volatile IndexNode root;
+      // Replaced only by the index thread, reads of the bits happen-after the key was removed from the temporary table.
+      // Null until the filter is loaded on start (or built from the index), every key might be present in the meantime.
+      private volatile IndexBloomFilter bloomFilter = IndexBloomFilter.forKeys(0);
+      // Changes of the keys in the index while the filter is loaded or rebuilt, applied to it once it is ready.
+      // Index thread only.
+      private List<java.util.function.Consumer<IndexBloomFilter>> pendingBloomFilterChanges;
 
       private Segment(Index index, int id, TemporaryTable temporaryTable) {
          this.index = index;
@@ -714,10 +825,12 @@ boolean load() throws IOException {
                root = new IndexNode(this, rootOffset, rootOccupied);
                loadFreeBlocks(freeBlocksOffset);
                indexFileSize = freeBlocksOffset;
+               loadBloomFilter();
                loaded = true;
             } else {
                handle.truncate(0);
                root = IndexNode.emptyWithLeaves(this);
+               resetBloomFilter();
                loaded = false;
                // reserve space for shutdown
                indexFileSize = INDEX_FILE_HEADER_SIZE;
@@ -731,11 +844,158 @@ boolean load() throws IOException {
          }
       }
 
+      /**
+       * Reads the persisted filter without blocking the start, lookups cannot be answered by the filter until it is
+       * loaded. If there is no usable filter, it is rebuilt from the index.
+       */
+      private void loadBloomFilter() {
+         List<java.util.function.Consumer<IndexBloomFilter>> pendingChanges = new ArrayList<>();
+         pendingBloomFilterChanges = pendingChanges;
+         bloomFilter = null;
+         index.bloomFilterExecutor.execute(() -> {
+            IndexBloomFilter loadedFilter = null;
+            File bloomFilterFile = bloomFilterFile();
+            if (bloomFilterFile.exists()) {
+               try (FileChannel channel = new RandomAccessFile(bloomFilterFile, "r").getChannel()) {
+                  loadedFilter = IndexBloomFilter.read(channel);
+               } catch (IOException e) {
+                  log.debugf(e, "Unable to read bloom filter of index segment %d", id);
+               }
+               // It is written again on graceful shutdown
+               bloomFilterFile.delete();
+            }
+            IndexBloomFilter filter = loadedFilter;
+            submitToIndexThread(() -> bloomFilterLoaded(pendingChanges, filter));
+         });
+      }
+
+      // this should be accessed only from the updater thread
+      private void bloomFilterLoaded(List<java.util.function.Consumer<IndexBloomFilter>> pendingChanges, IndexBloomFilter loadedFilter) {
+         if (pendingBloomFilterChanges != pendingChanges) {
+            // The segment was cleared in the meantime
+            return;
+         }
+         if (loadedFilter != null) {
+            bloomFilterReady(loadedFilter);
+         } else {
+            log.tracef("No bloom filter persisted for index segment %d, rebuilding it", id);
+            rebuildBloomFilter(pendingChanges);
+         }
+      }
+
+      private void submitToIndexThread(Runnable runnable) {
+         // If the segment was removed in the meantime, the runnable is run by the processor of non owned segments
+         index.flowableProcessors[id].onNext(IndexRequest.syncRequest(runnable));
+      }
+
+      /**
+       * Builds the filter from the keys of the current root on the bloom filter executor. This is only needed when
+       * the persisted filter is missing or cannot be read, otherwise the filter follows the changes of the index.
+       */
+      // this should be accessed only from the updater thread
+      private void rebuildBloomFilter(List<java.util.function.Consumer<IndexBloomFilter>> pendingChanges) {
+         IndexBloomFilter newFilter = IndexBloomFilter.forKeys(index.sizePerSegment.get(id));
+         root.publish((keyAndMetadataRecord, leafNode, fileProvider, currentTime) -> {
+                  // Every key with a leaf node is in the filter, including removed and expired ones
+                  newFilter.addFromIndex(keyAndMetadataRecord.getKey(), keyAndMetadataRecord.getHeader().seqId());
+                  return null;
+               })
+               .subscribeOn(Schedulers.from(index.bloomFilterExecutor))
+               .ignoreElements()
+               .subscribe(() -> submitToIndexThread(() -> bloomFilterRebuilt(pendingChanges, newFilter, null)),
+                     t -> submitToIndexThread(() -> bloomFilterRebuilt(pendingChanges, newFilter, t)));
+      }
+
+      // this should be accessed only from the updater thread
+      private void bloomFilterRebuilt(List<java.util.function.Consumer<IndexBloomFilter>> pendingChanges, IndexBloomFilter newFilter, Throwable t) {
+         if (pendingBloomFilterChanges != pendingChanges) {
+            // The segment was cleared in the meantime
+            return;
+         }
+         if (t != null) {
+            // Lookups keep going to the index, the filter is rebuilt on the next start
+            log.debugf(t, "Unable to rebuild bloom filter of index segment %d", id);
+            pendingBloomFilterChanges = null;
+            return;
+         }
+         bloomFilterReady(newFilter);
+         index.bloomFilterRebuilds.increment();
+         log.tracef("Rebuilt bloom filter of index segment %d", id);
+      }
+
+      // this should be accessed only from the updater thread
+      private void bloomFilterReady(IndexBloomFilter filter) {
+         pendingBloomFilterChanges.forEach(change -> change.accept(filter));
+         pendingBloomFilterChanges = null;
+         bloomFilter = filter;
+      }
+
+      /**
+       * Called by the index thread when a key gets a leaf node in the index, before the node is visible.
+       */
+      void keyIndexed(byte[] indexKey, long seqId) {
+         updateBloomFilter(filter -> filter.add(indexKey, seqId));
+      }
+
+      /**
+       * Called by the index thread when the leaf node of a key points to a different record.
+       */
+      void keyUpdated(byte[] indexKey, long oldSeqId, long newSeqId) {
+         if (oldSeqId != newSeqId) {
+            updateBloomFilter(filter -> filter.replace(indexKey, oldSeqId, newSeqId));
+         }
+      }
+
+      /**
+       * Called by the index thread when the leaf node of a key is removed from the index.
+       */
+      void keyRemoved(byte[] indexKey, long seqId) {
+         updateBloomFilter(filter -> filter.remove(indexKey, seqId));
+      }
+
+      // this should be accessed only from the updater thread
+      private void updateBloomFilter(java.util.function.Consumer<IndexBloomFilter> change) {
+         if (pendingBloomFilterChanges != null) {
+            pendingBloomFilterChanges.add(change);
+            return;
+         }
+         IndexBloomFilter currentFilter = bloomFilter;
+         if (currentFilter != null) {
+            change.accept(currentFilter);
+         }
+      }
+
+      private void resetBloomFilter() {
+         bloomFilter = IndexBloomFilter.forKeys(0);
+         pendingBloomFilterChanges = null;
+      }
+
+      private File bloomFilterFile() {
+         return new File(index.indexDir.toFile(), "index-bloom." + id);
+      }
+
+      boolean mightContain(byte[] indexKey) {
+         IndexBloomFilter bloomFilter = this.bloomFilter;
+         if (bloomFilter == null || bloomFilter.mightContain(indexKey)) {
+            return true;
+         }
+         index.bloomFilterNegatives.increment();
+         return false;
+      }
+
+      void recordFalsePositive() {
+         // Without a filter, while it is being loaded, every key is looked up in the tree
+         if (bloomFilter != null) {
+            index.bloomFilterFalsePositives.increment();
+         }
+      }
+
       void delete() {
          // Empty segment is negative, so there is no file
          if (id >= 0) {
             log.tracef("Deleting file for index %s", id);
             index.indexFileProvider.deleteFile(id);
+            bloomFilterFile().delete();
          }
       }
 
@@ -743,6 +1003,7 @@ void reset() throws IOException {
          try (FileProvider.Handle handle = index.indexFileProvider.getFile(id)) {
             handle.truncate(0);
             root = IndexNode.emptyWithLeaves(this);
+            resetBloomFilter();
             // reserve space for shutdown
             indexFileSize = INDEX_FILE_HEADER_SIZE;
             ByteBuffer buffer = ByteBuffer.allocate(INDEX_FILE_HEADER_SIZE);
@@ -767,6 +1028,7 @@ public void accept(IndexRequest request) throws Throwable {
                }
                indexFileSize = INDEX_FILE_HEADER_SIZE;
                freeBlocks.clear();
+               resetBloomFilter();
                index.nonBlockingManager.complete(request, null);
                return;
             case SYNC_REQUEST:
@@ -794,6 +1056,7 @@ public void accept(IndexRequest request) throws Throwable {
                throw new IllegalArgumentException(request.toString());
          }
          try {
+            // Updates the bloom filter through keyIndexed, keyUpdated and keyRemoved
             IndexNode.setPosition(root, request, overwriteHook, recordChange);
          } catch (IllegalStateException e) {
             request.completeExceptionally(e);
@@ -811,6 +1074,13 @@ public void run() throws IOException {
          try {
             IndexSpace rootSpace = allocateIndexSpace(root.length());
             root.store(rootSpace);
+            IndexBloomFilter currentFilter = bloomFilter;
+            if (currentFilter != null) {
+               try (FileChannel channel = new RandomAccessFile(bloomFilterFile(), "rw").getChannel()) {
+                  channel.truncate(0);
+                  currentFilter.write(channel);
+               }
+            }
             try (FileProvider.Handle handle = index.indexFileProvider.getFile(id)) {
                ByteBuffer buffer = ByteBuffer.allocate(4);
                buffer.putInt(0, freeBlocks.size());
@@ -919,6 +1189,10 @@ public Compactor getCompactor() {
          return index.compactor;
       }
 
+      IndexNodeCache getNodeCache() {
+         return index.nodeCache;
+      }
+
       public IndexNode getRoot() {
          // this has to be called with rootLock locked!
          return root;
@@ -0,0 +1,302 @@
+package org.infinispan.persistence.sifs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.infinispan.commons.hash.MurmurHash3;
+
+/**
+ * Counting bloom filter of the keys present in a single index segment, allowing lookups of absent keys to return
+ * without reading any index node.
+ * <p>
+ * A key is added when a leaf node is created for it and removed when its leaf node leaves the index, which happens
+ * when the compactor drops its last record. Keys moved by the compactor keep their sequence id, so the filter is kept
+ * up to date without ever reading the index again.
+ * <p>
+ * The filter is split in layers, each one holding the keys whose record has a sequence id in a given range. Once the
+ * newest layer holds as many keys as it was sized for, a new and larger layer is started for the records written
+ * afterwards. A key is always added to and removed from the layer its sequence id maps to, and layers left without
+ * keys are dropped, so older layers go away as their entries are overwritten or removed.
+ * <p>
+ * The filter is written by the index thread of its segment only, but may be read concurrently.
+ *
+ * @since 15.1
+ */
+class IndexBloomFilter {
+   private static final int MAGIC = 0xB100F118;
+   private static final int HASH_FUNCTIONS = 3;
+   private static final int[] SEEDS = {239, 1847, 2719};
+   private static final int COUNTERS_PER_KEY = 10;
+   // Do not go below this size so that small segments do not need many layers
+   private static final int MIN_EXPECTED_KEYS = 1024;
+   // Counters use 4 bits, a counter that reaches the maximum is never decremented
+   private static final int COUNTER_BITS = 4;
+   private static final int COUNTER_MAX = (1 << COUNTER_BITS) - 1;
+   private static final int COUNTERS_PER_INT = Integer.SIZE / COUNTER_BITS;
+
+   // Ordered by first sequence id, replaced as a whole so that readers see a consistent list of layers
+   private volatile Layer[] layers;
+   // Highest sequence id added, a new layer starts above it. Index thread only.
+   private long maxSeqId = Long.MIN_VALUE;
+
+   private IndexBloomFilter(Layer[] layers, long maxSeqId) {
+      this.layers = layers;
+      this.maxSeqId = maxSeqId;
+   }
+
+   /**
+    * Creates an empty filter with room for twice the number of keys before it needs another layer.
+    */
+   static IndexBloomFilter forKeys(long keys) {
+      return new IndexBloomFilter(new Layer[]{new Layer(Long.MIN_VALUE, capacityFor(keys))}, Long.MIN_VALUE);
+   }
+
+   private static int capacityFor(long keys) {
+      return (int) Math.min(Math.max(2 * keys, MIN_EXPECTED_KEYS), (Integer.MAX_VALUE - 7) / COUNTERS_PER_KEY);
+   }
+
+   /**
+    * Adds the key of a record with the given sequence id.
+    */
+   void add(byte[] indexKey, long seqId) {
+      Layer[] current = layers;
+      Layer newest = current[current.length - 1];
+      if (seqId > maxSeqId && newest.keys >= newest.capacity) {
+         // Every key added so far has a lower sequence id, so none of them maps to the new layer
+         Layer layer = new Layer(seqId, capacityFor(keys()));
+         Layer[] newLayers = Arrays.copyOf(current, current.length + 1);
+         newLayers[current.length] = layer;
+         layers = newLayers;
+         layer.add(indexKey);
+      } else {
+         layerFor(current, seqId).add(indexKey);
+      }
+      maxSeqId = Math.max(maxSeqId, seqId);
+   }
+
+   /**
+    * Adds a key read from the index when the filter is built from it. The keys all go to the first layer, so that the
+    * changes of the index made while it was read find them, whichever record of the key was read.
+    */
+   void addFromIndex(byte[] indexKey, long seqId) {
+      layers[0].add(indexKey);
+      maxSeqId = Math.max(maxSeqId, seqId);
+   }
+
+   /**
+    * Removes the key of a record with the given sequence id, which must have been added before.
+    */
+   void remove(byte[] indexKey, long seqId) {
+      Layer[] current = layers;
+      Layer layer = layerFor(current, seqId);
+      layer.remove(indexKey);
+      if (layer.keys == 0 && current.length > 1 && layer != current[current.length - 1]) {
+         // The range of sequence ids of the layer is taken by the previous one, or the next one if it is the oldest.
+         // This is safe as no key maps to that range anymore.
+         Layer[] newLayers = new Layer[current.length - 1];
+         int i = 0;
+         for (Layer l : current) {
+            if (l != layer) {
+               newLayers[i++] = l;
+            }
+         }
+         layers = newLayers;
+      }
+   }
+
+   /**
+    * Replaces the key of a record with the one of a newer record of the same key.
+    */
+   void replace(byte[] indexKey, long oldSeqId, long newSeqId) {
+      if (oldSeqId == newSeqId) {
+         return;
+      }
+      // Concurrent readers check the older layers first, so the key is always seen in one of them
+      add(indexKey, newSeqId);
+      remove(indexKey, oldSeqId);
+   }
+
+   private static Layer layerFor(Layer[] layers, long seqId) {
+      for (int i = layers.length - 1; i > 0; --i) {
+         if (layers[i].firstSeqId <= seqId) {
+            return layers[i];
+         }
+      }
+      return layers[0];
+   }
+
+   boolean mightContain(byte[] indexKey) {
+      int[] hashes = hashes(indexKey);
+      for (Layer layer : layers) {
+         if (layer.mightContain(hashes)) {
+            return true;
+         }
+      }
+      return false;
+   }
+
+   private static int[] hashes(byte[] indexKey) {
+      int[] hashes = new int[HASH_FUNCTIONS];
+      for (int i = 0; i < HASH_FUNCTIONS; ++i) {
+         hashes[i] = MurmurHash3.MurmurHash3_x64_32(indexKey, SEEDS[i]);
+      }
+      return hashes;
+   }
+
+   /**
+    * @return the number of keys in the filter
+    */
+   long keys() {
+      long keys = 0;
+      for (Layer layer : layers) {
+         keys += layer.keys;
+      }
+      return keys;
+   }
+
+   int layerCount() {
+      return layers.length;
+   }
+
+   double estimatedFalsePositiveRate() {
+      double negative = 1;
+      for (Layer layer : layers) {
+         negative *= 1 - layer.estimatedFalsePositiveRate();
+      }
+      return 1 - negative;
+   }
+
+   void write(FileChannel channel) throws IOException {
+      Layer[] current = layers;
+      ByteBuffer header = ByteBuffer.allocate(20);
+      header.putInt(MAGIC).putInt(HASH_FUNCTIONS).putInt(current.length).putLong(maxSeqId).flip();
+      writeFully(channel, header);
+      for (Layer layer : current) {
+         ByteBuffer buffer = ByteBuffer.allocate(20 + layer.counters.length() * Integer.BYTES);
+         buffer.putLong(layer.firstSeqId).putInt(layer.capacity).putLong(layer.keys);
+         for (int i = 0; i < layer.counters.length(); ++i) {
+            buffer.putInt(layer.counters.get(i));
+         }
+         buffer.flip();
+         writeFully(channel, buffer);
+      }
+   }
+
+   private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+      while (buffer.hasRemaining()) {
+         channel.write(buffer);
+      }
+   }
+
+   /**
+    * @return the persisted filter or null if it was written in a different format or is incomplete
+    */
+   static IndexBloomFilter read(FileChannel channel) throws IOException {
+      ByteBuffer header = ByteBuffer.allocate(20);
+      if (!Index.read(channel, header) || header.getInt(0) != MAGIC || header.getInt(4) != HASH_FUNCTIONS) {
+         return null;
+      }
+      int layerCount = header.getInt(8);
+      long maxSeqId = header.getLong(12);
+      if (layerCount <= 0 || layerCount > channel.size() / 20) {
+         return null;
+      }
+      long expectedSize = header.capacity();
+      Layer[] layers = new Layer[layerCount];
+      for (int i = 0; i < layerCount; ++i) {
+         ByteBuffer layerHeader = ByteBuffer.allocate(20);
+         if (!Index.read(channel, layerHeader)) {
+            return null;
+         }
+         long firstSeqId = layerHeader.getLong(0);
+         int capacity = layerHeader.getInt(8);
+         long keys = layerHeader.getLong(12);
+         if (capacity <= 0 || capacity > capacityFor(Long.MAX_VALUE) || keys < 0) {
+            return null;
+         }
+         Layer layer = new Layer(firstSeqId, capacity);
+         expectedSize += layerHeader.capacity() + (long) layer.counters.length() * Integer.BYTES;
+         if (channel.size() < expectedSize) {
+            return null;
+         }
+         ByteBuffer content = ByteBuffer.allocate(layer.counters.length() * Integer.BYTES);
+         if (!Index.read(channel, content)) {
+            return null;
+         }
+         for (int j = 0; j < layer.counters.length(); ++j) {
+            layer.counters.set(j, content.getInt(j * Integer.BYTES));
+         }
+         layer.keys = keys;
+         layers[i] = layer;
+      }
+      if (channel.size() != expectedSize) {
+         return null;
+      }
+      return new IndexBloomFilter(layers, maxSeqId);
+   }
+
+   private static class Layer {
+      final long firstSeqId;
+      final int capacity;
+      final int size;
+      final AtomicIntegerArray counters;
+      // Written by the index thread only, read by the statistics
+      volatile long keys;
+
+      Layer(long firstSeqId, int capacity) {
+         this.firstSeqId = firstSeqId;
+         this.capacity = capacity;
+         this.size = capacity * COUNTERS_PER_KEY;
+         this.counters = new AtomicIntegerArray((size + COUNTERS_PER_INT - 1) / COUNTERS_PER_INT);
+      }
+
+      private int index(int hash) {
+         return (hash & Integer.MAX_VALUE) % size;
+      }
+
+      void add(byte[] indexKey) {
+         for (int hash : hashes(indexKey)) {
+            update(index(hash), 1);
+         }
+         keys++;
+      }
+
+      void remove(byte[] indexKey) {
+         for (int hash : hashes(indexKey)) {
+            update(index(hash), -1);
+         }
+         keys--;
+      }
+
+      private void update(int counter, int delta) {
+         int slot = counter / COUNTERS_PER_INT;
+         int shift = (counter % COUNTERS_PER_INT) * COUNTER_BITS;
+         int value = counters.get(slot);
+         int count = (value >>> shift) & COUNTER_MAX;
+         // A saturated counter may hold more keys than it can count, so it stays saturated
+         if (count == COUNTER_MAX || (delta < 0 && count == 0)) {
+            return;
+         }
+         // Single writer, the release store orders the update before the ones that follow
+         counters.lazySet(slot, (value & ~(COUNTER_MAX << shift)) | ((count + delta) << shift));
+      }
+
+      boolean mightContain(int[] hashes) {
+         for (int hash : hashes) {
+            int counter = index(hash);
+            int value = counters.get(counter / COUNTERS_PER_INT);
+            if (((value >>> ((counter % COUNTERS_PER_INT) * COUNTER_BITS)) & COUNTER_MAX) == 0) {
+               return false;
+            }
+         }
+         return true;
+      }
+
+      double estimatedFalsePositiveRate() {
+         return Math.pow(1 - Math.exp(-(double) HASH_FUNCTIONS * keys / size), HASH_FUNCTIONS);
+      }
+   }
+}
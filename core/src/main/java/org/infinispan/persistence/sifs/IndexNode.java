@@ -280,6 +280,13 @@ protected EntryPosition apply(LeafNode leafNode, byte[] key, FileProvider filePr
             return null;
          }
       },
+      GET_LEAF {
+         @Override
+         protected LeafNode apply(LeafNode leafNode, byte[] key, FileProvider fileProvider, TimeService timeService) {
+            // The key is not verified here, it is up to the caller to read the header and key from the data file
+            return leafNode;
+         }
+      },
       GET_INFO {
          @Override
          protected EntryInfo apply(LeafNode leafNode, byte[] key, FileProvider fileProvider, TimeService timeService) throws IOException, IndexNodeOutdatedException {
@@ -676,6 +683,7 @@ private IndexNode copyWith(IndexRequest request, int cacheSegment, byte[] indexK
       if (leafNodes.length == 0) {
          overwriteHook.setOverwritten(request, cacheSegment, false, -1, -1);
          if (overwriteHook.check(request, -1, -1)) {
+            segment.keyIndexed(indexKey, request.getSeqId());
             return new IndexNode(segment, prefix, keyParts, new LeafNode[]{new LeafNode(file, offset, 1)});
          } else {
             segment.getCompactor().free(file, size);
@@ -723,6 +731,7 @@ private IndexNode copyWith(IndexRequest request, int cacheSegment, byte[] indexK
                   }
 
                   updateFileOffsetInFile(insertPart, file, offset, numRecords);
+                  segment.keyUpdated(indexKey, hak.getHeader().seqId(), request.getSeqId());
 
                   segment.getCompactor().free(oldLeafNode.file, hak.getHeader().totalLength());
                } else {
@@ -754,6 +763,7 @@ private IndexNode copyWith(IndexRequest request, int cacheSegment, byte[] indexK
             }
          } else {
             overwriteHook.setOverwritten(request, cacheSegment, true, oldLeafNode.file, oldLeafNode.offset);
+            segment.keyRemoved(indexKey, hak.getHeader().seqId());
             if (keyParts.length <= 1) {
                newPrefix = Util.EMPTY_BYTE_ARRAY;
                newKeyParts = Util.EMPTY_BYTE_ARRAY_ARRAY;
@@ -780,6 +790,7 @@ private IndexNode copyWith(IndexRequest request, int cacheSegment, byte[] indexK
          // IndexRequest cannot be MOVED or DROPPED when the key is not in the index
          assert recordChange == RecordChange.INCREASE;
          overwriteHook.setOverwritten(request, cacheSegment, false, -1, -1);
+         segment.keyIndexed(indexKey, request.getSeqId());
 
          // We have to insert the record even if this is a delete request and the key was not found
          // because otherwise we would have incorrect numRecord count. Eventually, Compactor will
@@ -1064,7 +1075,10 @@ default boolean check(IndexRequest request, int oldFile, int oldOffset) {
    }
 
    static class InnerNode extends Index.IndexSpace {
-      private volatile SoftReference<IndexNode> reference;
+      // Nodes of the upper levels are always held, the bottom level goes through the segment's node cache
+      private volatile IndexNode pinned;
+      // Used by the node cache when it is not bounded
+      volatile SoftReference<IndexNode> softReference;
 
       InnerNode(long offset, short length) {
          super(offset, length);
@@ -1072,18 +1086,28 @@ static class InnerNode extends Index.IndexSpace {
 
       InnerNode(IndexNode node) {
          super(node.offset, node.occupiedSpace);
-         reference = new SoftReference<>(node);
+         hold(node);
+      }
+
+      private void hold(IndexNode node) {
+         if (node.innerNodes != null) {
+            pinned = node;
+         } else {
+            node.segment.getNodeCache().put(this, node);
+         }
       }
 
       IndexNode getIndexNode(Index.Segment segment) throws IOException {
-         IndexNode node;
-         if (reference == null || (node = reference.get()) == null) {
+         IndexNode node = pinned;
+         if (node != null || offset < 0) {
+            return node;
+         }
+         if ((node = segment.getNodeCache().get(this)) == null) {
             synchronized (this) {
-               if (reference == null || (node = reference.get()) == null) {
-                  if (offset < 0) return null;
+               if ((node = pinned) == null && (node = segment.getNodeCache().lookup(this)) == null) {
                   // Is this okay?
                   node = new IndexNode(segment, offset, length);
-                  reference = new SoftReference<>(node);
+                  hold(node);
                   if (log.isTraceEnabled()) {
                      log.trace("Loaded inner node from " + offset + " - " + length);
                   }
@@ -1145,38 +1169,56 @@ private EntryRecord getHeaderAndKey(FileProvider fileProvider, FileProvider.Hand
 
       public EntryRecord loadRecord(FileProvider fileProvider, byte[] key, TimeService timeService) throws IOException, IndexNodeOutdatedException {
          FileProvider.Handle handle = fileProvider.getFile(file);
-         int readOffset = offset < 0 ? ~offset : offset;
          if (handle == null) {
-            throw new IndexNodeOutdatedException(file + ":" + readOffset);
+            throw new IndexNodeOutdatedException(file + ":" + (offset < 0 ? ~offset : offset));
          }
          try {
-            boolean trace = log.isTraceEnabled();
-            EntryRecord headerAndKey = getHeaderAndKey(fileProvider, handle);
-            if (key != null && !Arrays.equals(headerAndKey.getKey(), key)) {
-               if (trace) {
-                  log.trace("Key on " + file + ":" + readOffset + " not matched.");
-               }
-               return null;
-            }
-            if (headerAndKey.getHeader().valueLength() <= 0) {
-               if (trace) {
-                  log.trace("Entry " + file + ":" + readOffset + " matched, it is a tombstone.");
-               }
-               return null;
+            return loadRecord(handle, key, timeService);
+         } finally {
+            handle.close();
+         }
+      }
+
+      /**
+       * @return whether the key stored at this position is the given one, reading it through a handle to this node's
+       * file the caller already holds if it is not cached.
+       */
+      boolean matchesKey(FileProvider.Handle handle, byte[] key) throws IOException, IndexNodeOutdatedException {
+         assert handle.getFileId() == file;
+         return Arrays.equals(getHeaderAndKey(null, handle).getKey(), key);
+      }
+
+      /**
+       * Same as {@link #loadRecord(FileProvider, byte[], TimeService)} but reads through a handle to this node's file
+       * the caller already holds.
+       */
+      EntryRecord loadRecord(FileProvider.Handle handle, byte[] key, TimeService timeService) throws IOException, IndexNodeOutdatedException {
+         assert handle.getFileId() == file;
+         int readOffset = offset < 0 ? ~offset : offset;
+         boolean trace = log.isTraceEnabled();
+         EntryRecord headerAndKey = getHeaderAndKey(null, handle);
+         if (key != null && !Arrays.equals(headerAndKey.getKey(), key)) {
+            if (trace) {
+               log.trace("Key on " + file + ":" + readOffset + " not matched.");
             }
-            if (timeService != null && headerAndKey.getHeader().expiryTime() > 0 && headerAndKey.getHeader().expiryTime() <= timeService.wallClockTime()) {
-               if (trace) {
-                  log.trace("Key on " + file + ":" + readOffset + " matched but expired.");
-               }
-               return null;
+            return null;
+         }
+         if (headerAndKey.getHeader().valueLength() <= 0) {
+            if (trace) {
+               log.trace("Entry " + file + ":" + readOffset + " matched, it is a tombstone.");
             }
+            return null;
+         }
+         if (timeService != null && headerAndKey.getHeader().expiryTime() > 0 && headerAndKey.getHeader().expiryTime() <= timeService.wallClockTime()) {
             if (trace) {
-               log.trace("Loaded from " + file + ":" + readOffset);
+               log.trace("Key on " + file + ":" + readOffset + " matched but expired.");
             }
-            return headerAndKey.loadMetadataAndValue(handle, readOffset, key != null);
-         } finally {
-            handle.close();
+            return null;
+         }
+         if (trace) {
+            log.trace("Loaded from " + file + ":" + readOffset);
          }
+         return headerAndKey.loadMetadataAndValue(handle, readOffset, key != null);
       }
 
       /**
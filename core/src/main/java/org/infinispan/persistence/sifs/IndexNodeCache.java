@@ -0,0 +1,113 @@
+package org.infinispan.persistence.sifs;
+
+import java.lang.ref.SoftReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Holds the decoded index nodes of the bottom level of the index tree, the nodes that reference leaves. Nodes of the
+ * upper levels are not cached here as these are always kept in memory by their parents, so that looking up a key
+ * requires at most a single read from the index file.
+ * <p>
+ * The cache is shared by all segments of the index and keyed by the identity of the parent's reference to the node,
+ * a reference that is replaced whenever the node is written to a different place in the index file.
+ *
+ * @since 15.1
+ */
+abstract class IndexNodeCache {
+   private final LongAdder hits = new LongAdder();
+   private final LongAdder misses = new LongAdder();
+
+   /**
+    * @param maxSize maximum size of the cached nodes in bytes, if not positive the nodes are held in soft references
+    *                and evicted by the garbage collector
+    */
+   static IndexNodeCache create(long maxSize) {
+      return maxSize > 0 ? new Bounded(maxSize) : new Soft();
+   }
+
+   /**
+    * @return the cached node or null if it has to be loaded from the index file
+    */
+   IndexNode get(IndexNode.InnerNode reference) {
+      IndexNode node = lookup(reference);
+      if (node != null) {
+         hits.increment();
+      } else {
+         misses.increment();
+      }
+      return node;
+   }
+
+   abstract IndexNode lookup(IndexNode.InnerNode reference);
+
+   abstract void put(IndexNode.InnerNode reference, IndexNode node);
+
+   /**
+    * @return size of the cached nodes in bytes or -1 if that is not known
+    */
+   abstract long size();
+
+   long hits() {
+      return hits.sum();
+   }
+
+   long misses() {
+      return misses.sum();
+   }
+
+   /**
+    * The cache used when no size is configured, nodes stay in memory until there is a memory pressure.
+    */
+   private static class Soft extends IndexNodeCache {
+      @Override
+      IndexNode lookup(IndexNode.InnerNode reference) {
+         SoftReference<IndexNode> softReference = reference.softReference;
+         return softReference == null ? null : softReference.get();
+      }
+
+      @Override
+      void put(IndexNode.InnerNode reference, IndexNode node) {
+         reference.softReference = new SoftReference<>(node);
+      }
+
+      @Override
+      long size() {
+         return -1;
+      }
+   }
+
+   /**
+    * Cache bounded by the size of the nodes in the index file, using the W-TinyLFU eviction of Caffeine.
+    */
+   private static class Bounded extends IndexNodeCache {
+      private final Cache<IndexNode.InnerNode, IndexNode> cache;
+
+      Bounded(long maxSize) {
+         // Weak keys use identity comparison and drop nodes whose parent was replaced
+         cache = Caffeine.newBuilder()
+               .weakKeys()
+               .maximumWeight(maxSize)
+               .weigher((IndexNode.InnerNode reference, IndexNode node) -> reference.length)
+               .executor(Runnable::run)
+               .build();
+      }
+
+      @Override
+      IndexNode lookup(IndexNode.InnerNode reference) {
+         return cache.getIfPresent(reference);
+      }
+
+      @Override
+      void put(IndexNode.InnerNode reference, IndexNode node) {
+         cache.put(reference, node);
+      }
+
+      @Override
+      long size() {
+         return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(-1)).orElse(-1L);
+      }
+   }
+}
@@ -31,8 +31,10 @@ public enum Type {
    private final int prevOffset;
    private final ByteBuffer serializedKey;
    private final int size;
+   // sequence id of the record at file:offset, -1 if there is no such record
+   private final long seqId;
 
-   private IndexRequest(Type type, int segment, Object key, ByteBuffer serializedKey, int file, int offset, int size, int prevFile, int prevOffset) {
+   private IndexRequest(Type type, int segment, Object key, ByteBuffer serializedKey, int file, int offset, int size, int prevFile, int prevOffset, long seqId) {
       this.type = type;
       this.segment = segment;
       this.key = key;
@@ -42,26 +44,27 @@ private IndexRequest(Type type, int segment, Object key, ByteBuffer serializedKe
       this.prevOffset = prevOffset;
       this.serializedKey = serializedKey;
       this.size = size;
+      this.seqId = seqId;
    }
 
-   public static IndexRequest update(int segment, Object key, ByteBuffer serializedKey, int file, int offset, int size) {
-      return new IndexRequest(Type.UPDATE, segment, Objects.requireNonNull(key), serializedKey, file, offset, size, -1, -1);
+   public static IndexRequest update(int segment, Object key, ByteBuffer serializedKey, int file, int offset, int size, long seqId) {
+      return new IndexRequest(Type.UPDATE, segment, Objects.requireNonNull(key), serializedKey, file, offset, size, -1, -1, seqId);
    }
 
-   public static IndexRequest moved(int segment, Object key, ByteBuffer serializedKey, int file, int offset, int size, int prevFile, int prevOffset) {
-      return new IndexRequest(Type.MOVED, segment, Objects.requireNonNull(key), serializedKey, file, offset, size, prevFile, prevOffset);
+   public static IndexRequest moved(int segment, Object key, ByteBuffer serializedKey, int file, int offset, int size, int prevFile, int prevOffset, long seqId) {
+      return new IndexRequest(Type.MOVED, segment, Objects.requireNonNull(key), serializedKey, file, offset, size, prevFile, prevOffset, seqId);
    }
 
    public static IndexRequest dropped(int segment, Object key, ByteBuffer serializedKey, int file, int offset, int prevFile, int prevOffset) {
-      return new IndexRequest(Type.DROPPED, segment, Objects.requireNonNull(key), serializedKey, file, offset, -1, prevFile, prevOffset);
+      return new IndexRequest(Type.DROPPED, segment, Objects.requireNonNull(key), serializedKey, file, offset, -1, prevFile, prevOffset, -1);
    }
 
-   public static IndexRequest foundOld(int segment, Object key, ByteBuffer serializedKey, int file, int offset, int size) {
-      return new IndexRequest(Type.FOUND_OLD, segment, Objects.requireNonNull(key), serializedKey, file, offset, size, -1, -1);
+   public static IndexRequest foundOld(int segment, Object key, ByteBuffer serializedKey, int file, int offset, int size, long seqId) {
+      return new IndexRequest(Type.FOUND_OLD, segment, Objects.requireNonNull(key), serializedKey, file, offset, size, -1, -1, seqId);
    }
 
    public static IndexRequest clearRequest() {
-      return new IndexRequest(Type.CLEAR, -1, null, null, -1, -1, -1, -1, -1);
+      return new IndexRequest(Type.CLEAR, -1, null, null, -1, -1, -1, -1, -1, -1);
    }
 
    /**
@@ -71,7 +74,7 @@ public static IndexRequest clearRequest() {
     * @return the request
     */
    public static IndexRequest syncRequest(Runnable runnable) {
-      return new IndexRequest(Type.SYNC_REQUEST, -1, runnable, null, -1, -1, -1, -1, -1);
+      return new IndexRequest(Type.SYNC_REQUEST, -1, runnable, null, -1, -1, -1, -1, -1, -1);
    }
 
    public Type getType() {
@@ -106,6 +109,10 @@ public int getOffset() {
       return offset;
    }
 
+   public long getSeqId() {
+      return seqId;
+   }
+
    public int getSize() {
       return size;
    }
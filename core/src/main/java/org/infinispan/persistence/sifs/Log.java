@@ -104,4 +104,7 @@ public interface Log extends BasicLogger {
 
    @Message(value = "Failed acquiring lock '%s' for SIFS", id = 29025)
    PersistenceException failedAcquiringLockFile(@Cause Throwable cause, FileSystemLock lock);
+
+   @Message(value = "Compaction workers (%d) should be greater than 0.", id = 29026)
+   CacheConfigurationException invalidCompactionWorkers(int value);
 }
@@ -120,7 +120,7 @@ void handleRequestCompletion(LogRequest request) {
       int offset = request.getSerializedValue() == null ? ~request.getFileOffset() : request.getFileOffset();
       temporaryTable.set(request.getSegment(), request.getKey(), request.getFile(), offset);
       IndexRequest indexRequest = IndexRequest.update(request.getSegment(), request.getKey(), request.getSerializedKey(),
-            request.getFile(), offset, request.length());
+            request.getFile(), offset, request.length(), request.getSeqId());
       request.setIndexRequest(indexRequest);
       index.handleRequest(indexRequest);
 
@@ -296,6 +296,7 @@ public void accept(WriteOperation writeOperation) {
                actualRequest.getLastUsed());
          actualRequest.setFile(logFile.fileId);
          actualRequest.setFileOffset(currentOffset);
+         actualRequest.setSeqId(seqId);
 
          if (!syncWrites) {
             completionProcessor.onNext(writeOperation);
@@ -33,6 +33,7 @@ enum Type {
    private final long lastUsed;
    private volatile int file;
    private volatile int fileOffset;
+   private volatile long seqId;
    private volatile IndexRequest indexRequest;
 
    private LogRequest(Type type, int segment, Object key, long expirationTime, ByteBuffer serializedKey, ByteBuffer serializedMetadata,
@@ -149,6 +150,14 @@ public void setFileOffset(int fileOffset) {
       this.fileOffset = fileOffset;
    }
 
+   public long getSeqId() {
+      return seqId;
+   }
+
+   public void setSeqId(long seqId) {
+      this.seqId = seqId;
+   }
+
    public IndexRequest getIndexRequest() {
       return indexRequest;
    }
@@ -31,6 +31,7 @@
 import org.infinispan.commons.util.CloseableIterator;
 import org.infinispan.commons.util.IntSet;
 import org.infinispan.commons.util.IntSets;
+import org.infinispan.commons.util.ProcessorInfo;
 import org.infinispan.commons.util.Util;
 import org.infinispan.commons.util.concurrent.CompletableFutures;
 import org.infinispan.commons.util.concurrent.CompletionStages;
@@ -140,10 +141,14 @@
    public static final String PREFIX_12_0 = "ispn12.";
    public static final String PREFIX_LATEST = PREFIX_12_0;
 
+   private static final int MAX_READ_BATCH_SIZE = 64;
+
    private FileSystemLock directoryLock;
    private SoftIndexFileStoreConfiguration configuration;
    private TemporaryTable temporaryTable;
    private FileProvider fileProvider;
+   private ReadScheduler readScheduler;
+   private SoftIndexFileStoreStatistics statistics;
    private LogAppender logAppender;
    private Index index;
    private Compactor compactor;
@@ -210,18 +215,23 @@ public CompletionStage<Void> start(InitializationContext ctx) {
       }
 
       fileProvider = new FileProvider(getDataLocation(), maxOpenDataFiles, PREFIX_LATEST,
-            configuration.maxFileSize());
+            configuration.maxFileSize(), configuration.memoryMapped());
+      int readConcurrency = configuration.readConcurrency() > 0 ? configuration.readConcurrency() : ProcessorInfo.availableProcessors();
+      readScheduler = new ReadScheduler(fileProvider, blockingManager.asExecutor("sifs-read"), MAX_READ_BATCH_SIZE,
+            readConcurrency);
       compactor = new Compactor(ctx.getNonBlockingManager(), fileProvider, temporaryTable, marshaller, timeService,
             keyPartitioner, configuration.maxFileSize(), configuration.compactionThreshold(),
-            blockingManager.asExecutor("sifs-compactor"));
+            blockingManager.asExecutor("sifs-compactor"), configuration.compactionWorkers(),
+            configuration.compactionRateLimit());
       try {
          index = new Index(ctx.getNonBlockingManager(), fileProvider, getIndexLocation(), cacheSegments,
-               configuration.minNodeSize(), configuration.maxNodeSize(), temporaryTable, compactor,
+               configuration.minNodeSize(), configuration.maxNodeSize(), configuration.indexCacheSize(), temporaryTable, compactor,
                timeService, blockingManager.asExecutor("sifs-index"), maxOpenIndexFiles);
       } catch (IOException e) {
          throw log.cannotOpenIndex(configuration.indexLocation(), e);
       }
       compactor.setIndex(index);
+      statistics = SoftIndexFileStoreStatistics.register(ctx.getCache(), readScheduler, index, compactor);
       logAppender = new LogAppender(ctx.getNonBlockingManager(), index, temporaryTable, compactor, fileProvider,
             configuration.syncWrites(), configuration.maxFileSize());
       logAppender.start(blockingManager.asExecutor("sifs-log-processor"));
@@ -406,11 +416,11 @@ private void buildIndex(final AtomicLong maxSeqId) {
                   int segment = keyPartitioner.getSegment(key);
                   // We may check the seqId safely as we are the only thread writing to index
                   if (isSeqIdOld(seqId, segment, key, serializedKey)) {
-                     index.handleRequest(IndexRequest.foundOld(segment, key, ByteBufferImpl.create(serializedKey), file, offset, size));
+                     index.handleRequest(IndexRequest.foundOld(segment, key, ByteBufferImpl.create(serializedKey), file, offset, size, seqId));
                      return null;
                   }
                   if (temporaryTable.set(segment, key, file, offset)) {
-                     index.handleRequest(IndexRequest.update(segment, key, ByteBufferImpl.create(serializedKey), file, offset, size));
+                     index.handleRequest(IndexRequest.update(segment, key, ByteBufferImpl.create(serializedKey), file, offset, size, seqId));
                   }
                   return null;
                }).doOnComplete(() -> compactor.completeFile(outerFile, -1, nextExpirationTime.get(), false));
@@ -473,6 +483,8 @@ protected void startIndex() {
    public CompletionStage<Void> stop() {
       return blockingManager.runBlocking(() -> {
          try {
+            statistics.unregister();
+            statistics = null;
             CompletionStages.join(logAppender.stop());
             compactor.stopOperations();
             compactor = null;
@@ -480,6 +492,7 @@ public CompletionStage<Void> stop() {
             index = null;
             fileProvider.stop();
             fileProvider = null;
+            readScheduler = null;
             temporaryTable = null;
          } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -600,33 +613,96 @@ public CompletionStage<Boolean> containsKey(int segment, Object key) {
 
    @Override
    public CompletionStage<MarshallableEntry<K, V>> load(int segment, Object key) {
-      return blockingManager.supplyBlocking(() -> {
-         log.tracef("Loading key %s for segment %d", key, segment);
+      log.tracef("Loading key %s for segment %d", key, segment);
+      return blockingManager.continueOnNonBlockingThread(readScheduler.submit(new LoadRequest(segment, key)), "soft-index-load");
+   }
+
+   private MarshallableEntry<K, V> loadUnbatched(int segment, Object key) throws Exception {
+      for (;;) {
+         EntryPosition entry = temporaryTable.get(segment, key);
+         if (entry != null) {
+            if (entry.offset < 0) {
+               log.tracef("Entry for key=%s found in temporary table on %d:%d but it is a tombstone", key, entry.file, entry.offset);
+               return null;
+            }
+            MarshallableEntry<K, V> marshallableEntry = readValueFromFileOffset(key, entry);
+            if (marshallableEntry != null) {
+               return marshallableEntry;
+            }
+         } else {
+            EntryRecord record = index.getRecord(key, segment, marshaller.objectToBuffer(key));
+            if (record == null) {
+               log.tracef("Entry for key=%s not found in index, returning null", key);
+               return null;
+            }
+            return entryFromRecord(record);
+         }
+      }
+   }
+
+   /**
+    * Load of a single key through the {@link ReadScheduler}. The position is looked up in the temporary table first
+    * and then in the index, the entry is read once all the reads of the batch are sorted.
+    */
+   private class LoadRequest extends ReadScheduler.Request<MarshallableEntry<K, V>> {
+      private final int segment;
+      private final Object key;
+      private byte[] indexKey;
+
+      LoadRequest(int segment, Object key) {
+         this.segment = segment;
+         this.key = key;
+      }
+
+      @Override
+      protected EntryPosition locate() throws Exception {
+         EntryPosition entry = temporaryTable.get(segment, key);
+         if (entry != null) {
+            if (entry.offset < 0) {
+               log.tracef("Entry for key=%s found in temporary table on %d:%d but it is a tombstone", key, entry.file, entry.offset);
+               return null;
+            }
+            return entry;
+         }
+         indexKey = Index.toIndexKey(marshaller.objectToBuffer(key));
+         // The header and key are not read here, they are read together with the value once the batch is sorted
+         EntryPosition position = index.getLeaf(segment, indexKey);
+         if (position == null) {
+            log.tracef("Entry for key=%s not found in index, returning null", key);
+         }
+         return position;
+      }
+
+      @Override
+      protected MarshallableEntry<K, V> read(FileProvider.Handle handle, EntryPosition position) throws Exception {
+         if (indexKey == null) {
+            return readValueFromHandle(handle, key, position, false);
+         }
          try {
-            for (;;) {
-               EntryPosition entry = temporaryTable.get(segment, key);
-               if (entry != null) {
-                  if (entry.offset < 0) {
-                     log.tracef("Entry for key=%s found in temporary table on %d:%d but it is a tombstone", key, entry.file, entry.offset);
-                     return null;
-                  }
-                  MarshallableEntry<K, V> marshallableEntry = readValueFromFileOffset(key, entry);
-                  if (marshallableEntry != null) {
-                     return marshallableEntry;
-                  }
-               } else {
-                  EntryRecord record = index.getRecord(key, segment, marshaller.objectToBuffer(key));
-                  if (record == null) {
-                     log.tracef("Entry for key=%s not found in index, returning null", key);
-                     return null;
-                  }
-                  return entryFromRecord(record);
+            IndexNode.LeafNode leafNode = (IndexNode.LeafNode) position;
+            EntryRecord record = leafNode.loadRecord(handle, indexKey, timeService);
+            if (record == null) {
+               // Removed and expired entries are found in the index as well
+               if (!leafNode.matchesKey(handle, indexKey)) {
+                  index.recordBloomFilterFalsePositive(segment);
                }
+               return null;
             }
-         } catch (Exception e) {
-            throw log.cannotLoadKeyFromIndex(key, e);
+            return entryFromRecord(record);
+         } catch (IndexNodeOutdatedException e) {
+            return loadUnbatched(segment, key);
          }
-      }, "soft-index-load");
+      }
+
+      @Override
+      protected MarshallableEntry<K, V> readUnbatched() throws Exception {
+         return loadUnbatched(segment, key);
+      }
+
+      @Override
+      protected Throwable wrapException(Throwable t) {
+         return t instanceof Exception ? log.cannotLoadKeyFromIndex(key, (Exception) t) : t;
+      }
    }
 
    private MarshallableEntry<K, V> entryFromRecord(EntryRecord record) {
@@ -642,14 +718,7 @@ private MarshallableEntry<K, V> readValueFromFileOffset(Object key, EntryPositio
       FileProvider.Handle handle = fileProvider.getFile(entry.file);
       if (handle != null) {
          try {
-            EntryHeader header = EntryRecord.readEntryHeader(handle, entry.offset);
-            if (header == null) {
-               throw new IllegalStateException("Error reading from " + entry.file + ":" + entry.offset + " | " + handle.getFileSize());
-            }
-            return readEntry(handle, header, entry.offset, key, false,
-                  (serializedKey, value, meta, internalMeta, created, lastUsed) ->
-                        marshallableEntryFactory.create(serializedKey, value, meta, internalMeta, created, lastUsed),
-                  includeExpired);
+            return readValueFromHandle(handle, key, entry, includeExpired);
          } finally {
             handle.close();
          }
@@ -657,6 +726,17 @@ private MarshallableEntry<K, V> readValueFromFileOffset(Object key, EntryPositio
       return null;
    }
 
+   private MarshallableEntry<K, V> readValueFromHandle(FileProvider.Handle handle, Object key, EntryPosition entry, boolean includeExpired) throws IOException {
+      EntryHeader header = EntryRecord.readEntryHeader(handle, entry.offset);
+      if (header == null) {
+         throw new IllegalStateException("Error reading from " + entry.file + ":" + entry.offset + " | " + handle.getFileSize());
+      }
+      return readEntry(handle, header, entry.offset, key, false,
+            (serializedKey, value, meta, internalMeta, created, lastUsed) ->
+                  marshallableEntryFactory.create(serializedKey, value, meta, internalMeta, created, lastUsed),
+            includeExpired);
+   }
+
    private MarshallableEntry<K, V> readEntry(FileProvider.Handle handle, EntryHeader header, int offset,
          Object key, boolean nonNull, EntryCreator<K, V> entryCreator, boolean includeExpired)
          throws IOException {
@@ -0,0 +1,224 @@
+package org.infinispan.persistence.sifs;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.infinispan.util.logging.LogFactory;
+
+/**
+ * Schedules reads of entries from the data files. Instead of occupying a blocking thread per read, requests are queued
+ * and drained by a bounded number of blocking tasks. Each task takes a batch of requests, looks up the positions of
+ * all of them, sorts the reads by file and offset and then serves every file of the batch through a single handle,
+ * reading front to back.
+ * <p>
+ * The JDK does not provide native asynchronous file I/O, so the reads themselves are plain positional reads on the
+ * file channel (or copies from the mapping, when memory mapping is enabled).
+ *
+ * @since 15.1
+ */
+class ReadScheduler {
+   private static final Log log = LogFactory.getLog(ReadScheduler.class, Log.class);
+
+   private static final Comparator<Request<?>> POSITION_ORDER = Comparator.<Request<?>>comparingInt(r -> r.position.file)
+         .thenComparingInt(r -> r.readOffset());
+
+   private final FileProvider fileProvider;
+   private final Executor executor;
+   private final int maxBatchSize;
+   private final int maxConcurrentBatches;
+   private final Queue<Request<?>> queue = new ConcurrentLinkedQueue<>();
+   private final AtomicInteger queueDepth = new AtomicInteger();
+   private final AtomicInteger activeBatches = new AtomicInteger();
+   private final LongAdder batches = new LongAdder();
+   private final LongAdder reads = new LongAdder();
+   private final LongAccumulator maxBatch = new LongAccumulator(Math::max, 0);
+
+   ReadScheduler(FileProvider fileProvider, Executor executor, int maxBatchSize, int maxConcurrentBatches) {
+      this.fileProvider = fileProvider;
+      this.executor = executor;
+      this.maxBatchSize = maxBatchSize;
+      this.maxConcurrentBatches = maxConcurrentBatches;
+   }
+
+   <T> CompletionStage<T> submit(Request<T> request) {
+      queue.add(request);
+      queueDepth.incrementAndGet();
+      if (tryStartBatch()) {
+         executor.execute(this::drain);
+      }
+      return request.future;
+   }
+
+   private boolean tryStartBatch() {
+      for (;;) {
+         int active = activeBatches.get();
+         if (active >= maxConcurrentBatches) {
+            // One of the running tasks will pick the request up
+            return false;
+         }
+         if (activeBatches.compareAndSet(active, active + 1)) {
+            return true;
+         }
+      }
+   }
+
+   private void drain() {
+      List<Request<?>> batch = new ArrayList<>(maxBatchSize);
+      for (;;) {
+         Request<?> request;
+         while (batch.size() < maxBatchSize && (request = queue.poll()) != null) {
+            queueDepth.decrementAndGet();
+            batch.add(request);
+         }
+         if (batch.isEmpty()) {
+            activeBatches.decrementAndGet();
+            // A request may have been queued after the poll while we were still counted as active
+            if (queue.isEmpty() || !tryStartBatch()) {
+               return;
+            }
+            continue;
+         }
+         batches.increment();
+         reads.add(batch.size());
+         maxBatch.accumulate(batch.size());
+         process(batch);
+         batch.clear();
+      }
+   }
+
+   private void process(List<Request<?>> batch) {
+      List<Request<?>> located = new ArrayList<>(batch.size());
+      for (Request<?> request : batch) {
+         try {
+            request.position = request.locate();
+            if (request.position == null) {
+               request.future.complete(null);
+            } else {
+               located.add(request);
+            }
+         } catch (Throwable t) {
+            request.future.completeExceptionally(request.wrapException(t));
+         }
+      }
+      located.sort(POSITION_ORDER);
+      int start = 0;
+      while (start < located.size()) {
+         int file = located.get(start).position.file;
+         int end = start + 1;
+         while (end < located.size() && located.get(end).position.file == file) {
+            end++;
+         }
+         readFile(file, located.subList(start, end));
+         start = end;
+      }
+   }
+
+   private void readFile(int file, List<Request<?>> requests) {
+      FileProvider.Handle handle;
+      try {
+         handle = fileProvider.getFile(file);
+      } catch (Throwable t) {
+         for (Request<?> request : requests) {
+            request.future.completeExceptionally(request.wrapException(t));
+         }
+         return;
+      }
+      if (handle == null) {
+         // the file was deleted after we've looked up temporary table/index
+         log.tracef("File %d was deleted before it was read, retrying %d reads", file, requests.size());
+         for (Request<?> request : requests) {
+            request.retry();
+         }
+         return;
+      }
+      try {
+         for (Request<?> request : requests) {
+            request.read(handle);
+         }
+      } finally {
+         try {
+            handle.close();
+         } catch (IOException e) {
+            log.debugf(e, "Cannot close handle for file %d", file);
+         }
+      }
+   }
+
+   int getQueueDepth() {
+      return queueDepth.get();
+   }
+
+   long getBatchCount() {
+      return batches.sum();
+   }
+
+   long getReadCount() {
+      return reads.sum();
+   }
+
+   long getMaxBatchSize() {
+      return maxBatch.get();
+   }
+
+   /**
+    * A single read. The position is looked up on the scheduler thread, right before the batch is sorted.
+    *
+    * @param <T> the type of the read value
+    */
+   abstract static class Request<T> {
+      private final CompletableFuture<T> future = new CompletableFuture<>();
+      private EntryPosition position;
+
+      /**
+       * @return position of the entry or null if there is nothing to read and the request should complete with null
+       */
+      protected abstract EntryPosition locate() throws Exception;
+
+      /**
+       * Reads the value from the file the entry position points to.
+       */
+      protected abstract T read(FileProvider.Handle handle, EntryPosition position) throws Exception;
+
+      /**
+       * Reads the value without batching, invoked when the file was removed between lookup and read.
+       */
+      protected abstract T readUnbatched() throws Exception;
+
+      /**
+       * Allows to convert a failure to the exception the caller expects.
+       */
+      protected Throwable wrapException(Throwable t) {
+         return t;
+      }
+
+      private int readOffset() {
+         return position.offset < 0 ? ~position.offset : position.offset;
+      }
+
+      private void read(FileProvider.Handle handle) {
+         try {
+            future.complete(read(handle, position));
+         } catch (Throwable t) {
+            future.completeExceptionally(wrapException(t));
+         }
+      }
+
+      private void retry() {
+         try {
+            future.complete(readUnbatched());
+         } catch (Throwable t) {
+            future.completeExceptionally(wrapException(t));
+         }
+      }
+   }
+}
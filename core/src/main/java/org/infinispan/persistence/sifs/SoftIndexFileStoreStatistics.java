@@ -0,0 +1,259 @@
+package org.infinispan.persistence.sifs;
+
+import java.util.Set;
+
+import javax.management.ObjectName;
+
+import org.infinispan.Cache;
+import org.infinispan.factories.ComponentRegistry;
+import org.infinispan.factories.impl.BasicComponentRegistry;
+import org.infinispan.factories.impl.ComponentRef;
+import org.infinispan.factories.scopes.Scope;
+import org.infinispan.factories.scopes.Scopes;
+import org.infinispan.jmx.CacheJmxRegistration;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.MeasurementType;
+import org.infinispan.metrics.impl.CacheMetricsRegistration;
+import org.infinispan.util.logging.LogFactory;
+
+/**
+ * Exposes statistics of the soft-index file store of a cache via JMX and metrics.
+ * <p>
+ * Stores are not components and they may be stopped and started again without restarting the cache. A new instance
+ * is therefore created every time the store starts, registered as an external MBean and external metrics, and
+ * unregistered again when the store stops, so that a restarted store does not leave the statistics of its previous
+ * internals behind.
+ *
+ * @since 15.1
+ */
+@MBean(objectName = "SoftIndexFileStore", description = "Statistics of the soft-index file store")
+@Scope(Scopes.NAMED_CACHE)
+public class SoftIndexFileStoreStatistics {
+   private static final Log log = LogFactory.getLog(SoftIndexFileStoreStatistics.class, Log.class);
+
+   private final ReadScheduler readScheduler;
+   private final Index index;
+   private final Compactor compactor;
+   private final ComponentRef<CacheJmxRegistration> jmxRegistration;
+   private final ComponentRef<CacheMetricsRegistration> metricsRegistration;
+   private ObjectName objectName;
+   private Set<Object> metricIds;
+
+   private SoftIndexFileStoreStatistics(ReadScheduler readScheduler, Index index, Compactor compactor,
+                                        BasicComponentRegistry registry) {
+      this.readScheduler = readScheduler;
+      this.index = index;
+      this.compactor = compactor;
+      this.jmxRegistration = registry.getComponent(CacheJmxRegistration.class);
+      this.metricsRegistration = registry.getComponent(CacheMetricsRegistration.class);
+   }
+
+   /**
+    * Creates the statistics of the given store internals and registers them with the JMX and metrics registrations of
+    * the cache, if those are enabled.
+    */
+   static SoftIndexFileStoreStatistics register(Cache<?, ?> cache, ReadScheduler readScheduler, Index index,
+                                                Compactor compactor) {
+      BasicComponentRegistry registry = ComponentRegistry.of(cache).getComponent(BasicComponentRegistry.class);
+      SoftIndexFileStoreStatistics statistics = new SoftIndexFileStoreStatistics(readScheduler, index, compactor, registry);
+      statistics.register();
+      return statistics;
+   }
+
+   private void register() {
+      if (jmxRegistration != null && jmxRegistration.isRunning() && jmxRegistration.running().enabled()) {
+         try {
+            objectName = jmxRegistration.running().registerExternalMBean(this, jmxRegistration.running().getGroupName());
+         } catch (Exception e) {
+            throw new IllegalStateException("Unable to register soft-index file store statistics", e);
+         }
+      }
+      if (metricsRegistration != null && metricsRegistration.isRunning() && metricsRegistration.running().metricsEnabled()) {
+         metricIds = metricsRegistration.running().registerExternalMetrics(this, null);
+      }
+   }
+
+   /**
+    * Removes the MBean and the metrics registered by {@link #register(Cache, ReadScheduler, Index, Compactor)}.
+    */
+   void unregister() {
+      if (objectName != null) {
+         try {
+            jmxRegistration.wired().unregisterMBean(objectName);
+         } catch (Exception e) {
+            log.debugf(e, "Unable to unregister MBean %s", objectName);
+         }
+         objectName = null;
+      }
+      if (metricIds != null) {
+         metricsRegistration.wired().unregisterMetrics(metricIds);
+         metricIds = null;
+      }
+   }
+
+   @ManagedAttribute(
+         description = "Number of loads waiting to be scheduled for reading",
+         displayName = "Read queue depth"
+   )
+   public int getReadQueueDepth() {
+      return readScheduler.getQueueDepth();
+   }
+
+   @ManagedAttribute(
+         description = "Number of read batches issued",
+         displayName = "Read batches",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getReadBatches() {
+      return readScheduler.getBatchCount();
+   }
+
+   @ManagedAttribute(
+         description = "Number of reads issued through read batches",
+         displayName = "Batched reads",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getBatchedReads() {
+      return readScheduler.getReadCount();
+   }
+
+   @ManagedAttribute(
+         description = "Average number of reads in a read batch",
+         displayName = "Average read batch size"
+   )
+   public double getAverageReadBatchSize() {
+      long batches = readScheduler.getBatchCount();
+      return batches == 0 ? 0 : (double) readScheduler.getReadCount() / batches;
+   }
+
+   @ManagedAttribute(
+         description = "Largest number of reads in a single read batch",
+         displayName = "Maximum read batch size"
+   )
+   public long getMaxReadBatchSize() {
+      return readScheduler.getMaxBatchSize();
+   }
+
+   @ManagedAttribute(
+         description = "Number of lookups of absent keys answered by the index bloom filters",
+         displayName = "Bloom filter negatives",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getBloomFilterNegatives() {
+      return index.getBloomFilterNegatives();
+   }
+
+   @ManagedAttribute(
+         description = "Number of lookups that passed the index bloom filters but did not find an entry",
+         displayName = "Bloom filter false positives",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getBloomFilterFalsePositives() {
+      return index.getBloomFilterFalsePositives();
+   }
+
+   @ManagedAttribute(
+         description = "Ratio of lookups of absent keys that were not answered by the index bloom filters",
+         displayName = "Bloom filter false positive rate"
+   )
+   public double getBloomFilterFalsePositiveRate() {
+      long falsePositives = index.getBloomFilterFalsePositives();
+      long absent = falsePositives + index.getBloomFilterNegatives();
+      return absent == 0 ? 0 : (double) falsePositives / absent;
+   }
+
+   @ManagedAttribute(
+         description = "False positive rate of the index bloom filters estimated from their occupancy",
+         displayName = "Bloom filter estimated false positive rate"
+   )
+   public double getBloomFilterEstimatedFalsePositiveRate() {
+      return index.getBloomFilterEstimatedFalsePositiveRate();
+   }
+
+   @ManagedAttribute(
+         description = "Number of times an index bloom filter was rebuilt from the index because no usable copy was persisted",
+         displayName = "Bloom filter rebuilds",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getBloomFilterRebuilds() {
+      return index.getBloomFilterRebuilds();
+   }
+
+   @ManagedAttribute(
+         description = "Number of index node lookups served from the index node cache",
+         displayName = "Index node cache hits",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getIndexNodeCacheHits() {
+      return index.getNodeCache().hits();
+   }
+
+   @ManagedAttribute(
+         description = "Number of index node lookups that had to read the node from the index file",
+         displayName = "Index node cache misses",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getIndexNodeCacheMisses() {
+      return index.getNodeCache().misses();
+   }
+
+   @ManagedAttribute(
+         description = "Size of the index nodes held by the index node cache in bytes, -1 if the cache is not bounded",
+         displayName = "Index node cache size"
+   )
+   public long getIndexNodeCacheSize() {
+      return index.getNodeCache().size();
+   }
+
+   @ManagedAttribute(
+         description = "Number of data files being compacted at the moment",
+         displayName = "Compactions in progress"
+   )
+   public int getCompactionsInProgress() {
+      return compactor.getCompactionsInProgress();
+   }
+
+   @ManagedAttribute(
+         description = "Percentage of the content processed for each data file being compacted",
+         displayName = "Compaction progress"
+   )
+   public String getCompactionProgress() {
+      return compactor.getCompactionProgress().toString();
+   }
+
+   @ManagedAttribute(
+         description = "Number of data files compacted and deleted",
+         displayName = "Compacted files",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getCompactedFiles() {
+      return compactor.getCompactedFiles();
+   }
+
+   @ManagedAttribute(
+         description = "Number of bytes read from the data files being compacted",
+         displayName = "Compacted bytes",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getCompactedBytes() {
+      return compactor.getCompactedBytes();
+   }
+
+   @ManagedAttribute(
+         description = "Number of bytes of live entries moved to new data files by the compaction",
+         displayName = "Compaction moved bytes",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getCompactionMovedBytes() {
+      return compactor.getMovedBytes();
+   }
+
+   @ManagedAttribute(
+         description = "Bytes compacted per second of time spent compacting, summed over all compaction workers",
+         displayName = "Compaction throughput"
+   )
+   public long getCompactionThroughput() {
+      return compactor.getCompactionThroughput();
+   }
+}
@@ -2,6 +2,7 @@
 
 import static org.infinispan.persistence.sifs.configuration.DataConfiguration.DATA_LOCATION;
 import static org.infinispan.persistence.sifs.configuration.DataConfiguration.MAX_FILE_SIZE;
+import static org.infinispan.persistence.sifs.configuration.DataConfiguration.MEMORY_MAPPED;
 import static org.infinispan.persistence.sifs.configuration.DataConfiguration.SYNC_WRITES;
 
 import org.infinispan.commons.configuration.Builder;
@@ -35,6 +36,11 @@ public DataConfigurationBuilder syncWrites(boolean syncWrites) {
       return this;
    }
 
+   public DataConfigurationBuilder memoryMapped(boolean memoryMapped) {
+      attributes.attribute(MEMORY_MAPPED).set(memoryMapped);
+      return this;
+   }
+
    @Override
    public DataConfiguration create() {
       return new DataConfiguration(attributes.protect());
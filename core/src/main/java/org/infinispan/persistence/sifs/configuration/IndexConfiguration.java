@@ -13,9 +13,10 @@ public class IndexConfiguration extends ConfigurationElement<IndexConfiguration>
    public static final AttributeDefinition<Integer> INDEX_SEGMENTS = AttributeDefinition.builder(Attribute.SEGMENTS, 3).immutable().autoPersist(false).build();
    public static final AttributeDefinition<Integer> MIN_NODE_SIZE = AttributeDefinition.builder(Attribute.MIN_NODE_SIZE, 0).immutable().autoPersist(false).build();
    public static final AttributeDefinition<Integer> MAX_NODE_SIZE = AttributeDefinition.builder(Attribute.MAX_NODE_SIZE, 4096).immutable().autoPersist(false).build();
+   public static final AttributeDefinition<Long> CACHE_SIZE = AttributeDefinition.builder(Attribute.CACHE_SIZE, -1L).immutable().autoPersist(false).build();
 
    public static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(IndexConfiguration.class, INDEX_LOCATION, INDEX_QUEUE_LENGTH, INDEX_SEGMENTS, MIN_NODE_SIZE, MAX_NODE_SIZE);
+      return new AttributeSet(IndexConfiguration.class, INDEX_LOCATION, INDEX_QUEUE_LENGTH, INDEX_SEGMENTS, MIN_NODE_SIZE, MAX_NODE_SIZE, CACHE_SIZE);
    }
 
    public IndexConfiguration(AttributeSet attributes) {
@@ -46,6 +47,14 @@ public int maxNodeSize() {
       return attributes.attribute(MAX_NODE_SIZE).get();
    }
 
+   /**
+    * @return maximum size of index nodes kept in memory, in bytes, or a non-positive value if the nodes are held
+    * in soft references
+    */
+   public long cacheSize() {
+      return attributes.attribute(CACHE_SIZE).get();
+   }
+
    public int indexQueueLength() {
       return attributes.attribute(INDEX_QUEUE_LENGTH).get();
    }
@@ -1,5 +1,6 @@
 package org.infinispan.persistence.sifs.configuration;
 
+import static org.infinispan.persistence.sifs.configuration.IndexConfiguration.CACHE_SIZE;
 import static org.infinispan.persistence.sifs.configuration.IndexConfiguration.INDEX_LOCATION;
 import static org.infinispan.persistence.sifs.configuration.IndexConfiguration.INDEX_QUEUE_LENGTH;
 import static org.infinispan.persistence.sifs.configuration.IndexConfiguration.INDEX_SEGMENTS;
@@ -51,6 +52,11 @@ public IndexConfigurationBuilder maxNodeSize(int maxNodeSize) {
       return this;
    }
 
+   public IndexConfigurationBuilder cacheSize(long cacheSize) {
+      attributes.attribute(CACHE_SIZE).set(cacheSize);
+      return this;
+   }
+
    public IndexConfigurationBuilder indexQueueLength(int indexQueueLength) {
       attributes.attribute(INDEX_QUEUE_LENGTH).set(indexQueueLength);
       return this;
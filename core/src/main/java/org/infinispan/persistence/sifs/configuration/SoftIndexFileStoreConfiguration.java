@@ -19,11 +19,15 @@ public class SoftIndexFileStoreConfiguration extends AbstractStoreConfiguration<
 
    public static final AttributeDefinition<Integer> OPEN_FILES_LIMIT = AttributeDefinition.builder(Attribute.OPEN_FILES_LIMIT, 1000).immutable().build();
    public static final AttributeDefinition<Double> COMPACTION_THRESHOLD = AttributeDefinition.builder(Attribute.COMPACTION_THRESHOLD, 0.5d).immutable().build();
+   public static final AttributeDefinition<Integer> COMPACTION_WORKERS = AttributeDefinition.builder(Attribute.COMPACTION_WORKERS, 1).immutable().build();
+   public static final AttributeDefinition<Long> COMPACTION_RATE_LIMIT = AttributeDefinition.builder(Attribute.COMPACTION_RATE_LIMIT, -1L).immutable().build();
+   public static final AttributeDefinition<Integer> READ_CONCURRENCY = AttributeDefinition.builder(Attribute.READ_CONCURRENCY, -1).immutable().build();
    private final IndexConfiguration index;
    private final DataConfiguration data;
 
    public static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(SoftIndexFileStoreConfiguration.class, AbstractStoreConfiguration.attributeDefinitionSet(), OPEN_FILES_LIMIT, COMPACTION_THRESHOLD);
+      return new AttributeSet(SoftIndexFileStoreConfiguration.class, AbstractStoreConfiguration.attributeDefinitionSet(), OPEN_FILES_LIMIT, COMPACTION_THRESHOLD,
+            COMPACTION_WORKERS, COMPACTION_RATE_LIMIT, READ_CONCURRENCY);
    }
 
    public SoftIndexFileStoreConfiguration(AttributeSet attributes,
@@ -63,6 +67,10 @@ public int maxNodeSize() {
       return index.maxNodeSize();
    }
 
+   public long indexCacheSize() {
+      return index.cacheSize();
+   }
+
    public int indexQueueLength() {
       return index.indexQueueLength();
    }
@@ -71,6 +79,10 @@ public boolean syncWrites() {
       return data.syncWrites();
    }
 
+   public boolean memoryMapped() {
+      return data.memoryMapped();
+   }
+
    /**
     * The maximum number of files that will be open at a given time for all the data and index files, which does
     * not include compactor and current log file (which will always be 2).
@@ -88,6 +100,28 @@ public double compactionThreshold() {
       return attributes.attribute(COMPACTION_THRESHOLD).get();
    }
 
+   /**
+    * @return how many data files can be compacted in parallel
+    */
+   public int compactionWorkers() {
+      return attributes.attribute(COMPACTION_WORKERS).get();
+   }
+
+   /**
+    * @return how many bytes per second the compaction may read and write, not limited if not positive
+    */
+   public long compactionRateLimit() {
+      return attributes.attribute(COMPACTION_RATE_LIMIT).get();
+   }
+
+   /**
+    * @return how many read batches can be served from the data files in parallel, the number of available processors
+    * if not positive
+    */
+   public int readConcurrency() {
+      return attributes.attribute(READ_CONCURRENCY).get();
+   }
+
    public IndexConfiguration index() {
       return index;
    }
@@ -1,8 +1,11 @@
 package org.infinispan.persistence.sifs.configuration;
 
 import static org.infinispan.configuration.cache.AbstractStoreConfiguration.SEGMENTED;
+import static org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfiguration.COMPACTION_RATE_LIMIT;
 import static org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfiguration.COMPACTION_THRESHOLD;
+import static org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfiguration.COMPACTION_WORKERS;
 import static org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfiguration.OPEN_FILES_LIMIT;
+import static org.infinispan.persistence.sifs.configuration.SoftIndexFileStoreConfiguration.READ_CONCURRENCY;
 
 import org.infinispan.commons.configuration.Builder;
 import org.infinispan.commons.configuration.Combine;
@@ -100,6 +103,18 @@ public SoftIndexFileStoreConfigurationBuilder maxNodeSize ( int maxNodeSize){
          return this;
       }
 
+      /**
+       * Sets the maximum size of index nodes kept in memory, in bytes. The nodes are evicted using the W-TinyLFU policy
+       * once the size is exceeded. Upper levels of the index tree are always kept in memory and do not count towards
+       * this size. If not positive, the nodes are held in soft references and are evicted by the garbage collector.
+       *
+       * Defaults to <code>-1</code>.
+       */
+      public SoftIndexFileStoreConfigurationBuilder indexCacheSize ( long indexCacheSize){
+         index.cacheSize(indexCacheSize);
+         return this;
+      }
+
       /**
        * Sets the maximum number of entry writes that are waiting to be written to the index, per index segment.
        *
@@ -120,6 +135,17 @@ public SoftIndexFileStoreConfigurationBuilder syncWrites ( boolean syncWrites){
          return this;
       }
 
+      /**
+       * Sets whether entries in data files that are no longer written to should be read through a read-only memory
+       * mapping instead of positional reads on the file channel.
+       *
+       * Defaults to <code>false</code>.
+       */
+      public SoftIndexFileStoreConfigurationBuilder memoryMapped ( boolean memoryMapped){
+         data.memoryMapped(memoryMapped);
+         return this;
+      }
+
       /**
        * Sets the maximum number of open files.
        *
@@ -140,6 +166,39 @@ public SoftIndexFileStoreConfigurationBuilder compactionThreshold ( double compa
          return this;
       }
 
+      /**
+       * Number of data files that can be compacted in parallel. Each worker moves the live entries to its own file.
+       *
+       * Defaults to <code>1</code>.
+       */
+      public SoftIndexFileStoreConfigurationBuilder compactionWorkers ( int compactionWorkers){
+         attributes.attribute(COMPACTION_WORKERS).set(compactionWorkers);
+         return this;
+      }
+
+      /**
+       * Maximum number of bytes per second read and written by all compaction workers together, so that compaction
+       * does not starve the writes to the store. Not limited when not positive.
+       *
+       * Defaults to <code>-1</code>.
+       */
+      public SoftIndexFileStoreConfigurationBuilder compactionRateLimit ( long compactionRateLimit){
+         attributes.attribute(COMPACTION_RATE_LIMIT).set(compactionRateLimit);
+         return this;
+      }
+
+      /**
+       * Maximum number of read batches served from the data files in parallel. Each batch occupies a blocking thread
+       * while it reads, so on storage with deep queues (NVMe, network block devices) it may pay off to go above the
+       * number of cores. The number of available processors is used when not positive.
+       *
+       * Defaults to <code>-1</code>.
+       */
+      public SoftIndexFileStoreConfigurationBuilder readConcurrency ( int readConcurrency){
+         attributes.attribute(READ_CONCURRENCY).set(readConcurrency);
+         return this;
+      }
+
       @Override
       public SoftIndexFileStoreConfiguration create () {
          return new SoftIndexFileStoreConfiguration(attributes.protect(), async.create(), index.create(), data.create());
@@ -170,6 +229,10 @@ protected void validate ( boolean skipClassChecks){
          if (compactionThreshold <= 0 || compactionThreshold > 1) {
             throw log.invalidCompactionThreshold(compactionThreshold);
          }
+         int compactionWorkers = attributes.attribute(COMPACTION_WORKERS).get();
+         if (compactionWorkers <= 0) {
+            throw log.invalidCompactionWorkers(compactionWorkers);
+         }
       }
 
       @Override
@@ -1,5 +1,6 @@
 package org.infinispan.persistence.spi;
 
+import java.util.Collection;
 import java.util.EnumSet;
 import java.util.Objects;
 import java.util.Set;
@@ -8,6 +9,7 @@
 import java.util.concurrent.Executor;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 
 import jakarta.transaction.Transaction;
 
@@ -21,6 +23,7 @@
 
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Maybe;
 
 /**
  * The contract for defining how caches interface with external sources of data, such as databases or filesystems.
@@ -322,6 +325,49 @@ default CompletionStage<Boolean> containsKey(int segment, Object key) {
             .thenApply(Objects::nonNull);
    }
 
+   /**
+    * Returns a publisher that will publish the entries mapped to the given keys. Keys that have no entry in the store
+    * are not published, and the entries may be published in any order.
+    * <p>
+    * Stores that can read many keys with a single request should implement this method, as it is used by the commands
+    * that read or write many keys at once.
+    * <p>
+    * <h4>Summary of Characteristics Effects</h4>
+    * <table border="1" cellpadding="1" cellspacing="1" summary="Summary of Characteristics Effects">
+    *    <tr>
+    *       <th bgcolor="#CCCCFF" align="left">Characteristic</th>
+    *       <th bgcolor="#CCCCFF" align="left">Effect</th>
+    *    </tr>
+    *    <tr>
+    *       <td valign="top">{@link Characteristic#WRITE_ONLY}</td>
+    *       <td valign="top">This method will never be invoked.</td>
+    *    </tr>
+    *    <tr>
+    *       <td valign="top">{@link Characteristic#EXPIRATION}</td>
+    *       <td valign="top">When set this method must not publish expired entries.</td>
+    *    </tr>
+    *    <tr>
+    *       <td valign="top">{@link Characteristic#SEGMENTABLE}</td>
+    *       <td valign="top">When this is not set or segmentation is disabled in the
+    *       {@link StoreConfiguration#segmented() configuration},
+    *       the segment of every key is 0.</td>
+    *    </tr>
+    * </table>
+    * <p>
+    * If a problem is encountered, it is recommended to wrap any created/caught Throwable in a
+    * {@link PersistenceException} and the publisher be completed exceptionally.
+    * <p>
+    * @implSpec
+    * A default implementation is provided that invokes {@link #load(int, Object)} for each key.
+    * @param keys keys of the entries to load.
+    * @param segmentMapper returns the segment of a key if segmentation is enabled, otherwise 0.
+    * @return a publisher of the entries found in the store.
+    */
+   default Publisher<MarshallableEntry<K, V>> load(Collection<?> keys, ToIntFunction<Object> segmentMapper) {
+      return Flowable.fromIterable(keys)
+            .flatMapMaybe(key -> Maybe.fromCompletionStage(load(segmentMapper.applyAsInt(key), key)));
+   }
+
    /**
     * Writes the entry to the store for the given segment returning a stage that completes normally when it is finished.
     * <p>
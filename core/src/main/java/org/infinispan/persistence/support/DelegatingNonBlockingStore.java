@@ -1,8 +1,10 @@
 package org.infinispan.persistence.support;
 
+import java.util.Collection;
 import java.util.Set;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 
 import jakarta.transaction.Transaction;
 
@@ -40,6 +42,11 @@ public CompletionStage<MarshallableEntry<K, V>> load(int segment, Object key) {
       return delegate().load(segment, key);
    }
 
+   @Override
+   public Publisher<MarshallableEntry<K, V>> load(Collection<?> keys, ToIntFunction<Object> segmentMapper) {
+      return delegate().load(keys, segmentMapper);
+   }
+
    @Override
    public CompletionStage<Boolean> containsKey(int segment, Object key) {
       return delegate().containsKey(segment, key);
@@ -228,6 +228,12 @@ public <K, V> CompletionStage<MarshallableEntry<K, V>> loadFromAllStores(Object
       return persistenceManager.loadFromAllStores(key, segment, localInvocation, includeStores);
    }
 
+   @Override
+   public <K, V> Publisher<MarshallableEntry<K, V>> loadFromAllStores(Collection<?> keys, boolean localInvocation,
+                                                                      boolean includeStores) {
+      return persistenceManager.loadFromAllStores(keys, localInvocation, includeStores);
+   }
+
    @Override
    public CompletionStage<Long> approximateSize(Predicate<? super StoreConfiguration> predicate, IntSet segments) {
       return persistenceManager.approximateSize(predicate, segments);
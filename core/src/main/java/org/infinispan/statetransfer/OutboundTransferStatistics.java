@@ -0,0 +1,96 @@
+package org.infinispan.statetransfer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of the outbound state transfers of a cache, updated when each {@link OutboundTransferTask} completes.
+ * <p>
+ * The throughput and compression ratio are reported both for the whole lifetime of the cache and for the last
+ * completed transfer.
+ *
+ * @since 15.1
+ */
+public class OutboundTransferStatistics {
+   private final LongAdder transfers = new LongAdder();
+   private final LongAdder entries = new LongAdder();
+   private final LongAdder bytes = new LongAdder();
+   private final LongAdder wireBytes = new LongAdder();
+   private final LongAdder durationNanos = new LongAdder();
+
+   private volatile Transfer lastTransfer;
+
+   void record(OutboundTransferTask task) {
+      long taskEntries = task.getEntriesSent();
+      if (taskEntries == 0) {
+         return;
+      }
+      Transfer transfer = new Transfer(taskEntries, task.getBytesSent(), task.getWireBytesSent(), task.getDurationNanos());
+      transfers.increment();
+      entries.add(transfer.entries);
+      bytes.add(transfer.bytes);
+      wireBytes.add(transfer.wireBytes);
+      durationNanos.add(transfer.durationNanos);
+      lastTransfer = transfer;
+   }
+
+   /**
+    * @return the number of completed transfers that sent entries.
+    */
+   public long getTransfers() {
+      return transfers.sum();
+   }
+
+   public long getEntries() {
+      return entries.sum();
+   }
+
+   /**
+    * @return the size of the entries sent before compression.
+    */
+   public long getBytes() {
+      return bytes.sum();
+   }
+
+   /**
+    * @return the size of the entries sent after compression.
+    */
+   public long getWireBytes() {
+      return wireBytes.sum();
+   }
+
+   /**
+    * @return the bytes sent per second by all the transfers, over the time they were running.
+    */
+   public long getThroughput() {
+      return throughput(bytes.sum(), durationNanos.sum());
+   }
+
+   /**
+    * @return the size of the entries before compression divided by their size after compression.
+    */
+   public double getCompressionRatio() {
+      return compressionRatio(bytes.sum(), wireBytes.sum());
+   }
+
+   public long getLastTransferThroughput() {
+      Transfer transfer = lastTransfer;
+      return transfer == null ? 0 : throughput(transfer.bytes, transfer.durationNanos);
+   }
+
+   public double getLastTransferCompressionRatio() {
+      Transfer transfer = lastTransfer;
+      return transfer == null ? 1 : compressionRatio(transfer.bytes, transfer.wireBytes);
+   }
+
+   private static long throughput(long bytes, long nanos) {
+      return nanos <= 0 ? 0 : (long) ((double) bytes * TimeUnit.SECONDS.toNanos(1) / nanos);
+   }
+
+   private static double compressionRatio(long bytes, long wireBytes) {
+      return wireBytes == 0 ? 1 : (double) bytes / wireBytes;
+   }
+
+   private record Transfer(long entries, long bytes, long wireBytes, long durationNanos) {
+   }
+}
@@ -1,5 +1,6 @@
 package org.infinispan.statetransfer;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -11,7 +12,10 @@
 
 import org.infinispan.commands.CommandsFactory;
 import org.infinispan.commands.statetransfer.StateResponseCommand;
+import org.infinispan.commons.CacheException;
 import org.infinispan.commons.IllegalLifecycleStateException;
+import org.infinispan.commons.marshall.Marshaller;
+import org.infinispan.commons.marshall.WrappedBytes;
 import org.infinispan.commons.util.IntSet;
 import org.infinispan.commons.util.IntSets;
 import org.infinispan.container.entries.InternalCacheEntry;
@@ -23,6 +27,7 @@
 import org.infinispan.remoting.transport.impl.SingleResponseCollector;
 import org.infinispan.remoting.transport.jgroups.SuspectException;
 import org.infinispan.commons.util.concurrent.CompletableFutures;
+import org.infinispan.util.concurrent.BlockingManager;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
@@ -51,6 +56,16 @@ public class OutboundTransferTask {
 
    private final int chunkSize;
 
+   private final long chunkMaxSize;
+
+   private final Marshaller compressionMarshaller;
+
+   private final BlockingManager blockingManager;
+
+   private final OutboundTransferThrottle throttle;
+
+   private final int totalSegments;
+
    private final RpcManager rpcManager;
 
    private final CommandsFactory commandsFactory;
@@ -65,9 +80,36 @@ public class OutboundTransferTask {
 
    private volatile boolean cancelled;
 
+   // Statistics, only updated by the sequential sending of the chunks
+   private volatile long startNanos;
+   private volatile long endNanos;
+   private volatile long entriesSent;
+   private volatile long bytesSent;
+   private volatile long wireBytesSent;
+   private volatile int segmentsSent;
+
    public OutboundTransferTask(Address destination, IntSet segments, int segmentCount, int chunkSize, int topologyId,
                                Consumer<Collection<StateChunk>> onChunkReplicated, RpcManager rpcManager,
                                CommandsFactory commandsFactory, long timeout, String cacheName, boolean applyState) {
+      this(destination, segments, segmentCount, chunkSize, Long.MAX_VALUE, null, null, null, topologyId,
+           onChunkReplicated, rpcManager, commandsFactory, timeout, cacheName, applyState);
+   }
+
+   /**
+    * @param chunkMaxSize          the estimated size of the keys and values after which a batch is sent, even if it
+    *                              has less than {@code chunkSize} entries.
+    * @param compressionMarshaller the marshaller used to compress the entries of each chunk, or {@code null} to send
+    *                              them uncompressed.
+    * @param blockingManager       runs the compression, required if {@code compressionMarshaller} is not
+    *                              {@code null}.
+    * @param throttle              delays the batches to respect the rate limit, or {@code null} if not limited.
+    */
+   OutboundTransferTask(Address destination, IntSet segments, int segmentCount, int chunkSize,
+                        long chunkMaxSize, Marshaller compressionMarshaller, BlockingManager blockingManager,
+                        OutboundTransferThrottle throttle,
+                        int topologyId,
+                        Consumer<Collection<StateChunk>> onChunkReplicated, RpcManager rpcManager,
+                        CommandsFactory commandsFactory, long timeout, String cacheName, boolean applyState) {
       if (segments == null || segments.isEmpty()) {
          throw new IllegalArgumentException("Segments must not be null or empty");
       }
@@ -77,10 +119,18 @@ public OutboundTransferTask(Address destination, IntSet segments, int segmentCou
       if (chunkSize <= 0) {
          throw new IllegalArgumentException("chunkSize must be greater than 0");
       }
+      if (chunkMaxSize <= 0) {
+         throw new IllegalArgumentException("chunkMaxSize must be greater than 0");
+      }
       this.onChunkReplicated = onChunkReplicated;
       this.destination = destination;
       this.segments = IntSets.concurrentCopyFrom(segments, segmentCount);
       this.chunkSize = chunkSize;
+      this.chunkMaxSize = chunkMaxSize;
+      this.compressionMarshaller = compressionMarshaller;
+      this.blockingManager = blockingManager;
+      this.throttle = throttle;
+      this.totalSegments = segments.size();
       this.topologyId = topologyId;
       this.rpcManager = rpcManager;
       this.commandsFactory = commandsFactory;
@@ -111,52 +161,80 @@ public int getTopologyId() {
     * @param notifications a {@code Flowable} with all the entries that need to be sent
     */
    public CompletionStage<Void> execute(Flowable<SegmentPublisherSupplier.Notification<InternalCacheEntry<?, ?>>> notifications) {
+      startNanos = System.nanoTime();
+      PendingChunks pending = new PendingChunks();
       return notifications
-            .buffer(chunkSize)
-            .takeUntil(batch -> cancelled)
-            // Here we receive a batch of notifications, a list with size up to chunkSize.
-            // Although the notification list has the chunkSize the list contains not only data segments.
-            // The notification contains data segments which hold values; lost and completed segments. This means that
-            // although we are batching the data, our final chunk can be smaller than chunkSize.
-            // This could be improved.
-            .concatMapCompletable(batch -> {
-               Map<Integer, StateChunk> chunks = new HashMap<>();
-               for(SegmentPublisherSupplier.Notification<InternalCacheEntry<?, ?>> notification: batch) {
-                  if (notification.isValue()) {
-                     StateChunk chunk = chunks.computeIfAbsent(
-                           notification.valueSegment(), segment -> new StateChunk(segment, new ArrayList<>(), false));
-                     chunk.getCacheEntries().add(notification.value());
-                  }
-
-                  // If the notification identify the segment is completed we mark a chunk as a last chunk.
-                  if (notification.isSegmentComplete()) {
-                     int segment = notification.completedSegment();
-                     chunks.compute(segment, (s, previous) -> previous == null
-                           ? new StateChunk(s, Collections.emptyList(), true)
-                           : new StateChunk(segment, previous.getCacheEntries(), true));
-                  }
+            .takeUntil(notification -> cancelled)
+            // A batch is sent once it has chunkSize notifications or its keys and values reach chunkMaxSize bytes.
+            // The notifications contain data segments which hold values, but also lost and completed segments.
+            // This means that although we are batching the data, our final chunk can be smaller than chunkSize.
+            .concatMapCompletable(notification -> {
+               pending.add(notification);
+               if (pending.notifications < chunkSize && pending.bytes < chunkMaxSize) {
+                  return Completable.complete();
                }
-
-               return Completable.fromCompletionStage(sendChunks(chunks));
+               return Completable.fromCompletionStage(sendChunks(pending.drain()));
             }, 1)
+            .andThen(Completable.defer(() -> cancelled
+                  ? Completable.complete()
+                  : Completable.fromCompletionStage(sendChunks(pending.drain()))))
+            .doOnTerminate(this::onTransferEnd)
             .toCompletionStage(null);
    }
 
-   private CompletionStage<Void> sendChunks(Map<Integer, StateChunk> chunks) {
+   private void onTransferEnd() {
+      endNanos = System.nanoTime();
+      if (log.isDebugEnabled() && entriesSent > 0) {
+         log.debugf("Sent %d entries (%d bytes, %d on the wire) of cache %s to node %s in %d ms",
+                    entriesSent, bytesSent, wireBytesSent, cacheName, destination,
+                    TimeUnit.NANOSECONDS.toMillis(getDurationNanos()));
+      }
+   }
+
+   private CompletionStage<Void> sendChunks(PendingChunks.Batch batch) {
+      Map<Integer, StateChunk> chunks = batch.chunks();
       if (chunks.isEmpty())
          return CompletableFutures.completedNull();
 
       if (log.isTraceEnabled()) {
          long entriesSize = chunks.values().stream().mapToInt(v -> v.getCacheEntries().size()).sum();
-         log.tracef("Sending to node %s %d cache entries from segments %s", destination, entriesSize, chunks.keySet());
+         log.tracef("Sending to node %s %d cache entries (%d bytes) from segments %s", destination, entriesSize,
+                    batch.bytes(), chunks.keySet());
       }
 
-      StateResponseCommand cmd = commandsFactory.buildStateResponseCommand(topologyId, chunks.values(), applyState);
+      if (compressionMarshaller == null) {
+         return throttleAndSend(chunks.values(), batch.bytes(), batch.bytes());
+      }
+      // Marshalling and deflating the entries is CPU heavy, keep it off the non-blocking threads
+      return blockingManager.supplyBlocking(() -> compress(chunks.values()), "state-transfer-compress")
+            .thenCompose(toSend -> throttleAndSend(toSend, batch.bytes(),
+                  toSend.stream().mapToLong(StateChunk::getCompressedSize).sum()))
+            .exceptionally(t -> {
+               if (!(CompletableFutures.extractException(t) instanceof IllegalLifecycleStateException)) {
+                  logSendException(t);
+               }
+               cancel();
+               return null;
+            });
+   }
+
+   private CompletionStage<Void> throttleAndSend(Collection<StateChunk> toSend, long estimatedBytes, long wireBytes) {
+      if (throttle == null) {
+         return invokeStateResponse(toSend, estimatedBytes);
+      }
+      return throttle.acquire(wireBytes).thenCompose(ignored -> cancelled
+            ? CompletableFutures.completedNull()
+            : invokeStateResponse(toSend, estimatedBytes));
+   }
+
+   private CompletionStage<Void> invokeStateResponse(Collection<StateChunk> toSend, long estimatedBytes) {
       try {
+         StateResponseCommand cmd = commandsFactory.buildStateResponseCommand(topologyId, toSend, applyState);
          return rpcManager.invokeCommand(destination, cmd, SingleResponseCollector.validOnly(), rpcOptions)
                           .handle((response, throwable) -> {
                              if (throwable == null) {
-                                onChunkReplicated.accept(chunks.values());
+                                recordSent(toSend, estimatedBytes);
+                                onChunkReplicated.accept(toSend);
                                 return null;
                              }
 
@@ -174,6 +252,63 @@ private CompletionStage<Void> sendChunks(Map<Integer, StateChunk> chunks) {
       return CompletableFutures.completedNull();
    }
 
+   private Collection<StateChunk> compress(Collection<StateChunk> chunks) {
+      Collection<StateChunk> compressed = new ArrayList<>(chunks.size());
+      try {
+         for (StateChunk chunk : chunks) {
+            compressed.add(chunk.compress(compressionMarshaller));
+         }
+      } catch (IOException e) {
+         throw new CacheException(e);
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new CacheException(e);
+      }
+      return compressed;
+   }
+
+   private void recordSent(Collection<StateChunk> chunks, long estimatedBytes) {
+      long entries = 0;
+      long uncompressed = 0;
+      long compressed = 0;
+      int completedSegments = 0;
+      for (StateChunk chunk : chunks) {
+         entries += chunk.getCacheEntries().size();
+         uncompressed += chunk.getUncompressedSize();
+         compressed += chunk.getCompressedSize();
+         if (chunk.isLastChunk()) {
+            completedSegments++;
+         }
+      }
+      entriesSent += entries;
+      segmentsSent += completedSegments;
+      if (compressionMarshaller != null) {
+         bytesSent += uncompressed;
+         wireBytesSent += compressed;
+      } else {
+         bytesSent += estimatedBytes;
+         wireBytesSent += estimatedBytes;
+      }
+   }
+
+   /**
+    * @return the estimated size of the key and value of an entry, or 0 if it cannot be estimated cheaply.
+    */
+   static long estimateSize(InternalCacheEntry<?, ?> entry) {
+      return estimateSize(entry.getKey()) + estimateSize(entry.getValue());
+   }
+
+   private static long estimateSize(Object o) {
+      if (o instanceof byte[] bytes) {
+         return bytes.length;
+      } else if (o instanceof WrappedBytes wrappedBytes) {
+         return wrappedBytes.getLength();
+      } else if (o instanceof CharSequence sequence) {
+         return sequence.length();
+      }
+      return 0;
+   }
+
    private void logSendException(Throwable throwable) {
       Throwable t = CompletableFutures.extractException(throwable);
       if (t instanceof SuspectException) {
@@ -217,6 +352,92 @@ public boolean isCancelled() {
       return cancelled;
    }
 
+   /**
+    * @return the number of entries the destination received.
+    */
+   public long getEntriesSent() {
+      return entriesSent;
+   }
+
+   /**
+    * @return the size of the entries the destination received. This is the size of the marshalled entries when
+    * they are compressed, and the estimated size of their keys and values otherwise.
+    */
+   public long getBytesSent() {
+      return bytesSent;
+   }
+
+   /**
+    * @return the size of the entries after compression, or {@link #getBytesSent()} if they are not compressed.
+    */
+   public long getWireBytesSent() {
+      return wireBytesSent;
+   }
+
+   /**
+    * @return the number of segments requested by the destination when the transfer was created.
+    */
+   public int getTotalSegments() {
+      return totalSegments;
+   }
+
+   /**
+    * @return the number of segments completely sent to the destination.
+    */
+   public int getSegmentsSent() {
+      return segmentsSent;
+   }
+
+   /**
+    * @return the time since the transfer started, or its total duration once it has completed.
+    */
+   public long getDurationNanos() {
+      if (startNanos == 0) {
+         return 0;
+      }
+      long end = endNanos;
+      return (end != 0 ? end : System.nanoTime()) - startNanos;
+   }
+
+   /**
+    * Groups the notifications of the batch being filled by segment.
+    */
+   private static class PendingChunks {
+      private Map<Integer, StateChunk> chunks = new HashMap<>();
+      private int notifications;
+      private long bytes;
+
+      void add(SegmentPublisherSupplier.Notification<InternalCacheEntry<?, ?>> notification) {
+         notifications++;
+         if (notification.isValue()) {
+            InternalCacheEntry<?, ?> entry = notification.value();
+            StateChunk chunk = chunks.computeIfAbsent(
+                  notification.valueSegment(), segment -> new StateChunk(segment, new ArrayList<>(), false));
+            chunk.getCacheEntries().add(entry);
+            bytes += estimateSize(entry);
+         }
+
+         // If the notification identify the segment is completed we mark a chunk as a last chunk.
+         if (notification.isSegmentComplete()) {
+            int segment = notification.completedSegment();
+            chunks.compute(segment, (s, previous) -> previous == null
+                  ? new StateChunk(s, Collections.emptyList(), true)
+                  : new StateChunk(segment, previous.getCacheEntries(), true));
+         }
+      }
+
+      Batch drain() {
+         Batch batch = new Batch(chunks, bytes);
+         chunks = new HashMap<>();
+         notifications = 0;
+         bytes = 0;
+         return batch;
+      }
+
+      record Batch(Map<Integer, StateChunk> chunks, long bytes) {
+      }
+   }
+
    @Override
    public String toString() {
       return "OutboundTransferTask{" +
@@ -224,6 +445,8 @@ public String toString() {
             ", destination=" + destination +
             ", segments=" + segments +
             ", chunkSize=" + chunkSize +
+            ", chunkMaxSize=" + chunkMaxSize +
+            ", compressed=" + (compressionMarshaller != null) +
             ", timeout=" + timeout +
             ", cacheName='" + cacheName + '\'' +
             '}';
@@ -0,0 +1,93 @@
+package org.infinispan.statetransfer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commons.util.concurrent.CompletableFutures;
+import org.infinispan.configuration.global.GlobalConfiguration;
+import org.infinispan.factories.KnownComponentNames;
+import org.infinispan.factories.annotations.ComponentName;
+import org.infinispan.factories.annotations.Inject;
+import org.infinispan.factories.annotations.Start;
+import org.infinispan.factories.scopes.Scope;
+import org.infinispan.factories.scopes.Scopes;
+
+/**
+ * Limits the number of bytes per second sent by all the outbound transfers of a node, whatever their cache. Each
+ * batch reserves the time slot needed to send its bytes after the slots reserved before, and is delayed until its slot
+ * begins.
+ * <p>
+ * The limit is configured with {@link org.infinispan.configuration.global.TransportConfigurationBuilder#stateTransferRateLimit(long)}.
+ *
+ * @since 15.1
+ */
+@Scope(Scopes.GLOBAL)
+public class OutboundTransferThrottle {
+   @Inject GlobalConfiguration globalConfiguration;
+   @ComponentName(KnownComponentNames.TIMEOUT_SCHEDULE_EXECUTOR)
+   @Inject ScheduledExecutorService scheduler;
+   @ComponentName(KnownComponentNames.NON_BLOCKING_EXECUTOR)
+   @Inject Executor executor;
+
+   // Not limited when 0
+   private double bytesPerNano;
+   private long nextFree = Long.MIN_VALUE;
+
+   public OutboundTransferThrottle() {
+   }
+
+   /**
+    * @param scheduler schedules the end of the delays.
+    * @param executor  runs the transfers once their delay ends, so that they do not run on the scheduler thread.
+    */
+   OutboundTransferThrottle(long bytesPerSecond, ScheduledExecutorService scheduler, Executor executor) {
+      if (bytesPerSecond <= 0) {
+         throw new IllegalArgumentException("bytesPerSecond must be greater than 0");
+      }
+      this.bytesPerNano = toBytesPerNano(bytesPerSecond);
+      this.scheduler = scheduler;
+      this.executor = executor;
+   }
+
+   @Start
+   void start() {
+      long bytesPerSecond = globalConfiguration.transport().stateTransferRateLimit();
+      bytesPerNano = bytesPerSecond > 0 ? toBytesPerNano(bytesPerSecond) : 0;
+   }
+
+   private static double toBytesPerNano(long bytesPerSecond) {
+      return bytesPerSecond / (double) TimeUnit.SECONDS.toNanos(1);
+   }
+
+   /**
+    * @return whether a rate limit is configured.
+    */
+   boolean isEnabled() {
+      return bytesPerNano > 0;
+   }
+
+   /**
+    * @return a stage that completes when the bytes can be sent.
+    */
+   CompletionStage<Void> acquire(long bytes) {
+      long waitNanos = reserve(bytes, System.nanoTime());
+      if (waitNanos <= 0) {
+         return CompletableFutures.completedNull();
+      }
+      CompletableFuture<Void> future = new CompletableFuture<>();
+      scheduler.schedule(() -> executor.execute(() -> future.complete(null)), waitNanos, TimeUnit.NANOSECONDS);
+      return future;
+   }
+
+   /**
+    * @return nanoseconds to wait before the bytes can be sent
+    */
+   synchronized long reserve(long bytes, long now) {
+      long start = Math.max(nextFree, now);
+      nextFree = start + (long) (bytes / bytesPerNano);
+      return start - now;
+   }
+}
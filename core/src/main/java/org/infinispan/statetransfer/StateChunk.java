@@ -3,12 +3,22 @@
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
+import org.infinispan.commons.io.UnsignedNumeric;
 import org.infinispan.commons.marshall.AbstractExternalizer;
+import org.infinispan.commons.marshall.MarshallUtil;
+import org.infinispan.commons.marshall.Marshaller;
+import org.infinispan.commons.marshall.StreamingMarshaller;
 import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.factories.GlobalComponentRegistry;
+import org.infinispan.factories.KnownComponentNames;
 import org.infinispan.marshall.core.Ids;
 
 /**
@@ -41,6 +51,59 @@ public StateChunk(int segmentId, Collection<InternalCacheEntry<?, ?>> cacheEntri
       this.isLastChunk = isLastChunk;
    }
 
+   /**
+    * Marshalls the cache entries with the given marshaller and deflates them, so that they are written in this form.
+    * <p>
+    * A compressed chunk is written with its own externalizer id, so uncompressed chunks keep the format of older
+    * versions and only nodes sending compressed chunks require receivers that can read them.
+    *
+    * @return a chunk with the same entries that is sent compressed, or this chunk if it has no entries.
+    */
+   StateChunk compress(Marshaller marshaller) throws IOException, InterruptedException {
+      if (cacheEntries.isEmpty() || isCompressed()) {
+         return this;
+      }
+      byte[] marshalled = marshaller.objectToByteBuffer(cacheEntries);
+      Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+      try {
+         deflater.setInput(marshalled);
+         deflater.finish();
+         // Incompressible entries grow slightly, leave some room for the deflate headers
+         byte[] buffer = new byte[marshalled.length + (marshalled.length >>> 8) + 64];
+         int length = 0;
+         while (!deflater.finished()) {
+            if (length == buffer.length) {
+               buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            length += deflater.deflate(buffer, length, buffer.length - length);
+         }
+         return new Compressed(segmentId, cacheEntries, isLastChunk, Arrays.copyOf(buffer, length), marshalled.length);
+      } finally {
+         deflater.end();
+      }
+   }
+
+   /**
+    * @return whether the cache entries are sent compressed.
+    */
+   public boolean isCompressed() {
+      return false;
+   }
+
+   /**
+    * @return the size of the marshalled cache entries before compression, or 0 if the chunk is not compressed.
+    */
+   public int getUncompressedSize() {
+      return 0;
+   }
+
+   /**
+    * @return the size of the compressed cache entries, or 0 if the chunk is not compressed.
+    */
+   public int getCompressedSize() {
+      return 0;
+   }
+
    public int getSegmentId() {
       return segmentId;
    }
@@ -59,9 +122,40 @@ public String toString() {
             "segmentId=" + segmentId +
             ", cacheEntries=" + cacheEntries.size() +
             ", isLastChunk=" + isLastChunk +
+            (isCompressed() ? ", compressedSize=" + getCompressedSize() : "") +
             '}';
    }
 
+   /**
+    * A chunk whose cache entries were marshalled and deflated by the sender.
+    */
+   private static final class Compressed extends StateChunk {
+      private final byte[] compressedEntries;
+      private final int uncompressedSize;
+
+      private Compressed(int segmentId, Collection<InternalCacheEntry<?, ?>> cacheEntries, boolean isLastChunk,
+                         byte[] compressedEntries, int uncompressedSize) {
+         super(segmentId, cacheEntries, isLastChunk);
+         this.compressedEntries = compressedEntries;
+         this.uncompressedSize = uncompressedSize;
+      }
+
+      @Override
+      public boolean isCompressed() {
+         return true;
+      }
+
+      @Override
+      public int getUncompressedSize() {
+         return uncompressedSize;
+      }
+
+      @Override
+      public int getCompressedSize() {
+         return compressedEntries.length;
+      }
+   }
+
    public static class Externalizer extends AbstractExternalizer<StateChunk> {
 
       @Override
@@ -90,4 +184,78 @@ public StateChunk readObject(ObjectInput input) throws IOException, ClassNotFoun
          return new StateChunk(segmentId, cacheEntries, isLastChunk);
       }
    }
+
+   public static class CompressedExternalizer extends AbstractExternalizer<StateChunk> {
+      private final GlobalComponentRegistry gcr;
+      private volatile StreamingMarshaller marshaller;
+
+      public CompressedExternalizer(GlobalComponentRegistry gcr) {
+         this.gcr = gcr;
+      }
+
+      @Override
+      public Integer getId() {
+         return Ids.COMPRESSED_STATE_CHUNK;
+      }
+
+      @Override
+      public Set<Class<? extends StateChunk>> getTypeClasses() {
+         return Collections.singleton(Compressed.class);
+      }
+
+      @Override
+      public void writeObject(ObjectOutput output, StateChunk object) throws IOException {
+         Compressed compressed = (Compressed) object;
+         output.writeInt(compressed.getSegmentId());
+         UnsignedNumeric.writeUnsignedInt(output, compressed.uncompressedSize);
+         MarshallUtil.marshallByteArray(compressed.compressedEntries, output);
+         output.writeBoolean(compressed.isLastChunk());
+      }
+
+      @Override
+      @SuppressWarnings("unchecked")
+      public StateChunk readObject(ObjectInput input) throws IOException, ClassNotFoundException {
+         int segmentId = input.readInt();
+         int uncompressedSize = UnsignedNumeric.readUnsignedInt(input);
+         byte[] compressed = MarshallUtil.unmarshallByteArray(input);
+         Collection<InternalCacheEntry<?, ?>> cacheEntries =
+               (Collection<InternalCacheEntry<?, ?>>) marshaller().objectFromByteBuffer(inflate(compressed, uncompressedSize));
+         boolean isLastChunk = input.readBoolean();
+         return new StateChunk(segmentId, cacheEntries, isLastChunk);
+      }
+
+      private StreamingMarshaller marshaller() {
+         // The marshaller is not registered yet when the externalizers are created
+         StreamingMarshaller m = marshaller;
+         if (m == null) {
+            m = gcr.getComponent(StreamingMarshaller.class, KnownComponentNames.INTERNAL_MARSHALLER);
+            marshaller = m;
+         }
+         return m;
+      }
+
+      private static byte[] inflate(byte[] compressed, int uncompressedSize) throws IOException {
+         Inflater inflater = new Inflater();
+         try {
+            inflater.setInput(compressed);
+            byte[] uncompressed = new byte[uncompressedSize];
+            int length = 0;
+            while (length < uncompressedSize && !inflater.finished()) {
+               int n = inflater.inflate(uncompressed, length, uncompressedSize - length);
+               if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                  break;
+               }
+               length += n;
+            }
+            if (length != uncompressedSize) {
+               throw new IOException("Truncated state chunk, expected " + uncompressedSize + " bytes but got " + length);
+            }
+            return uncompressed;
+         } catch (DataFormatException e) {
+            throw new IOException(e);
+         } finally {
+            inflater.end();
+         }
+      }
+   }
 }
@@ -31,6 +31,11 @@ public interface StateConsumer {
     */
    long inflightTransactionSegmentCount();
 
+   /**
+    * @return the progress of the inbound transfers requested since this node last had no segments in flight.
+    */
+   StateTransferProgress inboundProgress();
+
    /**
     * Receive notification of topology changes. {@link org.infinispan.commands.statetransfer.StateTransferStartCommand},
     * are issued for segments that are new to this
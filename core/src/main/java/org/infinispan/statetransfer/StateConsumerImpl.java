@@ -191,6 +191,12 @@ public class StateConsumerImpl implements StateConsumer {
    @GuardedBy("transferMapsLock")
    protected final Map<Integer, List<InboundTransferTask>> transfersBySegment = new HashMap<>();
 
+   // Segments requested since transfersBySegment was last empty, to report the progress of the transfers
+   @GuardedBy("transferMapsLock")
+   private int progressRequestedSegments;
+   @GuardedBy("transferMapsLock")
+   private long progressStartNanos;
+
    /**
     * A set identifying the transactional segments requested by the cache. This is a set so a segment is counted only
     * once.
@@ -254,6 +260,18 @@ public long inflightRequestCount() {
       }
    }
 
+   @Override
+   public StateTransferProgress inboundProgress() {
+      synchronized (transferMapsLock) {
+         if (transfersBySegment.isEmpty()) {
+            return StateTransferProgress.NONE;
+         }
+         return new StateTransferProgress(progressRequestedSegments,
+                                          progressRequestedSegments - transfersBySegment.size(),
+                                          System.nanoTime() - progressStartNanos);
+      }
+   }
+
    @Override
    public long inflightTransactionSegmentCount() {
       return requestedTransactionalSegments.size();
@@ -1241,9 +1259,17 @@ protected void addTransfer(InboundTransferTask inboundTransfer, IntSet segments)
       if (!running)
          throw new IllegalLifecycleStateException("State consumer is not running for cache " + cacheName);
 
+      if (transfersBySegment.isEmpty()) {
+         progressRequestedSegments = 0;
+         progressStartNanos = System.nanoTime();
+      }
       for (PrimitiveIterator.OfInt iter = segments.iterator(); iter.hasNext(); ) {
          int segmentId = iter.nextInt();
-         transfersBySegment.computeIfAbsent(segmentId, s -> new ArrayList<>()).add(inboundTransfer);
+         List<InboundTransferTask> transfers = transfersBySegment.computeIfAbsent(segmentId, s -> new ArrayList<>());
+         if (transfers.isEmpty()) {
+            progressRequestedSegments++;
+         }
+         transfers.add(inboundTransfer);
       }
       transfersBySource.computeIfAbsent(inboundTransfer.getSource(), s -> new ArrayList<>()).add(inboundTransfer);
    }
@@ -58,6 +58,16 @@ public interface StateProvider {
     */
    void startOutboundTransfer(Address destination, int topologyId, IntSet segments, boolean applyState);
 
+   /**
+    * @return the statistics of the outbound transfers of this node.
+    */
+   OutboundTransferStatistics getOutboundTransferStatistics();
+
+   /**
+    * @return the progress of the outbound transfers started since this node was last idle.
+    */
+   StateTransferProgress outboundProgress();
+
    /**
     * Cancel sending of cache entries that belong to the given set of segments. This is invoked in response to a
     * {@link org.infinispan.commands.statetransfer.StateTransferCancelCommand}.
@@ -3,27 +3,34 @@
 import static org.infinispan.context.Flag.STATE_TRANSFER_PROGRESS;
 import static org.infinispan.util.logging.Log.CLUSTER;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
 import org.infinispan.commands.CommandsFactory;
+import org.infinispan.commons.marshall.StreamingMarshaller;
 import org.infinispan.commons.util.EnumUtil;
 import org.infinispan.commons.util.IntSet;
 import org.infinispan.commons.util.IntSets;
 import org.infinispan.commons.util.concurrent.CompletableFutures;
 import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.configuration.cache.SegmentTransferOrder;
+import org.infinispan.configuration.cache.StateTransferConfiguration;
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.container.impl.InternalDataContainer;
 import org.infinispan.container.impl.InternalEntryFactory;
@@ -53,6 +60,7 @@
 import org.infinispan.transaction.impl.TransactionTable;
 import org.infinispan.transaction.xa.CacheTransaction;
 import org.infinispan.transaction.xa.GlobalTransaction;
+import org.infinispan.util.concurrent.BlockingManager;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
@@ -86,9 +94,23 @@ public class StateProviderImpl implements StateProvider {
    @Inject protected LocalPublisherManager<?, ?> localPublisherManager;
    @ComponentName(KnownComponentNames.TIMEOUT_SCHEDULE_EXECUTOR)
    @Inject ScheduledExecutorService timeoutExecutor;
+   @ComponentName(KnownComponentNames.NON_BLOCKING_EXECUTOR)
+   @Inject Executor nonBlockingExecutor;
+
+   @ComponentName(KnownComponentNames.INTERNAL_MARSHALLER)
+   @Inject StreamingMarshaller marshaller;
+   @Inject BlockingManager blockingManager;
+   @Inject OutboundTransferThrottle outboundTransferThrottle;
 
    protected long timeout;
    protected int chunkSize;
+   protected long chunkMaxSize;
+   protected boolean compressChunks;
+   protected int maxTransfersPerDestination;
+   protected SegmentTransferOrder segmentOrder;
+   private OutboundTransferThrottle throttle;
+
+   private final OutboundTransferStatistics outboundTransferStatistics = new OutboundTransferStatistics();
 
    /**
     * A map that keeps track of current outbound state transfers by destination address. There could be multiple transfers
@@ -96,6 +118,17 @@ public class StateProviderImpl implements StateProvider {
     */
    private final Map<Address, List<OutboundTransferTask>> transfersByDestination = new HashMap<>();
 
+   /**
+    * The transfers in {@link #transfersByDestination} waiting for a running transfer to the same destination to complete,
+    * when the number of concurrent transfers per destination is limited. Guarded by {@link #transfersByDestination}.
+    */
+   private final Map<Address, Queue<OutboundTransferTask>> queuedByDestination = new HashMap<>();
+
+   // Progress of the transfers added since transfersByDestination was last empty, guarded by transfersByDestination
+   private int progressTotalSegments;
+   private int progressFinishedSegments;
+   private long progressStartNanos;
+
    /**
     * Flags used when requesting the local publisher for the entries.
     */
@@ -125,7 +158,9 @@ public CompletableFuture<Void> onTopologyUpdate(CacheTopology cacheTopology, boo
             if (!members.contains(address)) {
                List<OutboundTransferTask> transfers = destination.getValue();
                it.remove();
+               queuedByDestination.remove(address);
                for (OutboundTransferTask outboundTransfer : transfers) {
+                  progressFinishedSegments += outboundTransfer.getTotalSegments();
                   outboundTransfer.cancel();
                }
             }
@@ -139,8 +174,15 @@ public CompletableFuture<Void> onTopologyUpdate(CacheTopology cacheTopology, boo
    @Start
    @Override
    public void start() {
-      timeout = configuration.clustering().stateTransfer().timeout();
-      chunkSize = configuration.clustering().stateTransfer().chunkSize();
+      StateTransferConfiguration stateTransfer = configuration.clustering().stateTransfer();
+      timeout = stateTransfer.timeout();
+      chunkSize = stateTransfer.chunkSize();
+      chunkMaxSize = stateTransfer.chunkMaxSize();
+      compressChunks = stateTransfer.compressChunks();
+      maxTransfersPerDestination = stateTransfer.maxTransfersPerDestination();
+      segmentOrder = stateTransfer.segmentOrder();
+      // The throttle is shared by all the caches of the node
+      throttle = outboundTransferThrottle.isEnabled() ? outboundTransferThrottle : null;
    }
 
    @Stop
@@ -159,6 +201,7 @@ public void stop() {
                   outboundTransfer.cancel();
                }
             }
+            queuedByDestination.clear();
          }
       } catch (Throwable t) {
          log.errorf(t, "Failed to stop StateProvider of cache %s on node %s", cacheName, rpcManager.getAddress());
@@ -291,10 +334,17 @@ public void startOutboundTransfer(Address destination, int requestTopologyId, In
       // the destination node must already have an InboundTransferTask waiting for these segments
       OutboundTransferTask outboundTransfer =
          new OutboundTransferTask(destination, segments, this.configuration.clustering().hash().numSegments(),
-                                  chunkSize, requestTopologyId, chunks -> {}, rpcManager,
-                                  commandsFactory, timeout, cacheName, applyState);
+                                  chunkSize, chunkMaxSize, compressChunks ? marshaller : null, blockingManager, throttle,
+                                  requestTopologyId, chunks -> {}, rpcManager, commandsFactory, timeout, cacheName,
+                                  applyState);
       addTransfer(outboundTransfer);
-      outboundTransfer.execute(readEntries(segments))
+      if (reserveTransferSlot(outboundTransfer)) {
+         runTransfer(outboundTransfer);
+      }
+   }
+
+   private void runTransfer(OutboundTransferTask outboundTransfer) {
+      outboundTransfer.execute(readEntries(outboundTransfer.getSegments()))
                       .whenComplete((ignored, throwable) -> {
                          if (throwable != null) {
                             logError(outboundTransfer, throwable);
@@ -303,7 +353,62 @@ public void startOutboundTransfer(Address destination, int requestTopologyId, In
                       });
    }
 
+   /**
+    * @return {@code true} if the transfer can start now, {@code false} if it was queued until a running transfer to
+    * the same destination completes.
+    */
+   private boolean reserveTransferSlot(OutboundTransferTask transferTask) {
+      if (maxTransfersPerDestination <= 0)
+         return true;
+
+      Address destination = transferTask.getDestination();
+      synchronized (transfersByDestination) {
+         List<OutboundTransferTask> transfers = transfersByDestination.get(destination);
+         Queue<OutboundTransferTask> queued = queuedByDestination.get(destination);
+         // The task is already in transfersByDestination
+         int running = (transfers != null ? transfers.size() : 0) - (queued != null ? queued.size() : 0);
+         if (running <= maxTransfersPerDestination)
+            return true;
+
+         if (log.isTraceEnabled()) {
+            log.tracef("Queueing outbound transfer to %s for segments %s, %d transfers already running", destination,
+                       transferTask.getSegments(), running - 1);
+         }
+         queuedByDestination.computeIfAbsent(destination, k -> new ArrayDeque<>()).add(transferTask);
+         return false;
+      }
+   }
+
+   /**
+    * @return the next queued transfer to the destination, skipping the ones cancelled while queued.
+    */
+   private OutboundTransferTask pollQueuedTransfer(Address destination) {
+      synchronized (transfersByDestination) {
+         Queue<OutboundTransferTask> queued = queuedByDestination.get(destination);
+         OutboundTransferTask next = null;
+         while (queued != null && (next = queued.poll()) != null && next.isCancelled()) {
+            removeTransfer(next);
+            next = null;
+         }
+         if (queued != null && queued.isEmpty()) {
+            queuedByDestination.remove(destination);
+         }
+         return next;
+      }
+   }
+
    protected Flowable<SegmentPublisherSupplier.Notification<InternalCacheEntry<?, ?>>> readEntries(IntSet segments) {
+      if (segmentOrder == SegmentTransferOrder.HOTTEST_FIRST && segments.size() > 1) {
+         // Read the segments one at a time, so that the destination can serve the most accessed segments first
+         List<Integer> sorted = new ArrayList<>(segments);
+         sorted.sort(Comparator.comparingLong((Integer segment) -> dataContainer.accessCount(segment)).reversed());
+         return Flowable.fromIterable(sorted)
+               .concatMap(segment -> readSegmentEntries(IntSets.immutableSet(segment)));
+      }
+      return readSegmentEntries(segments);
+   }
+
+   private Flowable<SegmentPublisherSupplier.Notification<InternalCacheEntry<?, ?>>> readSegmentEntries(IntSet segments) {
       SegmentAwarePublisherSupplier<?> publisher =
             localPublisherManager.entryPublisher(segments, null, null,
                   STATE_TRANSFER_ENTRIES_FLAGS, DeliveryGuarantee.AT_MOST_ONCE, Function.identity());
@@ -317,6 +422,12 @@ protected void addTransfer(OutboundTransferTask transferTask) {
                     transferTask.getSegments());
       }
       synchronized (transfersByDestination) {
+         if (transfersByDestination.isEmpty()) {
+            progressTotalSegments = 0;
+            progressFinishedSegments = 0;
+            progressStartNanos = System.nanoTime();
+         }
+         progressTotalSegments += transferTask.getTotalSegments();
          List<OutboundTransferTask> transfers = transfersByDestination
                .computeIfAbsent(transferTask.getDestination(), k -> new ArrayList<>());
          transfers.add(transferTask);
@@ -347,8 +458,8 @@ public void cancelOutboundTransfer(Address destination, int topologyId, IntSet s
    private void removeTransfer(OutboundTransferTask transferTask) {
       synchronized (transfersByDestination) {
          List<OutboundTransferTask> transferTasks = transfersByDestination.get(transferTask.getDestination());
-         if (transferTasks != null) {
-            transferTasks.remove(transferTask);
+         if (transferTasks != null && transferTasks.remove(transferTask)) {
+            progressFinishedSegments += transferTask.getTotalSegments();
             if (transferTasks.isEmpty()) {
                transfersByDestination.remove(transferTask.getDestination());
             }
@@ -364,6 +475,32 @@ protected void onTaskCompletion(OutboundTransferTask transferTask) {
       }
 
       removeTransfer(transferTask);
+      outboundTransferStatistics.record(transferTask);
+      OutboundTransferTask next = pollQueuedTransfer(transferTask.getDestination());
+      if (next != null) {
+         runTransfer(next);
+      }
+   }
+
+   @Override
+   public OutboundTransferStatistics getOutboundTransferStatistics() {
+      return outboundTransferStatistics;
+   }
+
+   @Override
+   public StateTransferProgress outboundProgress() {
+      synchronized (transfersByDestination) {
+         if (transfersByDestination.isEmpty()) {
+            return StateTransferProgress.NONE;
+         }
+         int completed = progressFinishedSegments;
+         for (List<OutboundTransferTask> transfers : transfersByDestination.values()) {
+            for (OutboundTransferTask transfer : transfers) {
+               completed += transfer.getSegmentsSent();
+            }
+         }
+         return new StateTransferProgress(progressTotalSegments, completed, System.nanoTime() - progressStartNanos);
+      }
    }
 
    protected void logError(OutboundTransferTask task, Throwable t) {
@@ -32,6 +32,8 @@
 import org.infinispan.jmx.annotations.DataType;
 import org.infinispan.jmx.annotations.MBean;
 import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.MeasurementType;
+import org.infinispan.jmx.annotations.Units;
 import org.infinispan.notifications.cachelistener.CacheNotifier;
 import org.infinispan.partitionhandling.AvailabilityMode;
 import org.infinispan.partitionhandling.impl.PartitionHandlingManager;
@@ -281,6 +283,61 @@ public long getInflightTransactionalSegmentCount() {
       return stateConsumer.inflightTransactionSegmentCount();
    }
 
+   @ManagedAttribute(description = "The number of entries the local node sent to other nodes during state transfer", displayName = "Outbound transferred entries", measurementType = MeasurementType.TRENDSUP)
+   public long getOutboundTransferredEntries() {
+      return stateProvider.getOutboundTransferStatistics().getEntries();
+   }
+
+   @ManagedAttribute(description = "The size of the entries the local node sent to other nodes during state transfer, before compression", displayName = "Outbound transferred bytes", measurementType = MeasurementType.TRENDSUP, units = Units.BYTES)
+   public long getOutboundTransferredBytes() {
+      return stateProvider.getOutboundTransferStatistics().getBytes();
+   }
+
+   @ManagedAttribute(description = "The size of the entries the local node sent to other nodes during state transfer, after compression", displayName = "Outbound transferred bytes on the wire", measurementType = MeasurementType.TRENDSUP, units = Units.BYTES)
+   public long getOutboundTransferredWireBytes() {
+      return stateProvider.getOutboundTransferStatistics().getWireBytes();
+   }
+
+   @ManagedAttribute(description = "The bytes per second sent by the outbound state transfers of the local node", displayName = "Outbound transfer throughput", units = Units.PER_SECOND)
+   public long getOutboundTransferThroughput() {
+      return stateProvider.getOutboundTransferStatistics().getThroughput();
+   }
+
+   @ManagedAttribute(description = "The size of the entries sent by the outbound state transfers of the local node divided by their compressed size", displayName = "Outbound transfer compression ratio")
+   public double getOutboundTransferCompressionRatio() {
+      return stateProvider.getOutboundTransferStatistics().getCompressionRatio();
+   }
+
+   @ManagedAttribute(description = "The bytes per second sent by the last completed outbound state transfer of the local node", displayName = "Last outbound transfer throughput", units = Units.PER_SECOND)
+   public long getLastOutboundTransferThroughput() {
+      return stateProvider.getOutboundTransferStatistics().getLastTransferThroughput();
+   }
+
+   @ManagedAttribute(description = "The size of the entries sent by the last completed outbound state transfer of the local node divided by their compressed size", displayName = "Last outbound transfer compression ratio")
+   public double getLastOutboundTransferCompressionRatio() {
+      return stateProvider.getOutboundTransferStatistics().getLastTransferCompressionRatio();
+   }
+
+   @ManagedAttribute(description = "The percentage of the segments requested by the local node that it already received", displayName = "Inbound transfer progress", units = Units.PERCENTAGE)
+   public double getInboundTransferProgress() {
+      return stateConsumer.inboundProgress().getPercentage();
+   }
+
+   @ManagedAttribute(description = "The estimated time until the local node receives all the segments it requested, -1 if unknown", displayName = "Inbound transfer estimated remaining time", units = Units.MILLISECONDS)
+   public long getInboundTransferRemainingTime() {
+      return stateConsumer.inboundProgress().getEstimatedRemainingMillis();
+   }
+
+   @ManagedAttribute(description = "The percentage of the segments requested from the local node that it already sent", displayName = "Outbound transfer progress", units = Units.PERCENTAGE)
+   public double getOutboundTransferProgress() {
+      return stateProvider.outboundProgress().getPercentage();
+   }
+
+   @ManagedAttribute(description = "The estimated time until the local node sends all the segments requested from it, -1 if unknown", displayName = "Outbound transfer estimated remaining time", units = Units.MILLISECONDS)
+   public long getOutboundTransferRemainingTime() {
+      return stateProvider.outboundProgress().getEstimatedRemainingMillis();
+   }
+
    @Override
    public StateConsumer getStateConsumer() {
       return stateConsumer;
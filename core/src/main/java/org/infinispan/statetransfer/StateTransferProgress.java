@@ -0,0 +1,72 @@
+package org.infinispan.statetransfer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot of the progress of the inbound or outbound state transfers of a cache.
+ * <p>
+ * The segments are counted once per transfer, so a segment sent to two nodes counts as two segments. The remaining
+ * time is estimated from the average time it took to transfer the completed segments.
+ *
+ * @since 15.1
+ */
+public final class StateTransferProgress {
+   public static final StateTransferProgress NONE = new StateTransferProgress(0, 0, 0);
+
+   private final int totalSegments;
+   private final int completedSegments;
+   private final long elapsedNanos;
+
+   public StateTransferProgress(int totalSegments, int completedSegments, long elapsedNanos) {
+      this.totalSegments = totalSegments;
+      this.completedSegments = Math.min(completedSegments, totalSegments);
+      this.elapsedNanos = elapsedNanos;
+   }
+
+   public int getTotalSegments() {
+      return totalSegments;
+   }
+
+   public int getCompletedSegments() {
+      return completedSegments;
+   }
+
+   public long getElapsedNanos() {
+      return elapsedNanos;
+   }
+
+   public boolean isInProgress() {
+      return completedSegments < totalSegments;
+   }
+
+   /**
+    * @return the percentage of segments transferred, 100 if there are no transfers in progress.
+    */
+   public double getPercentage() {
+      return totalSegments == 0 ? 100 : 100.0 * completedSegments / totalSegments;
+   }
+
+   /**
+    * @return the estimated milliseconds until all the segments are transferred, or -1 if no segment has been
+    * transferred yet.
+    */
+   public long getEstimatedRemainingMillis() {
+      if (!isInProgress()) {
+         return 0;
+      }
+      if (completedSegments == 0) {
+         return -1;
+      }
+      double remainingNanos = (double) elapsedNanos * (totalSegments - completedSegments) / completedSegments;
+      return (long) (remainingNanos / TimeUnit.MILLISECONDS.toNanos(1));
+   }
+
+   @Override
+   public String toString() {
+      return "StateTransferProgress{" +
+            "totalSegments=" + totalSegments +
+            ", completedSegments=" + completedSegments +
+            ", elapsedNanos=" + elapsedNanos +
+            '}';
+   }
+}
@@ -2394,4 +2394,7 @@ CacheConfigurationException storeConfiguredHasBothReadAndWriteOnly(String storeC
    @Message(value = "Received new cross-site event, site(s) %s: %s", id = 976)
    @Description("A cluster has either joined or left the global cluster view.")
    void crossSiteViewEvent(String action, String sites);
+
+   @Message(value = "State transfer chunk max size must be positive, got '%s'", id = 977)
+   CacheConfigurationException invalidChunkMaxSize(String chunkMaxSize);
 }
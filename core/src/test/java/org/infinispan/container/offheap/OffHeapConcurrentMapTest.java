@@ -4,10 +4,17 @@
 import static org.testng.AssertJUnit.assertNotNull;
 import static org.testng.AssertJUnit.assertTrue;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.infinispan.commons.marshall.WrappedByteArray;
 import org.infinispan.commons.marshall.WrappedBytes;
@@ -15,6 +22,7 @@
 import org.infinispan.container.entries.ImmortalCacheEntry;
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.container.impl.InternalEntryFactoryImpl;
+import org.infinispan.test.TestingUtil;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -22,13 +30,14 @@
 @Test(groups = "stress", testName = "container.offheap.OffHeapConcurrentMapTest")
 public class OffHeapConcurrentMapTest {
    private OffHeapConcurrentMap map;
+   private OffHeapMemoryAllocator allocator;
    private final WrappedByteArray valueByteArray = new WrappedByteArray(new byte[] { 0, 1, 2, 3, 4, 5 });
 
    private static final int RESIZE_LIMITATION = OffHeapConcurrentMap.computeThreshold(OffHeapConcurrentMap.INITIAL_SIZE);
 
    @BeforeMethod
    void initializeMap() {
-      OffHeapMemoryAllocator allocator = new UnpooledOffHeapMemoryAllocator();
+      allocator = new UnpooledOffHeapMemoryAllocator();
       OffHeapEntryFactoryImpl offHeapEntryFactory = new OffHeapEntryFactoryImpl();
       offHeapEntryFactory.allocator = allocator;
       offHeapEntryFactory.internalEntryFactory = new InternalEntryFactoryImpl();
@@ -132,6 +141,80 @@ public void testIterationCreatedButNotUsedUntilAfterAResize() {
       assertEquals(RESIZE_LIMITATION, entriesFound);
    }
 
+   public void testOptimisticReadsDuringWrites() throws Exception {
+      WrappedBytes[] keys = new WrappedBytes[64];
+      for (int i = 0; i < keys.length; ++i) {
+         keys[i] = putInMap(map, valueByteArray);
+      }
+      WrappedByteArray otherValue = new WrappedByteArray(new byte[128]);
+      AtomicBoolean stop = new AtomicBoolean();
+      ExecutorService executor = Executors.newFixedThreadPool(4);
+      try {
+         List<Future<?>> readers = new ArrayList<>();
+         for (int i = 0; i < 3; ++i) {
+            readers.add(executor.submit(() -> {
+               ThreadLocalRandom random = ThreadLocalRandom.current();
+               while (!stop.get()) {
+                  WrappedBytes key = keys[random.nextInt(keys.length)];
+                  InternalCacheEntry<WrappedBytes, WrappedBytes> ice = random.nextBoolean() ? map.peek(key) : map.get(key);
+                  if (ice != null) {
+                     assertEquals(key, ice.getKey());
+                     WrappedBytes value = ice.getValue();
+                     assertTrue(value.equalsWrappedBytes(valueByteArray) || value.equalsWrappedBytes(otherValue));
+                  }
+               }
+            }));
+         }
+         Future<?> writer = executor.submit(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            // Replaces, removals and resizes all free memory that readers may be looking at
+            for (int i = 0; i < 20_000; ++i) {
+               WrappedBytes key = keys[random.nextInt(keys.length)];
+               switch (random.nextInt(3)) {
+                  case 0:
+                     map.put(key, new ImmortalCacheEntry(key, random.nextBoolean() ? valueByteArray : otherValue));
+                     break;
+                  case 1:
+                     map.remove(key);
+                     break;
+                  default:
+                     putInMap(map, valueByteArray);
+               }
+            }
+         });
+         writer.get(1, TimeUnit.MINUTES);
+         stop.set(true);
+         for (Future<?> reader : readers) {
+            reader.get(10, TimeUnit.SECONDS);
+         }
+      } finally {
+         stop.set(true);
+         executor.shutdownNow();
+      }
+   }
+
+   public void testRemovedEntriesFreedAfterOptimisticReads() {
+      long emptySize = allocator.getAllocatedAmount();
+      List<WrappedBytes> keys = new ArrayList<>();
+      for (int i = 0; i < 100; ++i) {
+         keys.add(putInMap(map, valueByteArray));
+      }
+      long fullSize = allocator.getAllocatedAmount();
+
+      StripedLock locks = TestingUtil.extractField(map, "locks");
+      long stamp = locks.beginOptimisticRead(0);
+      assertTrue(stamp != 0);
+      for (WrappedBytes key : keys) {
+         map.remove(key);
+      }
+      // The read in progress may still see any of the removed entries
+      assertEquals(fullSize, allocator.getAllocatedAmount());
+      assertTrue(locks.endOptimisticRead(0, stamp));
+
+      map.remove(putInMap(map, valueByteArray));
+      assertEquals(emptySize, allocator.getAllocatedAmount());
+   }
+
    WrappedBytes putInMap(OffHeapConcurrentMap map, WrappedBytes value) {
       InternalCacheEntry<WrappedBytes, WrappedBytes> ice;
       WrappedBytes key;
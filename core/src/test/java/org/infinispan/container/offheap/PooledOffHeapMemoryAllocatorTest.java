@@ -0,0 +1,271 @@
+package org.infinispan.container.offheap;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.InputStream;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commons.configuration.ClassAllowList;
+import org.infinispan.commons.marshall.JavaSerializationMarshaller;
+import org.infinispan.commons.marshall.StreamingMarshaller;
+import org.infinispan.commons.marshall.WrappedByteArray;
+import org.infinispan.commons.marshall.WrappedBytes;
+import org.infinispan.commons.test.Exceptions;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.container.entries.metadata.MetadataTransientCacheEntry;
+import org.infinispan.container.impl.InternalEntryFactoryImpl;
+import org.infinispan.container.versioning.EntryVersion;
+import org.infinispan.metadata.Metadata;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * @since 15.1
+ */
+@Test(groups = "functional", testName = "container.offheap.PooledOffHeapMemoryAllocatorTest")
+public class PooledOffHeapMemoryAllocatorTest {
+
+   @DataProvider(name = "sizeClasses")
+   Object[][] sizeClasses() {
+      return new Object[][] {
+            { 1, 16 },
+            { 16, 16 },
+            { 17, 32 },
+            { 123, 128 },
+            { 1024, 1024 },
+            { 1025, 1280 },
+            { 1600, 1792 },
+            { 40_000, 40_960 },
+            { PooledOffHeapMemoryAllocator.MAX_POOLED_SIZE, PooledOffHeapMemoryAllocator.MAX_POOLED_SIZE },
+      };
+   }
+
+   @Test(dataProvider = "sizeClasses")
+   public void testSizeClasses(long size, long expected) {
+      int index = PooledOffHeapMemoryAllocator.sizeClassIndex(size);
+      assertEquals(expected, PooledOffHeapMemoryAllocator.sizeClassSize(index));
+   }
+
+   public void testUnpooledSize() {
+      assertEquals(-1, PooledOffHeapMemoryAllocator.sizeClassIndex(PooledOffHeapMemoryAllocator.MAX_POOLED_SIZE + 1));
+   }
+
+   public void testFreedBlockIsReused() {
+      PooledOffHeapMemoryAllocator allocator = new PooledOffHeapMemoryAllocator(1);
+      try {
+         long first = allocator.allocate(100);
+         long second = allocator.allocate(100);
+         assertEquals(first + 112, second);
+         assertEquals(1, allocator.getSlabCount());
+         assertEquals(PooledOffHeapMemoryAllocator.SLAB_SIZE, allocator.getAllocatedAmount());
+         assertEquals(224, allocator.getUsedAmount());
+         assertEquals(200, allocator.getRequestedAmount());
+
+         allocator.deallocate(first, 100);
+         assertEquals(112, allocator.getUsedAmount());
+         assertEquals(first, allocator.allocate(110));
+         assertEquals(1, allocator.getReusedAllocations());
+         assertEquals(3, allocator.getPooledAllocations());
+      } finally {
+         allocator.stop();
+      }
+      assertEquals(0, allocator.getSlabCount());
+      assertEquals(0, allocator.getAllocatedAmount());
+   }
+
+   public void testNewSlabWhenExhausted() {
+      PooledOffHeapMemoryAllocator allocator = new PooledOffHeapMemoryAllocator(1);
+      try {
+         int size = PooledOffHeapMemoryAllocator.MAX_POOLED_SIZE;
+         int blocksPerSlab = PooledOffHeapMemoryAllocator.SLAB_SIZE / size;
+         for (int i = 0; i < blocksPerSlab + 1; ++i) {
+            allocator.allocate(size);
+         }
+         assertEquals(2, allocator.getSlabCount());
+         assertTrue(allocator.getExternalFragmentation() > 0);
+      } finally {
+         allocator.stop();
+      }
+   }
+
+   public void testLargeAllocationBypassesPool() {
+      PooledOffHeapMemoryAllocator allocator = new PooledOffHeapMemoryAllocator(1);
+      try {
+         long size = PooledOffHeapMemoryAllocator.MAX_POOLED_SIZE * 2L;
+         long address = allocator.allocate(size);
+         assertEquals(0, allocator.getSlabCount());
+         assertEquals(1, allocator.getUnpooledAllocations());
+         assertEquals(UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(size), allocator.getAllocatedAmount());
+         allocator.deallocate(address, size);
+         assertEquals(0, allocator.getAllocatedAmount());
+      } finally {
+         allocator.stop();
+      }
+   }
+
+   public void testRejectsAddressOutsideSlabs() {
+      PooledOffHeapMemoryAllocator allocator = new PooledOffHeapMemoryAllocator(1);
+      long address = OffHeapMemory.INSTANCE.allocate(100);
+      try {
+         allocator.allocate(100);
+         Exceptions.expectException(IllegalArgumentException.class, () -> allocator.deallocate(address, 100));
+         assertEquals(112, allocator.getUsedAmount());
+      } finally {
+         OffHeapMemory.INSTANCE.free(address);
+         allocator.stop();
+      }
+   }
+
+   public void testTouchReallocatedEntryIsReturnedToPool() {
+      PooledOffHeapMemoryAllocator allocator = new PooledOffHeapMemoryAllocator(1);
+      OffHeapEntryFactoryImpl offHeapEntryFactory = new OffHeapEntryFactoryImpl();
+      offHeapEntryFactory.allocator = allocator;
+      offHeapEntryFactory.marshaller = new SerializingMarshaller();
+      offHeapEntryFactory.internalEntryFactory = new InternalEntryFactoryImpl();
+      offHeapEntryFactory.configuration = new ConfigurationBuilder().build();
+      offHeapEntryFactory.start();
+      OffHeapConcurrentMap map = new OffHeapConcurrentMap(allocator, offHeapEntryFactory, null);
+      try {
+         long usedBeforeInsert = allocator.getUsedAmount();
+         WrappedBytes value = new WrappedByteArray(new byte[] { 0, 1, 2, 3 });
+         for (int i = 0; i < 10; ++i) {
+            WrappedBytes key = new WrappedByteArray(new byte[] { (byte) i });
+            map.put(key, new MetadataTransientCacheEntry(key, value, new TouchCountingMetadata(1000, 0), 0));
+         }
+         // Every touch grows the custom metadata, so the entry is copied to a new block each time
+         for (int touch = 1; touch <= 5; ++touch) {
+            for (int i = 0; i < 10; ++i) {
+               assertTrue(map.touchKey(new WrappedByteArray(new byte[] { (byte) i }), touch));
+            }
+         }
+         for (int i = 0; i < 10; ++i) {
+            WrappedBytes key = new WrappedByteArray(new byte[] { (byte) i });
+            assertEquals(5, ((TouchCountingMetadata) map.get(key).getMetadata()).touches.length);
+            assertNotNull(map.remove(key));
+            assertNull(map.get(key));
+         }
+         assertEquals(usedBeforeInsert, allocator.getUsedAmount());
+      } finally {
+         map.close();
+         allocator.stop();
+      }
+   }
+
+   static class TouchCountingMetadata implements Metadata, Metadata.Builder, Serializable {
+      final long maxIdle;
+      final long[] touches;
+
+      TouchCountingMetadata(long maxIdle, int touches) {
+         this.maxIdle = maxIdle;
+         this.touches = new long[touches];
+      }
+
+      @Override
+      public long lifespan() {
+         return -1;
+      }
+
+      @Override
+      public long maxIdle() {
+         return maxIdle;
+      }
+
+      @Override
+      public EntryVersion version() {
+         return null;
+      }
+
+      @Override
+      public Builder builder() {
+         return this;
+      }
+
+      @Override
+      public Builder lifespan(long time, TimeUnit unit) {
+         return this;
+      }
+
+      @Override
+      public Builder lifespan(long time) {
+         return this;
+      }
+
+      @Override
+      public Builder maxIdle(long time, TimeUnit unit) {
+         // Touching an entry updates its metadata through the builder
+         return new TouchCountingMetadata(maxIdle, touches.length + 1);
+      }
+
+      @Override
+      public Builder maxIdle(long time) {
+         return maxIdle(time, TimeUnit.MILLISECONDS);
+      }
+
+      @Override
+      public Builder version(EntryVersion version) {
+         return this;
+      }
+
+      @Override
+      public Metadata build() {
+         return this;
+      }
+
+      @Override
+      public Builder merge(Metadata metadata) {
+         return this;
+      }
+   }
+
+   static class SerializingMarshaller extends JavaSerializationMarshaller implements StreamingMarshaller {
+      SerializingMarshaller() {
+         super(new ClassAllowList(Collections.singletonList(".*")));
+      }
+
+      @Override
+      public ObjectOutput startObjectOutput(OutputStream os, boolean isReentrant, int estimatedSize) {
+         throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public void finishObjectOutput(ObjectOutput oo) {
+         throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public void objectToObjectStream(Object obj, ObjectOutput out) {
+         throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public ObjectInput startObjectInput(InputStream is, boolean isReentrant) {
+         throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public void finishObjectInput(ObjectInput oi) {
+         throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public Object objectFromObjectStream(ObjectInput in) {
+         throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public void stop() {
+      }
+
+      @Override
+      public void start() {
+      }
+   }
+}
@@ -0,0 +1,81 @@
+package org.infinispan.expiration.impl;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.infinispan.commons.time.ControlledTimeService;
+import org.infinispan.commons.time.TimeService;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the sweeps of the data container done by {@link ExpirationManagerImpl}, which process the container in shards
+ * concurrently.
+ */
+@Test(groups = "functional", testName = "expiration.impl.ExpirationReaperTest")
+public class ExpirationReaperTest extends SingleCacheManagerTest {
+
+   private final ControlledTimeService timeService = new ControlledTimeService();
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      ConfigurationBuilder builder = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      builder.expiration().disableReaper();
+      EmbeddedCacheManager cm = TestCacheManagerFactory.createCacheManager(builder);
+      TestingUtil.replaceComponent(cm, TimeService.class, timeService, true);
+      cache = cm.getCache();
+      return cm;
+   }
+
+   public void testSweepRemovesExpiredEntries() {
+      ExpiredCacheListener listener = new ExpiredCacheListener();
+      cache.addListener(listener);
+      // More entries than a batch for each shard, so every shard has several batches to notify
+      int mortal = ExpirationManagerImpl.REAPER_BATCH_SIZE * ExpirationManagerImpl.REAPER_CONCURRENCY * 4 + 17;
+      for (int i = 0; i < mortal; i++) {
+         cache.put("mortal-" + i, "value", 10, TimeUnit.MILLISECONDS);
+      }
+      for (int i = 0; i < 100; i++) {
+         cache.put("immortal-" + i, "value");
+         cache.put("transient-" + i, "value", -1, TimeUnit.MILLISECONDS, 1, TimeUnit.HOURS);
+      }
+      timeService.advance(11);
+
+      ExpirationManagerImpl<?, ?> expirationManager = (ExpirationManagerImpl<?, ?>) cache.getAdvancedCache().getExpirationManager();
+      expirationManager.processExpiration();
+
+      assertEquals(200, cache.getAdvancedCache().getDataContainer().sizeIncludingExpired());
+      assertEquals(mortal, listener.getInvocationCount());
+      assertEquals(1, expirationManager.getSweeps());
+      assertEquals(mortal, expirationManager.getSweepRemovedEntries());
+      assertEquals(mortal, expirationManager.getLastSweepRemovedEntries());
+
+      // Nothing left to remove
+      expirationManager.processExpiration();
+      assertEquals(mortal, listener.getInvocationCount());
+      assertEquals(2, expirationManager.getSweeps());
+      assertEquals(mortal, expirationManager.getSweepRemovedEntries());
+      assertEquals(0, expirationManager.getLastSweepRemovedEntries());
+   }
+
+   public void testSplit() {
+      Spliterator<Integer> spliterator = IntStream.range(0, 10_000).boxed().toList().spliterator();
+      List<Spliterator<Integer>> shards = ExpirationManagerImpl.split(spliterator, 8);
+      assertEquals(8, shards.size());
+      assertEquals(10_000, shards.stream().mapToLong(Spliterator::estimateSize).sum());
+
+      // A spliterator that cannot be split stays whole
+      shards = ExpirationManagerImpl.split(List.of(1).spliterator(), 8);
+      assertTrue(shards.size() <= 2);
+      assertEquals(1, shards.stream().mapToLong(Spliterator::estimateSize).sum());
+   }
+}
@@ -576,6 +576,31 @@ public void testLoadAll() throws PersistenceException {
       }
    }
 
+   public void testLoadMany() throws PersistenceException {
+      assertIsEmpty();
+
+      store.write(marshalledEntry("k1", "v1"));
+      store.write(marshalledEntry("k2", "v2"));
+      store.write(marshalledEntry("k3", "v3"));
+
+      List<Object> keys = Stream.of("k1", "k3", "k4")
+            .map(this::keyToStorage)
+            .collect(Collectors.toList());
+      List<MarshallableEntry<Object, Object>> entries = store.loadEntriesWait(keys);
+      assertSize(entries, 2);
+
+      Set<Object> expected = Stream.of("k1", "k3")
+            .map(this::keyToStorage)
+            .collect(Collectors.toSet());
+      for (MarshallableEntry<?, ?> me : entries) {
+         assertTrue(expected.remove(me.getKey()));
+         assertNotNull(me.getValue());
+      }
+      assertEmpty(expected, true);
+
+      assertSize(store.loadEntriesWait(List.of()), 0);
+   }
+
    public void testReplaceEntry() {
       assertIsEmpty();
       InternalCacheEntry tmpIce = internalCacheEntry("ok", "v1", -1);
@@ -0,0 +1,143 @@
+package org.infinispan.persistence.sifs;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.testng.annotations.Test;
+
+@Test(groups = "unit", testName = "persistence.sifs.IndexBloomFilterTest")
+public class IndexBloomFilterTest {
+
+   private static byte[] key(int i) {
+      return ("key" + i).getBytes(StandardCharsets.UTF_8);
+   }
+
+   public void testAddedKeysArePresent() {
+      IndexBloomFilter filter = IndexBloomFilter.forKeys(1000);
+      for (int i = 0; i < 1000; ++i) {
+         filter.add(key(i), i);
+      }
+      int falsePositives = 0;
+      for (int i = 0; i < 1000; ++i) {
+         assertTrue(filter.mightContain(key(i)));
+         if (filter.mightContain(key(-i - 1))) {
+            falsePositives++;
+         }
+      }
+      assertTrue("False positives: " + falsePositives, falsePositives < 50);
+      assertEquals(1000, filter.keys());
+      assertEquals(1, filter.layerCount());
+   }
+
+   public void testRemovedKeysAreAbsent() {
+      IndexBloomFilter filter = IndexBloomFilter.forKeys(1000);
+      for (int i = 0; i < 1000; ++i) {
+         filter.add(key(i), i);
+      }
+      for (int i = 0; i < 1000; i += 2) {
+         filter.remove(key(i), i);
+      }
+      int falsePositives = 0;
+      for (int i = 0; i < 1000; ++i) {
+         if (i % 2 == 1) {
+            assertTrue(filter.mightContain(key(i)));
+         } else if (filter.mightContain(key(i))) {
+            falsePositives++;
+         }
+      }
+      assertTrue("False positives: " + falsePositives, falsePositives < 25);
+      assertEquals(500, filter.keys());
+   }
+
+   public void testLayersAddedAndDropped() {
+      IndexBloomFilter filter = IndexBloomFilter.forKeys(0);
+      // The first layer is sized for 1024 keys, the following ones go to new layers
+      int count = 5000;
+      for (int i = 0; i < count; ++i) {
+         filter.add(key(i), i);
+      }
+      assertTrue(filter.layerCount() > 1);
+      assertEquals(count, filter.keys());
+      assertTrue(filter.estimatedFalsePositiveRate() < 0.05);
+      for (int i = 0; i < count; ++i) {
+         assertTrue(filter.mightContain(key(i)));
+      }
+
+      // Overwriting the keys of the first layer moves them to the newest one, leaving the first layer empty
+      for (int i = 0; i < 2048; ++i) {
+         filter.replace(key(i), i, count + i);
+      }
+      assertEquals(2, filter.layerCount());
+      assertEquals(count, filter.keys());
+      for (int i = 0; i < count; ++i) {
+         assertTrue(filter.mightContain(key(i)));
+      }
+      int layers = filter.layerCount();
+      for (int i = 2048; i < count; ++i) {
+         filter.remove(key(i), i);
+      }
+      assertTrue(filter.layerCount() < layers);
+      assertEquals(2048, filter.keys());
+      for (int i = 0; i < 2048; ++i) {
+         assertTrue(filter.mightContain(key(i)));
+      }
+   }
+
+   public void testReplaceWithSameSequenceId() {
+      IndexBloomFilter filter = IndexBloomFilter.forKeys(10);
+      filter.add(key(0), 5);
+      // A record moved by the compactor keeps its sequence id
+      filter.replace(key(0), 5, 5);
+      assertEquals(1, filter.keys());
+      filter.remove(key(0), 5);
+      assertFalse(filter.mightContain(key(0)));
+   }
+
+   public void testWriteAndRead() throws IOException {
+      IndexBloomFilter filter = IndexBloomFilter.forKeys(0);
+      for (int i = 0; i < 3000; ++i) {
+         filter.add(key(i), i);
+      }
+      Path file = Files.createTempFile("index-bloom", null);
+      try {
+         try (FileChannel channel = new RandomAccessFile(file.toFile(), "rw").getChannel()) {
+            filter.write(channel);
+         }
+         IndexBloomFilter read;
+         try (FileChannel channel = new RandomAccessFile(file.toFile(), "r").getChannel()) {
+            read = IndexBloomFilter.read(channel);
+         }
+         assertNotNull(read);
+         for (int i = 0; i < 3000; ++i) {
+            assertTrue(read.mightContain(key(i)));
+         }
+         assertEquals(filter.keys(), read.keys());
+         assertEquals(filter.layerCount(), read.layerCount());
+         // The keys are removed from the layers they were added to
+         for (int i = 0; i < 3000; ++i) {
+            read.remove(key(i), i);
+         }
+         assertEquals(0, read.keys());
+         assertEquals(1, read.layerCount());
+
+         // Truncated file must not be used
+         try (FileChannel channel = new RandomAccessFile(file.toFile(), "rw").getChannel()) {
+            channel.truncate(channel.size() - 1);
+            channel.position(0);
+            assertNull(IndexBloomFilter.read(channel));
+         }
+      } finally {
+         Files.delete(file);
+      }
+   }
+}
@@ -0,0 +1,134 @@
+package org.infinispan.persistence.sifs;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+import org.infinispan.commons.test.CommonsTestingUtil;
+import org.infinispan.commons.util.Util;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+@Test(groups = "unit", testName = "persistence.sifs.ReadSchedulerTest")
+public class ReadSchedulerTest {
+   private static final String PREFIX = "test.";
+
+   private String tmpDirectory;
+   private FileProvider fileProvider;
+
+   @BeforeClass(alwaysRun = true)
+   protected void setUp() throws IOException {
+      tmpDirectory = CommonsTestingUtil.tmpDirectory(getClass());
+      Path dataDir = Paths.get(tmpDirectory);
+      fileProvider = new FileProvider(dataDir, 10, PREFIX, 1024) {
+         @Override
+         protected FileChannel openChannel(int fileId) throws FileNotFoundException {
+            // Behave as if the file was removed by the compactor
+            if (!newFile(fileId).exists()) {
+               throw new FileNotFoundException();
+            }
+            return super.openChannel(fileId);
+         }
+      };
+      Files.write(dataDir.resolve(PREFIX + 0), new byte[100]);
+      Files.write(dataDir.resolve(PREFIX + 1), new byte[100]);
+   }
+
+   @AfterClass(alwaysRun = true)
+   protected void tearDown() {
+      fileProvider.stop();
+      Util.recursiveFileRemove(tmpDirectory);
+   }
+
+   public void testBatchIsSortedByFileAndOffset() {
+      List<Runnable> tasks = new ArrayList<>();
+      List<String> reads = new ArrayList<>();
+      ReadScheduler scheduler = new ReadScheduler(fileProvider, tasks::add, 64, 1);
+
+      List<CompletionStage<String>> results = new ArrayList<>();
+      results.add(scheduler.submit(new TestRequest(1, 20, reads)));
+      results.add(scheduler.submit(new TestRequest(0, 10, reads)));
+      results.add(scheduler.submit(new TestRequest(1, ~5, reads)));
+      results.add(scheduler.submit(new TestRequest(0, 0, reads)));
+      results.add(scheduler.submit(new TestRequest(-1, 0, reads)));
+
+      // Only a single task may run, the other requests wait in the queue
+      assertEquals(1, tasks.size());
+      assertEquals(5, scheduler.getQueueDepth());
+      tasks.get(0).run();
+
+      assertEquals(List.of("0:0", "0:10", "1:-6", "1:20"), reads);
+      assertEquals("1:20", results.get(0).toCompletableFuture().join());
+      assertNull(results.get(4).toCompletableFuture().join());
+      assertEquals(0, scheduler.getQueueDepth());
+      assertEquals(1, scheduler.getBatchCount());
+      assertEquals(5, scheduler.getReadCount());
+      assertEquals(5, scheduler.getMaxBatchSize());
+   }
+
+   public void testBatchSizeIsLimited() {
+      List<Runnable> tasks = new ArrayList<>();
+      List<String> reads = new ArrayList<>();
+      ReadScheduler scheduler = new ReadScheduler(fileProvider, tasks::add, 2, 1);
+      for (int i = 0; i < 5; ++i) {
+         scheduler.submit(new TestRequest(0, i, reads));
+      }
+      tasks.get(0).run();
+
+      assertEquals(5, reads.size());
+      assertEquals(3, scheduler.getBatchCount());
+      assertEquals(2, scheduler.getMaxBatchSize());
+   }
+
+   public void testReadRetriedWhenFileWasDeleted() {
+      List<Runnable> tasks = new ArrayList<>();
+      List<String> reads = new ArrayList<>();
+      ReadScheduler scheduler = new ReadScheduler(fileProvider, tasks::add, 64, 1);
+      CompletionStage<String> result = scheduler.submit(new TestRequest(42, 0, reads));
+      tasks.get(0).run();
+
+      assertTrue(reads.isEmpty());
+      assertEquals("unbatched", result.toCompletableFuture().join());
+   }
+
+   private static class TestRequest extends ReadScheduler.Request<String> {
+      private final int file;
+      private final int offset;
+      private final List<String> reads;
+
+      TestRequest(int file, int offset, List<String> reads) {
+         this.file = file;
+         this.offset = offset;
+         this.reads = reads;
+      }
+
+      @Override
+      protected EntryPosition locate() {
+         return file < 0 ? null : new EntryPosition(file, offset);
+      }
+
+      @Override
+      protected String read(FileProvider.Handle handle, EntryPosition position) {
+         assertEquals(file, handle.getFileId());
+         String read = position.file + ":" + position.offset;
+         reads.add(read);
+         return read;
+      }
+
+      @Override
+      protected String readUnbatched() {
+         return "unbatched";
+      }
+   }
+}
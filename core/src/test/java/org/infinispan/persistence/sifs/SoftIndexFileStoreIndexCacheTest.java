@@ -0,0 +1,27 @@
+package org.infinispan.persistence.sifs;
+
+import java.nio.file.Paths;
+
+import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.testng.annotations.Test;
+
+/**
+ * Runs the store tests with a small index node cache and small nodes, so that nodes are evicted and reloaded.
+ */
+@Test(groups = "unit", testName = "persistence.sifs.SoftIndexFileStoreIndexCacheTest")
+public class SoftIndexFileStoreIndexCacheTest extends SoftIndexFileStoreTest {
+
+   @Override
+   protected Configuration buildConfig(ConfigurationBuilder configurationBuilder) {
+      configurationBuilder.clustering().hash().numSegments(2);
+      return configurationBuilder.persistence()
+            .addSoftIndexFileStore()
+            .dataLocation(Paths.get(tmpDirectory, "data").toString())
+            .indexLocation(Paths.get(tmpDirectory, "index").toString())
+            .maxFileSize(1000)
+            .maxNodeSize(200)
+            .indexCacheSize(400)
+            .build();
+   }
+}
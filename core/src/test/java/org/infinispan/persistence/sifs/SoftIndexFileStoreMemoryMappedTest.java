@@ -0,0 +1,62 @@
+package org.infinispan.persistence.sifs;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.persistence.spi.MarshallableEntry;
+import org.testng.annotations.Test;
+
+@Test(groups = "unit", testName = "persistence.sifs.SoftIndexFileStoreMemoryMappedTest")
+public class SoftIndexFileStoreMemoryMappedTest extends SoftIndexFileStoreTest {
+
+   @Override
+   protected Configuration buildConfig(ConfigurationBuilder configurationBuilder) {
+      configurationBuilder.clustering().hash().numSegments(2);
+      return configurationBuilder.persistence()
+            .addSoftIndexFileStore()
+            .dataLocation(Paths.get(tmpDirectory, "data").toString())
+            .indexLocation(Paths.get(tmpDirectory, "index").toString())
+            .maxFileSize(1000)
+            .memoryMapped(true)
+            .build();
+   }
+
+   public void testMappedFilesDeletedByCompaction() {
+      for (int i = 0; i < 50; ++i) {
+         store.write(marshalledEntry(internalCacheEntry("mapped" + i, "value" + i, -1)));
+      }
+      // reading the entries back maps every data file that is no longer written to
+      for (int i = 0; i < 50; ++i) {
+         MarshallableEntry entry = store.loadEntry("mapped" + i);
+         assertEquals("value" + i, entry.getValue());
+      }
+      for (int i = 0; i < 50; ++i) {
+         store.delete("mapped" + i);
+      }
+      File[] mappedFiles = dataDirectory().toFile().listFiles();
+      // move the log file forward so that all the files above can be compacted away
+      for (int i = 0; i < 100; ++i) {
+         store.write(marshalledEntry(internalCacheEntry("foo" + i, "bar", -1)));
+         store.delete("foo" + i);
+      }
+
+      for (File file : mappedFiles) {
+         eventually(() -> "File " + file + " was not deleted", () -> !file.exists());
+      }
+      for (int i = 0; i < 50; ++i) {
+         assertNull(store.loadEntry("mapped" + i));
+      }
+      assertFalse(store.contains("foo0"));
+   }
+
+   private Path dataDirectory() {
+      return Path.of(tmpDirectory, "data", "mock-cache", "data");
+   }
+}
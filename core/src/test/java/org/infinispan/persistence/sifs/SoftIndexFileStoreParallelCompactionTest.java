@@ -0,0 +1,61 @@
+package org.infinispan.persistence.sifs;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.nio.file.Paths;
+
+import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.persistence.spi.MarshallableEntry;
+import org.infinispan.test.TestingUtil;
+import org.testng.annotations.Test;
+
+/**
+ * Runs the store tests with several compaction workers and a compaction rate limit.
+ */
+@Test(groups = "unit", testName = "persistence.sifs.SoftIndexFileStoreParallelCompactionTest")
+public class SoftIndexFileStoreParallelCompactionTest extends SoftIndexFileStoreTest {
+
+   @Override
+   protected Configuration buildConfig(ConfigurationBuilder configurationBuilder) {
+      configurationBuilder.clustering().hash().numSegments(2);
+      return configurationBuilder.persistence()
+            .addSoftIndexFileStore()
+            .dataLocation(Paths.get(tmpDirectory, "data").toString())
+            .indexLocation(Paths.get(tmpDirectory, "index").toString())
+            .maxFileSize(1000)
+            .compactionWorkers(4)
+            .compactionRateLimit(10 * 1024 * 1024)
+            .build();
+   }
+
+   public void testOverwritesAreCompactedInParallel() {
+      Compactor compactor = TestingUtil.extractField(store.delegate(), "compactor");
+      long compactedFiles = compactor.getCompactedFiles();
+      for (int round = 0; round < 20; ++round) {
+         for (int i = 0; i < 20; ++i) {
+            store.write(marshalledEntry(internalCacheEntry("key" + i, "value" + round + "-" + i, -1)));
+         }
+      }
+      eventually(() -> compactor.getCompactedFiles() > compactedFiles);
+      eventually(() -> compactor.getCompactionsInProgress() == 0);
+      assertTrue(compactor.getCompactedBytes() > 0);
+      assertTrue(compactor.getCompactionThroughput() > 0);
+      for (int i = 0; i < 20; ++i) {
+         MarshallableEntry<?, ?> entry = store.loadEntry(keyToStorage("key" + i));
+         assertEquals(valueToStorage("value19-" + i), entry.getValue());
+      }
+   }
+
+   public void testRateLimiter() {
+      Compactor.RateLimiter rateLimiter = new Compactor.RateLimiter(1000);
+      long now = 0;
+      assertEquals(0, rateLimiter.reserve(500, now));
+      // The first reservation takes half a second, so the next one has to wait for it
+      long wait = rateLimiter.reserve(500, now);
+      assertEquals(500_000_000, wait, 1_000);
+      // Once the reserved time passed there is no wait
+      assertEquals(0, rateLimiter.reserve(100, now + 2_000_000_000L));
+   }
+}
@@ -0,0 +1,147 @@
+package org.infinispan.persistence.sifs;
+
+import static org.infinispan.test.TestingUtil.getCacheObjectName;
+import static org.infinispan.test.fwk.TestCacheManagerFactory.configureJmx;
+import static org.infinispan.commons.util.concurrent.CompletionStages.join;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.infinispan.commons.jmx.MBeanServerLookup;
+import org.infinispan.commons.jmx.TestMBeanServerLookup;
+import org.infinispan.commons.test.CommonsTestingUtil;
+import org.infinispan.commons.time.ControlledTimeService;
+import org.infinispan.commons.time.TimeService;
+import org.infinispan.commons.util.Util;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.persistence.manager.PersistenceManager;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+@Test(groups = "functional", testName = "persistence.sifs.SoftIndexFileStoreStatisticsTest")
+public class SoftIndexFileStoreStatisticsTest extends SingleCacheManagerTest {
+   private static final String JMX_DOMAIN = SoftIndexFileStoreStatisticsTest.class.getSimpleName();
+
+   private final MBeanServerLookup mBeanServerLookup = TestMBeanServerLookup.create();
+   private final ControlledTimeService timeService = new ControlledTimeService();
+   private String tmpDirectory;
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      tmpDirectory = CommonsTestingUtil.tmpDirectory(getClass());
+      GlobalConfigurationBuilder global = new GlobalConfigurationBuilder().nonClusteredDefault();
+      global.globalState().persistentLocation(tmpDirectory);
+      configureJmx(global, JMX_DOMAIN, mBeanServerLookup);
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.statistics().enable();
+      // The reaper would remove the expired entries from the index
+      builder.expiration().wakeUpInterval(Long.MAX_VALUE);
+      builder.persistence()
+            .addSoftIndexFileStore()
+            .dataLocation(Paths.get(tmpDirectory, "data").toString())
+            .indexLocation(Paths.get(tmpDirectory, "index").toString())
+            .readConcurrency(2);
+      EmbeddedCacheManager cacheManager = TestCacheManagerFactory.createCacheManager(global, builder);
+      TestingUtil.replaceComponent(cacheManager, TimeService.class, timeService, true);
+      return cacheManager;
+   }
+
+   @AfterClass(alwaysRun = true)
+   @Override
+   protected void destroyAfterClass() {
+      super.destroyAfterClass();
+      Util.recursiveFileRemove(tmpDirectory);
+   }
+
+   public void testReadStatistics() throws Exception {
+      for (int i = 0; i < 10; ++i) {
+         cache.put("key" + i, "value" + i);
+      }
+      for (int i = 0; i < 10; ++i) {
+         cache.evict("key" + i);
+         assertEquals("value" + i, cache.get("key" + i));
+      }
+
+      SoftIndexFileStoreStatistics statistics = statistics();
+      assertTrue(statistics.getBatchedReads() >= 10);
+      assertTrue(statistics.getReadBatches() > 0);
+      assertTrue(statistics.getMaxReadBatchSize() > 0);
+
+      MBeanServer mBeanServer = mBeanServerLookup.getMBeanServer();
+      ObjectName objectName = getCacheObjectName(JMX_DOMAIN, cache.getName() + "(local)", "SoftIndexFileStore");
+      assertEquals(statistics.getBatchedReads(), mBeanServer.getAttribute(objectName, "BatchedReads"));
+      assertEquals(0, mBeanServer.getAttribute(objectName, "ReadQueueDepth"));
+      // Index nodes are held in soft references by default
+      assertEquals(-1L, mBeanServer.getAttribute(objectName, "IndexNodeCacheSize"));
+   }
+
+   public void testBloomFilterStatistics() throws Exception {
+      SoftIndexFileStoreStatistics statistics = statistics();
+      long negatives = statistics.getBloomFilterNegatives();
+      long falsePositives = statistics.getBloomFilterFalsePositives();
+      for (int i = 0; i < 100; ++i) {
+         assertNull(cache.get("absent" + i));
+      }
+      assertEquals(100, statistics.getBloomFilterNegatives() - negatives + statistics.getBloomFilterFalsePositives() - falsePositives);
+      assertTrue(statistics.getBloomFilterNegatives() - negatives > 50);
+      assertTrue(statistics.getBloomFilterFalsePositiveRate() < 0.5);
+
+      MBeanServer mBeanServer = mBeanServerLookup.getMBeanServer();
+      ObjectName objectName = getCacheObjectName(JMX_DOMAIN, cache.getName() + "(local)", "SoftIndexFileStore");
+      assertEquals(statistics.getBloomFilterNegatives(), mBeanServer.getAttribute(objectName, "BloomFilterNegatives"));
+   }
+
+   public void testRemovedAndExpiredKeysAreNotFalsePositives() {
+      cache.put("removed", "value");
+      cache.remove("removed");
+      cache.put("expired", "value", 1, TimeUnit.MINUTES);
+      cache.evict("expired");
+      // The keys must be read from the index, not from the entries waiting to be indexed
+      TemporaryTable temporaryTable = TestingUtil.extractField(TestingUtil.getFirstStore(cache), "temporaryTable");
+      KeyPartitioner keyPartitioner = TestingUtil.extractComponent(cache, KeyPartitioner.class);
+      eventually(() -> temporaryTable.get(keyPartitioner.getSegment("removed"), "removed") == null &&
+            temporaryTable.get(keyPartitioner.getSegment("expired"), "expired") == null);
+      timeService.advance(TimeUnit.MINUTES.toMillis(2));
+
+      SoftIndexFileStoreStatistics statistics = statistics();
+      long negatives = statistics.getBloomFilterNegatives();
+      long falsePositives = statistics.getBloomFilterFalsePositives();
+      assertNull(cache.get("removed"));
+      assertNull(cache.get("expired"));
+      assertEquals(negatives, statistics.getBloomFilterNegatives());
+      assertEquals(falsePositives, statistics.getBloomFilterFalsePositives());
+   }
+
+   public void testReadConcurrency() {
+      ReadScheduler readScheduler = TestingUtil.extractField(TestingUtil.getFirstStore(cache), "readScheduler");
+      assertEquals(2, (int) TestingUtil.extractField(readScheduler, "maxConcurrentBatches"));
+   }
+
+   @Test(dependsOnMethods = {"testReadStatistics", "testBloomFilterStatistics", "testRemovedAndExpiredKeysAreNotFalsePositives", "testReadConcurrency"})
+   public void testStatisticsUnregisteredOnStop() throws Exception {
+      MBeanServer mBeanServer = mBeanServerLookup.getMBeanServer();
+      ObjectName objectName = getCacheObjectName(JMX_DOMAIN, cache.getName() + "(local)", "SoftIndexFileStore");
+      assertTrue(mBeanServer.isRegistered(objectName));
+
+      PersistenceManager persistenceManager = TestingUtil.extractComponent(cache, PersistenceManager.class);
+      join(persistenceManager.disableStore(NonBlockingSoftIndexFileStore.class.getName()));
+      assertFalse(mBeanServer.isRegistered(objectName));
+   }
+
+   private SoftIndexFileStoreStatistics statistics() {
+      return TestingUtil.extractField(TestingUtil.getFirstStore(cache), "statistics");
+   }
+}
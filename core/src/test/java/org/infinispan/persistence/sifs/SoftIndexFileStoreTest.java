@@ -10,6 +10,7 @@
 import static org.testng.AssertJUnit.assertTrue;
 import static org.testng.AssertJUnit.fail;
 
+import java.io.File;
 import java.nio.file.Paths;
 import java.util.ArrayDeque;
 import java.util.Queue;
@@ -415,4 +416,86 @@ public void testWriteDuringStop(boolean deleteIndexes) throws InterruptedExcepti
 
       assertNotNull("bar-231", TestingUtil.join(store.load(1, "foo-231")));
    }
+
+   public void testBloomFilterLoadedAndRebuiltWhileInUse() {
+      for (int i = 0; i < 50; ++i) {
+         store.write(marshalledEntry(internalCacheEntry("bloom" + i, "value" + i, -1)));
+      }
+      // The persisted filters are loaded in the background, lookups and writes must not miss any key meanwhile
+      store.stopAndWait();
+      startStore(store);
+      for (int i = 50; i < 100; ++i) {
+         store.write(marshalledEntry(internalCacheEntry("bloom" + i, "value" + i, -1)));
+      }
+      assertAllBloomKeysPresent(100);
+      Index index = TestingUtil.extractField(store.delegate(), "index");
+      eventually(() -> allBloomFiltersReady(index));
+      assertEquals(0, index.getBloomFilterRebuilds());
+      assertAllBloomKeysPresent(100);
+
+      // Without persisted filters they are rebuilt from the index in the background
+      store.stopAndWait();
+      File[] bloomFilterFiles = Paths.get(tmpDirectory, "index", "mock-cache", "index").toFile()
+            .listFiles((dir, name) -> name.startsWith("index-bloom."));
+      assertNotNull(bloomFilterFiles);
+      assertEquals(2, bloomFilterFiles.length);
+      for (File file : bloomFilterFiles) {
+         assertTrue(file.delete());
+      }
+      startStore(store);
+      for (int i = 100; i < 150; ++i) {
+         store.write(marshalledEntry(internalCacheEntry("bloom" + i, "value" + i, -1)));
+      }
+      assertAllBloomKeysPresent(150);
+      Index rebuiltIndex = TestingUtil.extractField(store.delegate(), "index");
+      eventually(() -> allBloomFiltersReady(rebuiltIndex));
+      assertEquals(2, rebuiltIndex.getBloomFilterRebuilds());
+      assertAllBloomKeysPresent(150);
+   }
+
+   public void testBloomFilterFollowsCompaction() {
+      Index index = TestingUtil.extractField(store.delegate(), "index");
+      eventually(() -> allBloomFiltersReady(index));
+      long rebuilds = index.getBloomFilterRebuilds();
+      long keys = bloomFilterKeys(index);
+      store.write(marshalledEntry(internalCacheEntry("bloom", "value", -1)));
+      for (int i = 0; i < 5; ++i) {
+         // Compacts the previous records of the keys, moving and dropping them
+         writeGibberish(-1, true);
+      }
+      // Each key is counted once however many times it was written or moved, dropped keys are not counted
+      eventually(() -> bloomFilterKeys(index) <= keys + 101);
+      assertEquals(rebuilds, index.getBloomFilterRebuilds());
+      MarshallableEntry entry = store.loadEntry("bloom");
+      assertNotNull(entry);
+      assertEquals("value", entry.getValue());
+   }
+
+   private static long bloomFilterKeys(Index index) {
+      Index.Segment[] segments = TestingUtil.extractField(index, "segments");
+      long keys = 0;
+      for (Index.Segment segment : segments) {
+         IndexBloomFilter bloomFilter = TestingUtil.extractField(segment, "bloomFilter");
+         keys += bloomFilter.keys();
+      }
+      return keys;
+   }
+
+   private void assertAllBloomKeysPresent(int count) {
+      for (int i = 0; i < count; ++i) {
+         MarshallableEntry entry = store.loadEntry("bloom" + i);
+         assertNotNull("bloom" + i, entry);
+         assertEquals("value" + i, entry.getValue());
+      }
+   }
+
+   private static boolean allBloomFiltersReady(Index index) {
+      Index.Segment[] segments = TestingUtil.extractField(index, "segments");
+      for (Index.Segment segment : segments) {
+         if (TestingUtil.extractField(segment, "bloomFilter") == null) {
+            return false;
+         }
+      }
+      return true;
+   }
 }
@@ -1,7 +1,9 @@
 package org.infinispan.persistence.support;
 
+import java.util.Collection;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 
 import jakarta.transaction.Transaction;
 
@@ -41,6 +43,14 @@ public CompletionStage<MarshallableEntry<K, V>> load(int segment, Object key) {
       return BlockHoundHelper.ensureNonBlocking(() -> delegate().load(segment, key));
    }
 
+   @Override
+   public Publisher<MarshallableEntry<K, V>> load(Collection<?> keys, ToIntFunction<Object> segmentMapper) {
+      return BlockHoundHelper.ensureNonBlocking(() ->
+            Flowable.fromPublisher(delegate().load(keys, segmentMapper))
+                  .subscribeOn(Schedulers.from(BlockHoundHelper.ensureNonBlockingExecutor()))
+      );
+   }
+
    @Override
    public CompletionStage<Boolean> containsKey(int segment, Object key) {
       return BlockHoundHelper.ensureNonBlocking(() -> delegate().containsKey(segment, key));
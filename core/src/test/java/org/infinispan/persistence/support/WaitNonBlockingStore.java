@@ -1,5 +1,6 @@
 package org.infinispan.persistence.support;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Predicate;
@@ -33,6 +34,12 @@ default MarshallableEntry<K, V> loadEntry(Object key) {
       return join(load(segment, key));
    }
 
+   default List<MarshallableEntry<K, V>> loadEntriesWait(Collection<?> keys) {
+      return join(Flowable.fromPublisher(load(keys, getKeyPartitioner()::getSegment))
+            .collect(Collectors.toList())
+            .toCompletionStage());
+   }
+
    default void write(MarshallableEntry<K, V> entry) {
       int segment = getKeyPartitioner().getSegment(entry.getKey());
       join(write(segment, entry));
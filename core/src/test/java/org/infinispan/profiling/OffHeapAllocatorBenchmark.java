@@ -0,0 +1,103 @@
+package org.infinispan.profiling;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.container.offheap.OffHeapMemoryAllocator;
+import org.infinispan.container.offheap.PooledOffHeapMemoryAllocator;
+import org.infinispan.container.offheap.UnpooledOffHeapMemoryAllocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the pooled and unpooled off-heap allocators under an allocate/free churn similar to the one produced by
+ * a write heavy off-heap cache, where every write allocates a new entry and frees the previous one.
+ */
+public class OffHeapAllocatorBenchmark {
+
+   private static final int MEASUREMENT_ITERATIONS_COUNT = 10;
+   private static final int WARMUP_ITERATIONS_COUNT = 10;
+
+   public static void main(String[] args) throws Exception {
+      Options opt = new OptionsBuilder()
+            .include(OffHeapAllocatorBenchmark.class.getName() + ".*")
+            .mode(Mode.Throughput)
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .warmupIterations(WARMUP_ITERATIONS_COUNT)
+            .measurementIterations(MEASUREMENT_ITERATIONS_COUNT)
+            .threads(Runtime.getRuntime().availableProcessors())
+            .forks(3)
+            .shouldFailOnError(true)
+            .build();
+
+      new Runner(opt).run();
+   }
+
+   @State(Scope.Benchmark)
+   public static class AllocatorState {
+      @Param({"UNPOOLED", "POOLED"})
+      String allocatorType;
+
+      OffHeapMemoryAllocator allocator;
+
+      @Setup(Level.Trial)
+      public void setup() {
+         allocator = "POOLED".equals(allocatorType) ? new PooledOffHeapMemoryAllocator() : new UnpooledOffHeapMemoryAllocator();
+      }
+
+      @TearDown(Level.Trial)
+      public void tearDown() {
+         if (allocator instanceof PooledOffHeapMemoryAllocator) {
+            ((PooledOffHeapMemoryAllocator) allocator).stop();
+         }
+      }
+   }
+
+   @State(Scope.Thread)
+   public static class LiveEntries {
+      @Param({"64", "512", "4096"})
+      int maxEntrySize;
+
+      // Each thread keeps a window of live allocations, replacing a random one on each invocation
+      final long[] addresses = new long[1024];
+      final long[] sizes = new long[1024];
+
+      @Setup(Level.Iteration)
+      public void setup(AllocatorState state) {
+         ThreadLocalRandom random = ThreadLocalRandom.current();
+         for (int i = 0; i < addresses.length; ++i) {
+            sizes[i] = 1 + random.nextInt(maxEntrySize);
+            addresses[i] = state.allocator.allocate(sizes[i]);
+         }
+      }
+
+      @TearDown(Level.Iteration)
+      public void tearDown(AllocatorState state) {
+         for (int i = 0; i < addresses.length; ++i) {
+            state.allocator.deallocate(addresses[i], sizes[i]);
+         }
+      }
+   }
+
+   @Benchmark
+   public long replaceEntry(AllocatorState state, LiveEntries entries) {
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      int slot = random.nextInt(entries.addresses.length);
+      long size = 1 + random.nextInt(entries.maxEntrySize);
+      OffHeapMemoryAllocator allocator = state.allocator;
+      long address = allocator.allocate(size);
+      allocator.deallocate(entries.addresses[slot], entries.sizes[slot]);
+      entries.addresses[slot] = address;
+      entries.sizes[slot] = size;
+      return address;
+   }
+}
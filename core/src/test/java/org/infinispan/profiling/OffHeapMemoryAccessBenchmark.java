@@ -0,0 +1,115 @@
+package org.infinispan.profiling;
+
+import java.util.Iterator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commons.marshall.WrappedByteArray;
+import org.infinispan.commons.marshall.WrappedBytes;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.container.DataContainer;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.manager.DefaultCacheManager;
+import org.infinispan.metadata.EmbeddedMetadata;
+import org.infinispan.metadata.Metadata;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares get, put and iteration throughput of an off-heap data container when native memory is accessed through
+ * Unsafe and through memory segments. Memory segments require JDK 22 or later, otherwise both runs use Unsafe.
+ */
+public class OffHeapMemoryAccessBenchmark {
+
+   private static final int MEASUREMENT_ITERATIONS_COUNT = 10;
+   private static final int WARMUP_ITERATIONS_COUNT = 10;
+
+   public static void main(String[] args) throws Exception {
+      for (boolean segments : new boolean[]{false, true}) {
+         Options opt = new OptionsBuilder()
+               .include(OffHeapMemoryAccessBenchmark.class.getName() + ".*")
+               .mode(Mode.Throughput)
+               .timeUnit(TimeUnit.MICROSECONDS)
+               .warmupIterations(WARMUP_ITERATIONS_COUNT)
+               .measurementIterations(MEASUREMENT_ITERATIONS_COUNT)
+               .threads(1)
+               .forks(3)
+               .jvmArgsAppend("-Dorg.infinispan.offheap.segments=" + segments, "--enable-native-access=ALL-UNNAMED")
+               .shouldFailOnError(true)
+               .build();
+
+         new Runner(opt).run();
+      }
+   }
+
+   @State(Scope.Benchmark)
+   public static class ContainerState {
+      @Param({"10000"})
+      int keyCount;
+
+      @Param({"32", "1024"})
+      int valueSize;
+
+      DefaultCacheManager cacheManager;
+      DataContainer<WrappedBytes, WrappedBytes> container;
+      WrappedBytes[] keys;
+      WrappedBytes value;
+      Metadata metadata;
+
+      @Setup(Level.Trial)
+      @SuppressWarnings("unchecked")
+      public void setup() {
+         ConfigurationBuilder builder = new ConfigurationBuilder();
+         builder.memory().storage(StorageType.OFF_HEAP);
+         cacheManager = new DefaultCacheManager(new GlobalConfigurationBuilder().nonClusteredDefault().build(), builder.build());
+         container = (DataContainer<WrappedBytes, WrappedBytes>) (DataContainer<?, ?>) cacheManager.getCache().getAdvancedCache().getDataContainer();
+
+         metadata = new EmbeddedMetadata.Builder().build();
+         value = new WrappedByteArray(new byte[valueSize]);
+         keys = new WrappedBytes[keyCount];
+         for (int i = 0; i < keyCount; ++i) {
+            keys[i] = new WrappedByteArray(("key" + i).getBytes());
+            container.put(keys[i], value, metadata);
+         }
+      }
+
+      @TearDown(Level.Trial)
+      public void tearDown() {
+         cacheManager.stop();
+      }
+
+      WrappedBytes randomKey() {
+         return keys[ThreadLocalRandom.current().nextInt(keys.length)];
+      }
+   }
+
+   @Benchmark
+   public InternalCacheEntry<WrappedBytes, WrappedBytes> get(ContainerState state) {
+      return state.container.get(state.randomKey());
+   }
+
+   @Benchmark
+   public void put(ContainerState state) {
+      state.container.put(state.randomKey(), state.value, state.metadata);
+   }
+
+   @Benchmark
+   public void iterate(ContainerState state, Blackhole blackhole) {
+      Iterator<InternalCacheEntry<WrappedBytes, WrappedBytes>> iterator = state.container.iterator();
+      while (iterator.hasNext()) {
+         blackhole.consume(iterator.next());
+      }
+   }
+}
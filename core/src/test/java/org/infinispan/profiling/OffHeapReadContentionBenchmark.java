@@ -0,0 +1,98 @@
+package org.infinispan.profiling;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commons.marshall.WrappedByteArray;
+import org.infinispan.commons.marshall.WrappedBytes;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.container.DataContainer;
+import org.infinispan.manager.DefaultCacheManager;
+import org.infinispan.metadata.EmbeddedMetadata;
+import org.infinispan.metadata.Metadata;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the throughput of a read mostly workload against an off-heap data container with all threads hitting a
+ * small set of hot keys, which concentrates the reads on a few lock regions of the underlying map.
+ */
+public class OffHeapReadContentionBenchmark {
+
+   private static final int MEASUREMENT_ITERATIONS_COUNT = 10;
+   private static final int WARMUP_ITERATIONS_COUNT = 10;
+
+   public static void main(String[] args) throws Exception {
+      Options opt = new OptionsBuilder()
+            .include(OffHeapReadContentionBenchmark.class.getName() + ".*")
+            .mode(Mode.Throughput)
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .warmupIterations(WARMUP_ITERATIONS_COUNT)
+            .measurementIterations(MEASUREMENT_ITERATIONS_COUNT)
+            .threads(Runtime.getRuntime().availableProcessors())
+            .forks(3)
+            .shouldFailOnError(true)
+            .build();
+
+      new Runner(opt).run();
+   }
+
+   @State(Scope.Benchmark)
+   public static class ContainerState {
+      @Param({"16", "100000"})
+      int keyCount;
+
+      @Param({"100", "99", "90"})
+      int readPercentage;
+
+      DefaultCacheManager cacheManager;
+      DataContainer<WrappedBytes, WrappedBytes> container;
+      WrappedBytes[] keys;
+      WrappedBytes value;
+      Metadata metadata;
+
+      @Setup(Level.Trial)
+      @SuppressWarnings("unchecked")
+      public void setup() {
+         ConfigurationBuilder builder = new ConfigurationBuilder();
+         builder.memory().storage(StorageType.OFF_HEAP);
+         cacheManager = new DefaultCacheManager(new GlobalConfigurationBuilder().nonClusteredDefault().build(), builder.build());
+         container = (DataContainer<WrappedBytes, WrappedBytes>) (DataContainer<?, ?>) cacheManager.getCache().getAdvancedCache().getDataContainer();
+
+         metadata = new EmbeddedMetadata.Builder().build();
+         value = new WrappedByteArray(new byte[256]);
+         keys = new WrappedBytes[keyCount];
+         for (int i = 0; i < keyCount; ++i) {
+            keys[i] = new WrappedByteArray(("key" + i).getBytes());
+            container.put(keys[i], value, metadata);
+         }
+      }
+
+      @TearDown(Level.Trial)
+      public void tearDown() {
+         cacheManager.stop();
+      }
+   }
+
+   @Benchmark
+   public Object readMostly(ContainerState state) {
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      WrappedBytes key = state.keys[random.nextInt(state.keys.length)];
+      if (random.nextInt(100) < state.readPercentage) {
+         return state.container.get(key);
+      }
+      state.container.put(key, state.value, state.metadata);
+      return key;
+   }
+}
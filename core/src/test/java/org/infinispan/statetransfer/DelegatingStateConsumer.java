@@ -34,6 +34,11 @@ public long inflightTransactionSegmentCount() {
       return delegate.inflightTransactionSegmentCount();
    }
 
+   @Override
+   public StateTransferProgress inboundProgress() {
+      return delegate.inboundProgress();
+   }
+
    @Override
    public CompletionStage<CompletionStage<Void>> onTopologyUpdate(CacheTopology cacheTopology, boolean isRebalance) {
       return delegate.onTopologyUpdate(cacheTopology, isRebalance);
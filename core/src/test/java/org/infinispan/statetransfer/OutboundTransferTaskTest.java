@@ -6,19 +6,26 @@
 import org.infinispan.commons.util.IntSet;
 import org.infinispan.commons.util.IntSets;
 import org.infinispan.commons.util.concurrent.CompletableFutures;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
 import org.infinispan.container.entries.ImmortalCacheEntry;
 import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.marshall.core.GlobalMarshaller;
 import org.infinispan.reactive.publisher.impl.Notifications;
 import org.infinispan.reactive.publisher.impl.SegmentPublisherSupplier;
 import org.infinispan.remoting.rpc.RpcManager;
 import org.infinispan.remoting.transport.Address;
 import org.infinispan.remoting.transport.LocalModeAddress;
 import org.infinispan.test.TestException;
+import org.infinispan.test.TestingUtil;
 import org.infinispan.test.fwk.CleanupAfterMethod;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
 import org.mockito.ArgumentCaptor;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
@@ -32,6 +39,10 @@
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
 
 @Test(groups = "functional", testName = "statetransfer.OutboundTransferTaskTest")
 @CleanupAfterMethod
@@ -96,4 +107,116 @@ public void shouldNotifyForAllSegments() throws InterruptedException {
 
       assertEquals(transferred, segments);
    }
+
+   public void shouldSplitChunksBySize() throws Exception {
+      int numSegments = 2;
+      IntSet segments = IntSets.from(IntStream.range(0, numSegments).iterator());
+
+      RpcManager rpcManager = mock(RpcManager.class);
+      CommandsFactory commandsFactory = mock(CommandsFactory.class);
+
+      // Each value is 1000 bytes, so a batch is sent every 3 entries even if chunkSize is much larger
+      OutboundTransferTask task = new OutboundTransferTask(LocalModeAddress.INSTANCE, segments, numSegments, 512,
+            2500, null, null, null, 1, chunks -> {}, rpcManager, commandsFactory, 10_000, "mock-cache", true);
+
+      ArgumentCaptor<Collection<StateChunk>> cmdCaptor = ArgumentCaptor.forClass(Collection.class);
+      when(commandsFactory.buildStateResponseCommand(anyInt(), cmdCaptor.capture(), anyBoolean()))
+            .thenReturn(mock(StateResponseCommand.class));
+      when(rpcManager.invokeCommand(any(Address.class), any(), any(), any()))
+            .thenAnswer(i -> CompletableFutures.completedNull());
+
+      List<SegmentPublisherSupplier.Notification<InternalCacheEntry<?, ?>>> entries = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+         entries.add(Notifications.value(new ImmortalCacheEntry(new byte[]{(byte) i}, new byte[999]), i % numSegments));
+      }
+      entries.add(Notifications.segmentComplete(0));
+      entries.add(Notifications.segmentComplete(1));
+
+      task.execute(Flowable.fromIterable(entries)).toCompletableFuture().get(15, TimeUnit.SECONDS);
+
+      List<Integer> batchSizes = cmdCaptor.getAllValues().stream()
+            .map(chunks -> chunks.stream().mapToInt(c -> c.getCacheEntries().size()).sum())
+            .collect(Collectors.toList());
+      assertEquals(batchSizes, Arrays.asList(3, 3, 3, 1));
+      Collection<StateChunk> last = cmdCaptor.getAllValues().get(3);
+      assertEquals(last.size(), 2);
+      assertTrue(last.stream().allMatch(StateChunk::isLastChunk));
+      assertEquals(task.getEntriesSent(), 10);
+      assertEquals(task.getBytesSent(), 10_000);
+      assertEquals(task.getWireBytesSent(), 10_000);
+      assertEquals(task.getTotalSegments(), 2);
+      assertEquals(task.getSegmentsSent(), 2);
+   }
+
+   public void shouldThrottleBatches() {
+      // 1000 bytes per second, the scheduler is not used when reserving directly
+      OutboundTransferThrottle throttle = new OutboundTransferThrottle(1000, null, null);
+      long now = TimeUnit.SECONDS.toNanos(100);
+      assertEquals(throttle.reserve(500, now), 0);
+      // The first batch occupies the next half second
+      assertEquals(throttle.reserve(1000, now), TimeUnit.MILLISECONDS.toNanos(500));
+      assertEquals(throttle.reserve(1000, now + TimeUnit.MILLISECONDS.toNanos(500)), TimeUnit.SECONDS.toNanos(1));
+      // Idle time is not accumulated
+      assertEquals(throttle.reserve(1000, now + TimeUnit.SECONDS.toNanos(10)), 0);
+   }
+
+   public void shouldShareThrottleBetweenCaches() {
+      GlobalConfigurationBuilder global = GlobalConfigurationBuilder.defaultClusteredBuilder();
+      global.transport().stateTransferRateLimit(1000);
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.clustering().cacheMode(CacheMode.DIST_SYNC);
+      TestingUtil.withCacheManager(TestCacheManagerFactory.createClusteredCacheManager(global, builder), cm -> {
+         cm.defineConfiguration("other", builder.build());
+         OutboundTransferThrottle throttle = TestingUtil.extractField(
+               TestingUtil.extractComponent(cm.getCache(), StateProvider.class), "throttle");
+         assertNotNull(throttle);
+         assertSame(TestingUtil.extractField(
+               TestingUtil.extractComponent(cm.getCache("other"), StateProvider.class), "throttle"), throttle);
+      });
+   }
+
+   public void shouldEstimateRemainingTime() {
+      StateTransferProgress progress = new StateTransferProgress(8, 2, TimeUnit.SECONDS.toNanos(1));
+      assertTrue(progress.isInProgress());
+      assertEquals(progress.getPercentage(), 25.0);
+      assertEquals(progress.getEstimatedRemainingMillis(), 3000);
+      assertEquals(new StateTransferProgress(8, 0, 1000).getEstimatedRemainingMillis(), -1);
+      assertFalse(StateTransferProgress.NONE.isInProgress());
+      assertEquals(StateTransferProgress.NONE.getPercentage(), 100.0);
+      assertEquals(StateTransferProgress.NONE.getEstimatedRemainingMillis(), 0);
+   }
+
+   public void shouldCompressChunks() {
+      TestingUtil.withCacheManager(TestCacheManagerFactory.createCacheManager(), cm -> {
+         GlobalMarshaller marshaller = TestingUtil.extractGlobalMarshaller(cm);
+         List<InternalCacheEntry<?, ?>> entries = new ArrayList<>();
+         for (int i = 0; i < 100; i++) {
+            entries.add(new ImmortalCacheEntry("key" + i, "value-value-value-value-value-" + i));
+         }
+         try {
+            StateChunk compressed = new StateChunk(3, entries, true).compress(marshaller);
+            assertTrue(compressed.isCompressed());
+            assertTrue(compressed.getCompressedSize() < compressed.getUncompressedSize());
+
+            StateChunk copy = (StateChunk) marshaller.objectFromByteBuffer(marshaller.objectToByteBuffer(compressed));
+            assertFalse(copy.isCompressed());
+            assertEquals(copy.getSegmentId(), 3);
+            assertTrue(copy.isLastChunk());
+            assertEquals(copy.getCacheEntries(), entries);
+
+            // Uncompressed chunks keep the format read by older versions
+            StateChunk plain = new StateChunk(3, entries, false);
+            byte[] plainBytes = marshaller.objectToByteBuffer(plain);
+            assertTrue(plainBytes.length > marshaller.objectToByteBuffer(compressed).length);
+            copy = (StateChunk) marshaller.objectFromByteBuffer(plainBytes);
+            assertFalse(copy.isLastChunk());
+            assertEquals(copy.getCacheEntries(), entries);
+
+            StateChunk empty = new StateChunk(4, List.of(), true);
+            assertFalse(empty.compress(marshaller).isCompressed());
+         } catch (Exception e) {
+            throw new TestException(e);
+         }
+      });
+   }
 }
@@ -0,0 +1,206 @@
+package org.infinispan.multimap.impl;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.Cache;
+import org.infinispan.commons.time.TimeService;
+import org.infinispan.factories.ComponentRegistry;
+import org.infinispan.functional.FunctionalMap;
+import org.infinispan.functional.impl.FunctionalMapImpl;
+import org.infinispan.functional.impl.ReadOnlyMapImpl;
+import org.infinispan.functional.impl.ReadWriteMapImpl;
+import org.infinispan.multimap.impl.function.stream.StreamAckFunction;
+import org.infinispan.multimap.impl.function.stream.StreamAddFunction;
+import org.infinispan.multimap.impl.function.stream.StreamGroupFunction;
+import org.infinispan.multimap.impl.function.stream.StreamLengthFunction;
+import org.infinispan.multimap.impl.function.stream.StreamRangeFunction;
+import org.infinispan.multimap.impl.function.stream.StreamReadGroupFunction;
+
+/**
+ * Multimap with Stream methods implementation.
+ * <p>
+ * A stream is an append-only log of entries under a single key, each entry with an increasing identifier and a list
+ * of field and value pairs. Consumer groups track the entries delivered to their consumers and not acknowledged yet.
+ * </p>
+ * Reads are evaluated where the stream is stored and only return the requested entries.
+ *
+ * @param <K>: The type of key to identify the stream.
+ * @since 15.1
+ * @see <a href="https://redis.io/docs/data-types/streams/">Redis Streams</a>
+ */
+public class EmbeddedMultimapStreamCache<K> {
+   public static final String ERR_KEY_CAN_T_BE_NULL = "key can't be null";
+   public static final String ERR_FIELDS_CAN_T_BE_EMPTY = "fields can't be empty";
+   public static final String ERR_GROUP_CAN_T_BE_NULL = "group can't be null";
+   public static final String ERR_CONSUMER_CAN_T_BE_NULL = "consumer can't be null";
+   public static final String ERR_ID_CAN_T_BE_NULL = "id can't be null";
+
+   private final FunctionalMap.ReadWriteMap<K, StreamBucket> readWriteMap;
+   private final FunctionalMap.ReadOnlyMap<K, StreamBucket> readOnlyMap;
+   private final AdvancedCache<K, StreamBucket> cache;
+   private final TimeService timeService;
+
+   public EmbeddedMultimapStreamCache(Cache<K, StreamBucket> cache) {
+      this.cache = cache.getAdvancedCache();
+      FunctionalMapImpl<K, StreamBucket> functionalMap = FunctionalMapImpl.create(this.cache);
+      this.readWriteMap = ReadWriteMapImpl.create(functionalMap);
+      this.readOnlyMap = ReadOnlyMapImpl.create(functionalMap);
+      this.timeService = ComponentRegistry.of(this.cache).getTimeService();
+   }
+
+   /**
+    * Appends an entry to the stream, creating the stream if required.
+    *
+    * @param key, the name of the stream
+    * @param id, the identifier of the entry, or <code>null</code> to generate it from the current time
+    * @param autoSequence, whether only the milliseconds of the identifier are given and the sequence is generated
+    * @param fields, the fields and values of the entry
+    * @param maxLength, the maximum length of the stream after the append, or a negative number for no limit
+    * @param noMkStream, whether the entry is only appended if the stream exists
+    * @return {@link CompletionStage} containing the identifier of the entry, <code>null</code> if the stream does not
+    * exist and <code>noMkStream</code> is set, or {@link StreamEntryId#MIN} if the identifier is not greater than the
+    * last identifier of the stream
+    */
+   public CompletionStage<StreamEntryId> add(K key, StreamEntryId id, boolean autoSequence, List<byte[]> fields,
+                                             long maxLength, boolean noMkStream) {
+      requireNonNull(key, ERR_KEY_CAN_T_BE_NULL);
+      requireNonNull(fields, ERR_FIELDS_CAN_T_BE_EMPTY);
+      if (fields.isEmpty()) {
+         throw new IllegalArgumentException(ERR_FIELDS_CAN_T_BE_EMPTY);
+      }
+      return readWriteMap.eval(key,
+            new StreamAddFunction<>(id, autoSequence, timeService.wallClockTime(), fields, maxLength, noMkStream));
+   }
+
+   /**
+    * Returns the number of entries in the stream.
+    *
+    * @param key, the name of the stream
+    * @return {@link CompletionStage} containing the length, or <code>0</code> if the stream does not exist
+    */
+   public CompletionStage<Long> length(K key) {
+      requireNonNull(key, ERR_KEY_CAN_T_BE_NULL);
+      return readOnlyMap.eval(key, new StreamLengthFunction<>());
+   }
+
+   /**
+    * Returns the entries of the stream with an identifier between <code>start</code> and <code>end</code>, both
+    * inclusive.
+    *
+    * @param key, the name of the stream
+    * @param start, the lowest identifier
+    * @param end, the highest identifier
+    * @param count, the maximum number of entries to return, or a negative number for no limit
+    * @param rev, whether the entries are returned from the highest identifier to the lowest
+    * @return {@link CompletionStage} containing the entries, empty if the stream does not exist
+    */
+   public CompletionStage<List<StreamEntry>> range(K key, StreamEntryId start, StreamEntryId end, long count, boolean rev) {
+      requireNonNull(key, ERR_KEY_CAN_T_BE_NULL);
+      requireNonNull(start, ERR_ID_CAN_T_BE_NULL);
+      requireNonNull(end, ERR_ID_CAN_T_BE_NULL);
+      return readOnlyMap.eval(key, new StreamRangeFunction<>(start, end, count, rev));
+   }
+
+   /**
+    * Returns the entries of the stream with an identifier greater than the given one.
+    *
+    * @param key, the name of the stream
+    * @param id, the identifier after which the entries are read
+    * @param count, the maximum number of entries to return, or a negative number for no limit
+    * @return {@link CompletionStage} containing the entries, empty if the stream does not exist
+    */
+   public CompletionStage<List<StreamEntry>> after(K key, StreamEntryId id, long count) {
+      requireNonNull(id, ERR_ID_CAN_T_BE_NULL);
+      StreamEntryId start = id.next();
+      if (start == null) {
+         return CompletableFuture.completedFuture(Collections.emptyList());
+      }
+      return range(key, start, StreamEntryId.MAX, count, false);
+   }
+
+   /**
+    * Returns the identifier of the last entry in the stream.
+    *
+    * @param key, the name of the stream
+    * @return {@link CompletionStage} containing the identifier, or {@link StreamEntryId#MIN} if the stream is empty
+    */
+   public CompletionStage<StreamEntryId> lastId(K key) {
+      return range(key, StreamEntryId.MIN, StreamEntryId.MAX, 1, true)
+            .thenApply(entries -> entries.isEmpty() ? StreamEntryId.MIN : entries.get(0).id());
+   }
+
+   /**
+    * Creates a consumer group.
+    *
+    * @param key, the name of the stream
+    * @param group, the name of the group
+    * @param id, the identifier of the last entry considered delivered, or <code>null</code> for the last entry of the
+    *            stream
+    * @param mkStream, whether an empty stream is created if it does not exist
+    * @return {@link CompletionStage} containing <code>true</code> if the group is created, <code>false</code> if it
+    * already exists, or <code>null</code> if the stream does not exist
+    */
+   public CompletionStage<Boolean> createGroup(K key, String group, StreamEntryId id, boolean mkStream) {
+      requireNonNull(key, ERR_KEY_CAN_T_BE_NULL);
+      requireNonNull(group, ERR_GROUP_CAN_T_BE_NULL);
+      return readWriteMap.eval(key, new StreamGroupFunction<>(group, true, id, mkStream));
+   }
+
+   /**
+    * Destroys a consumer group.
+    *
+    * @param key, the name of the stream
+    * @param group, the name of the group
+    * @return {@link CompletionStage} containing <code>true</code> if the group is destroyed, <code>false</code> if it
+    * does not exist, or <code>null</code> if the stream does not exist
+    */
+   public CompletionStage<Boolean> destroyGroup(K key, String group) {
+      requireNonNull(key, ERR_KEY_CAN_T_BE_NULL);
+      requireNonNull(group, ERR_GROUP_CAN_T_BE_NULL);
+      return readWriteMap.eval(key, new StreamGroupFunction<>(group, false, null, false));
+   }
+
+   /**
+    * Reads entries as a consumer of a group.
+    *
+    * @param key, the name of the stream
+    * @param group, the name of the group
+    * @param consumer, the name of the consumer
+    * @param id, <code>null</code> to read the entries never delivered to the group, or an identifier to read the
+    *            entries after it which were delivered to the consumer and not acknowledged yet
+    * @param count, the maximum number of entries to return, or a non-positive number for no limit
+    * @param noAck, whether the new entries delivered are acknowledged at the same time
+    * @return {@link CompletionStage} containing the entries, or <code>null</code> if the stream or the group do not
+    * exist
+    */
+   public CompletionStage<List<StreamEntry>> readGroup(K key, String group, String consumer, StreamEntryId id,
+                                                       long count, boolean noAck) {
+      requireNonNull(key, ERR_KEY_CAN_T_BE_NULL);
+      requireNonNull(group, ERR_GROUP_CAN_T_BE_NULL);
+      requireNonNull(consumer, ERR_CONSUMER_CAN_T_BE_NULL);
+      return readWriteMap.eval(key,
+            new StreamReadGroupFunction<>(group, consumer, id, count, noAck, timeService.wallClockTime()));
+   }
+
+   /**
+    * Acknowledges entries delivered to a consumer group.
+    *
+    * @param key, the name of the stream
+    * @param group, the name of the group
+    * @param ids, the identifiers of the entries
+    * @return {@link CompletionStage} containing the number of entries acknowledged
+    */
+   public CompletionStage<Long> acknowledge(K key, String group, Collection<StreamEntryId> ids) {
+      requireNonNull(key, ERR_KEY_CAN_T_BE_NULL);
+      requireNonNull(group, ERR_GROUP_CAN_T_BE_NULL);
+      requireNonNull(ids, ERR_ID_CAN_T_BE_NULL);
+      return readWriteMap.eval(key, new StreamAckFunction<>(group, ids));
+   }
+}
@@ -43,7 +43,18 @@ public interface ExternalizerIds {
    Integer SORTED_SET_REMOVE_MANY_FUNCTION = 2081;
    Integer SORTED_SET_RANDOM_FUNCTION = 2082;
    Integer SET_REMOVE_FUNCTION = 2083;
+   /**
+    * @deprecated the unseeded format, replaced by {@link #SET_POP_SEEDED_FUNCTION}. Do not reuse.
+    */
+   @Deprecated
    Integer SET_POP_FUNCTION = 2084;
    Integer REPLACE_LIST_FUNCTION = 2085;
    Integer SET_MISMEMBER_FUNCTION = 2086;
+   Integer STREAM_ADD_FUNCTION = 2087;
+   Integer STREAM_RANGE_FUNCTION = 2088;
+   Integer STREAM_LENGTH_FUNCTION = 2089;
+   Integer STREAM_GROUP_FUNCTION = 2090;
+   Integer STREAM_READ_GROUP_FUNCTION = 2091;
+   Integer STREAM_ACK_FUNCTION = 2092;
+   Integer SET_POP_SEEDED_FUNCTION = 2093;
 }
@@ -42,6 +42,12 @@
 import org.infinispan.multimap.impl.function.sortedset.SortedSetAggregateFunction;
 import org.infinispan.multimap.impl.function.sortedset.SortedSetRandomFunction;
 import org.infinispan.multimap.impl.function.sortedset.SubsetFunction;
+import org.infinispan.multimap.impl.function.stream.StreamAckFunction;
+import org.infinispan.multimap.impl.function.stream.StreamAddFunction;
+import org.infinispan.multimap.impl.function.stream.StreamGroupFunction;
+import org.infinispan.multimap.impl.function.stream.StreamLengthFunction;
+import org.infinispan.multimap.impl.function.stream.StreamRangeFunction;
+import org.infinispan.multimap.impl.function.stream.StreamReadGroupFunction;
 
 import java.util.Map;
 
@@ -69,6 +75,7 @@ public void cacheManagerStarting(GlobalComponentRegistry gcr, GlobalConfiguratio
       addSetExternalizers(externalizerMap);
       addHashMapExternalizers(externalizerMap);
       addSortedSetExternalizers(externalizerMap);
+      addStreamExternalizers(externalizerMap);
    }
 
    /**
@@ -147,6 +154,20 @@ private static void addSortedSetExternalizers(Map<Integer, AdvancedExternalizer<
       addAdvancedExternalizer(externalizerMap, SortedSetRandomFunction.EXTERNALIZER);
    }
 
+   /**
+    * Stream functions
+    *
+    * @param externalizerMap
+    */
+   private static void addStreamExternalizers(Map<Integer, AdvancedExternalizer<?>> externalizerMap) {
+      addAdvancedExternalizer(externalizerMap, StreamAddFunction.EXTERNALIZER);
+      addAdvancedExternalizer(externalizerMap, StreamRangeFunction.EXTERNALIZER);
+      addAdvancedExternalizer(externalizerMap, StreamLengthFunction.EXTERNALIZER);
+      addAdvancedExternalizer(externalizerMap, StreamGroupFunction.EXTERNALIZER);
+      addAdvancedExternalizer(externalizerMap, StreamReadGroupFunction.EXTERNALIZER);
+      addAdvancedExternalizer(externalizerMap, StreamAckFunction.EXTERNALIZER);
+   }
+
    private static void addAdvancedExternalizer(Map<Integer, AdvancedExternalizer<?>> map, AdvancedExternalizer<?> ext) {
       map.put(ext.getId(), ext);
    }
@@ -16,6 +16,11 @@
             SortedSetBucket.class,
             ScoredValue.class,
             SortedSetBucket.IndexValue.class,
+            StreamBucket.class,
+            StreamEntry.class,
+            StreamEntryId.class,
+            StreamConsumerGroup.class,
+            StreamConsumerGroup.PendingEntry.class,
       },
       schemaFileName = "persistence.multimap.proto",
       schemaFilePath = "proto/generated",
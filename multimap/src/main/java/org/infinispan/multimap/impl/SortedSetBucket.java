@@ -4,6 +4,7 @@
 
 import org.infinispan.commons.marshall.ProtoStreamTypeIds;
 import org.infinispan.multimap.impl.internal.MultimapObjectWrapper;
+import org.infinispan.multimap.impl.internal.RankedSkipList;
 import org.infinispan.protostream.annotations.ProtoFactory;
 import org.infinispan.protostream.annotations.ProtoField;
 import org.infinispan.protostream.annotations.ProtoTypeId;
@@ -15,7 +16,6 @@
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.NavigableSet;
 import java.util.Objects;
 import java.util.Set;
 import java.util.SortedSet;
@@ -26,13 +26,16 @@
 
 /**
  * Bucket used to store Sorted Set data type.
+ * <p>
+ * The scored values are kept in a {@link RankedSkipList}, so the rank of a member and the members within a range of
+ * ranks or scores are found in O(log n) instead of iterating from the first member.
  *
  * @author Katia Aresti
  * @since 15.0
  */
 @ProtoTypeId(ProtoStreamTypeIds.MULTIMAP_SORTED_SET_BUCKET)
 public class SortedSetBucket<V> implements SortableBucket<V> {
-   private final TreeSet<ScoredValue<V>> scoredEntries;
+   private final RankedSkipList<ScoredValue<V>> scoredEntries;
    private final Map<MultimapObjectWrapper<V>, Double> entries;
 
    /**
@@ -158,8 +161,7 @@ public List<ScoredValue<V>> randomMembers(int count) {
 
    @ProtoFactory
    SortedSetBucket(Collection<ScoredValue<V>> wrappedValues) {
-      scoredEntries = new TreeSet<>();
-      scoredEntries.addAll(wrappedValues);
+      scoredEntries = new RankedSkipList<>(wrappedValues);
       entries = new HashMap<>();
       wrappedValues.forEach(e -> entries.put(e.wrappedValue(), e.score()));
    }
@@ -186,7 +188,7 @@ public List<ScoredValue<V>> getScoredEntriesAsList() {
    }
 
    public SortedSetBucket() {
-      this.scoredEntries = new TreeSet<>();
+      this.scoredEntries = new RankedSkipList<>();
       this.entries = new HashMap<>();
    }
 
@@ -210,9 +212,9 @@ public IndexValue indexOf(V member, boolean isRev) {
       if (score == null) {
          return null;
       }
-      SortedSet<ScoredValue<V>> tailedHead = scoredEntries.headSet(new ScoredValue<>(score, wrapMember));
-      return isRev? IndexValue.of(score, scoredEntries.size() - tailedHead.size() - 1)
-            : IndexValue.of(score, tailedHead.size());
+      int rank = scoredEntries.headCount(new ScoredValue<>(score, wrapMember), false);
+      return isRev? IndexValue.of(score, scoredEntries.size() - rank - 1)
+            : IndexValue.of(score, rank);
    }
 
    public void replace(Collection<ScoredValue<V>> scoredValues) {
@@ -391,29 +393,20 @@ public List<ScoredValue<V>> subsetByIndex(long from, long to, boolean rev) {
          return Collections.emptyList();
       }
 
-      List<ScoredValue<V>> results = new ArrayList<>();
-      Iterator<ScoredValue<V>> ite;
-      if (rev) {
-         ite = scoredEntries.descendingIterator();
-      } else {
-         ite = scoredEntries.iterator();
-      }
-
-      long pos = 0;
-      while ((pos < fromIte) && ite.hasNext()) {
-         ite.next();
-         pos++;
+      // ranks out of the set are ignored
+      int size = scoredEntries.size();
+      fromIte = Math.max(0, fromIte);
+      toIte = Math.min(size - 1, toIte);
+      if (fromIte > toIte) {
+         return Collections.emptyList();
       }
 
-      while ((pos <= toIte) && ite.hasNext()) {
-         results.add(ite.next());
-         pos++;
+      if (rev) {
+         return scoredEntries.range((int) (size - 1 - toIte), (int) (size - fromIte), true);
       }
-
-      return results;
+      return scoredEntries.range((int) fromIte, (int) toIte + 1, false);
    }
 
-   @SuppressWarnings({ "unchecked", "rawtypes" })
    public List<ScoredValue<V>> subset(Double startScore, boolean includeStart, Double stopScore, boolean includeStop, boolean isRev, Long offset, Long count) {
       if ((stopScore != null && stopScore.equals(startScore) && (!includeStart || !includeStop)) || (count != null && count == 0) || (offset != null && offset.equals(entries.size()))) {
          return Collections.emptyList();
@@ -426,51 +419,10 @@ public List<ScoredValue<V>> subset(Double startScore, boolean includeStart, Doub
       boolean unboundedMin = min == null || min == Double.MIN_VALUE;
       boolean unboundedMax = max == null || max == Double.MAX_VALUE;
 
-      if (unboundedMin && unboundedMax) {
-         return applyLimit(scoredEntries, offset, count, isRev);
-      }
-
-      ScoredValue<V> startSv;
-      ScoredValue<V> stopSv;
-      if (unboundedMin) {
-         startSv = scoredEntries.first();
-      } else {
-         if (includeMin) {
-            startSv = scoredEntries.lower(ScoredValue.of(min));
-         } else {
-            startSv = scoredEntries.higher(ScoredValue.of(min));
-         }
-
-         if (startSv == null) {
-            startSv = scoredEntries.first();
-         }
-      }
-
-      if (unboundedMax) {
-         stopSv = scoredEntries.last();
-      } else {
-         if (includeMax) {
-            stopSv = scoredEntries.higher(ScoredValue.of(max));
-         } else {
-            stopSv = scoredEntries.lower(ScoredValue.of(max));
-         }
-
-         if (stopSv == null) {
-            stopSv = scoredEntries.last();
-         }
-      }
-
-      if (startSv.score() > stopSv.score()) {
-         return Collections.emptyList();
-      }
-
-      NavigableSet<ScoredValue<V>> subset = scoredEntries.subSet(
-            startSv,
-            unboundedMin || (startSv.score() > min || (includeMin && startSv.score().equals(min))),
-            stopSv,
-            unboundedMax || (stopSv.score() < max || (includeMax && stopSv.score().equals(max))));
-
-      return applyLimit(subset, offset, count, isRev);
+      // a scored value without member compares equal to every member with the same score
+      int from = unboundedMin ? 0 : scoredEntries.headCount(ScoredValue.of(min), !includeMin);
+      int to = unboundedMax ? scoredEntries.size() : scoredEntries.headCount(ScoredValue.of(max), includeMax);
+      return applyLimit(from, to, offset, count, isRev);
    }
 
    public List<ScoredValue<V>> subset(V startValue, boolean includeStart, V stopValue, boolean includeStop, boolean isRev, Long offset, Long count) {
@@ -485,66 +437,41 @@ public List<ScoredValue<V>> subset(V startValue, boolean includeStart, V stopVal
       boolean unboundedMin = minValue == null;
       boolean unboundedMax = maxValue == null;
 
-      if (unboundedMin && unboundedMax) {
-         return applyLimit(scoredEntries, offset, count, isRev);
+      if (scoredEntries.isEmpty()) {
+         return Collections.emptyList();
       }
       // if all the scoredEntries have the same score, then we can pick up first score for lex
       // when all the entries don't have the same score, this method can't work. This is the expected behaviour.
       double score = scoredEntries.first().score();
 
-      ScoredValue<V> minScoredValue = ScoredValue.of(score, minValue);
-      ScoredValue<V> maxScoredValue = ScoredValue.of(score, maxValue);
-
-      if (unboundedMin) {
-         NavigableSet<ScoredValue<V>> entries = scoredEntries.headSet(maxScoredValue, includeMax);
-         return applyLimit(entries, offset, count, isRev);
-      }
-
-      if (unboundedMax) {
-         NavigableSet<ScoredValue<V>> entries = scoredEntries.tailSet(minScoredValue, includeMin);
-         return applyLimit(entries, offset, count, isRev);
-      }
+      int from = unboundedMin ? 0 : scoredEntries.headCount(ScoredValue.of(score, minValue), !includeMin);
+      int to = unboundedMax ? scoredEntries.size() : scoredEntries.headCount(ScoredValue.of(score, maxValue), includeMax);
+      return applyLimit(from, to, offset, count, isRev);
+   }
 
-      try {
-         NavigableSet<ScoredValue<V>> entries = scoredEntries.subSet(minScoredValue, includeMin, maxScoredValue, includeMax);
-         return applyLimit(entries, offset, count, isRev);
-      } catch (IllegalArgumentException e) {
+   /**
+    * Returns the scored values with ranks from <code>from</code>, inclusive, to <code>to</code>, exclusive, after
+    * skipping <code>offset</code> values and returning at most <code>count</code> values when the result is limited.
+    */
+   private List<ScoredValue<V>> applyLimit(int from, int to, Long offset, Long count, boolean isRev) {
+      if (from >= to) {
          return Collections.emptyList();
       }
-   }
-
-   private List<ScoredValue<V>> applyLimit(NavigableSet<ScoredValue<V>> subset, final Long offset, final Long count, boolean isRev) {
-      if (!isLimited(offset, count)) {
-         List<ScoredValue<V>> result = new ArrayList<>(entries.size());
-         Iterator<ScoredValue<V>> ite = isRev ? subset.descendingIterator() : subset.iterator();
-         while (ite.hasNext()) {
-            result.add(ite.next());
-         }
-         return result;
+      long available = to - from;
+      long skip = 0;
+      long length = available;
+      if (isLimited(offset, count)) {
+         skip = Math.min(Math.max(offset, 0), available);
+         length = count < 0 ? available - skip : Math.min(count, available - skip);
       }
-
-      List<ScoredValue<V>> result = new ArrayList<>();
-      Iterator<ScoredValue<V>> ite = isRev ? subset.descendingIterator() : subset.iterator();
-      if (count < 0) {
-         skipOffset(offset, ite);
-         while (ite.hasNext()) {
-            result.add(ite.next());
-         }
-      } else {
-         skipOffset(offset, ite);
-         long localCount = 0;
-         while (ite.hasNext() && localCount++ < count) {
-            result.add(ite.next());
-         }
+      if (length <= 0) {
+         return Collections.emptyList();
       }
-      return result;
-   }
 
-   private void skipOffset(Long offset, Iterator<ScoredValue<V>> ite) {
-      long localOffset = 0;
-      while (localOffset++ < offset && ite.hasNext()) {
-         ite.next();
+      if (isRev) {
+         return scoredEntries.range((int) (to - skip - length), (int) (to - skip), true);
       }
+      return scoredEntries.range((int) (from + skip), (int) (from + skip + length), false);
    }
 
    private static boolean isLimited(Long offset, Long count) {
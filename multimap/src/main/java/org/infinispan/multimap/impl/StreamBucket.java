@@ -0,0 +1,423 @@
+package org.infinispan.multimap.impl;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.infinispan.commons.marshall.ProtoStreamTypeIds;
+import org.infinispan.protostream.annotations.ProtoFactory;
+import org.infinispan.protostream.annotations.ProtoField;
+import org.infinispan.protostream.annotations.ProtoTypeId;
+
+/**
+ * Bucket used to store Stream data type.
+ * <p>
+ * Entries are only appended at the end of the stream, with an identifier greater than the last one, so they are kept in
+ * chunks of {@link #CHUNK_SIZE} entries ordered by identifier. Once a chunk is full it is kept encoded as a single
+ * byte array, which is what the bucket marshalls, and it is only decoded to read its entries. Appending an entry to a
+ * long stream only encodes the last chunk again, and a range of identifiers only decodes the chunks it overlaps.
+ * </p>
+ *
+ * @since 15.1
+ * @see <a href="https://redis.io/docs/data-types/streams/">Redis Streams</a>
+ */
+@ProtoTypeId(ProtoStreamTypeIds.MULTIMAP_STREAM_BUCKET)
+public class StreamBucket {
+   static final int CHUNK_SIZE = 128;
+
+   private final List<Chunk> chunks;
+   private final Map<String, StreamConsumerGroup> groups;
+   private StreamEntryId lastId;
+   private long size;
+
+   public StreamBucket() {
+      this.chunks = new ArrayList<>();
+      this.groups = new HashMap<>();
+      this.lastId = StreamEntryId.MIN;
+   }
+
+   @ProtoFactory
+   StreamBucket(StreamEntryId lastId, List<byte[]> encodedChunks, Collection<StreamConsumerGroup> consumerGroups) {
+      this.chunks = new ArrayList<>(encodedChunks.size());
+      this.groups = new HashMap<>();
+      this.lastId = lastId;
+      for (byte[] encoded : encodedChunks) {
+         Chunk chunk = new Chunk(encoded);
+         chunks.add(chunk);
+         size += chunk.size;
+      }
+      if (!chunks.isEmpty()) {
+         chunks.get(chunks.size() - 1).open();
+      }
+      for (StreamConsumerGroup group : consumerGroups) {
+         groups.put(group.getName(), group);
+      }
+   }
+
+   @ProtoField(1)
+   public StreamEntryId getLastId() {
+      return lastId;
+   }
+
+   @ProtoField(number = 2, collectionImplementation = ArrayList.class)
+   List<byte[]> getEncodedChunks() {
+      List<byte[]> encoded = new ArrayList<>(chunks.size());
+      for (Chunk chunk : chunks) {
+         encoded.add(chunk.encoded());
+      }
+      return encoded;
+   }
+
+   @ProtoField(number = 3, collectionImplementation = ArrayList.class)
+   Collection<StreamConsumerGroup> getConsumerGroups() {
+      return new ArrayList<>(groups.values());
+   }
+
+   public long size() {
+      return size;
+   }
+
+   public boolean isEmpty() {
+      return size == 0;
+   }
+
+   /**
+    * Returns the identifier for a new entry with the given timestamp: the timestamp with sequence 0 if it is greater
+    * than the last identifier, or the identifier after the last one otherwise.
+    */
+   public StreamEntryId nextId(long ms) {
+      if (Long.compareUnsigned(ms, lastId.ms()) > 0) {
+         return StreamEntryId.of(ms, 0);
+      }
+      return lastId.next();
+   }
+
+   /**
+    * Appends an entry at the end of the stream.
+    *
+    * @param id the identifier of the entry, which must be greater than the last identifier of the stream.
+    * @param fields the fields and values of the entry.
+    * @return <code>false</code> if the identifier is not greater than the last identifier, <code>true</code> otherwise.
+    */
+   public boolean add(StreamEntryId id, List<byte[]> fields) {
+      if (id == null || id.compareTo(lastId) <= 0) {
+         return false;
+      }
+      StreamEntry entry = new StreamEntry(id, fields);
+      Chunk last = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+      if (last == null || last.isFull()) {
+         if (last != null) {
+            last.seal();
+         }
+         chunks.add(new Chunk(entry));
+      } else {
+         last.append(entry);
+      }
+      lastId = id;
+      size++;
+      return true;
+   }
+
+   /**
+    * Removes the oldest entries until the stream has at most <code>maxLength</code> entries.
+    *
+    * @return the number of entries removed.
+    */
+   public long trim(long maxLength) {
+      long removed = 0;
+      while (size > maxLength) {
+         Chunk first = chunks.get(0);
+         long toRemove = size - maxLength;
+         if (toRemove >= first.size) {
+            chunks.remove(0);
+            size -= first.size;
+            removed += first.size;
+         } else {
+            chunks.set(0, first.dropFirst((int) toRemove));
+            size -= toRemove;
+            removed += toRemove;
+         }
+      }
+      return removed;
+   }
+
+   /**
+    * Returns the entries with an identifier between <code>start</code> and <code>end</code>, both inclusive.
+    *
+    * @param start the lowest identifier.
+    * @param end the highest identifier.
+    * @param count the maximum number of entries to return, or a negative number for no limit.
+    * @param rev whether the entries are returned from the highest identifier to the lowest.
+    * @return the entries in the range.
+    */
+   public List<StreamEntry> range(StreamEntryId start, StreamEntryId end, long count, boolean rev) {
+      if (count == 0 || chunks.isEmpty() || start.compareTo(end) > 0) {
+         return Collections.emptyList();
+      }
+      List<StreamEntry> result = new ArrayList<>();
+      if (rev) {
+         for (int i = lastChunkStartingBefore(end); i >= 0 && chunks.get(i).last.compareTo(start) >= 0; i--) {
+            List<StreamEntry> entries = chunks.get(i).entries();
+            for (int j = entries.size() - 1; j >= 0; j--) {
+               StreamEntry entry = entries.get(j);
+               if (entry.id().compareTo(start) < 0 || count > 0 && result.size() >= count) {
+                  return result;
+               }
+               if (entry.id().compareTo(end) <= 0) {
+                  result.add(entry);
+               }
+            }
+         }
+      } else {
+         for (int i = firstChunkEndingAfter(start); i < chunks.size() && chunks.get(i).first.compareTo(end) <= 0; i++) {
+            for (StreamEntry entry : chunks.get(i).entries()) {
+               if (entry.id().compareTo(end) > 0 || count > 0 && result.size() >= count) {
+                  return result;
+               }
+               if (entry.id().compareTo(start) >= 0) {
+                  result.add(entry);
+               }
+            }
+         }
+      }
+      return result;
+   }
+
+   /**
+    * @return the entries with an identifier greater than the given one, and at most <code>count</code> of them if it is
+    *         positive.
+    */
+   public List<StreamEntry> after(StreamEntryId id, long count) {
+      StreamEntryId start = id.next();
+      return start == null ? Collections.emptyList() : range(start, StreamEntryId.MAX, count, false);
+   }
+
+   // Binary search of the first chunk whose last entry is not lower than the given identifier
+   private int firstChunkEndingAfter(StreamEntryId id) {
+      int low = 0;
+      int high = chunks.size();
+      while (low < high) {
+         int mid = (low + high) >>> 1;
+         if (chunks.get(mid).last.compareTo(id) < 0) {
+            low = mid + 1;
+         } else {
+            high = mid;
+         }
+      }
+      return low;
+   }
+
+   // Binary search of the last chunk whose first entry is not greater than the given identifier
+   private int lastChunkStartingBefore(StreamEntryId id) {
+      int low = 0;
+      int high = chunks.size();
+      while (low < high) {
+         int mid = (low + high) >>> 1;
+         if (chunks.get(mid).first.compareTo(id) <= 0) {
+            low = mid + 1;
+         } else {
+            high = mid;
+         }
+      }
+      return low - 1;
+   }
+
+   public StreamConsumerGroup group(String name) {
+      return groups.get(name);
+   }
+
+   /**
+    * Creates a consumer group that delivers the entries after the given identifier.
+    *
+    * @return <code>false</code> if a group with the same name already exists, <code>true</code> otherwise.
+    */
+   public boolean createGroup(String name, StreamEntryId lastDeliveredId) {
+      return groups.putIfAbsent(name, new StreamConsumerGroup(name, lastDeliveredId)) == null;
+   }
+
+   public boolean destroyGroup(String name) {
+      return groups.remove(name) != null;
+   }
+
+   /**
+    * Reads entries for a consumer of a group.
+    *
+    * @param groupName the name of the group.
+    * @param consumer the name of the consumer.
+    * @param id <code>null</code> to read the entries never delivered to the group, or an identifier to read the entries
+    *           after it which were delivered to the consumer and not acknowledged yet.
+    * @param count the maximum number of entries to return, or a non-positive number for no limit.
+    * @param noAck whether the new entries delivered are acknowledged at the same time.
+    * @param time the delivery time, in milliseconds.
+    * @return the entries read, or <code>null</code> if the group does not exist.
+    */
+   public List<StreamEntry> readGroup(String groupName, String consumer, StreamEntryId id, long count, boolean noAck, long time) {
+      StreamConsumerGroup group = groups.get(groupName);
+      if (group == null) {
+         return null;
+      }
+      if (id == null) {
+         List<StreamEntry> entries = after(group.getLastDeliveredId(), count > 0 ? count : -1);
+         for (StreamEntry entry : entries) {
+            group.delivered(entry.id(), consumer, time, noAck);
+         }
+         return entries;
+      }
+
+      Collection<StreamConsumerGroup.PendingEntry> pending = group.pending(consumer, id, count);
+      List<StreamEntry> entries = new ArrayList<>(pending.size());
+      for (StreamConsumerGroup.PendingEntry entry : pending) {
+         List<StreamEntry> found = range(entry.id, entry.id, 1, false);
+         // Entries trimmed while pending are returned without fields
+         entries.add(found.isEmpty() ? new StreamEntry(entry.id, Collections.emptyList()) : found.get(0));
+      }
+      return entries;
+   }
+
+   /**
+    * Acknowledges entries delivered to a consumer group.
+    *
+    * @return the number of entries acknowledged, or <code>0</code> if the group does not exist.
+    */
+   public long acknowledge(String groupName, Collection<StreamEntryId> ids) {
+      StreamConsumerGroup group = groups.get(groupName);
+      if (group == null) {
+         return 0;
+      }
+      long acknowledged = 0;
+      for (StreamEntryId id : ids) {
+         if (group.acknowledge(id)) {
+            acknowledged++;
+         }
+      }
+      return acknowledged;
+   }
+
+   /**
+    * A sequence of entries ordered by identifier. The last chunk of the stream is open and keeps its entries as a list,
+    * the previous ones are sealed and only keep their encoded form.
+    * <p>
+    * The encoded form starts with a header with the number of entries and the first and last identifiers, so a sealed
+    * chunk is located without decoding its entries. Each entry follows with its identifier, the number of fields and
+    * each field length and bytes.
+    */
+   static final class Chunk {
+      private static final int HEADER_SIZE = Integer.BYTES + 4 * Long.BYTES;
+
+      private List<StreamEntry> entries;
+      private byte[] encoded;
+      private final StreamEntryId first;
+      private StreamEntryId last;
+      private int size;
+
+      Chunk(StreamEntry entry) {
+         this.entries = new ArrayList<>(CHUNK_SIZE);
+         this.entries.add(entry);
+         this.first = entry.id();
+         this.last = entry.id();
+         this.size = 1;
+      }
+
+      Chunk(byte[] encoded) {
+         ByteBuffer buffer = ByteBuffer.wrap(encoded);
+         this.encoded = encoded;
+         this.size = buffer.getInt();
+         this.first = StreamEntryId.of(buffer.getLong(), buffer.getLong());
+         this.last = StreamEntryId.of(buffer.getLong(), buffer.getLong());
+      }
+
+      private Chunk(List<StreamEntry> entries) {
+         this.entries = entries;
+         this.first = entries.get(0).id();
+         this.last = entries.get(entries.size() - 1).id();
+         this.size = entries.size();
+      }
+
+      boolean isFull() {
+         return size >= CHUNK_SIZE;
+      }
+
+      void append(StreamEntry entry) {
+         open();
+         entries.add(entry);
+         last = entry.id();
+         size++;
+      }
+
+      void seal() {
+         if (entries != null) {
+            encoded = encode(entries);
+            entries = null;
+         }
+      }
+
+      void open() {
+         if (entries == null && !isFull()) {
+            entries = decode(encoded);
+            encoded = null;
+         }
+      }
+
+      List<StreamEntry> entries() {
+         return entries != null ? entries : decode(encoded);
+      }
+
+      byte[] encoded() {
+         return encoded != null ? encoded : encode(entries);
+      }
+
+      Chunk dropFirst(int count) {
+         Chunk chunk = new Chunk(new ArrayList<>(entries().subList(count, size)));
+         if (entries == null) {
+            chunk.seal();
+         }
+         return chunk;
+      }
+
+      private static byte[] encode(List<StreamEntry> entries) {
+         int length = HEADER_SIZE;
+         for (StreamEntry entry : entries) {
+            length += 2 * Long.BYTES + Integer.BYTES;
+            for (byte[] field : entry.fields()) {
+               length += Integer.BYTES + field.length;
+            }
+         }
+         ByteBuffer buffer = ByteBuffer.allocate(length);
+         StreamEntryId first = entries.get(0).id();
+         StreamEntryId last = entries.get(entries.size() - 1).id();
+         buffer.putInt(entries.size())
+               .putLong(first.ms()).putLong(first.seq())
+               .putLong(last.ms()).putLong(last.seq());
+         for (StreamEntry entry : entries) {
+            buffer.putLong(entry.id().ms()).putLong(entry.id().seq()).putInt(entry.fields().size());
+            for (byte[] field : entry.fields()) {
+               buffer.putInt(field.length).put(field);
+            }
+         }
+         return buffer.array();
+      }
+
+      private static List<StreamEntry> decode(byte[] encoded) {
+         ByteBuffer buffer = ByteBuffer.wrap(encoded);
+         int size = buffer.getInt();
+         buffer.position(HEADER_SIZE);
+         List<StreamEntry> entries = new ArrayList<>(CHUNK_SIZE);
+         for (int i = 0; i < size; i++) {
+            StreamEntryId id = StreamEntryId.of(buffer.getLong(), buffer.getLong());
+            int fieldCount = buffer.getInt();
+            List<byte[]> fields = new ArrayList<>(fieldCount);
+            for (int j = 0; j < fieldCount; j++) {
+               byte[] field = new byte[buffer.getInt()];
+               buffer.get(field);
+               fields.add(field);
+            }
+            entries.add(new StreamEntry(id, fields));
+         }
+         return entries;
+      }
+   }
+}
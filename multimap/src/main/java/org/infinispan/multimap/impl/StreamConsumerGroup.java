@@ -0,0 +1,125 @@
+package org.infinispan.multimap.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.infinispan.commons.marshall.ProtoStreamTypeIds;
+import org.infinispan.protostream.annotations.ProtoFactory;
+import org.infinispan.protostream.annotations.ProtoField;
+import org.infinispan.protostream.annotations.ProtoTypeId;
+
+/**
+ * Consumer group of a {@link StreamBucket}.
+ * <p>
+ * The group keeps the identifier of the last entry delivered to any of its consumers, and the entries delivered but
+ * not acknowledged yet, ordered by identifier.
+ *
+ * @since 15.1
+ */
+@ProtoTypeId(ProtoStreamTypeIds.MULTIMAP_STREAM_CONSUMER_GROUP)
+public class StreamConsumerGroup {
+   private final String name;
+   private final NavigableMap<StreamEntryId, PendingEntry> pending;
+   private StreamEntryId lastDeliveredId;
+
+   public StreamConsumerGroup(String name, StreamEntryId lastDeliveredId) {
+      this.name = name;
+      this.lastDeliveredId = lastDeliveredId;
+      this.pending = new TreeMap<>();
+   }
+
+   @ProtoFactory
+   StreamConsumerGroup(String name, StreamEntryId lastDeliveredId, Collection<PendingEntry> pendingEntries) {
+      this(name, lastDeliveredId);
+      for (PendingEntry entry : pendingEntries) {
+         pending.put(entry.id, entry);
+      }
+   }
+
+   @ProtoField(1)
+   public String getName() {
+      return name;
+   }
+
+   @ProtoField(2)
+   public StreamEntryId getLastDeliveredId() {
+      return lastDeliveredId;
+   }
+
+   @ProtoField(number = 3, collectionImplementation = ArrayList.class)
+   Collection<PendingEntry> getPendingEntries() {
+      return new ArrayList<>(pending.values());
+   }
+
+   void delivered(StreamEntryId id, String consumer, long time, boolean noAck) {
+      if (id.compareTo(lastDeliveredId) > 0) {
+         lastDeliveredId = id;
+      }
+      if (!noAck) {
+         pending.put(id, new PendingEntry(id, consumer, time, 1));
+      }
+   }
+
+   /**
+    * @return the entries delivered to the consumer and not acknowledged yet, with an identifier greater than the given
+    *         one, and at most <code>count</code> of them if it is positive.
+    */
+   Collection<PendingEntry> pending(String consumer, StreamEntryId after, long count) {
+      Collection<PendingEntry> result = new ArrayList<>();
+      for (PendingEntry entry : pending.tailMap(after, false).values()) {
+         if (count > 0 && result.size() >= count) {
+            break;
+         }
+         if (entry.consumer.equals(consumer)) {
+            result.add(entry);
+         }
+      }
+      return result;
+   }
+
+   boolean acknowledge(StreamEntryId id) {
+      return pending.remove(id) != null;
+   }
+
+   public long pendingCount() {
+      return pending.size();
+   }
+
+   @ProtoTypeId(ProtoStreamTypeIds.MULTIMAP_STREAM_PENDING_ENTRY)
+   public static class PendingEntry {
+      final StreamEntryId id;
+      final String consumer;
+      final long deliveryTime;
+      final long deliveryCount;
+
+      @ProtoFactory
+      PendingEntry(StreamEntryId id, String consumer, long deliveryTime, long deliveryCount) {
+         this.id = id;
+         this.consumer = consumer;
+         this.deliveryTime = deliveryTime;
+         this.deliveryCount = deliveryCount;
+      }
+
+      @ProtoField(1)
+      public StreamEntryId getId() {
+         return id;
+      }
+
+      @ProtoField(2)
+      public String getConsumer() {
+         return consumer;
+      }
+
+      @ProtoField(number = 3, defaultValue = "0")
+      public long getDeliveryTime() {
+         return deliveryTime;
+      }
+
+      @ProtoField(number = 4, defaultValue = "0")
+      public long getDeliveryCount() {
+         return deliveryCount;
+      }
+   }
+}
@@ -0,0 +1,44 @@
+package org.infinispan.multimap.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.infinispan.commons.marshall.ProtoStreamTypeIds;
+import org.infinispan.protostream.annotations.ProtoFactory;
+import org.infinispan.protostream.annotations.ProtoField;
+import org.infinispan.protostream.annotations.ProtoTypeId;
+
+/**
+ * Entry of a {@link StreamBucket}: an identifier and a flat list of field and value pairs.
+ *
+ * @since 15.1
+ */
+@ProtoTypeId(ProtoStreamTypeIds.MULTIMAP_STREAM_ENTRY)
+public final class StreamEntry {
+   private final StreamEntryId id;
+   private final List<byte[]> fields;
+
+   @ProtoFactory
+   public StreamEntry(StreamEntryId id, List<byte[]> fields) {
+      this.id = id;
+      this.fields = fields;
+   }
+
+   @ProtoField(1)
+   public StreamEntryId id() {
+      return id;
+   }
+
+   /**
+    * @return the fields and values of the entry, as <code>field1, value1, field2, value2, ...</code>
+    */
+   @ProtoField(number = 2, collectionImplementation = ArrayList.class)
+   public List<byte[]> fields() {
+      return fields;
+   }
+
+   @Override
+   public String toString() {
+      return "StreamEntry{id=" + id + ", fields=" + fields.size() + '}';
+   }
+}
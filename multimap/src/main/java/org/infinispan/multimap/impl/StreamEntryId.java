@@ -0,0 +1,107 @@
+package org.infinispan.multimap.impl;
+
+import java.util.Objects;
+
+import org.infinispan.commons.marshall.ProtoStreamTypeIds;
+import org.infinispan.protostream.annotations.ProtoFactory;
+import org.infinispan.protostream.annotations.ProtoField;
+import org.infinispan.protostream.annotations.ProtoTypeId;
+
+/**
+ * Identifier of an entry in a {@link StreamBucket}.
+ * <p>
+ * An identifier is made of a timestamp in milliseconds and a sequence number for the entries added in the same
+ * millisecond. Both parts are unsigned 64-bit numbers, represented as <code>&lt;ms&gt;-&lt;seq&gt;</code>.
+ *
+ * @since 15.1
+ * @see <a href="https://redis.io/docs/data-types/streams/#entry-ids">Stream entry IDs</a>
+ */
+@ProtoTypeId(ProtoStreamTypeIds.MULTIMAP_STREAM_ENTRY_ID)
+public final class StreamEntryId implements Comparable<StreamEntryId> {
+   public static final StreamEntryId MIN = new StreamEntryId(0, 0);
+   public static final StreamEntryId MAX = new StreamEntryId(-1L, -1L);
+
+   private final long ms;
+   private final long seq;
+
+   @ProtoFactory
+   StreamEntryId(long ms, long seq) {
+      this.ms = ms;
+      this.seq = seq;
+   }
+
+   public static StreamEntryId of(long ms, long seq) {
+      return new StreamEntryId(ms, seq);
+   }
+
+   /**
+    * Parses an identifier with the format <code>&lt;ms&gt;-&lt;seq&gt;</code> or <code>&lt;ms&gt;</code>.
+    *
+    * @param id the identifier to parse.
+    * @param defaultSeq the sequence number used when the identifier only has the milliseconds part.
+    * @return the parsed identifier.
+    * @throws NumberFormatException if the identifier is not valid.
+    */
+   public static StreamEntryId parse(String id, long defaultSeq) {
+      int separator = id.indexOf('-');
+      if (separator < 0) {
+         return new StreamEntryId(Long.parseUnsignedLong(id), defaultSeq);
+      }
+      return new StreamEntryId(Long.parseUnsignedLong(id.substring(0, separator)),
+            Long.parseUnsignedLong(id.substring(separator + 1)));
+   }
+
+   @ProtoField(number = 1, defaultValue = "0")
+   public long ms() {
+      return ms;
+   }
+
+   @ProtoField(number = 2, defaultValue = "0")
+   public long seq() {
+      return seq;
+   }
+
+   /**
+    * @return the identifier right after this one, or <code>null</code> if this is {@link #MAX}.
+    */
+   public StreamEntryId next() {
+      if (seq != -1L) {
+         return new StreamEntryId(ms, seq + 1);
+      }
+      return ms == -1L ? null : new StreamEntryId(ms + 1, 0);
+   }
+
+   /**
+    * @return the identifier right before this one, or <code>null</code> if this is {@link #MIN}.
+    */
+   public StreamEntryId previous() {
+      if (seq != 0) {
+         return new StreamEntryId(ms, seq - 1);
+      }
+      return ms == 0 ? null : new StreamEntryId(ms - 1, -1L);
+   }
+
+   @Override
+   public int compareTo(StreamEntryId other) {
+      int compare = Long.compareUnsigned(ms, other.ms);
+      return compare != 0 ? compare : Long.compareUnsigned(seq, other.seq);
+   }
+
+   @Override
+   public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      StreamEntryId that = (StreamEntryId) o;
+      return ms == that.ms && seq == that.seq;
+   }
+
+   @Override
+   public int hashCode() {
+      return Objects.hash(ms, seq);
+   }
+
+   @Override
+   public String toString() {
+      return Long.toUnsignedString(ms) + '-' + Long.toUnsignedString(seq);
+   }
+}
@@ -36,7 +36,8 @@ public Integer apply(EntryView.ReadWriteEntryView<K, HashMapBucket<HK, HV>> view
 
          if (bucket.isEmpty()) {
             view.remove();
-         } else {
+         } else if (res > 0) {
+            // don't change the cache if nothing was removed. it avoids replicating a no-op
             view.set(bucket);
          }
       }
@@ -3,15 +3,24 @@
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.infinispan.commands.functional.functions.InjectableComponent;
+import org.infinispan.commons.CacheException;
+import org.infinispan.commons.hash.MurmurHash3;
 import org.infinispan.commons.marshall.AdvancedExternalizer;
+import org.infinispan.commons.marshall.Marshaller;
+import org.infinispan.factories.ComponentRegistry;
+import org.infinispan.factories.KnownComponentNames;
 import org.infinispan.functional.EntryView;
 import org.infinispan.multimap.impl.ExternalizerIds;
 import org.infinispan.multimap.impl.SetBucket;
@@ -20,20 +29,35 @@
  * Serializable function used by
  * {@link org.infinispan.multimap.impl.EmbeddedSetCache#remove}
  * to remove elements to a Set.
+ * <p>
+ * Backup owners apply the same function to their copy of the bucket. The elements to pop are ranked by hashing their
+ * serialized form with a seed chosen when the function is created, so every owner pops the same elements.
  *
  * @author Vittorio Rigamonti
  * @see <a href="http://infinispan.org/documentation/">Marshalling of
  *      Functions</a>
  * @since 15.0
  */
-public final class SPopFunction<K, V> implements SetBucketBaseFunction<K, V, Collection<V>> {
+public final class SPopFunction<K, V> implements SetBucketBaseFunction<K, V, Collection<V>>, InjectableComponent {
    public static final AdvancedExternalizer<SPopFunction> EXTERNALIZER = new Externalizer();
    private final long count;
    private final boolean remove;
+   private final long seed;
+   private Marshaller marshaller;
 
    public SPopFunction(long count, boolean remove) {
+      this(count, remove, ThreadLocalRandom.current().nextLong());
+   }
+
+   SPopFunction(long count, boolean remove, long seed) {
       this.count = count;
       this.remove = remove;
+      this.seed = seed;
+   }
+
+   @Override
+   public void inject(ComponentRegistry registry) {
+      marshaller = registry.getComponent(Marshaller.class, KnownComponentNames.USER_MARSHALLER);
    }
 
    @Override
@@ -44,12 +68,14 @@ public Collection<V> apply(EntryView.ReadWriteEntryView<K, SetBucket<V>> entryVi
       }
       var s = existing.get();
       if (count > 0) {
-         var popped = getRandomSubset(s.toList(), count);
+         var popped = getRandomSubset(s.toList(), count, seed, this::toBytes);
          if (remove) {
             s.removeAll(popped);
-         }
-         if (s.isEmpty()) {
-            entryView.remove();
+            if (s.isEmpty()) {
+               entryView.remove();
+            } else {
+               entryView.set(s);
+            }
          }
          return popped;
       }
@@ -58,12 +84,60 @@ public Collection<V> apply(EntryView.ReadWriteEntryView<K, SetBucket<V>> entryVi
             .collect(Collectors.toList());
    }
 
-   public static <T> Collection<T> getRandomSubset(List<T> list, long count) {
+   /**
+    * Returns a random subset of the list with the given size. The subset depends only on the serialized elements and
+    * the seed, not on the order of the list or on {@link Object#hashCode()}, as both can differ between owners.
+    */
+   static <T> Collection<T> getRandomSubset(List<T> list, long count, long seed, Function<? super T, byte[]> toBytes) {
       if (list.size() <= count) {
          return list;
       } else {
-         Collections.shuffle(list);
-         return list.stream().limit(count).collect(Collectors.toList());
+         return list.stream()
+               .map(e -> new Ranked<>(e, toBytes.apply(e), seed))
+               .sorted()
+               .limit(count)
+               .map(r -> r.element)
+               .collect(Collectors.toList());
+      }
+   }
+
+   private byte[] toBytes(Object element) {
+      if (element instanceof byte[]) {
+         return (byte[]) element;
+      }
+      if (element instanceof String) {
+         return ((String) element).getBytes(StandardCharsets.UTF_8);
+      }
+      try {
+         return marshaller.objectToByteBuffer(element);
+      } catch (IOException e) {
+         throw new CacheException(e);
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new CacheException(e);
+      }
+   }
+
+   private static final class Ranked<T> implements Comparable<Ranked<T>> {
+      final T element;
+      final byte[] bytes;
+      final long rank;
+
+      Ranked(T element, byte[] bytes, long seed) {
+         this.element = element;
+         this.bytes = bytes;
+         // The 64-bit finalizer of MurmurHash3
+         long z = seed + MurmurHash3.MurmurHash3_x64_64(bytes, 9001);
+         z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+         z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+         this.rank = z ^ (z >>> 33);
+      }
+
+      @Override
+      public int compareTo(Ranked<T> other) {
+         int c = Long.compare(rank, other.rank);
+         // Break ties on the bytes, so the order never depends on the order of the list
+         return c != 0 ? c : Arrays.compare(bytes, other.bytes);
       }
    }
 
@@ -76,20 +150,22 @@ public Set<Class<? extends SPopFunction>> getTypeClasses() {
 
       @Override
       public Integer getId() {
-         return ExternalizerIds.SET_POP_FUNCTION;
+         return ExternalizerIds.SET_POP_SEEDED_FUNCTION;
       }
 
       @Override
       public void writeObject(ObjectOutput output, SPopFunction object) throws IOException {
          output.writeLong(object.count);
          output.writeBoolean(object.remove);
+         output.writeLong(object.seed);
       }
 
       @Override
       public SPopFunction<?, ?> readObject(ObjectInput input) throws IOException, ClassNotFoundException {
          var count = input.readLong();
          var remove = input.readBoolean();
-         return new SPopFunction<>(count, remove);
+         var seed = input.readLong();
+         return new SPopFunction<>(count, remove, seed);
       }
    }
 }
@@ -40,7 +40,8 @@ public Collection<ScoredValue<V>> apply(EntryView.ReadWriteEntryView<K, SortedSe
          Collection<ScoredValue<V>> poppedValues = sortedSetBucket.pop(min, count);
          if (sortedSetBucket.size() == 0) {
             entryView.remove();
-         } else {
+         } else if (!poppedValues.isEmpty()) {
+            // don't change the cache if nothing was popped. it avoids replicating a no-op
             entryView.set(sortedSetBucket);
          }
          return poppedValues;
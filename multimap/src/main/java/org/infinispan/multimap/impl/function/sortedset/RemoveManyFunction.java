@@ -68,7 +68,8 @@ public Long apply(EntryView.ReadWriteEntryView<K, SortedSetBucket<V>> entryView)
 
          if (bucket.size() == 0) {
             entryView.remove();
-         } else {
+         } else if (removeCount > 0) {
+            // don't change the cache if nothing was removed. it avoids replicating a no-op
             entryView.set(bucket);
          }
          return removeCount;
@@ -0,0 +1,75 @@
+package org.infinispan.multimap.impl.function.stream;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
+
+import org.infinispan.commons.marshall.AdvancedExternalizer;
+import org.infinispan.commons.marshall.MarshallUtil;
+import org.infinispan.functional.EntryView;
+import org.infinispan.multimap.impl.ExternalizerIds;
+import org.infinispan.multimap.impl.StreamBucket;
+import org.infinispan.multimap.impl.StreamEntryId;
+
+/**
+ * Serializable function used by
+ * {@link org.infinispan.multimap.impl.EmbeddedMultimapStreamCache#acknowledge(Object, String, Collection)}.
+ *
+ * @see <a href="http://infinispan.org/documentation/">Marshalling of Functions</a>
+ * @since 15.1
+ */
+public final class StreamAckFunction<K> implements StreamBucketBaseFunction<K, Long> {
+   public static final AdvancedExternalizer<StreamAckFunction> EXTERNALIZER = new Externalizer();
+   private final String group;
+   private final Collection<StreamEntryId> ids;
+
+   public StreamAckFunction(String group, Collection<StreamEntryId> ids) {
+      this.group = group;
+      this.ids = ids;
+   }
+
+   @Override
+   public Long apply(EntryView.ReadWriteEntryView<K, StreamBucket> entryView) {
+      Optional<StreamBucket> existing = entryView.peek();
+      if (existing.isEmpty()) {
+         return 0L;
+      }
+      StreamBucket bucket = existing.get();
+      long acknowledged = bucket.acknowledge(group, ids);
+      if (acknowledged > 0) {
+         entryView.set(bucket);
+      }
+      return acknowledged;
+   }
+
+   private static class Externalizer implements AdvancedExternalizer<StreamAckFunction> {
+
+      @Override
+      public Set<Class<? extends StreamAckFunction>> getTypeClasses() {
+         return Collections.singleton(StreamAckFunction.class);
+      }
+
+      @Override
+      public Integer getId() {
+         return ExternalizerIds.STREAM_ACK_FUNCTION;
+      }
+
+      @Override
+      public void writeObject(ObjectOutput output, StreamAckFunction object) throws IOException {
+         MarshallUtil.marshallString(object.group, output);
+         MarshallUtil.marshallCollection(object.ids, output, (out, id) -> StreamFunctionUtil.writeId(out, (StreamEntryId) id));
+      }
+
+      @Override
+      public StreamAckFunction<?> readObject(ObjectInput input) throws IOException, ClassNotFoundException {
+         String group = MarshallUtil.unmarshallString(input);
+         Collection<StreamEntryId> ids = MarshallUtil.unmarshallCollection(input, ArrayList::new, StreamFunctionUtil::readId);
+         return new StreamAckFunction<>(group, ids);
+      }
+   }
+}
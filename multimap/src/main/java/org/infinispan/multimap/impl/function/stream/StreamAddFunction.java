@@ -0,0 +1,117 @@
+package org.infinispan.multimap.impl.function.stream;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.infinispan.commons.marshall.AdvancedExternalizer;
+import org.infinispan.commons.marshall.MarshallUtil;
+import org.infinispan.functional.EntryView;
+import org.infinispan.multimap.impl.ExternalizerIds;
+import org.infinispan.multimap.impl.StreamBucket;
+import org.infinispan.multimap.impl.StreamEntryId;
+
+/**
+ * Serializable function used by
+ * {@link org.infinispan.multimap.impl.EmbeddedMultimapStreamCache#add(Object, StreamEntryId, boolean, List, long, boolean)}
+ * to append an entry to a stream.
+ * <p>
+ * The timestamp used to generate the identifier is chosen when the function is created, so the backup owners apply
+ * the function with the same identifier.
+ *
+ * @see <a href="http://infinispan.org/documentation/">Marshalling of Functions</a>
+ * @since 15.1
+ */
+public final class StreamAddFunction<K> implements StreamBucketBaseFunction<K, StreamEntryId> {
+   public static final AdvancedExternalizer<StreamAddFunction> EXTERNALIZER = new Externalizer();
+   private final StreamEntryId id;
+   private final boolean autoSequence;
+   private final long timestamp;
+   private final List<byte[]> fields;
+   private final long maxLength;
+   private final boolean noMkStream;
+
+   /**
+    * @param id the identifier of the entry, or <code>null</code> to generate it from the timestamp.
+    * @param autoSequence whether only the milliseconds of the identifier are given, and the sequence is generated.
+    * @param timestamp the timestamp used to generate the identifier, in milliseconds.
+    * @param fields the fields and values of the entry.
+    * @param maxLength the maximum length of the stream after adding the entry, or a negative number for no limit.
+    * @param noMkStream whether the entry is only added if the stream exists.
+    */
+   public StreamAddFunction(StreamEntryId id, boolean autoSequence, long timestamp, List<byte[]> fields, long maxLength,
+                            boolean noMkStream) {
+      this.id = id;
+      this.autoSequence = autoSequence;
+      this.timestamp = timestamp;
+      this.fields = fields;
+      this.maxLength = maxLength;
+      this.noMkStream = noMkStream;
+   }
+
+   @Override
+   public StreamEntryId apply(EntryView.ReadWriteEntryView<K, StreamBucket> entryView) {
+      Optional<StreamBucket> existing = entryView.peek();
+      if (existing.isEmpty() && noMkStream) {
+         return null;
+      }
+      StreamBucket bucket = existing.orElseGet(StreamBucket::new);
+      StreamEntryId entryId;
+      if (id == null) {
+         entryId = bucket.nextId(timestamp);
+      } else if (autoSequence) {
+         entryId = bucket.nextId(id.ms());
+         if (entryId != null && entryId.ms() != id.ms()) {
+            entryId = null;
+         }
+      } else {
+         entryId = id;
+      }
+
+      if (!bucket.add(entryId, fields)) {
+         return StreamEntryId.MIN;
+      }
+      if (maxLength >= 0) {
+         bucket.trim(maxLength);
+      }
+      entryView.set(bucket);
+      return entryId;
+   }
+
+   private static class Externalizer implements AdvancedExternalizer<StreamAddFunction> {
+
+      @Override
+      public Set<Class<? extends StreamAddFunction>> getTypeClasses() {
+         return Collections.singleton(StreamAddFunction.class);
+      }
+
+      @Override
+      public Integer getId() {
+         return ExternalizerIds.STREAM_ADD_FUNCTION;
+      }
+
+      @Override
+      public void writeObject(ObjectOutput output, StreamAddFunction object) throws IOException {
+         StreamFunctionUtil.writeId(output, object.id);
+         output.writeBoolean(object.autoSequence);
+         output.writeLong(object.timestamp);
+         MarshallUtil.marshallCollection(object.fields, output, (out, field) -> MarshallUtil.marshallByteArray((byte[]) field, out));
+         output.writeLong(object.maxLength);
+         output.writeBoolean(object.noMkStream);
+      }
+
+      @Override
+      public StreamAddFunction<?> readObject(ObjectInput input) throws IOException, ClassNotFoundException {
+         StreamEntryId id = StreamFunctionUtil.readId(input);
+         boolean autoSequence = input.readBoolean();
+         long timestamp = input.readLong();
+         List<byte[]> fields = MarshallUtil.unmarshallCollection(input, ArrayList::new, MarshallUtil::unmarshallByteArray);
+         return new StreamAddFunction<>(id, autoSequence, timestamp, fields, input.readLong(), input.readBoolean());
+      }
+   }
+}
@@ -0,0 +1,29 @@
+package org.infinispan.multimap.impl.function.stream;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+import org.infinispan.multimap.impl.StreamEntryId;
+
+/**
+ * Marshalling of the stream entry identifiers used by the stream functions.
+ *
+ * @since 15.1
+ */
+final class StreamFunctionUtil {
+
+   private StreamFunctionUtil() { }
+
+   static void writeId(ObjectOutput output, StreamEntryId id) throws IOException {
+      output.writeBoolean(id != null);
+      if (id != null) {
+         output.writeLong(id.ms());
+         output.writeLong(id.seq());
+      }
+   }
+
+   static StreamEntryId readId(ObjectInput input) throws IOException {
+      return input.readBoolean() ? StreamEntryId.of(input.readLong(), input.readLong()) : null;
+   }
+}
@@ -0,0 +1,90 @@
+package org.infinispan.multimap.impl.function.stream;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
+
+import org.infinispan.commons.marshall.AdvancedExternalizer;
+import org.infinispan.commons.marshall.MarshallUtil;
+import org.infinispan.functional.EntryView;
+import org.infinispan.multimap.impl.ExternalizerIds;
+import org.infinispan.multimap.impl.StreamBucket;
+import org.infinispan.multimap.impl.StreamEntryId;
+
+/**
+ * Serializable function used by
+ * {@link org.infinispan.multimap.impl.EmbeddedMultimapStreamCache#createGroup(Object, String, StreamEntryId, boolean)}
+ * and {@link org.infinispan.multimap.impl.EmbeddedMultimapStreamCache#destroyGroup(Object, String)}.
+ * <p>
+ * Returns <code>null</code> when the stream does not exist and it is not created.
+ *
+ * @see <a href="http://infinispan.org/documentation/">Marshalling of Functions</a>
+ * @since 15.1
+ */
+public final class StreamGroupFunction<K> implements StreamBucketBaseFunction<K, Boolean> {
+   public static final AdvancedExternalizer<StreamGroupFunction> EXTERNALIZER = new Externalizer();
+   private final String group;
+   private final boolean create;
+   private final StreamEntryId id;
+   private final boolean mkStream;
+
+   /**
+    * @param group the name of the group.
+    * @param create whether the group is created or destroyed.
+    * @param id the identifier of the last entry delivered to the group, or <code>null</code> for the last entry of
+    *           the stream.
+    * @param mkStream whether an empty stream is created when it does not exist.
+    */
+   public StreamGroupFunction(String group, boolean create, StreamEntryId id, boolean mkStream) {
+      this.group = group;
+      this.create = create;
+      this.id = id;
+      this.mkStream = mkStream;
+   }
+
+   @Override
+   public Boolean apply(EntryView.ReadWriteEntryView<K, StreamBucket> entryView) {
+      Optional<StreamBucket> existing = entryView.peek();
+      if (existing.isEmpty() && !(create && mkStream)) {
+         return null;
+      }
+      StreamBucket bucket = existing.orElseGet(StreamBucket::new);
+      boolean changed = create
+            ? bucket.createGroup(group, id == null ? bucket.getLastId() : id)
+            : bucket.destroyGroup(group);
+      if (changed) {
+         entryView.set(bucket);
+      }
+      return changed;
+   }
+
+   private static class Externalizer implements AdvancedExternalizer<StreamGroupFunction> {
+
+      @Override
+      public Set<Class<? extends StreamGroupFunction>> getTypeClasses() {
+         return Collections.singleton(StreamGroupFunction.class);
+      }
+
+      @Override
+      public Integer getId() {
+         return ExternalizerIds.STREAM_GROUP_FUNCTION;
+      }
+
+      @Override
+      public void writeObject(ObjectOutput output, StreamGroupFunction object) throws IOException {
+         MarshallUtil.marshallString(object.group, output);
+         output.writeBoolean(object.create);
+         StreamFunctionUtil.writeId(output, object.id);
+         output.writeBoolean(object.mkStream);
+      }
+
+      @Override
+      public StreamGroupFunction<?> readObject(ObjectInput input) throws IOException {
+         return new StreamGroupFunction<>(MarshallUtil.unmarshallString(input), input.readBoolean(),
+               StreamFunctionUtil.readId(input), input.readBoolean());
+      }
+   }
+}
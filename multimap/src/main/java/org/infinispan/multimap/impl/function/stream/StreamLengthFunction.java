@@ -0,0 +1,49 @@
+package org.infinispan.multimap.impl.function.stream;
+
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Collections;
+import java.util.Set;
+
+import org.infinispan.commons.marshall.AdvancedExternalizer;
+import org.infinispan.functional.EntryView;
+import org.infinispan.multimap.impl.ExternalizerIds;
+import org.infinispan.multimap.impl.StreamBucket;
+import org.infinispan.util.function.SerializableFunction;
+
+/**
+ * Serializable function used by {@link org.infinispan.multimap.impl.EmbeddedMultimapStreamCache#length(Object)}.
+ *
+ * @see <a href="http://infinispan.org/documentation/">Marshalling of Functions</a>
+ * @since 15.1
+ */
+public final class StreamLengthFunction<K> implements SerializableFunction<EntryView.ReadEntryView<K, StreamBucket>, Long> {
+   public static final AdvancedExternalizer<StreamLengthFunction> EXTERNALIZER = new Externalizer();
+
+   @Override
+   public Long apply(EntryView.ReadEntryView<K, StreamBucket> entryView) {
+      return entryView.peek().map(StreamBucket::size).orElse(0L);
+   }
+
+   private static class Externalizer implements AdvancedExternalizer<StreamLengthFunction> {
+
+      @Override
+      public Set<Class<? extends StreamLengthFunction>> getTypeClasses() {
+         return Collections.singleton(StreamLengthFunction.class);
+      }
+
+      @Override
+      public Integer getId() {
+         return ExternalizerIds.STREAM_LENGTH_FUNCTION;
+      }
+
+      @Override
+      public void writeObject(ObjectOutput output, StreamLengthFunction object) {
+      }
+
+      @Override
+      public StreamLengthFunction<?> readObject(ObjectInput input) {
+         return new StreamLengthFunction<>();
+      }
+   }
+}
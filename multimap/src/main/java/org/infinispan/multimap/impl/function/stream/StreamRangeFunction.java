@@ -0,0 +1,76 @@
+package org.infinispan.multimap.impl.function.stream;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.infinispan.commons.marshall.AdvancedExternalizer;
+import org.infinispan.functional.EntryView;
+import org.infinispan.multimap.impl.ExternalizerIds;
+import org.infinispan.multimap.impl.StreamBucket;
+import org.infinispan.multimap.impl.StreamEntry;
+import org.infinispan.multimap.impl.StreamEntryId;
+import org.infinispan.util.function.SerializableFunction;
+
+/**
+ * Serializable function used by
+ * {@link org.infinispan.multimap.impl.EmbeddedMultimapStreamCache#range(Object, StreamEntryId, StreamEntryId, long, boolean)}
+ * to read a range of entries where the stream is stored, instead of retrieving the whole stream.
+ *
+ * @see <a href="http://infinispan.org/documentation/">Marshalling of Functions</a>
+ * @since 15.1
+ */
+public final class StreamRangeFunction<K> implements SerializableFunction<EntryView.ReadEntryView<K, StreamBucket>, List<StreamEntry>> {
+   public static final AdvancedExternalizer<StreamRangeFunction> EXTERNALIZER = new Externalizer();
+   private final StreamEntryId start;
+   private final StreamEntryId end;
+   private final long count;
+   private final boolean rev;
+
+   public StreamRangeFunction(StreamEntryId start, StreamEntryId end, long count, boolean rev) {
+      this.start = start;
+      this.end = end;
+      this.count = count;
+      this.rev = rev;
+   }
+
+   @Override
+   public List<StreamEntry> apply(EntryView.ReadEntryView<K, StreamBucket> entryView) {
+      Optional<StreamBucket> existing = entryView.peek();
+      if (existing.isEmpty()) {
+         return Collections.emptyList();
+      }
+      return existing.get().range(start, end, count, rev);
+   }
+
+   private static class Externalizer implements AdvancedExternalizer<StreamRangeFunction> {
+
+      @Override
+      public Set<Class<? extends StreamRangeFunction>> getTypeClasses() {
+         return Collections.singleton(StreamRangeFunction.class);
+      }
+
+      @Override
+      public Integer getId() {
+         return ExternalizerIds.STREAM_RANGE_FUNCTION;
+      }
+
+      @Override
+      public void writeObject(ObjectOutput output, StreamRangeFunction object) throws IOException {
+         StreamFunctionUtil.writeId(output, object.start);
+         StreamFunctionUtil.writeId(output, object.end);
+         output.writeLong(object.count);
+         output.writeBoolean(object.rev);
+      }
+
+      @Override
+      public StreamRangeFunction<?> readObject(ObjectInput input) throws IOException {
+         return new StreamRangeFunction<>(StreamFunctionUtil.readId(input), StreamFunctionUtil.readId(input),
+               input.readLong(), input.readBoolean());
+      }
+   }
+}
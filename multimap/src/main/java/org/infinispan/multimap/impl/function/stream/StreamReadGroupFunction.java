@@ -0,0 +1,90 @@
+package org.infinispan.multimap.impl.function.stream;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.infinispan.commons.marshall.AdvancedExternalizer;
+import org.infinispan.commons.marshall.MarshallUtil;
+import org.infinispan.functional.EntryView;
+import org.infinispan.multimap.impl.ExternalizerIds;
+import org.infinispan.multimap.impl.StreamBucket;
+import org.infinispan.multimap.impl.StreamEntry;
+import org.infinispan.multimap.impl.StreamEntryId;
+
+/**
+ * Serializable function used by
+ * {@link org.infinispan.multimap.impl.EmbeddedMultimapStreamCache#readGroup(Object, String, String, StreamEntryId, long, boolean)}.
+ * <p>
+ * The delivery time is chosen when the function is created, so the backup owners record the same pending entries.
+ * Returns <code>null</code> when the stream or the group do not exist.
+ *
+ * @see <a href="http://infinispan.org/documentation/">Marshalling of Functions</a>
+ * @since 15.1
+ */
+public final class StreamReadGroupFunction<K> implements StreamBucketBaseFunction<K, List<StreamEntry>> {
+   public static final AdvancedExternalizer<StreamReadGroupFunction> EXTERNALIZER = new Externalizer();
+   private final String group;
+   private final String consumer;
+   private final StreamEntryId id;
+   private final long count;
+   private final boolean noAck;
+   private final long time;
+
+   public StreamReadGroupFunction(String group, String consumer, StreamEntryId id, long count, boolean noAck, long time) {
+      this.group = group;
+      this.consumer = consumer;
+      this.id = id;
+      this.count = count;
+      this.noAck = noAck;
+      this.time = time;
+   }
+
+   @Override
+   public List<StreamEntry> apply(EntryView.ReadWriteEntryView<K, StreamBucket> entryView) {
+      Optional<StreamBucket> existing = entryView.peek();
+      if (existing.isEmpty()) {
+         return null;
+      }
+      StreamBucket bucket = existing.get();
+      List<StreamEntry> entries = bucket.readGroup(group, consumer, id, count, noAck, time);
+      // Reading the pending entries of the consumer does not change the group
+      if (entries != null && id == null && !entries.isEmpty()) {
+         entryView.set(bucket);
+      }
+      return entries;
+   }
+
+   private static class Externalizer implements AdvancedExternalizer<StreamReadGroupFunction> {
+
+      @Override
+      public Set<Class<? extends StreamReadGroupFunction>> getTypeClasses() {
+         return Collections.singleton(StreamReadGroupFunction.class);
+      }
+
+      @Override
+      public Integer getId() {
+         return ExternalizerIds.STREAM_READ_GROUP_FUNCTION;
+      }
+
+      @Override
+      public void writeObject(ObjectOutput output, StreamReadGroupFunction object) throws IOException {
+         MarshallUtil.marshallString(object.group, output);
+         MarshallUtil.marshallString(object.consumer, output);
+         StreamFunctionUtil.writeId(output, object.id);
+         output.writeLong(object.count);
+         output.writeBoolean(object.noAck);
+         output.writeLong(object.time);
+      }
+
+      @Override
+      public StreamReadGroupFunction<?> readObject(ObjectInput input) throws IOException {
+         return new StreamReadGroupFunction<>(MarshallUtil.unmarshallString(input), MarshallUtil.unmarshallString(input),
+               StreamFunctionUtil.readId(input), input.readLong(), input.readBoolean(), input.readLong());
+      }
+   }
+}
@@ -0,0 +1,329 @@
+package org.infinispan.multimap.impl.internal;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A sorted set backed by a skip list where each link also stores its span, the number of elements it skips.
+ * <p>
+ * The spans make the rank of an element and the element at a given rank available in O(log n), so a range of ranks
+ * of length k is retrieved in O(log n + k) instead of iterating over all the previous elements. The elements are
+ * ordered by their natural ordering, and elements comparing equal are not added twice.
+ * </p>
+ * <p>
+ * The implementation follows the one used by Redis for sorted sets [1]. This class is not thread-safe.
+ * </p>
+ *
+ * @see <a href="https://github.com/redis/redis/blob/unstable/src/t_zset.c">[1] Redis sorted set implementation.</a>
+ * @since 15.1
+ */
+public class RankedSkipList<E extends Comparable<? super E>> extends AbstractSet<E> {
+
+   // Enough for 2^64 elements with P = 1/4
+   private static final int MAX_LEVEL = 32;
+
+   // The probability of a node to be promoted to the next level, as a 16 bits fraction of 1/4.
+   private static final int PROMOTION_THRESHOLD = 0xFFFF / 4;
+
+   private final Node<E> head = new Node<>(null, MAX_LEVEL);
+   private Node<E> tail;
+   private int level = 1;
+   private int size;
+
+   public RankedSkipList() { }
+
+   public RankedSkipList(Collection<? extends E> elements) {
+      addAll(elements);
+   }
+
+   @Override
+   public boolean add(E element) {
+      @SuppressWarnings("unchecked")
+      Node<E>[] update = new Node[MAX_LEVEL];
+      int[] rank = new int[MAX_LEVEL];
+      Node<E> x = head;
+      for (int i = level - 1; i >= 0; i--) {
+         // The rank of the node where the search moves to the lower level
+         rank[i] = i == level - 1 ? 0 : rank[i + 1];
+         while (x.next[i] != null && x.next[i].element.compareTo(element) < 0) {
+            rank[i] += x.span[i];
+            x = x.next[i];
+         }
+         update[i] = x;
+      }
+
+      if (x.next[0] != null && x.next[0].element.compareTo(element) == 0) {
+         return false;
+      }
+
+      int newLevel = randomLevel();
+      if (newLevel > level) {
+         for (int i = level; i < newLevel; i++) {
+            rank[i] = 0;
+            update[i] = head;
+            head.span[i] = size;
+         }
+         level = newLevel;
+      }
+
+      x = new Node<>(element, newLevel);
+      for (int i = 0; i < newLevel; i++) {
+         x.next[i] = update[i].next[i];
+         update[i].next[i] = x;
+
+         // The new node is placed rank[0] - rank[i] elements after update[i]
+         x.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+         update[i].span[i] = (rank[0] - rank[i]) + 1;
+      }
+
+      // The untouched links above the new node now skip one more element
+      for (int i = newLevel; i < level; i++) {
+         update[i].span[i]++;
+      }
+
+      x.previous = update[0] == head ? null : update[0];
+      if (x.next[0] != null) {
+         x.next[0].previous = x;
+      } else {
+         tail = x;
+      }
+      size++;
+      return true;
+   }
+
+   @Override
+   @SuppressWarnings("unchecked")
+   public boolean remove(Object o) {
+      E element = (E) o;
+      Node<E>[] update = new Node[MAX_LEVEL];
+      Node<E> x = head;
+      try {
+         for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && x.next[i].element.compareTo(element) < 0) {
+               x = x.next[i];
+            }
+            update[i] = x;
+         }
+         x = x.next[0];
+         if (x == null || x.element.compareTo(element) != 0) {
+            return false;
+         }
+      } catch (ClassCastException e) {
+         return false;
+      }
+      removeNode(x, update);
+      return true;
+   }
+
+   private void removeNode(Node<E> x, Node<E>[] update) {
+      for (int i = 0; i < level; i++) {
+         if (update[i].next[i] == x) {
+            update[i].span[i] += x.span[i] - 1;
+            update[i].next[i] = x.next[i];
+         } else {
+            update[i].span[i]--;
+         }
+      }
+
+      if (x.next[0] != null) {
+         x.next[0].previous = x.previous;
+      } else {
+         tail = x.previous;
+      }
+
+      while (level > 1 && head.next[level - 1] == null) {
+         level--;
+      }
+      size--;
+   }
+
+   @Override
+   @SuppressWarnings("unchecked")
+   public boolean contains(Object o) {
+      E element = (E) o;
+      try {
+         Node<E> x = head;
+         for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && x.next[i].element.compareTo(element) < 0) {
+               x = x.next[i];
+            }
+         }
+         x = x.next[0];
+         return x != null && x.element.compareTo(element) == 0;
+      } catch (ClassCastException e) {
+         return false;
+      }
+   }
+
+   /**
+    * Returns the number of elements lower than the given element, or lower or equal if <code>inclusive</code>. This is
+    * the same as <code>headSet(element, inclusive).size()</code> of a {@link java.util.NavigableSet}, and also the rank
+    * of the first element greater than (or equal, if not <code>inclusive</code>) the given element.
+    *
+    * @param element the element to compare with, which does not need to be in the set.
+    * @param inclusive whether the elements equal to the given element are counted.
+    * @return the number of elements before the given element.
+    */
+   public int headCount(E element, boolean inclusive) {
+      int rank = 0;
+      Node<E> x = head;
+      for (int i = level - 1; i >= 0; i--) {
+         while (x.next[i] != null && isBefore(x.next[i].element, element, inclusive)) {
+            rank += x.span[i];
+            x = x.next[i];
+         }
+      }
+      return rank;
+   }
+
+   private static <E extends Comparable<? super E>> boolean isBefore(E element, E other, boolean inclusive) {
+      int compare = element.compareTo(other);
+      return inclusive ? compare <= 0 : compare < 0;
+   }
+
+   /**
+    * @param rank the rank of the element, starting at 0.
+    * @return the element with the given rank.
+    * @throws IndexOutOfBoundsException if the rank is not within the set size.
+    */
+   public E get(int rank) {
+      return nodeAt(rank).element;
+   }
+
+   /**
+    * Returns the elements with ranks from <code>fromRank</code>, inclusive, to <code>toRank</code>, exclusive.
+    *
+    * @param fromRank the lowest rank of the range, inclusive.
+    * @param toRank the highest rank of the range, exclusive.
+    * @param descending whether the elements are returned from the highest rank to the lowest.
+    * @return a new list with the elements of the range.
+    * @throws IndexOutOfBoundsException if the range is not within the set size.
+    */
+   public List<E> range(int fromRank, int toRank, boolean descending) {
+      if (fromRank < 0 || fromRank > toRank || toRank > size) {
+         throw new IndexOutOfBoundsException("Range from " + fromRank + " to " + toRank + " out of bounds for size " + size);
+      }
+      List<E> result = new ArrayList<>(toRank - fromRank);
+      if (fromRank == toRank) {
+         return result;
+      }
+      if (descending) {
+         for (Node<E> x = nodeAt(toRank - 1); result.size() < toRank - fromRank; x = x.previous) {
+            result.add(x.element);
+         }
+      } else {
+         for (Node<E> x = nodeAt(fromRank); result.size() < toRank - fromRank; x = x.next[0]) {
+            result.add(x.element);
+         }
+      }
+      return result;
+   }
+
+   private Node<E> nodeAt(int rank) {
+      if (rank < 0 || rank >= size) {
+         throw new IndexOutOfBoundsException("Rank " + rank + " out of bounds for size " + size);
+      }
+      // Spans count the elements skipped including the destination, so the node is reached at traversed == rank + 1
+      int traversed = 0;
+      Node<E> x = head;
+      for (int i = level - 1; i >= 0; i--) {
+         while (x.next[i] != null && traversed + x.span[i] <= rank + 1) {
+            traversed += x.span[i];
+            x = x.next[i];
+         }
+         if (traversed == rank + 1) {
+            return x;
+         }
+      }
+      throw new IllegalStateException("Rank " + rank + " not found for size " + size);
+   }
+
+   public E first() {
+      if (size == 0) throw new NoSuchElementException();
+      return head.next[0].element;
+   }
+
+   public E last() {
+      if (size == 0) throw new NoSuchElementException();
+      return tail.element;
+   }
+
+   public E pollFirst() {
+      if (size == 0) return null;
+      E element = head.next[0].element;
+      remove(element);
+      return element;
+   }
+
+   public E pollLast() {
+      if (size == 0) return null;
+      E element = tail.element;
+      remove(element);
+      return element;
+   }
+
+   @Override
+   public int size() {
+      return size;
+   }
+
+   @Override
+   public void clear() {
+      for (int i = 0; i < MAX_LEVEL; i++) {
+         head.next[i] = null;
+         head.span[i] = 0;
+      }
+      tail = null;
+      level = 1;
+      size = 0;
+   }
+
+   @Override
+   public Iterator<E> iterator() {
+      return new Iterator<>() {
+         private Node<E> next = head.next[0];
+
+         @Override
+         public boolean hasNext() {
+            return next != null;
+         }
+
+         @Override
+         public E next() {
+            if (next == null) throw new NoSuchElementException();
+            E element = next.element;
+            next = next.next[0];
+            return element;
+         }
+      };
+   }
+
+   private static int randomLevel() {
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      int level = 1;
+      while (level < MAX_LEVEL && (random.nextInt() & 0xFFFF) < PROMOTION_THRESHOLD) {
+         level++;
+      }
+      return level;
+   }
+
+   private static final class Node<E> {
+      private final E element;
+      private final Node<E>[] next;
+      // The number of elements between this node, exclusive, and the next node of each level, inclusive
+      private final int[] span;
+      private Node<E> previous;
+
+      @SuppressWarnings("unchecked")
+      private Node(E element, int level) {
+         this.element = element;
+         this.next = new Node[level];
+         this.span = new int[level];
+      }
+   }
+}
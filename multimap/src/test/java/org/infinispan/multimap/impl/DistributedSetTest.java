@@ -5,6 +5,10 @@
 import static org.infinispan.functional.FunctionalTestUtils.await;
 import static org.infinispan.multimap.impl.MultimapTestUtils.ELAIA;
 import static org.infinispan.multimap.impl.MultimapTestUtils.FELIX;
+import static org.infinispan.multimap.impl.MultimapTestUtils.IGOR;
+import static org.infinispan.multimap.impl.MultimapTestUtils.IZARO;
+import static org.infinispan.multimap.impl.MultimapTestUtils.JULIEN;
+import static org.infinispan.multimap.impl.MultimapTestUtils.KOLDO;
 import static org.infinispan.multimap.impl.MultimapTestUtils.RAMON;
 import static org.infinispan.multimap.impl.MultimapTestUtils.NAMES_KEY;
 import static org.infinispan.multimap.impl.MultimapTestUtils.OIHANA;
@@ -16,6 +20,7 @@
 import java.util.Map;
 import java.util.Set;
 
+import org.infinispan.Cache;
 import org.infinispan.configuration.cache.CacheMode;
 import org.infinispan.distribution.BaseDistFunctionalTest;
 import org.infinispan.manager.EmbeddedCacheManager;
@@ -142,6 +147,22 @@ public void testPutAll() {
       assertValuesAndOwnership(name_key2, RAMON);
    }
 
+   @Test
+   public void testPopIsConsistentOnAllOwners() {
+      initAndTest();
+      EmbeddedSetCache<String, Person> set = getSetCacheMember();
+      await(set.set(NAMES_KEY, Set.of(OIHANA, ELAIA, FELIX, RAMON, JULIEN, KOLDO, IGOR, IZARO)));
+
+      Collection<Person> popped = await(set.pop(NAMES_KEY, 3L, true));
+      assertThat(popped).hasSize(3);
+
+      // Backup owners apply the pop function to their own copy of the bucket, and must pop the same elements
+      for (Cache<String, Collection<Person>> owner : getOwners(NAMES_KEY)) {
+         SetBucket<Person> bucket = (SetBucket<Person>) owner.getAdvancedCache().getDataContainer().peek(NAMES_KEY).getValue();
+         assertThat(bucket.toSet()).hasSize(5).doesNotContainAnyElementsOf(popped);
+      }
+   }
+
    protected void assertValuesAndOwnership(String key, Person value) {
       assertOwnershipAndNonOwnership(key, l1CacheEnabled);
       assertOnAllCaches(key, value);
@@ -0,0 +1,130 @@
+package org.infinispan.multimap.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.infinispan.functional.FunctionalTestUtils.await;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.marshall.persistence.impl.PersistenceMarshallerImpl;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+@Test(groups = "functional", testName = "multimap.impl.EmbeddedMultimapStreamCacheTest")
+public class EmbeddedMultimapStreamCacheTest extends SingleCacheManagerTest {
+
+   EmbeddedMultimapStreamCache<String> streamCache;
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      EmbeddedCacheManager cm = TestCacheManagerFactory.createCacheManager(MultimapSCI.INSTANCE);
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      cm.createCache("test", builder.build());
+      streamCache = new EmbeddedMultimapStreamCache<>(cm.getCache("test"));
+      return cm;
+   }
+
+   public void testAdd() {
+      assertThat(await(streamCache.add("add", StreamEntryId.of(5, 1), false, fields("a", "1"), -1, false)))
+            .isEqualTo(StreamEntryId.of(5, 1));
+      assertThat(await(streamCache.add("add", StreamEntryId.of(5, 0), true, fields("a", "2"), -1, false)))
+            .isEqualTo(StreamEntryId.of(5, 2));
+      assertThat(await(streamCache.add("add", StreamEntryId.of(5, 2), false, fields("a", "3"), -1, false)))
+            .isEqualTo(StreamEntryId.MIN);
+      StreamEntryId generated = await(streamCache.add("add", null, false, fields("a", "4"), -1, false));
+      assertThat(generated).isGreaterThan(StreamEntryId.of(5, 2));
+      assertThat(await(streamCache.length("add"))).isEqualTo(3);
+      assertThat(await(streamCache.lastId("add"))).isEqualTo(generated);
+
+      assertThat(await(streamCache.add("missing", null, false, fields("a", "1"), -1, true))).isNull();
+      assertThat(await(streamCache.length("missing"))).isZero();
+      assertThat(await(streamCache.lastId("missing"))).isEqualTo(StreamEntryId.MIN);
+
+      assertThatThrownBy(() -> await(streamCache.add(null, null, false, fields("a", "1"), -1, false)))
+            .isInstanceOf(NullPointerException.class);
+      assertThatThrownBy(() -> await(streamCache.add("add", null, false, List.of(), -1, false)))
+            .isInstanceOf(IllegalArgumentException.class);
+   }
+
+   public void testRangeAndTrim() {
+      int count = StreamBucket.CHUNK_SIZE * 3 + 7;
+      for (int i = 1; i <= count; i++) {
+         await(streamCache.add("range", StreamEntryId.of(i, 0), false, fields("n", String.valueOf(i)), -1, false));
+      }
+      List<StreamEntry> entries = await(streamCache.range("range", StreamEntryId.of(100, 0), StreamEntryId.of(300, 0), -1, false));
+      assertThat(entries).hasSize(201);
+      assertThat(entries.get(0).id()).isEqualTo(StreamEntryId.of(100, 0));
+      assertThat(new String(entries.get(0).fields().get(1), StandardCharsets.UTF_8)).isEqualTo("100");
+
+      entries = await(streamCache.range("range", StreamEntryId.MIN, StreamEntryId.MAX, 3, true));
+      assertThat(entries).extracting(StreamEntry::id)
+            .containsExactly(StreamEntryId.of(count, 0), StreamEntryId.of(count - 1, 0), StreamEntryId.of(count - 2, 0));
+      assertThat(await(streamCache.after("range", StreamEntryId.of(count - 1, 0), -1)))
+            .extracting(StreamEntry::id).containsExactly(StreamEntryId.of(count, 0));
+      assertThat(await(streamCache.range("unknown", StreamEntryId.MIN, StreamEntryId.MAX, -1, false))).isEmpty();
+
+      await(streamCache.add("range", StreamEntryId.of(count + 1, 0), false, fields("n", "last"), 10, false));
+      assertThat(await(streamCache.length("range"))).isEqualTo(10);
+      assertThat(await(streamCache.range("range", StreamEntryId.MIN, StreamEntryId.MAX, 1, false)))
+            .extracting(StreamEntry::id).containsExactly(StreamEntryId.of(count - 8, 0));
+   }
+
+   public void testConsumerGroups() {
+      assertThat(await(streamCache.createGroup("groups", "g", StreamEntryId.MIN, false))).isNull();
+      assertThat(await(streamCache.createGroup("groups", "g", StreamEntryId.MIN, true))).isTrue();
+      assertThat(await(streamCache.createGroup("groups", "g", StreamEntryId.MIN, true))).isFalse();
+      for (int i = 1; i <= 4; i++) {
+         await(streamCache.add("groups", StreamEntryId.of(i, 0), false, fields("n", String.valueOf(i)), -1, false));
+      }
+
+      assertThat(await(streamCache.readGroup("groups", "g", "c1", null, 3, false)))
+            .extracting(StreamEntry::id).containsExactly(StreamEntryId.of(1, 0), StreamEntryId.of(2, 0), StreamEntryId.of(3, 0));
+      assertThat(await(streamCache.readGroup("groups", "g", "c2", null, 0, false)))
+            .extracting(StreamEntry::id).containsExactly(StreamEntryId.of(4, 0));
+      assertThat(await(streamCache.readGroup("groups", "g", "c2", null, 0, false))).isEmpty();
+
+      assertThat(await(streamCache.acknowledge("groups", "g", List.of(StreamEntryId.of(2, 0), StreamEntryId.of(4, 0)))))
+            .isEqualTo(2);
+      assertThat(await(streamCache.readGroup("groups", "g", "c1", StreamEntryId.MIN, 0, false)))
+            .extracting(StreamEntry::id).containsExactly(StreamEntryId.of(1, 0), StreamEntryId.of(3, 0));
+      assertThat(await(streamCache.readGroup("groups", "g", "c2", StreamEntryId.MIN, 0, false))).isEmpty();
+
+      assertThat(await(streamCache.readGroup("groups", "other", "c1", null, 0, false))).isNull();
+      assertThat(await(streamCache.destroyGroup("groups", "g"))).isTrue();
+      assertThat(await(streamCache.destroyGroup("groups", "g"))).isFalse();
+      assertThat(await(streamCache.destroyGroup("unknown", "g"))).isNull();
+   }
+
+   public void testMarshalling() throws Exception {
+      StreamBucket bucket = new StreamBucket();
+      int count = StreamBucket.CHUNK_SIZE * 2 + 3;
+      for (int i = 1; i <= count; i++) {
+         bucket.add(StreamEntryId.of(i, i), fields("n", String.valueOf(i)));
+      }
+      bucket.createGroup("g", StreamEntryId.MIN);
+      bucket.readGroup("g", "c", null, 2, false, 100);
+
+      PersistenceMarshallerImpl pm = TestingUtil.extractPersistenceMarshaller(cacheManager);
+      StreamBucket copy = (StreamBucket) pm.objectFromByteBuffer(pm.objectToByteBuffer(bucket));
+      assertThat(copy.size()).isEqualTo(count);
+      assertThat(copy.getLastId()).isEqualTo(StreamEntryId.of(count, count));
+      assertThat(copy.range(StreamEntryId.MIN, StreamEntryId.MAX, -1, false)).extracting(StreamEntry::id)
+            .containsExactlyElementsOf(bucket.range(StreamEntryId.MIN, StreamEntryId.MAX, -1, false).stream()
+                  .map(StreamEntry::id).toList());
+      assertThat(copy.group("g").pendingCount()).isEqualTo(2);
+
+      // The copy keeps appending after the last chunk
+      assertThat(copy.add(StreamEntryId.of(count + 1, 0), fields("n", "next"))).isTrue();
+      assertThat(copy.size()).isEqualTo(count + 1);
+   }
+
+   private static List<byte[]> fields(String... values) {
+      return Arrays.stream(values).map(v -> v.getBytes(StandardCharsets.UTF_8)).toList();
+   }
+}
@@ -0,0 +1,55 @@
+package org.infinispan.multimap.impl.function.set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import org.testng.annotations.Test;
+
+/**
+ * Checks that {@link SPopFunction} picks the same elements on every owner.
+ *
+ * @since 15.1
+ */
+@Test(groups = "unit", testName = "multimap.SPopFunctionTest")
+public class SPopFunctionTest {
+
+   public void testSubsetDependsOnlyOnSerializedElements() {
+      Random random = new Random(42);
+      Function<byte[], byte[]> identity = Function.identity();
+      for (int round = 0; round < 100; round++) {
+         long seed = random.nextLong();
+         // Each owner holds its own copies of the elements, in its own iteration order
+         List<byte[]> owner1 = elements(20);
+         List<byte[]> owner2 = elements(20);
+         Collections.shuffle(owner2, random);
+
+         Collection<byte[]> popped1 = SPopFunction.getRandomSubset(owner1, 5, seed, identity);
+         Collection<byte[]> popped2 = SPopFunction.getRandomSubset(owner2, 5, seed, identity);
+         assertThat(popped1).hasSize(5);
+         assertThat(strings(popped2)).containsExactlyElementsOf(strings(popped1));
+      }
+   }
+
+   private static List<byte[]> elements(int count) {
+      List<byte[]> elements = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+         elements.add(("element-" + i).getBytes(StandardCharsets.UTF_8));
+      }
+      return elements;
+   }
+
+   private static List<String> strings(Collection<byte[]> elements) {
+      List<String> strings = new ArrayList<>(elements.size());
+      for (byte[] element : elements) {
+         strings.add(new String(element, StandardCharsets.UTF_8));
+      }
+      return strings;
+   }
+}
@@ -0,0 +1,85 @@
+package org.infinispan.multimap.impl.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.testng.annotations.Test;
+
+/**
+ * Checks {@link RankedSkipList} against a {@link TreeSet} holding the same elements.
+ *
+ * @since 15.1
+ */
+@Test(groups = "unit", testName = "multimap.RankedSkipListTest")
+public class RankedSkipListTest {
+
+   public void testAddRemoveAndRanks() {
+      Random random = new Random(42);
+      RankedSkipList<Integer> skipList = new RankedSkipList<>();
+      TreeSet<Integer> treeSet = new TreeSet<>();
+      for (int i = 0; i < 20_000; i++) {
+         int element = random.nextInt(2_000);
+         if (random.nextInt(3) == 0) {
+            assertThat(skipList.remove(element)).isEqualTo(treeSet.remove(element));
+         } else {
+            assertThat(skipList.add(element)).isEqualTo(treeSet.add(element));
+         }
+         assertThat(skipList).hasSize(treeSet.size());
+
+         if (i % 500 == 0) {
+            List<Integer> sorted = new ArrayList<>(treeSet);
+            assertThat(skipList).containsExactlyElementsOf(sorted);
+            for (int rank = 0; rank < sorted.size(); rank++) {
+               assertThat(skipList.get(rank)).isEqualTo(sorted.get(rank));
+               assertThat(skipList.headCount(sorted.get(rank), false)).isEqualTo(rank);
+               assertThat(skipList.headCount(sorted.get(rank), true)).isEqualTo(rank + 1);
+            }
+            int missing = -1;
+            assertThat(skipList.headCount(missing, true)).isZero();
+            assertThat(skipList.contains(missing)).isFalse();
+         }
+      }
+   }
+
+   public void testRange() {
+      RankedSkipList<Integer> skipList = new RankedSkipList<>();
+      List<Integer> sorted = new ArrayList<>();
+      for (int i = 0; i < 1_000; i++) {
+         skipList.add(i * 2);
+         sorted.add(i * 2);
+      }
+
+      assertThat(skipList.range(0, 1_000, false)).isEqualTo(sorted);
+      assertThat(skipList.range(10, 10, false)).isEmpty();
+      assertThat(skipList.range(250, 260, false)).isEqualTo(sorted.subList(250, 260));
+
+      List<Integer> reversed = new ArrayList<>(sorted.subList(250, 260));
+      Collections.reverse(reversed);
+      assertThat(skipList.range(250, 260, true)).isEqualTo(reversed);
+
+      assertThatThrownBy(() -> skipList.range(-1, 10, false)).isInstanceOf(IndexOutOfBoundsException.class);
+      assertThatThrownBy(() -> skipList.range(10, 1_001, false)).isInstanceOf(IndexOutOfBoundsException.class);
+      assertThatThrownBy(() -> skipList.get(1_000)).isInstanceOf(IndexOutOfBoundsException.class);
+   }
+
+   public void testPoll() {
+      RankedSkipList<Integer> skipList = new RankedSkipList<>(List.of(5, 1, 3, 4, 2));
+      assertThat(skipList.first()).isEqualTo(1);
+      assertThat(skipList.last()).isEqualTo(5);
+      assertThat(skipList.pollFirst()).isEqualTo(1);
+      assertThat(skipList.pollLast()).isEqualTo(5);
+      assertThat(skipList).containsExactly(2, 3, 4);
+      assertThat(skipList.range(0, 3, true)).containsExactly(4, 3, 2);
+
+      skipList.clear();
+      assertThat(skipList).isEmpty();
+      assertThat(skipList.pollFirst()).isNull();
+      assertThat(skipList.pollLast()).isNull();
+   }
+}
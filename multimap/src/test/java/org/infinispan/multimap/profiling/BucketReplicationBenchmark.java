@@ -0,0 +1,133 @@
+package org.infinispan.multimap.profiling;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commons.marshall.Marshaller;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.multimap.impl.ListBucket;
+import org.infinispan.multimap.impl.ScoredValue;
+import org.infinispan.multimap.impl.SortedSetAddArgs;
+import org.infinispan.multimap.impl.SortedSetBucket;
+import org.infinispan.multimap.impl.function.list.OfferFunction;
+import org.infinispan.multimap.impl.function.sortedset.AddManyFunction;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares what a backup owner receives for a single element <code>LPUSH</code> or <code>ZADD</code> on a large bucket:
+ * the bucket function, which the backup applies to its own copy of the bucket, against the whole bucket.
+ * <p>
+ * The replicated bytes per operation are printed before running the benchmarks, which measure the cost of marshalling
+ * each of them.
+ * <p>
+ * Only what backup owners receive is measured. Stores still receive and persist the whole bucket on every write, as
+ * the store SPI has no way to append a change to a stored entry, so there are no bucket deltas or snapshots in stores.
+ */
+public class BucketReplicationBenchmark {
+
+   private static final int MEASUREMENT_ITERATIONS_COUNT = 10;
+   private static final int WARMUP_ITERATIONS_COUNT = 10;
+
+   public static void main(String[] args) throws Exception {
+      for (int bucketSize : new int[]{1_000, 100_000}) {
+         Buckets buckets = new Buckets();
+         buckets.bucketSize = bucketSize;
+         buckets.setup();
+         try {
+            System.out.printf("%d elements, LPUSH: function %d bytes, bucket %d bytes%n", bucketSize,
+                  buckets.marshaller.objectToByteBuffer(buckets.offer).length,
+                  buckets.marshaller.objectToByteBuffer(buckets.list).length);
+            System.out.printf("%d elements, ZADD: function %d bytes, bucket %d bytes%n", bucketSize,
+                  buckets.marshaller.objectToByteBuffer(buckets.addMany).length,
+                  buckets.marshaller.objectToByteBuffer(buckets.sortedSet).length);
+         } finally {
+            buckets.tearDown();
+         }
+      }
+
+      Options opt = new OptionsBuilder()
+            .include(BucketReplicationBenchmark.class.getName() + ".*")
+            .mode(Mode.Throughput)
+            .timeUnit(TimeUnit.MILLISECONDS)
+            .warmupIterations(WARMUP_ITERATIONS_COUNT)
+            .measurementIterations(MEASUREMENT_ITERATIONS_COUNT)
+            .forks(3)
+            .shouldFailOnError(true)
+            .build();
+
+      new Runner(opt).run();
+   }
+
+   @State(Scope.Benchmark)
+   public static class Buckets {
+      @Param({"1000", "100000"})
+      int bucketSize;
+
+      EmbeddedCacheManager cacheManager;
+      Marshaller marshaller;
+      ListBucket<byte[]> list;
+      SortedSetBucket<byte[]> sortedSet;
+      OfferFunction<byte[], byte[]> offer;
+      AddManyFunction<byte[], byte[]> addMany;
+
+      @Setup(Level.Trial)
+      public void setup() {
+         cacheManager = TestCacheManagerFactory.createCacheManager();
+         marshaller = TestingUtil.extractGlobalMarshaller(cacheManager);
+
+         List<byte[]> values = new ArrayList<>(bucketSize);
+         List<ScoredValue<byte[]>> scoredValues = new ArrayList<>(bucketSize);
+         for (int i = 0; i < bucketSize; i++) {
+            byte[] value = ("element-" + i).getBytes(StandardCharsets.US_ASCII);
+            values.add(value);
+            scoredValues.add(ScoredValue.of(i, value));
+         }
+         list = ListBucket.create(values);
+         sortedSet = new SortedSetBucket<>();
+         sortedSet.addMany(scoredValues, false, false, false, false);
+
+         byte[] element = "new-element".getBytes(StandardCharsets.US_ASCII);
+         offer = new OfferFunction<>(element, true);
+         addMany = new AddManyFunction<>(List.of(ScoredValue.of(bucketSize, element)), SortedSetAddArgs.create().build());
+      }
+
+      @TearDown(Level.Trial)
+      public void tearDown() {
+         TestingUtil.killCacheManagers(cacheManager);
+      }
+   }
+
+   @Benchmark
+   public byte[] listFunction(Buckets buckets) throws Exception {
+      return buckets.marshaller.objectToByteBuffer(buckets.offer);
+   }
+
+   @Benchmark
+   public byte[] listBucket(Buckets buckets) throws Exception {
+      return buckets.marshaller.objectToByteBuffer(buckets.list);
+   }
+
+   @Benchmark
+   public byte[] sortedSetFunction(Buckets buckets) throws Exception {
+      return buckets.marshaller.objectToByteBuffer(buckets.addMany);
+   }
+
+   @Benchmark
+   public byte[] sortedSetBucket(Buckets buckets) throws Exception {
+      return buckets.marshaller.objectToByteBuffer(buckets.sortedSet);
+   }
+}
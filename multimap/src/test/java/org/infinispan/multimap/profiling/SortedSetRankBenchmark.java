@@ -0,0 +1,86 @@
+package org.infinispan.multimap.profiling;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.multimap.impl.ScoredValue;
+import org.infinispan.multimap.impl.SortedSetBucket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the rank of a member (<code>ZRANK</code>) and a range by rank (<code>ZRANGE</code>) on sorted set buckets of
+ * increasing size. Both should grow logarithmically with the size of the bucket.
+ */
+public class SortedSetRankBenchmark {
+
+   private static final int MEASUREMENT_ITERATIONS_COUNT = 10;
+   private static final int WARMUP_ITERATIONS_COUNT = 10;
+
+   public static void main(String[] args) throws Exception {
+      Options opt = new OptionsBuilder()
+            .include(SortedSetRankBenchmark.class.getName() + ".*")
+            .mode(Mode.AverageTime)
+            .timeUnit(TimeUnit.NANOSECONDS)
+            .warmupIterations(WARMUP_ITERATIONS_COUNT)
+            .measurementIterations(MEASUREMENT_ITERATIONS_COUNT)
+            .forks(3)
+            .shouldFailOnError(true)
+            .build();
+
+      new Runner(opt).run();
+   }
+
+   @State(Scope.Benchmark)
+   public static class Bucket {
+      @Param({"1000", "100000", "1000000"})
+      int bucketSize;
+
+      @Param({"10"})
+      int rangeLength;
+
+      SortedSetBucket<byte[]> sortedSet;
+      byte[][] members;
+
+      @Setup(Level.Trial)
+      public void setup() {
+         members = new byte[bucketSize][];
+         List<ScoredValue<byte[]>> scoredValues = new ArrayList<>(bucketSize);
+         for (int i = 0; i < bucketSize; i++) {
+            members[i] = ("member-" + i).getBytes(StandardCharsets.US_ASCII);
+            scoredValues.add(ScoredValue.of(i, members[i]));
+         }
+         sortedSet = new SortedSetBucket<>();
+         sortedSet.addMany(scoredValues, false, false, false, false);
+      }
+   }
+
+   @Benchmark
+   public SortedSetBucket.IndexValue rank(Bucket bucket) {
+      byte[] member = bucket.members[ThreadLocalRandom.current().nextInt(bucket.bucketSize)];
+      return bucket.sortedSet.indexOf(member, false);
+   }
+
+   @Benchmark
+   public List<ScoredValue<byte[]>> rangeByRank(Bucket bucket) {
+      long from = ThreadLocalRandom.current().nextInt(bucket.bucketSize - bucket.rangeLength);
+      return bucket.sortedSet.subsetByIndex(from, from + bucket.rangeLength - 1, false);
+   }
+
+   @Benchmark
+   public List<ScoredValue<byte[]>> rangeByScore(Bucket bucket) {
+      double from = ThreadLocalRandom.current().nextInt(bucket.bucketSize - bucket.rangeLength);
+      return bucket.sortedSet.subset(from, true, from + bucket.rangeLength, false, false, null, null);
+   }
+}
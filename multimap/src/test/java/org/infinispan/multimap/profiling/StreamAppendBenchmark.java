@@ -0,0 +1,76 @@
+package org.infinispan.multimap.profiling;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.multimap.impl.StreamBucket;
+import org.infinispan.multimap.impl.StreamEntry;
+import org.infinispan.multimap.impl.StreamEntryId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures appending entries (<code>XADD</code>) and reading the newest entries (<code>XREVRANGE + - COUNT n</code>)
+ * on stream buckets holding millions of entries. Both should not depend on the length of the stream.
+ */
+public class StreamAppendBenchmark {
+
+   private static final int MEASUREMENT_ITERATIONS_COUNT = 10;
+   private static final int WARMUP_ITERATIONS_COUNT = 10;
+
+   public static void main(String[] args) throws Exception {
+      Options opt = new OptionsBuilder()
+            .include(StreamAppendBenchmark.class.getName() + ".*")
+            .mode(Mode.Throughput)
+            .timeUnit(TimeUnit.MILLISECONDS)
+            .warmupIterations(WARMUP_ITERATIONS_COUNT)
+            .measurementIterations(MEASUREMENT_ITERATIONS_COUNT)
+            .forks(3)
+            .shouldFailOnError(true)
+            .build();
+
+      new Runner(opt).run();
+   }
+
+   @State(Scope.Benchmark)
+   public static class Stream {
+      @Param({"1000", "1000000", "5000000"})
+      int streamLength;
+
+      @Param({"10"})
+      int readCount;
+
+      StreamBucket bucket;
+      List<byte[]> fields;
+      long timestamp;
+
+      @Setup(Level.Trial)
+      public void setup() {
+         fields = List.of("sensor".getBytes(StandardCharsets.US_ASCII), "temperature".getBytes(StandardCharsets.US_ASCII),
+               "value".getBytes(StandardCharsets.US_ASCII), "21.5".getBytes(StandardCharsets.US_ASCII));
+         bucket = new StreamBucket();
+         for (int i = 0; i < streamLength; i++) {
+            bucket.add(bucket.nextId(timestamp++ / 10), fields);
+         }
+      }
+   }
+
+   @Benchmark
+   public boolean append(Stream stream) {
+      return stream.bucket.add(stream.bucket.nextId(stream.timestamp++ / 10), stream.fields);
+   }
+
+   @Benchmark
+   public List<StreamEntry> readNewest(Stream stream) {
+      return stream.bucket.range(StreamEntryId.MIN, StreamEntryId.MAX, stream.readCount, true);
+   }
+}
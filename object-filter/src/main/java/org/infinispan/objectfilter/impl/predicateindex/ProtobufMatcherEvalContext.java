@@ -5,9 +5,7 @@
 import org.infinispan.objectfilter.impl.logging.Log;
 import org.infinispan.objectfilter.impl.syntax.parser.ProtobufPropertyHelper;
 import org.infinispan.protostream.MessageContext;
-import org.infinispan.protostream.ProtobufParser;
 import org.infinispan.protostream.SerializationContext;
-import org.infinispan.protostream.TagHandler;
 import org.infinispan.protostream.WrappedMessage;
 import org.infinispan.protostream.descriptors.Descriptor;
 import org.infinispan.protostream.descriptors.FieldDescriptor;
@@ -19,14 +17,15 @@
  * @author anistor@redhat.com
  * @since 7.0
  */
-public final class ProtobufMatcherEvalContext extends MatcherEvalContext<Descriptor, FieldDescriptor, Integer> implements TagHandler {
+public final class ProtobufMatcherEvalContext extends MatcherEvalContext<Descriptor, FieldDescriptor, Integer> implements SelectiveProtobufParser.Handler {
 
    private static final Log log = Logger.getMessageLogger(Log.class, ProtobufMatcherEvalContext.class.getName());
 
    private boolean payloadStarted = false;
-   private int skipping = 0;
 
-   private byte[] payload;
+   // The payload is read in place from the wrapping message
+   private int payloadOffset = -1;
+   private int payloadLength;
    private String entityTypeName;
    private Descriptor payloadMessageDescriptor;
    private MessageContext messageContext;
@@ -38,7 +37,7 @@ public ProtobufMatcherEvalContext(Object userContext, Object eventType, Object k
       super(userContext, eventType, key, instance);
       this.serializationContext = serializationContext;
       try {
-         ProtobufParser.INSTANCE.parse(this, wrappedMessageDescriptor, (byte[]) getInstance());
+         SelectiveProtobufParser.parse(this, wrappedMessageDescriptor, (byte[]) getInstance());
       } catch (IOException e) {
          throw log.errorParsingProtobuf(e);
       }
@@ -53,16 +52,30 @@ public Descriptor getEntityType() {
    public void onStart(GenericDescriptor descriptor) {
    }
 
+   @Override
+   public boolean isInteresting(int fieldNumber) {
+      // Skip the fields no predicate or projection refers to, without decoding them
+      return !payloadStarted || currentNode.getChild(fieldNumber) != null;
+   }
+
+   @Override
+   public void onBytes(int fieldNumber, FieldDescriptor fieldDescriptor, byte[] buf, int offset, int length) {
+      if (!payloadStarted && fieldNumber == WrappedMessage.WRAPPED_MESSAGE) {
+         payloadOffset = offset;
+         payloadLength = length;
+      } else {
+         SelectiveProtobufParser.Handler.super.onBytes(fieldNumber, fieldDescriptor, buf, offset, length);
+      }
+   }
+
    //todo [anistor] missing tags need to be fired with default value defined in proto schema or null if they admit null; missing messages need to be fired with null at end of the nesting level. BTW, seems like this is better to be included in Protostream as a feature
    @Override
    public void onTag(int fieldNumber, FieldDescriptor fieldDescriptor, Object tagValue) {
       if (payloadStarted) {
-         if (skipping == 0) {
-            AttributeNode<FieldDescriptor, Integer> attrNode = currentNode.getChild(fieldNumber);
-            if (attrNode != null) { // process only 'interesting' tags
-               messageContext.markField(fieldNumber);
-               attrNode.processValue(tagValue, this);
-            }
+         AttributeNode<FieldDescriptor, Integer> attrNode = currentNode.getChild(fieldNumber);
+         if (attrNode != null) { // process only 'interesting' tags
+            messageContext.markField(fieldNumber);
+            attrNode.processValue(tagValue, this);
          }
       } else {
          switch (fieldNumber) {
@@ -74,10 +87,6 @@ public void onTag(int fieldNumber, FieldDescriptor fieldDescriptor, Object tagVa
                entityTypeName = serializationContext.getDescriptorByTypeId((Integer) tagValue).getFullName();
                break;
 
-            case WrappedMessage.WRAPPED_MESSAGE:
-               payload = (byte[]) tagValue;
-               break;
-
             case WrappedMessage.WRAPPED_DOUBLE:
             case WrappedMessage.WRAPPED_FLOAT:
             case WrappedMessage.WRAPPED_INT64:
@@ -106,18 +115,11 @@ public void onTag(int fieldNumber, FieldDescriptor fieldDescriptor, Object tagVa
    @Override
    public void onStartNested(int fieldNumber, FieldDescriptor fieldDescriptor) {
       if (payloadStarted) {
-         if (skipping == 0) {
-            AttributeNode<FieldDescriptor, Integer> attrNode = currentNode.getChild(fieldNumber);
-            if (attrNode != null) { // ignore 'uninteresting' tags
-               messageContext.markField(fieldNumber);
-               pushContext(fieldDescriptor, fieldDescriptor.getMessageType());
-               currentNode = attrNode;
-               return;
-            }
-         }
-
-         // found an uninteresting nesting level, start skipping from here on until this level ends
-         skipping++;
+         // the parser skips the uninteresting nesting levels
+         AttributeNode<FieldDescriptor, Integer> attrNode = currentNode.getChild(fieldNumber);
+         messageContext.markField(fieldNumber);
+         pushContext(fieldDescriptor, fieldDescriptor.getMessageType());
+         currentNode = attrNode;
       } else {
          throw new IllegalStateException("No nested message is supported");
       }
@@ -126,12 +128,8 @@ public void onStartNested(int fieldNumber, FieldDescriptor fieldDescriptor) {
    @Override
    public void onEndNested(int fieldNumber, FieldDescriptor fieldDescriptor) {
       if (payloadStarted) {
-         if (skipping == 0) {
-            popContext();
-            currentNode = currentNode.getParent();
-         } else {
-            skipping--;
-         }
+         popContext();
+         currentNode = currentNode.getParent();
       } else {
          throw new IllegalStateException("No nested message is supported");
       }
@@ -144,7 +142,7 @@ public void onEnd() {
       } else {
          payloadStarted = true;
 
-         if (payload != null) {
+         if (payloadOffset >= 0) {
             if (entityTypeName == null) {
                throw new IllegalStateException("Descriptor name is missing");
             }
@@ -158,7 +156,7 @@ public void onEnd() {
    @Override
    protected void processAttributes(AttributeNode<FieldDescriptor, Integer> node, Object instance) {
       try {
-         ProtobufParser.INSTANCE.parse(this, payloadMessageDescriptor, payload);
+         SelectiveProtobufParser.parse(this, payloadMessageDescriptor, (byte[]) getInstance(), payloadOffset, payloadLength);
          for (AttributeNode<FieldDescriptor, Integer> childAttribute : node.getChildren()) {
             if (childAttribute.getAttribute() >= ProtobufPropertyHelper.MIN_METADATA_FIELD_ATTRIBUTE_ID) {
                Object attributeValue = node.cacheMetadataProjection(key, childAttribute.getAttribute());
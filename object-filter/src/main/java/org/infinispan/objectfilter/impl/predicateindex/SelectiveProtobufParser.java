@@ -0,0 +1,322 @@
+package org.infinispan.objectfilter.impl.predicateindex;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.infinispan.protostream.TagHandler;
+import org.infinispan.protostream.descriptors.Descriptor;
+import org.infinispan.protostream.descriptors.FieldDescriptor;
+
+/**
+ * Parses an encoded protobuf message like {@link org.infinispan.protostream.ProtobufParser} does, but only decodes the
+ * fields the handler is interested in. The other fields, including whole nested messages, are skipped using their
+ * encoded length, so evaluating a predicate does not decode the parts of the message it does not reference.
+ *
+ * @since 15.1
+ */
+final class SelectiveProtobufParser {
+
+   private static final int WIRETYPE_VARINT = 0;
+   private static final int WIRETYPE_FIXED64 = 1;
+   private static final int WIRETYPE_LENGTH_DELIMITED = 2;
+   private static final int WIRETYPE_START_GROUP = 3;
+   private static final int WIRETYPE_END_GROUP = 4;
+   private static final int WIRETYPE_FIXED32 = 5;
+
+   interface Handler extends TagHandler {
+
+      /**
+       * @return whether the field of the message being parsed must be decoded and passed to the handler.
+       */
+      boolean isInteresting(int fieldNumber);
+
+      /**
+       * Receives a bytes field without copying it.
+       */
+      default void onBytes(int fieldNumber, FieldDescriptor fieldDescriptor, byte[] buf, int offset, int length) {
+         onTag(fieldNumber, fieldDescriptor, Arrays.copyOfRange(buf, offset, offset + length));
+      }
+   }
+
+   private final byte[] buf;
+   private int pos;
+
+   private SelectiveProtobufParser(byte[] buf, int offset) {
+      this.buf = buf;
+      this.pos = offset;
+   }
+
+   static void parse(Handler handler, Descriptor messageDescriptor, byte[] buf) throws IOException {
+      parse(handler, messageDescriptor, buf, 0, buf.length);
+   }
+
+   static void parse(Handler handler, Descriptor messageDescriptor, byte[] buf, int offset, int length) throws IOException {
+      SelectiveProtobufParser parser = new SelectiveProtobufParser(buf, offset);
+      handler.onStart(messageDescriptor);
+      parser.parseMessage(handler, messageDescriptor, offset + length, -1);
+      handler.onEnd();
+   }
+
+   private void parseMessage(Handler handler, Descriptor messageDescriptor, int limit, int endGroupField) throws IOException {
+      while (pos < limit) {
+         int tag = (int) readVarint(limit);
+         int fieldNumber = tag >>> 3;
+         int wireType = tag & 7;
+         if (wireType == WIRETYPE_END_GROUP) {
+            if (fieldNumber != endGroupField) {
+               throw new IOException("Unexpected end group tag for field " + fieldNumber);
+            }
+            return;
+         }
+         if (!handler.isInteresting(fieldNumber)) {
+            skipField(wireType, fieldNumber, limit);
+            continue;
+         }
+         FieldDescriptor fd = messageDescriptor != null ? messageDescriptor.findFieldByNumber(fieldNumber) : null;
+         if (fd == null) {
+            readUnknownField(handler, fieldNumber, wireType, limit);
+         } else {
+            readField(handler, fd, wireType, limit);
+         }
+      }
+      if (pos != limit || endGroupField != -1) {
+         throw truncated();
+      }
+   }
+
+   private void readField(Handler handler, FieldDescriptor fd, int wireType, int limit) throws IOException {
+      int fieldNumber = fd.getNumber();
+      switch (fd.getType()) {
+         case MESSAGE:
+            if (wireType != WIRETYPE_LENGTH_DELIMITED) {
+               skipField(wireType, fieldNumber, limit);
+               return;
+            }
+            int end = readLength(limit);
+            handler.onStartNested(fieldNumber, fd);
+            parseMessage(handler, fd.getMessageType(), end, -1);
+            handler.onEndNested(fieldNumber, fd);
+            return;
+         case GROUP:
+            if (wireType != WIRETYPE_START_GROUP) {
+               skipField(wireType, fieldNumber, limit);
+               return;
+            }
+            handler.onStartNested(fieldNumber, fd);
+            parseMessage(handler, fd.getMessageType(), limit, fieldNumber);
+            handler.onEndNested(fieldNumber, fd);
+            return;
+         case STRING:
+            if (wireType != WIRETYPE_LENGTH_DELIMITED) {
+               skipField(wireType, fieldNumber, limit);
+               return;
+            }
+            int stringEnd = readLength(limit);
+            handler.onTag(fieldNumber, fd, new String(buf, pos, stringEnd - pos, StandardCharsets.UTF_8));
+            pos = stringEnd;
+            return;
+         case BYTES:
+            if (wireType != WIRETYPE_LENGTH_DELIMITED) {
+               skipField(wireType, fieldNumber, limit);
+               return;
+            }
+            int bytesEnd = readLength(limit);
+            int bytesStart = pos;
+            pos = bytesEnd;
+            handler.onBytes(fieldNumber, fd, buf, bytesStart, bytesEnd - bytesStart);
+            return;
+         default:
+            int scalarWireType = scalarWireType(fd);
+            if (scalarWireType < 0) {
+               skipField(wireType, fieldNumber, limit);
+            } else if (wireType == scalarWireType) {
+               handler.onTag(fieldNumber, fd, readScalar(fd, limit));
+            } else if (wireType == WIRETYPE_LENGTH_DELIMITED && fd.isRepeated()) {
+               // packed repeated field
+               int packedEnd = readLength(limit);
+               while (pos < packedEnd) {
+                  handler.onTag(fieldNumber, fd, readScalar(fd, packedEnd));
+               }
+               if (pos != packedEnd) {
+                  throw truncated();
+               }
+            } else {
+               skipField(wireType, fieldNumber, limit);
+            }
+      }
+   }
+
+   private void readUnknownField(Handler handler, int fieldNumber, int wireType, int limit) throws IOException {
+      switch (wireType) {
+         case WIRETYPE_VARINT:
+            handler.onTag(fieldNumber, null, readVarint(limit));
+            break;
+         case WIRETYPE_FIXED64:
+            handler.onTag(fieldNumber, null, readFixed64(limit));
+            break;
+         case WIRETYPE_FIXED32:
+            handler.onTag(fieldNumber, null, readFixed32(limit));
+            break;
+         case WIRETYPE_LENGTH_DELIMITED:
+            int end = readLength(limit);
+            int start = pos;
+            pos = end;
+            handler.onBytes(fieldNumber, null, buf, start, end - start);
+            break;
+         default:
+            skipField(wireType, fieldNumber, limit);
+      }
+   }
+
+   private static int scalarWireType(FieldDescriptor fd) {
+      switch (fd.getType()) {
+         case DOUBLE:
+         case FIXED64:
+         case SFIXED64:
+            return WIRETYPE_FIXED64;
+         case FLOAT:
+         case FIXED32:
+         case SFIXED32:
+            return WIRETYPE_FIXED32;
+         case INT32:
+         case INT64:
+         case UINT32:
+         case UINT64:
+         case SINT32:
+         case SINT64:
+         case BOOL:
+         case ENUM:
+            return WIRETYPE_VARINT;
+         default:
+            return -1;
+      }
+   }
+
+   /**
+    * Decodes a scalar to the same type as {@link org.infinispan.protostream.TagReader} does.
+    */
+   private Object readScalar(FieldDescriptor fd, int limit) throws IOException {
+      switch (fd.getType()) {
+         case DOUBLE:
+            return Double.longBitsToDouble(readFixed64(limit));
+         case FLOAT:
+            return Float.intBitsToFloat(readFixed32(limit));
+         case FIXED64:
+         case SFIXED64:
+            return readFixed64(limit);
+         case FIXED32:
+         case SFIXED32:
+            return readFixed32(limit);
+         case INT64:
+         case UINT64:
+            return readVarint(limit);
+         case SINT32: {
+            int n = (int) readVarint(limit);
+            return (n >>> 1) ^ -(n & 1);
+         }
+         case SINT64: {
+            long n = readVarint(limit);
+            return (n >>> 1) ^ -(n & 1);
+         }
+         case BOOL:
+            return readVarint(limit) != 0;
+         default:
+            // INT32, UINT32 and ENUM
+            return (int) readVarint(limit);
+      }
+   }
+
+   private void skipField(int wireType, int fieldNumber, int limit) throws IOException {
+      switch (wireType) {
+         case WIRETYPE_VARINT:
+            readVarint(limit);
+            break;
+         case WIRETYPE_FIXED64:
+            advance(8, limit);
+            break;
+         case WIRETYPE_FIXED32:
+            advance(4, limit);
+            break;
+         case WIRETYPE_LENGTH_DELIMITED:
+            pos = readLength(limit);
+            break;
+         case WIRETYPE_START_GROUP:
+            skipGroup(fieldNumber, limit);
+            break;
+         default:
+            throw new IOException("Invalid wire type " + wireType + " for field " + fieldNumber);
+      }
+   }
+
+   private void skipGroup(int groupField, int limit) throws IOException {
+      while (pos < limit) {
+         int tag = (int) readVarint(limit);
+         int fieldNumber = tag >>> 3;
+         int wireType = tag & 7;
+         if (wireType == WIRETYPE_END_GROUP) {
+            if (fieldNumber != groupField) {
+               throw new IOException("Unexpected end group tag for field " + fieldNumber);
+            }
+            return;
+         }
+         skipField(wireType, fieldNumber, limit);
+      }
+      throw truncated();
+   }
+
+   /**
+    * Reads the length prefix of a length delimited field.
+    *
+    * @return the position where the field ends.
+    */
+   private int readLength(int limit) throws IOException {
+      int length = (int) readVarint(limit);
+      if (length < 0 || length > limit - pos) {
+         throw truncated();
+      }
+      return pos + length;
+   }
+
+   private long readVarint(int limit) throws IOException {
+      long result = 0;
+      for (int shift = 0; shift < 64; shift += 7) {
+         if (pos >= limit) {
+            throw truncated();
+         }
+         byte b = buf[pos++];
+         result |= (long) (b & 0x7F) << shift;
+         if (b >= 0) {
+            return result;
+         }
+      }
+      throw new IOException("Malformed varint");
+   }
+
+   private int readFixed32(int limit) throws IOException {
+      advance(4, limit);
+      int p = pos - 4;
+      return (buf[p] & 0xFF) | (buf[p + 1] & 0xFF) << 8 | (buf[p + 2] & 0xFF) << 16 | (buf[p + 3] & 0xFF) << 24;
+   }
+
+   private long readFixed64(int limit) throws IOException {
+      advance(8, limit);
+      int p = pos - 8;
+      long result = 0;
+      for (int i = 7; i >= 0; i--) {
+         result = (result << 8) | (buf[p + i] & 0xFF);
+      }
+      return result;
+   }
+
+   private void advance(int count, int limit) throws IOException {
+      if (count > limit - pos) {
+         throw truncated();
+      }
+      pos += count;
+   }
+
+   private static IOException truncated() {
+      return new IOException("Truncated protobuf message");
+   }
+}
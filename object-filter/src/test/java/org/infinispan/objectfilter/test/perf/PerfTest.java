@@ -3,7 +3,9 @@
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import org.infinispan.commons.test.categories.Profiling;
 import org.infinispan.objectfilter.Matcher;
@@ -28,6 +30,10 @@ public class PerfTest {
 
    private final int NUM_FILTERS = 1;
 
+   private final int SCAN_ENTRIES = 10000;
+
+   private final int SCAN_ITERATIONS = 1000;
+
    @Test
    public void testLikeMatchPerf() throws Exception {
       long time = measureMatch("from org.infinispan.objectfilter.test.model.Person p where p.name like 'Jo%'");
@@ -92,6 +98,39 @@ protected long measureFilter(String query) throws Exception {
       return System.nanoTime() - stime;
    }
 
+   @Test
+   public void testFullScanPerf() throws Exception {
+      // A non-indexed query scans every entry, and only a few of them match
+      long time = measureScan("from org.infinispan.objectfilter.test.model.Person p where p.surname = 'Batman' and p.age > 30");
+      System.out.println(getClass().getSimpleName() + ".testFullScanPerf " + time / 1000 / SCAN_ITERATIONS + "us per scan of " + SCAN_ENTRIES + " entries");
+   }
+
+   protected long measureScan(String query) throws Exception {
+      Matcher matcher = createMatcher();
+      ObjectFilter objectFilter = matcher.getObjectFilter(query);
+
+      List<Object> entries = new ArrayList<>(SCAN_ENTRIES);
+      for (int i = 0; i < SCAN_ENTRIES; i++) {
+         Person person = buildPerson1();
+         if (i % 10 != 0) {
+            person.setSurname("Robin" + i);
+         }
+         entries.add(toInstance(person));
+      }
+
+      long stime = System.nanoTime();
+      for (int i = 0; i < SCAN_ITERATIONS; i++) {
+         int matchCount = 0;
+         for (Object entry : entries) {
+            if (objectFilter.filter(entry) != null) {
+               matchCount++;
+            }
+         }
+         assertEquals(SCAN_ENTRIES / 10, matchCount);
+      }
+      return System.nanoTime() - stime;
+   }
+
    protected void printTime(String text, long totalTime) {
       double iterationTime = totalTime / 1000;
       iterationTime /= ITERATIONS;
@@ -103,6 +142,14 @@ protected Matcher createMatcher() throws Exception {
    }
 
    protected Object createPerson1() throws Exception {
+      return toInstance(buildPerson1());
+   }
+
+   protected Object toInstance(Person person) throws Exception {
+      return person;
+   }
+
+   private Person buildPerson1() {
       Person person = new Person();
       person.setName("John");
       person.setSurname("Batman");
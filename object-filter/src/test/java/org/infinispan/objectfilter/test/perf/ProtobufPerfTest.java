@@ -3,6 +3,7 @@
 import org.infinispan.commons.test.categories.Profiling;
 import org.infinispan.objectfilter.Matcher;
 import org.infinispan.objectfilter.impl.ProtobufMatcher;
+import org.infinispan.objectfilter.test.model.Person;
 import org.infinispan.objectfilter.test.model.TestDomainSCI;
 import org.infinispan.protostream.ProtobufUtil;
 import org.infinispan.protostream.SerializationContext;
@@ -31,7 +32,7 @@ protected Matcher createMatcher() {
       return new ProtobufMatcher(serCtx, null);
    }
 
-   protected Object createPerson1() throws Exception {
-      return ProtobufUtil.toWrappedByteArray(serCtx, super.createPerson1());
+   protected Object toInstance(Person person) throws Exception {
+      return ProtobufUtil.toWrappedByteArray(serCtx, person);
    }
 }
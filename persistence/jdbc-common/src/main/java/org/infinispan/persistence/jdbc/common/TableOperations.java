@@ -2,9 +2,14 @@
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 
 import org.infinispan.commons.util.IntSet;
 import org.infinispan.persistence.spi.MarshallableEntry;
@@ -19,6 +24,25 @@
 public interface TableOperations<K, V> {
    MarshallableEntry<K, V> loadEntry(Connection connection, int segment, Object key) throws SQLException;
 
+   /**
+    * Loads the entries of the given keys using the same connection. The keys that are not found or are expired are
+    * not returned.
+    * <p>
+    * The default implementation invokes {@link #loadEntry(Connection, int, Object)} for each key, implementations
+    * should override it when they can read many keys with a single statement.
+    */
+   default List<MarshallableEntry<K, V>> loadEntries(Connection connection, Collection<?> keys,
+         ToIntFunction<Object> segmentMapper) throws SQLException {
+      List<MarshallableEntry<K, V>> entries = new ArrayList<>(keys.size());
+      for (Object key : keys) {
+         MarshallableEntry<K, V> entry = loadEntry(connection, segmentMapper.applyAsInt(key), key);
+         if (entry != null) {
+            entries.add(entry);
+         }
+      }
+      return entries;
+   }
+
    default Flowable<K> publishKeys(Supplier<Connection> connectionSupplier, Consumer<Connection> connectionCloser,
          IntSet segments, Predicate<? super K> filter) {
       return publishEntries(connectionSupplier, connectionCloser, segments, filter, false)
@@ -28,6 +52,17 @@ default Flowable<K> publishKeys(Supplier<Connection> connectionSupplier, Consume
    Flowable<MarshallableEntry<K, V>> publishEntries(Supplier<Connection> connectionSupplier,
          Consumer<Connection> connectionCloser, IntSet segments, Predicate<? super K> filter, boolean fetchValue);
 
+   /**
+    * Splits {@link #publishEntries(Supplier, Consumer, IntSet, Predicate, boolean)} into publishers that together
+    * publish the same entries and that may be subscribed to concurrently, each acquiring its own connections.
+    * <p>
+    * The default implementation does not split the iteration and returns a single publisher.
+    */
+   default List<Flowable<MarshallableEntry<K, V>>> publishEntriesPartitions(Supplier<Connection> connectionSupplier,
+         Consumer<Connection> connectionCloser, IntSet segments, Predicate<? super K> filter, boolean fetchValue) {
+      return Collections.singletonList(publishEntries(connectionSupplier, connectionCloser, segments, filter, fetchValue));
+   }
+
    boolean deleteEntry(Connection connection, int segment, Object key) throws SQLException;
 
    void deleteAllRows(Connection connection) throws SQLException;
@@ -27,6 +27,7 @@ public enum Attribute {
    EMBEDDED_KEY,
    FETCH_SIZE,
    FILE_NAME,
+   ITERATION_PARALLELISM,
    KEY_COLUMNS,
    KEY_MESSAGE_NAME,
    KEY_TO_STRING_MAPPER,
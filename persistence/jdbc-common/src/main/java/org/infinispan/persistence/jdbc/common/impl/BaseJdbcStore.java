@@ -4,12 +4,15 @@
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 
 import jakarta.transaction.Transaction;
 
@@ -28,7 +31,9 @@
 import org.reactivestreams.Publisher;
 
 import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Scheduler;
 import io.reactivex.rxjava3.internal.functions.Functions;
+import io.reactivex.rxjava3.schedulers.Schedulers;
 
 public abstract class BaseJdbcStore<K, V, C extends AbstractJdbcStoreConfiguration> implements NonBlockingStore<K, V> {
    protected static final Log log = LogFactory.getLog(BaseJdbcStore.class, Log.class);
@@ -137,6 +142,23 @@ public CompletionStage<MarshallableEntry<K, V>> load(int segment, Object key) {
       }, "jdbcstore-load");
    }
 
+   @Override
+   public Publisher<MarshallableEntry<K, V>> load(Collection<?> keys, ToIntFunction<Object> segmentMapper) {
+      return Flowable.fromCompletionStage(blockingManager.supplyBlocking(() -> {
+         Connection conn = null;
+         try {
+            conn = connectionFactory.getConnection();
+            return tableOperations.loadEntries(conn, keys, segmentMapper);
+         } catch (SQLException e) {
+            PERSISTENCE.sqlFailureReadingKeys(keys, e);
+            throw new PersistenceException(String.format(
+                  "SQL error while fetching stored entries with keys: %s", keys), e);
+         } finally {
+            connectionFactory.releaseConnection(conn);
+         }
+      }, "jdbcstore-load-many")).concatMapIterable(Functions.identity());
+   }
+
    @Override
    public CompletionStage<Void> write(int segment, MarshallableEntry<? extends K, ? extends V> entry) {
       return blockingManager.runBlocking(() -> {
@@ -270,14 +292,30 @@ protected void destroyTxConnection(Transaction tx) {
 
    @Override
    public Publisher<MarshallableEntry<K, V>> publishEntries(IntSet segments, Predicate<? super K> filter, boolean includeValues) {
-      return blockingManager.blockingPublisher(tableOperations.publishEntries(connectionFactory::getConnection,
-            connectionFactory::releaseConnection, segments, filter, includeValues));
+      List<Flowable<MarshallableEntry<K, V>>> partitions = tableOperations.publishEntriesPartitions(
+            connectionFactory::getConnection, connectionFactory::releaseConnection, segments, filter, includeValues);
+      if (partitions.size() == 1) {
+         return blockingManager.blockingPublisher(partitions.get(0));
+      }
+      return publishPartitions(partitions);
    }
 
    @Override
    public Publisher<K> publishKeys(IntSet segments, Predicate<? super K> filter) {
-      return blockingManager.blockingPublisher(tableOperations.publishKeys(connectionFactory::getConnection,
-            connectionFactory::releaseConnection, segments, filter));
+      List<Flowable<MarshallableEntry<K, V>>> partitions = tableOperations.publishEntriesPartitions(
+            connectionFactory::getConnection, connectionFactory::releaseConnection, segments, filter, false);
+      if (partitions.size() == 1) {
+         return blockingManager.blockingPublisher(partitions.get(0).map(MarshallableEntry::getKey));
+      }
+      return Flowable.fromPublisher(publishPartitions(partitions))
+            .map(MarshallableEntry::getKey);
+   }
+
+   private <E> Publisher<E> publishPartitions(List<Flowable<E>> partitions) {
+      // Each partition is subscribed on its own blocking thread, even when the subscriber is already a blocking thread
+      Scheduler scheduler = Schedulers.from(blockingManager.asExecutor("jdbcstore-publish"));
+      return blockingManager.blockingPublisher(Flowable.fromIterable(partitions)
+            .flatMap(partition -> partition.subscribeOn(scheduler), partitions.size()));
    }
 
    @Override
@@ -6,6 +6,7 @@
 import java.io.IOException;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 
 import javax.naming.NamingException;
@@ -280,4 +281,8 @@ CacheConfigurationException deleteAndSelectQueryMismatchArguments(String paramNa
    @LogMessage(level = WARN)
    @Message(value = "There was no JDBC metadata present in table %s, unable to confirm if segments are properly configured! Segments are assumed to be properly configured.", id = 8072)
    void sqlMetadataNotPresent(String tableName);
+
+   @LogMessage(level = ERROR)
+   @Message(value = "SQL error while fetching stored entries with keys: %s", id = 8073)
+   void sqlFailureReadingKeys(Collection<?> keys, @Cause SQLException e);
 }
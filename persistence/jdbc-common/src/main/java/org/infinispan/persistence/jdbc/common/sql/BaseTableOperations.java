@@ -167,13 +167,11 @@ public long size(Connection connection) throws SQLException {
    @Override
    public void batchUpdates(Connection connection, int writePublisherCount, Publisher<Object> removePublisher,
          Publisher<NonBlockingStore.SegmentedPublisher<MarshallableEntry<K, V>>> writePublisher) throws SQLException {
-      String upsertSql = getUpsertRowSql();
       String deleteSql = getDeleteRowSql();
       if (log.isTraceEnabled()) {
-         log.tracef("Running batch upsert sql '%s'", upsertSql);
          log.tracef("Running batch delete sql '%s'", deleteSql);
       }
-      try (PreparedStatement upsertBatch = connection.prepareStatement(upsertSql);
+      try (UpsertBatch<K, V> upsertBatch = createUpsertBatch(connection);
            PreparedStatement deleteBatch = connection.prepareStatement(deleteSql)) {
 
          // Note this one is non blocking as we need to subscribe to both Publishers before anything is processed.
@@ -191,14 +189,11 @@ public void batchUpdates(Connection connection, int writePublisherCount, Publish
          Flowable.fromPublisher(writePublisher)
                .concatMapEager(sp ->
                      Flowable.fromPublisher(sp)
-                           .doOnNext(me -> {
-                              prepareValueStatement(upsertBatch, sp.getSegment(), me);
-                              upsertBatch.addBatch();
-                           }), writePublisherCount, writePublisherCount
+                           .doOnNext(me -> upsertBatch.add(sp.getSegment(), me)), writePublisherCount, writePublisherCount
                ).lastElement()
                .blockingSubscribe(hadValue::set, throwableRef::set);
          if (hadValue.get() != null) {
-            upsertBatch.executeBatch();
+            upsertBatch.execute();
          }
 
          Throwable t = throwableRef.get();
@@ -213,6 +208,56 @@ public void batchUpdates(Connection connection, int writePublisherCount, Publish
       }
    }
 
+   /**
+    * Creates the writer of the upserts of {@link #batchUpdates(Connection, int, Publisher, Publisher)}. The default
+    * writer adds an execution of {@link #getUpsertRowSql()} per entry to a JDBC batch. Table operations of databases
+    * that can upsert many rows with a single statement should return a writer that does so.
+    */
+   protected UpsertBatch<K, V> createUpsertBatch(Connection connection) throws SQLException {
+      String upsertSql = getUpsertRowSql();
+      if (log.isTraceEnabled()) {
+         log.tracef("Running batch upsert sql '%s'", upsertSql);
+      }
+      return new JdbcUpsertBatch(connection.prepareStatement(upsertSql));
+   }
+
+   /**
+    * Accumulates the entries written by a batch. The entries may be written to the database as they are added, but
+    * they must all be written once {@link #execute()} returns.
+    */
+   protected interface UpsertBatch<K, V> extends AutoCloseable {
+      void add(int segment, MarshallableEntry<? extends K, ? extends V> entry) throws SQLException;
+
+      void execute() throws SQLException;
+
+      @Override
+      void close() throws SQLException;
+   }
+
+   private class JdbcUpsertBatch implements UpsertBatch<K, V> {
+      private final PreparedStatement statement;
+
+      JdbcUpsertBatch(PreparedStatement statement) {
+         this.statement = statement;
+      }
+
+      @Override
+      public void add(int segment, MarshallableEntry<? extends K, ? extends V> entry) throws SQLException {
+         prepareValueStatement(statement, segment, entry);
+         statement.addBatch();
+      }
+
+      @Override
+      public void execute() throws SQLException {
+         statement.executeBatch();
+      }
+
+      @Override
+      public void close() throws SQLException {
+         statement.close();
+      }
+   }
+
    @Override
    public Flowable<MarshallableEntry<K, V>> publishEntries(Supplier<Connection> connectionSupplier,
          Consumer<Connection> connectionCloser, IntSet segments, Predicate<? super K> filter, boolean fetchValue) {
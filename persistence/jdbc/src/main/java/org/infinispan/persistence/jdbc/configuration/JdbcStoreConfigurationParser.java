@@ -107,6 +107,10 @@ private void parseTable(ConfigurationReader reader, TableManipulationConfigurati
                builder.fetchSize(Integer.parseInt(value));
                break;
             }
+            case ITERATION_PARALLELISM: {
+               builder.iterationParallelism(Integer.parseInt(value));
+               break;
+            }
             case PREFIX: {
                builder.tableNamePrefix(value);
                break;
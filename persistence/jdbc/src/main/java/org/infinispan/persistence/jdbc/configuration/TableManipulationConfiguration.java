@@ -13,17 +13,19 @@ public class TableManipulationConfiguration {
    // TODO remove in 10.0
    public static final AttributeDefinition<Integer> BATCH_SIZE = AttributeDefinition.builder(org.infinispan.persistence.jdbc.common.configuration.Attribute.BATCH_SIZE, AbstractStoreConfiguration.MAX_BATCH_SIZE.getDefaultValue()).immutable().build();
    public static final AttributeDefinition<Integer> FETCH_SIZE = AttributeDefinition.builder(org.infinispan.persistence.jdbc.common.configuration.Attribute.FETCH_SIZE, TableManager.DEFAULT_FETCH_SIZE).immutable().build();
+   public static final AttributeDefinition<Integer> ITERATION_PARALLELISM = AttributeDefinition.builder(org.infinispan.persistence.jdbc.common.configuration.Attribute.ITERATION_PARALLELISM, 1).immutable().build();
    public static final AttributeDefinition<Boolean> CREATE_ON_START = AttributeDefinition.builder(org.infinispan.persistence.jdbc.common.configuration.Attribute.CREATE_ON_START, true).immutable().build();
    public static final AttributeDefinition<Boolean> DROP_ON_EXIT = AttributeDefinition.builder(org.infinispan.persistence.jdbc.common.configuration.Attribute.DROP_ON_EXIT, false).immutable().build();
 
    static AttributeSet attributeSet() {
-      return new AttributeSet(TableManipulationConfiguration.class, Element.TABLE_JDBC_STORE, TABLE_NAME_PREFIX, BATCH_SIZE, FETCH_SIZE, CREATE_ON_START, DROP_ON_EXIT);
+      return new AttributeSet(TableManipulationConfiguration.class, Element.TABLE_JDBC_STORE, TABLE_NAME_PREFIX, BATCH_SIZE, FETCH_SIZE, ITERATION_PARALLELISM, CREATE_ON_START, DROP_ON_EXIT);
    }
 
    private final Attribute<String> tableNamePrefix;
 
    private final Attribute<Integer> batchSize;
    private final Attribute<Integer> fetchSize;
+   private final Attribute<Integer> iterationParallelism;
    private final Attribute<Boolean> createOnStart;
    private final Attribute<Boolean> dropOnExit;
    private final AttributeSet attributes;
@@ -42,6 +44,7 @@ static AttributeSet attributeSet() {
       tableNamePrefix = attributes.attribute(TABLE_NAME_PREFIX);
       batchSize = attributes.attribute(BATCH_SIZE);
       fetchSize = attributes.attribute(FETCH_SIZE);
+      iterationParallelism = attributes.attribute(ITERATION_PARALLELISM);
       createOnStart = attributes.attribute(CREATE_ON_START);
       dropOnExit = attributes.attribute(DROP_ON_EXIT);
       this.idColumn = idColumn;
@@ -98,6 +101,14 @@ public int fetchSize() {
       return fetchSize.get();
    }
 
+   /**
+    * @return the number of connections used concurrently to iterate over the table. When greater than one the rows
+    * are read in pages of {@link #fetchSize()} rows, ordered by id, each page with a short lived statement.
+    */
+   public int iterationParallelism() {
+      return iterationParallelism.get();
+   }
+
    /**
     * @deprecated please use {@link org.infinispan.configuration.cache.AbstractStoreConfiguration#maxBatchSize()} instead.
     * @return the size of batches to process.  Guaranteed to be a power of two.
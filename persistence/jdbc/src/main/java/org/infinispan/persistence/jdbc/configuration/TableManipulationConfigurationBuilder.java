@@ -5,6 +5,7 @@
 import static org.infinispan.persistence.jdbc.configuration.TableManipulationConfiguration.CREATE_ON_START;
 import static org.infinispan.persistence.jdbc.configuration.TableManipulationConfiguration.DROP_ON_EXIT;
 import static org.infinispan.persistence.jdbc.configuration.TableManipulationConfiguration.FETCH_SIZE;
+import static org.infinispan.persistence.jdbc.configuration.TableManipulationConfiguration.ITERATION_PARALLELISM;
 import static org.infinispan.persistence.jdbc.configuration.TableManipulationConfiguration.TABLE_NAME_PREFIX;
 
 import org.infinispan.commons.configuration.Builder;
@@ -61,6 +62,17 @@ public S fetchSize(int fetchSize) {
       return self();
    }
 
+   /**
+    * Sets the number of pooled connections used concurrently when iterating over the table, such as during preload or
+    * state transfer. Segments are split among the connections and each one reads its rows in pages of
+    * {@link #fetchSize(int)} rows, ordered by id, so that no statement stays open for the whole iteration. Defaults
+    * to 1, which reads the table with a single statement.
+    */
+   public S iterationParallelism(int iterationParallelism) {
+      attributes.attribute(ITERATION_PARALLELISM).set(iterationParallelism);
+      return self();
+   }
+
    /**
     * Sets the prefix for the name of the table where the data will be stored. "_<cache name>" will
     * be appended to this prefix in order to enforce unique table names for each cache.
@@ -12,13 +12,24 @@
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.PrimitiveIterator;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 
 import org.infinispan.commons.io.ByteBuffer;
 import org.infinispan.commons.marshall.ProtoStreamTypeIds;
 import org.infinispan.commons.util.IntSet;
+import org.infinispan.commons.util.IntSets;
 import org.infinispan.commons.util.Util;
 import org.infinispan.commons.util.Version;
 import org.infinispan.marshall.persistence.PersistenceMarshaller;
@@ -41,6 +52,9 @@
 import org.infinispan.protostream.annotations.ProtoField;
 import org.infinispan.protostream.annotations.ProtoTypeId;
 
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.internal.functions.Functions;
+
 /**
  * @author Ryan Emerson
  */
@@ -49,6 +63,11 @@
    private static final String DEFAULT_IDENTIFIER_QUOTE_STRING = "\"";
    private static final String META_TABLE_SUFFIX = "_META";
    private static final String META_TABLE_DATA_COLUMN = "data";
+   // Some databases limit the number of expressions in an IN list to 1000
+   private static final int MAX_KEYS_PER_SELECT = 1000;
+   // Bounds the parameters and the packet size of a multi-row upsert
+   private static final int MAX_ROWS_PER_UPSERT = 1000;
+   private static final int MAX_BYTES_PER_UPSERT = 4 * 1024 * 1024;
 
    private final Log log;
    protected final InitializationContext ctx;
@@ -404,6 +423,44 @@ public String getInsertRowSql() {
       return insertRowSql;
    }
 
+   /**
+    * @return the insert statement of the given number of rows, with the columns in the order of
+    * {@link #getInsertRowSql()}.
+    */
+   protected String getInsertRowsSql(int rows) {
+      StringBuilder sql = new StringBuilder("INSERT INTO ").append(dataTableName).append(" (");
+      appendValueColumns(sql);
+      sql.append(") VALUES ");
+      appendRowsParameters(sql, rows);
+      return sql.toString();
+   }
+
+   protected void appendValueColumns(StringBuilder sql) {
+      sql.append(config.dataColumnName()).append(',').append(config.timestampColumnName()).append(',').append(config.idColumnName());
+      if (!dbMetadata.isSegmentedDisabled()) {
+         sql.append(',').append(config.segmentColumnName());
+      }
+   }
+
+   protected void appendRowsParameters(StringBuilder sql, int rows) {
+      String row = dbMetadata.isSegmentedDisabled() ? "(?,?,?)" : "(?,?,?,?)";
+      for (int i = 0; i < rows; ++i) {
+         if (i > 0) {
+            sql.append(',');
+         }
+         sql.append(row);
+      }
+   }
+
+   /**
+    * Returns the upsert statement of the given number of rows, which binds the columns of each row in the order of
+    * {@link #getInsertRowSql()}, or {@code null} if the database can only upsert a row per statement. Batches write
+    * their entries with these statements when available, instead of a JDBC batch of single row upserts.
+    */
+   protected String getUpsertRowsSql(int rows) {
+      return null;
+   }
+
    protected String initUpdateRowSql() {
       return String.format("UPDATE %s SET %s = ? , %s = ? WHERE %s = ?", dataTableName,
             config.dataColumnName(), config.timestampColumnName(), config.idColumnName());
@@ -424,6 +481,37 @@ public String getSelectRowSql() {
       return selectRowSql;
    }
 
+   /**
+    * @return the sql selecting the rows of the given number of keys.
+    */
+   public String getSelectRowsSql(int numKeys) {
+      StringBuilder stringBuilder = new StringBuilder("SELECT ");
+      stringBuilder.append(config.dataColumnName());
+      stringBuilder.append(", ");
+      stringBuilder.append(config.idColumnName());
+      stringBuilder.append(" FROM ");
+      stringBuilder.append(dataTableName);
+      stringBuilder.append(" WHERE ");
+      stringBuilder.append(config.idColumnName());
+      stringBuilder.append(" IN (");
+      stringBuilder.append(getIdParameter());
+
+      for (int i = 1; i < numKeys; ++i) {
+         stringBuilder.append(',');
+         stringBuilder.append(getIdParameter());
+      }
+      stringBuilder.append(")");
+
+      return stringBuilder.toString();
+   }
+
+   /**
+    * @return the parameter placeholder of an id in the sql statements built for a variable number of keys.
+    */
+   protected String getIdParameter() {
+      return "?";
+   }
+
    protected String initSelectIdRowSql() {
       return String.format("SELECT %s FROM %s WHERE %s = ?", config.idColumnName(), dataTableName, config.idColumnName());
    }
@@ -492,6 +580,42 @@ public String getLoadNonExpiredRowsSqlForSegments(int numSegments) {
       return stringBuilder.toString();
    }
 
+   /**
+    * @return the statement that selects a page of the non expired rows of the given number of segments, or of all the
+    * rows if the number of segments is negative, ordered by id and starting after the given id if {@code afterId}.
+    */
+   protected String getLoadNonExpiredRowsPageSql(int numSegments, boolean afterId) {
+      StringBuilder stringBuilder = new StringBuilder("SELECT ");
+      stringBuilder.append(config.dataColumnName());
+      stringBuilder.append(", ");
+      stringBuilder.append(config.idColumnName());
+      stringBuilder.append(" FROM ");
+      stringBuilder.append(dataTableName);
+      stringBuilder.append(" WHERE (");
+      stringBuilder.append(config.timestampColumnName());
+      stringBuilder.append(" > ? OR ");
+      stringBuilder.append(config.timestampColumnName());
+      stringBuilder.append(" < 0)");
+      if (numSegments >= 0) {
+         stringBuilder.append(" AND ");
+         stringBuilder.append(config.segmentColumnName());
+         stringBuilder.append(" IN (?");
+         for (int i = 1; i < numSegments; ++i) {
+            stringBuilder.append(",?");
+         }
+         stringBuilder.append(")");
+      }
+      if (afterId) {
+         stringBuilder.append(" AND ");
+         stringBuilder.append(config.idColumnName());
+         stringBuilder.append(" > ");
+         stringBuilder.append(getIdParameter());
+      }
+      stringBuilder.append(" ORDER BY ");
+      stringBuilder.append(config.idColumnName());
+      return stringBuilder.toString();
+   }
+
    protected String initLoadAllRowsSql() {
       return String.format("SELECT %s, %s FROM %s", config.dataColumnName(), config.idColumnName(), dataTableName);
    }
@@ -561,6 +685,97 @@ protected void preparePublishStatement(PreparedStatement ps, IntSet segments) th
       }
    }
 
+   @Override
+   public List<Flowable<MarshallableEntry<K, V>>> publishEntriesPartitions(Supplier<Connection> connectionSupplier,
+         Consumer<Connection> connectionCloser, IntSet segments, Predicate<? super K> filter, boolean fetchValue) {
+      int parallelism = config.iterationParallelism();
+      if (parallelism <= 1) {
+         return super.publishEntriesPartitions(connectionSupplier, connectionCloser, segments, filter, fetchValue);
+      }
+      if (dbMetadata.isSegmentedDisabled()) {
+         // There is no column to split the rows by, but they are still read with short lived statements
+         return Collections.singletonList(publishPages(connectionSupplier, connectionCloser, null, filter, fetchValue));
+      }
+      if (segments == null) {
+         segments = IntSets.immutableRangeSet(ctx.getCache().getCacheConfiguration().clustering().hash().numSegments());
+      }
+      int numPartitions = Math.min(parallelism, segments.size());
+      List<IntSet> segmentsPerPartition = new ArrayList<>(numPartitions);
+      for (int i = 0; i < numPartitions; ++i) {
+         segmentsPerPartition.add(IntSets.mutableEmptySet());
+      }
+      int i = 0;
+      for (PrimitiveIterator.OfInt segIter = segments.iterator(); segIter.hasNext(); ) {
+         segmentsPerPartition.get(i++ % numPartitions).set(segIter.nextInt());
+      }
+      List<Flowable<MarshallableEntry<K, V>>> partitions = new ArrayList<>(numPartitions);
+      for (IntSet partitionSegments : segmentsPerPartition) {
+         partitions.add(publishPages(connectionSupplier, connectionCloser, partitionSegments, filter, fetchValue));
+      }
+      return partitions;
+   }
+
+   /**
+    * Publishes the rows of the given segments with a keyset pagination on the id column: each page is read with its
+    * own statement on a connection that is released before the page is published, so no cursor or transaction is
+    * held open between pages.
+    */
+   private Flowable<MarshallableEntry<K, V>> publishPages(Supplier<Connection> connectionSupplier,
+         Consumer<Connection> connectionCloser, IntSet segments, Predicate<? super K> filter, boolean fetchValue) {
+      int pageSize = Math.max(config.fetchSize(), 1);
+      return Flowable.<List<MarshallableEntry<K, V>>, PageCursor>generate(PageCursor::new, (cursor, emitter) -> {
+         emitter.onNext(readPage(connectionSupplier, connectionCloser, segments, filter, fetchValue, pageSize, cursor));
+         if (cursor.lastPage) {
+            emitter.onComplete();
+         }
+      }).concatMapIterable(Functions.identity());
+   }
+
+   private List<MarshallableEntry<K, V>> readPage(Supplier<Connection> connectionSupplier,
+         Consumer<Connection> connectionCloser, IntSet segments, Predicate<? super K> filter, boolean fetchValue,
+         int pageSize, PageCursor cursor) throws SQLException {
+      int numSegments = segments != null ? segments.size() : -1;
+      String sql = getLoadNonExpiredRowsPageSql(numSegments, cursor.lastId != null);
+      if (log.isTraceEnabled()) {
+         log.tracef("Running select page sql '%s' after id %s", sql, cursor.lastId);
+      }
+      Connection connection = connectionSupplier.get();
+      PreparedStatement ps = null;
+      ResultSet rs = null;
+      try {
+         ps = connection.prepareStatement(sql);
+         ps.setQueryTimeout(configuration.readQueryTimeout());
+         ps.setMaxRows(pageSize);
+         ps.setFetchSize(pageSize);
+         preparePublishStatement(ps, segments);
+         if (cursor.lastId != null) {
+            ps.setString(Math.max(numSegments, 0) + 2, cursor.lastId);
+         }
+         rs = ps.executeQuery();
+         List<MarshallableEntry<K, V>> entries = new ArrayList<>();
+         int rows = 0;
+         while (rs.next()) {
+            rows++;
+            cursor.lastId = rs.getString(2);
+            MarshallableEntry<K, V> entry = entryFromResultSet(rs, null, fetchValue, filter);
+            if (entry != null) {
+               entries.add(entry);
+            }
+         }
+         cursor.lastPage = rows < pageSize;
+         return entries;
+      } finally {
+         JdbcUtil.safeClose(rs);
+         JdbcUtil.safeClose(ps);
+         connectionCloser.accept(connection);
+      }
+   }
+
+   private static class PageCursor {
+      String lastId;
+      boolean lastPage;
+   }
+
    @ProtoTypeId(ProtoStreamTypeIds.JDBC_PERSISTED_METADATA)
    public static class MetadataImpl implements Metadata {
       final short version;
@@ -616,6 +831,49 @@ protected void prepareKeyStatement(PreparedStatement ps, Object key) throws SQLE
       ps.setString(1, lockingKey);
    }
 
+   @Override
+   public List<MarshallableEntry<K, V>> loadEntries(Connection connection, Collection<?> keys,
+         ToIntFunction<Object> segmentMapper) throws SQLException {
+      Map<String, Object> keysByString = new HashMap<>();
+      for (Object key : keys) {
+         keysByString.put(key2Str(key), key);
+      }
+      List<String> lockingKeys = new ArrayList<>(keysByString.keySet());
+      List<MarshallableEntry<K, V>> entries = new ArrayList<>(lockingKeys.size());
+      int maxKeys = Math.max(1, Math.min(getBatchSize(), MAX_KEYS_PER_SELECT));
+      for (int start = 0; start < lockingKeys.size(); start += maxKeys) {
+         List<String> batch = lockingKeys.subList(start, Math.min(start + maxKeys, lockingKeys.size()));
+         PreparedStatement ps = null;
+         ResultSet rs = null;
+         try {
+            String selectSql = getSelectRowsSql(batch.size());
+            if (log.isTraceEnabled()) {
+               log.tracef("Running select rows sql '%s'", selectSql);
+            }
+            ps = connection.prepareStatement(selectSql);
+            ps.setQueryTimeout(configuration.readQueryTimeout());
+            for (int i = 0; i < batch.size(); ++i) {
+               ps.setString(i + 1, batch.get(i));
+            }
+            rs = ps.executeQuery();
+            while (rs.next()) {
+               Object key = keysByString.get(rs.getString(2));
+               if (key == null) {
+                  continue;
+               }
+               MarshallableEntry<K, V> entry = entryFromResultSet(rs, key, true, null);
+               if (entry != null) {
+                  entries.add(entry);
+               }
+            }
+         } finally {
+            JdbcUtil.safeClose(rs);
+            JdbcUtil.safeClose(ps);
+         }
+      }
+      return entries;
+   }
+
    @Override
    protected MarshallableEntry<K, V> entryFromResultSet(ResultSet rs, Object keyIfPresent, boolean fetchValue,
          Predicate<? super K> keyPredicate) throws SQLException {
@@ -701,12 +959,119 @@ protected final void prepareValueStatement(PreparedStatement ps, int segment, Ma
    }
 
    protected void prepareValueStatement(PreparedStatement ps, int segment, String keyStr, ByteBuffer valueBytes, long expiryTime) throws SQLException {
-      ps.setBinaryStream(1, new ByteArrayInputStream(valueBytes.getBuf(), valueBytes.getOffset(),
+      prepareValueStatement(ps, 0, segment, keyStr, valueBytes, expiryTime);
+   }
+
+   private int prepareValueStatement(PreparedStatement ps, int offset, int segment, String keyStr, ByteBuffer valueBytes, long expiryTime) throws SQLException {
+      ps.setBinaryStream(++offset, new ByteArrayInputStream(valueBytes.getBuf(), valueBytes.getOffset(),
             valueBytes.getLength()), valueBytes.getLength());
-      ps.setLong(2, expiryTime);
-      ps.setString(3, keyStr);
+      ps.setLong(++offset, expiryTime);
+      ps.setString(++offset, keyStr);
       if (!dbMetadata.isSegmentedDisabled()) {
-         ps.setInt(4, segment);
+         ps.setInt(++offset, segment);
+      }
+      return offset;
+   }
+
+   @Override
+   protected UpsertBatch<K, V> createUpsertBatch(Connection connection) throws SQLException {
+      int rows = Math.min(getBatchSize(), MAX_ROWS_PER_UPSERT);
+      if (rows > 1 && isUpsertSupported() && getUpsertRowsSql(rows) != null) {
+         return new MultiRowUpsertBatch(connection, rows);
+      }
+      return super.createUpsertBatch(connection);
+   }
+
+   private static class PendingRow {
+      final int segment;
+      final ByteBuffer valueBytes;
+      final long expiryTime;
+
+      PendingRow(int segment, ByteBuffer valueBytes, long expiryTime) {
+         this.segment = segment;
+         this.valueBytes = valueBytes;
+         this.expiryTime = expiryTime;
+      }
+   }
+
+   /**
+    * Writes the entries of a batch with upsert statements of many rows, so that a batch of n entries costs n / rows
+    * statements instead of n statement executions. The rows of a statement have distinct keys, as some databases
+    * reject an upsert that affects the same row twice; when a key is written again, its latest value wins.
+    */
+   private class MultiRowUpsertBatch implements UpsertBatch<K, V> {
+      private final Connection connection;
+      private final int rows;
+      private final Map<String, PendingRow> pending;
+      private PreparedStatement fullStatement;
+      private long pendingBytes;
+
+      MultiRowUpsertBatch(Connection connection, int rows) {
+         this.connection = connection;
+         this.rows = rows;
+         this.pending = new LinkedHashMap<>();
+      }
+
+      @Override
+      public void add(int segment, MarshallableEntry<? extends K, ? extends V> entry) throws SQLException {
+         ByteBuffer valueBytes = marshall(entry.getMarshalledValue(), marshaller);
+         PendingRow previous = pending.put(key2Str(entry.getKey()), new PendingRow(segment, valueBytes, entry.expiryTime()));
+         if (previous != null) {
+            pendingBytes -= previous.valueBytes.getLength();
+         }
+         pendingBytes += valueBytes.getLength();
+         if (pending.size() >= rows || pendingBytes >= MAX_BYTES_PER_UPSERT) {
+            flush();
+         }
+      }
+
+      @Override
+      public void execute() throws SQLException {
+         if (!pending.isEmpty()) {
+            flush();
+         }
+      }
+
+      private void flush() throws SQLException {
+         int count = pending.size();
+         PreparedStatement ps;
+         if (count == rows) {
+            if (fullStatement == null) {
+               fullStatement = prepareUpsertRows(rows);
+            }
+            ps = fullStatement;
+         } else {
+            ps = prepareUpsertRows(count);
+         }
+         try {
+            int offset = 0;
+            for (Map.Entry<String, PendingRow> e : pending.entrySet()) {
+               PendingRow row = e.getValue();
+               offset = prepareValueStatement(ps, offset, row.segment, e.getKey(), row.valueBytes, row.expiryTime);
+            }
+            ps.executeUpdate();
+         } finally {
+            if (ps != fullStatement) {
+               JdbcUtil.safeClose(ps);
+            }
+         }
+         pending.clear();
+         pendingBytes = 0;
+      }
+
+      private PreparedStatement prepareUpsertRows(int count) throws SQLException {
+         String sql = getUpsertRowsSql(count);
+         if (log.isTraceEnabled()) {
+            log.tracef("Running batch upsert sql '%s'", sql);
+         }
+         PreparedStatement ps = connection.prepareStatement(sql);
+         ps.setQueryTimeout(configuration.writeQueryTimeout());
+         return ps;
+      }
+
+      @Override
+      public void close() throws SQLException {
+         JdbcUtil.safeClose(fullStatement);
       }
    }
 
@@ -31,6 +31,15 @@ protected String initUpsertRowSql() {
       }
    }
 
+   @Override
+   protected String getUpsertRowsSql(int rows) {
+      StringBuilder sql = new StringBuilder("MERGE INTO ").append(dataTableName).append(" (");
+      appendValueColumns(sql);
+      sql.append(") KEY(").append(config.idColumnName()).append(") VALUES ");
+      appendRowsParameters(sql, rows);
+      return sql.toString();
+   }
+
    @Override
    protected void dropIndex(Connection conn, String indexName) throws PersistenceException {
       String dropIndexDdl = String.format("DROP INDEX IF EXISTS  %s", getIndexName(dbMetadata.getMaxTableNameLength(), true, indexName));
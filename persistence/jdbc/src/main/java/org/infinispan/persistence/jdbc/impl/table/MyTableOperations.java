@@ -23,12 +23,22 @@ public int getFetchSize() {
 
    @Override
    public String initUpsertRowSql() {
-         // Assumes that config.idColumnName is the primary key
+      return getInsertRowSql() + getUpsertSuffix();
+   }
+
+   @Override
+   protected String getUpsertRowsSql(int rows) {
+      // A single statement of many rows, as the driver does with rewriteBatchedStatements
+      return getInsertRowsSql(rows) + getUpsertSuffix();
+   }
+
+   private String getUpsertSuffix() {
+      // Assumes that config.idColumnName is the primary key
       if (dbMetadata.isSegmentedDisabled()) {
-         return String.format("%1$s ON DUPLICATE KEY UPDATE %2$s = VALUES(%2$s), %3$s = VALUES(%3$s)", getInsertRowSql(),
+         return String.format(" ON DUPLICATE KEY UPDATE %1$s = VALUES(%1$s), %2$s = VALUES(%2$s)",
                config.dataColumnName(), config.timestampColumnName());
       } else {
-         return String.format("%1$s ON DUPLICATE KEY UPDATE %2$s = VALUES(%2$s), %3$s = VALUES(%3$s), %4$s = VALUES(%4$s)", getInsertRowSql(),
+         return String.format(" ON DUPLICATE KEY UPDATE %1$s = VALUES(%1$s), %2$s = VALUES(%2$s), %3$s = VALUES(%3$s)",
                config.dataColumnName(), config.timestampColumnName(), config.segmentColumnName());
       }
    }
@@ -40,6 +40,11 @@ public String initSelectRowSql() {
             config.idColumnName(), config.idColumnType());
    }
 
+   @Override
+   protected String getIdParameter() {
+      return String.format("cast(? as %s)", config.idColumnType());
+   }
+
    @Override
    public String initSelectIdRowSql() {
       return String.format("SELECT %s FROM %s WHERE %s = cast(? as %s)",
@@ -62,8 +67,16 @@ public boolean isUpsertSupported() {
 
    @Override
    public String initUpsertRowSql() {
-      return String.format("%1$s ON CONFLICT (%2$s) DO UPDATE SET %3$s = EXCLUDED.%3$s, %4$s = EXCLUDED.%4$s",
-               getInsertRowSql(), config.idColumnName(), config.dataColumnName(),
-               config.timestampColumnName());
+      return getInsertRowSql() + getUpsertSuffix();
+   }
+
+   @Override
+   protected String getUpsertRowsSql(int rows) {
+      return getInsertRowsSql(rows) + getUpsertSuffix();
+   }
+
+   private String getUpsertSuffix() {
+      return String.format(" ON CONFLICT (%1$s) DO UPDATE SET %2$s = EXCLUDED.%2$s, %3$s = EXCLUDED.%3$s",
+               config.idColumnName(), config.dataColumnName(), config.timestampColumnName());
    }
 }
@@ -42,6 +42,11 @@ protected String initSelectRowSql() {
                                    config.idColumnName(), config.idColumnType());
    }
 
+   @Override
+   protected String getIdParameter() {
+      return String.format("convert(%s,?)", config.idColumnType());
+   }
+
    @Override
    protected String initSelectIdRowSql() {
       return String.format("SELECT %s FROM %s WHERE %s = convert(%s,?)",
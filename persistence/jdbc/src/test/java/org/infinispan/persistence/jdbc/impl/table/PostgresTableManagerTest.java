@@ -0,0 +1,43 @@
+package org.infinispan.persistence.jdbc.impl.table;
+
+import static org.testng.AssertJUnit.assertTrue;
+
+import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.marshall.persistence.PersistenceMarshaller;
+import org.infinispan.persistence.InitializationContextImpl;
+import org.infinispan.persistence.jdbc.common.DatabaseType;
+import org.infinispan.persistence.jdbc.configuration.JdbcStringBasedStoreConfiguration;
+import org.infinispan.persistence.jdbc.configuration.JdbcStringBasedStoreConfigurationBuilder;
+import org.mockito.Mockito;
+import org.testng.annotations.Test;
+
+/**
+ * @since 15.1
+ **/
+@Test(groups = "functional", testName = "persistence.jdbc.PostgresTableManagerTest")
+public class PostgresTableManagerTest {
+
+   public void testPageSqlCastsId() {
+      DbMetaData dbMetaData = new DbMetaData(DatabaseType.POSTGRES, 15, 0, 63, false, false, false);
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.persistence().addStore(JdbcStringBasedStoreConfigurationBuilder.class)
+            .table()
+            .tableNamePrefix("TBL")
+            .dataColumnName("DTC").dataColumnType("BYTEA")
+            .idColumnName("IDC").idColumnType("VARCHAR(255)")
+            .timestampColumnName("TSC").timestampColumnType("BIGINT")
+            .segmentColumnName("SGC").segmentColumnType("INT")
+            .dataSource().jndiUrl("a_fake_jdni_url");
+      Configuration configuration = builder.build();
+      JdbcStringBasedStoreConfiguration storeConfiguration = (JdbcStringBasedStoreConfiguration) configuration.persistence().stores().get(0);
+      InitializationContextImpl context = new InitializationContextImpl(null, null, null, Mockito.mock(PersistenceMarshaller.class), null, null, null, null, null, null, null);
+      PostgresTableManager tableManager = new PostgresTableManager(context, null, storeConfiguration, dbMetaData, "cache");
+
+      // The id of the previous page is bound as a string, like in the other statements comparing ids
+      String sql = tableManager.getLoadNonExpiredRowsPageSql(2, true);
+      assertTrue(sql, sql.contains("IDC > cast(? as VARCHAR(255))"));
+      sql = tableManager.getLoadNonExpiredRowsPageSql(-1, true);
+      assertTrue(sql, sql.contains("IDC > cast(? as VARCHAR(255))"));
+   }
+}
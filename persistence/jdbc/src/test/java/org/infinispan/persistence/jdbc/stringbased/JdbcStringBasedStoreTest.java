@@ -1,13 +1,19 @@
 package org.infinispan.persistence.jdbc.stringbased;
 
+import static org.testng.AssertJUnit.assertEquals;
+
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.configuration.cache.ConfigurationBuilder;
 import org.infinispan.persistence.BaseNonBlockingStoreTest;
 import org.infinispan.persistence.jdbc.UnitTestDatabaseManager;
 import org.infinispan.persistence.jdbc.configuration.JdbcStringBasedStoreConfigurationBuilder;
+import org.infinispan.persistence.spi.MarshallableEntry;
+import org.infinispan.test.TestingUtil;
 import org.testng.annotations.Factory;
 import org.testng.annotations.Test;
 
+import io.reactivex.rxjava3.core.Flowable;
+
 /**
  * Tester class  for {@link JdbcStringBasedStore}.
  *
@@ -17,23 +23,31 @@
 public class JdbcStringBasedStoreTest extends BaseNonBlockingStoreTest {
 
    boolean segmented;
+   int iterationParallelism = 1;
 
    public JdbcStringBasedStoreTest segmented(boolean segmented) {
       this.segmented = segmented;
       return this;
    }
 
+   public JdbcStringBasedStoreTest iterationParallelism(int iterationParallelism) {
+      this.iterationParallelism = iterationParallelism;
+      return this;
+   }
+
    @Factory
    public Object[] factory() {
       return new Object[] {
             new JdbcStringBasedStoreTest().segmented(false),
             new JdbcStringBasedStoreTest().segmented(true),
+            new JdbcStringBasedStoreTest().segmented(false).iterationParallelism(4),
+            new JdbcStringBasedStoreTest().segmented(true).iterationParallelism(4),
       };
    }
 
    @Override
    protected String parameters() {
-      return "[" + segmented + "]";
+      return "[" + segmented + ", " + iterationParallelism + "]";
    }
 
    @Override
@@ -49,6 +63,24 @@ protected Configuration buildConfig(ConfigurationBuilder configurationBuilder) {
       storeBuilder.segmented(segmented);
       UnitTestDatabaseManager.configureUniqueConnectionFactory(storeBuilder);
       UnitTestDatabaseManager.buildTableManipulation(storeBuilder.table());
+      if (iterationParallelism > 1) {
+         // Small pages so that the iteration spans several of them
+         storeBuilder.table().iterationParallelism(iterationParallelism).fetchSize(3);
+      }
       return configurationBuilder.build();
    }
+
+   public void testWriteBatchWithDuplicateKeys() {
+      assertEquals(0, store.sizeWait(segments));
+      // Spans several multi-row upserts, some of which write the same key twice
+      int numberOfKeys = 150;
+      store.batchUpdate(segmentCount, Flowable.empty(),
+            TestingUtil.multipleSegmentPublisher(Flowable.range(0, 2 * numberOfKeys).map(i -> marshalledEntry(internalCacheEntry(Integer.toString(i % numberOfKeys), "Val" + i, -1))),
+                  MarshallableEntry::getKey, keyPartitioner));
+
+      assertEquals(numberOfKeys, store.sizeWait(segments));
+      for (int i = 0; i < numberOfKeys; i++) {
+         assertEquals(valueToStorage("Val" + (i + numberOfKeys)), store.loadEntry(keyToStorage(Integer.toString(i))).getValue());
+      }
+   }
 }
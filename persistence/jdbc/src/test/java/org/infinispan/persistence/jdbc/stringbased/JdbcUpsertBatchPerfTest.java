@@ -0,0 +1,84 @@
+package org.infinispan.persistence.jdbc.stringbased;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.infinispan.commons.util.IntSets;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.distribution.ch.impl.SingleSegmentKeyPartitioner;
+import org.infinispan.marshall.TestObjectStreamMarshaller;
+import org.infinispan.marshall.persistence.PersistenceMarshaller;
+import org.infinispan.marshall.persistence.impl.MarshalledEntryUtil;
+import org.infinispan.persistence.jdbc.UnitTestDatabaseManager;
+import org.infinispan.persistence.jdbc.configuration.JdbcStringBasedStoreConfigurationBuilder;
+import org.infinispan.persistence.jdbc.impl.table.TableManagerFactory;
+import org.infinispan.persistence.spi.MarshallableEntry;
+import org.infinispan.persistence.support.SingleSegmentPublisher;
+import org.infinispan.persistence.support.WaitDelegatingNonBlockingStore;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.util.PersistenceMockUtil;
+import org.testng.annotations.Test;
+
+import io.reactivex.rxjava3.core.Flowable;
+
+/**
+ * Compares the time needed to write batches through the per-row JDBC batch upsert, selected with the
+ * {@link TableManagerFactory#UPSERT_DISABLED} property, against the multi-row upsert statement used by default.
+ *
+ * @since 15.1
+ */
+@Test(groups = "profiling", testName = "persistence.jdbc.stringbased.JdbcUpsertBatchPerfTest")
+public class JdbcUpsertBatchPerfTest extends AbstractInfinispanTest {
+
+   private static final int ITERATIONS = 50;
+   private static final int BATCH_SIZE = 1000;
+
+   public void testUpsertBatchPerfComparison() {
+      long singleRow = measure(true);
+      long multiRow = measure(false);
+
+      System.out.println("JdbcUpsertBatchPerfTest.testUpsertBatchPerfComparison single row (avg, ms) = " + (singleRow / 1_000_000.0 / ITERATIONS));
+      System.out.println("JdbcUpsertBatchPerfTest.testUpsertBatchPerfComparison multi row (avg, ms) = " + (multiRow / 1_000_000.0 / ITERATIONS));
+   }
+
+   private long measure(boolean upsertDisabled) {
+      ConfigurationBuilder builder = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      JdbcStringBasedStoreConfigurationBuilder storeBuilder = builder.persistence()
+            .addStore(JdbcStringBasedStoreConfigurationBuilder.class)
+            .segmented(false)
+            .maxBatchSize(BATCH_SIZE);
+      if (upsertDisabled) {
+         storeBuilder.addProperty(TableManagerFactory.UPSERT_DISABLED, "true");
+      }
+      UnitTestDatabaseManager.buildTableManipulation(storeBuilder.table());
+      UnitTestDatabaseManager.configureUniqueConnectionFactory(storeBuilder);
+
+      PersistenceMarshaller marshaller = new TestObjectStreamMarshaller();
+      WaitDelegatingNonBlockingStore<Object, Object> store = new WaitDelegatingNonBlockingStore<>(new JdbcStringBasedStore<>(),
+            SingleSegmentKeyPartitioner.getInstance());
+      store.startAndWait(PersistenceMockUtil.createContext(getClass(), builder.build(), marshaller));
+      try {
+         long time = 0;
+         // The first iteration inserts every row, the following ones update the existing rows
+         for (int i = 0; i < ITERATIONS; i++) {
+            List<MarshallableEntry<Object, Object>> entries = new ArrayList<>(BATCH_SIZE);
+            for (int j = 0; j < BATCH_SIZE; j++) {
+               entries.add(MarshalledEntryUtil.create("key" + j, "value" + i + "-" + j, marshaller));
+            }
+            long start = System.nanoTime();
+            store.batchUpdate(1, Flowable.empty(), Flowable.just(SingleSegmentPublisher.singleSegment(Flowable.fromIterable(entries))));
+            time += System.nanoTime() - start;
+         }
+         assertEquals(BATCH_SIZE, store.sizeWait(IntSets.immutableSet(0)));
+         assertEquals("value" + (ITERATIONS - 1) + "-0", store.loadEntry("key0").getValue());
+         return time;
+      } finally {
+         store.clearAndWait();
+         store.stopAndWait();
+         marshaller.stop();
+      }
+   }
+}
@@ -1,6 +1,8 @@
 package org.infinispan.persistence.remote;
 
+import java.util.Collection;
 import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -10,6 +12,7 @@
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 import org.infinispan.client.hotrod.DataFormat;
@@ -271,6 +274,29 @@ public CompletionStage<MarshallableEntry<K, V>> load(int segment, Object key) {
       }
    }
 
+   @Override
+   public Publisher<MarshallableEntry<K, V>> load(Collection<?> keys, ToIntFunction<Object> segmentMapper) {
+      if (configuration.rawValues()) {
+         // getAll doesn't return the metadata, which the raw values need
+         return NonBlockingStore.super.load(keys, segmentMapper);
+      }
+      Set<Object> unwrappedKeys = new HashSet<>(keys.size());
+      for (Object key : keys) {
+         unwrappedKeys.add(unwrap(key));
+      }
+      return Flowable.fromCompletionStage(remoteCache.getAllAsync(unwrappedKeys))
+            .observeOn(Schedulers.from(nonBlockingExecutor))
+            .concatMapIterable(Map::entrySet)
+            .filter(e -> e.getValue() != null)
+            .map(e -> {
+               Object value = e.getValue();
+               if (value instanceof MarshalledValue) {
+                  return entryFactory.create(wrap(e.getKey()), (MarshalledValue) value);
+               }
+               return entryFactory.create(wrap(e.getKey()), value);
+            });
+   }
+
    @Override
    public CompletionStage<Boolean> containsKey(int segment, Object key) {
       key = unwrap(key);
@@ -5,12 +5,13 @@
 import java.io.File;
 import java.io.IOException;
 import java.lang.invoke.MethodHandles;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
-import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
@@ -23,6 +24,7 @@
 import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 
 import org.infinispan.AdvancedCache;
 import org.infinispan.commons.CacheConfigurationException;
@@ -31,6 +33,7 @@
 import org.infinispan.commons.marshall.Marshaller;
 import org.infinispan.commons.marshall.ProtoStreamTypeIds;
 import org.infinispan.commons.reactive.RxJavaInterop;
+import org.infinispan.commons.stat.MetricInfo;
 import org.infinispan.commons.time.TimeService;
 import org.infinispan.commons.util.AbstractIterator;
 import org.infinispan.commons.util.IntSet;
@@ -40,12 +43,17 @@
 import org.infinispan.commons.util.concurrent.CompletableFutures;
 import org.infinispan.commons.util.concurrent.CompletionStages;
 import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.factories.ComponentRegistry;
+import org.infinispan.factories.impl.ComponentRef;
 import org.infinispan.marshall.persistence.PersistenceMarshaller;
 import org.infinispan.marshall.persistence.impl.MarshallableEntryImpl;
 import org.infinispan.metadata.Metadata;
 import org.infinispan.metadata.impl.PrivateMetadata;
+import org.infinispan.metrics.impl.CacheMetricsRegistration;
+import org.infinispan.metrics.impl.MetricUtils;
 import org.infinispan.persistence.internal.PersistenceUtil;
 import org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfiguration;
+import org.infinispan.persistence.rocksdb.configuration.RocksDBTuningConfiguration;
 import org.infinispan.persistence.rocksdb.logging.Log;
 import org.infinispan.persistence.spi.InitializationContext;
 import org.infinispan.persistence.spi.MarshallableEntry;
@@ -59,17 +67,28 @@
 import org.infinispan.util.concurrent.BlockingManager;
 import org.infinispan.util.logging.LogFactory;
 import org.reactivestreams.Publisher;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
 import org.rocksdb.BuiltinComparator;
+import org.rocksdb.Cache;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.ColumnFamilyOptions;
 import org.rocksdb.DBOptions;
+import org.rocksdb.Filter;
+import org.rocksdb.HyperClockCache;
+import org.rocksdb.LRUCache;
 import org.rocksdb.Options;
+import org.rocksdb.RateLimiter;
 import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
+import org.rocksdb.Slice;
+import org.rocksdb.Statistics;
+import org.rocksdb.TickerType;
 import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteBufferManager;
 import org.rocksdb.WriteOptions;
 
 import io.reactivex.rxjava3.core.Flowable;
@@ -88,6 +107,12 @@
    static final String COLUMN_FAMILY_PROPERTY_NAME_WITH_SUFFIX = "data.";
    static final byte[] META_COLUMN_FAMILY = "meta-cf".getBytes();
    static final byte[] META_COLUMN_FAMILY_KEY = "metadata".getBytes();
+   // Present once the expiration index is ordered by expiry time
+   static final byte[] META_EXPIRY_INDEX_KEY = "expiry-index".getBytes();
+   // The ordered expiration index keys start with the high byte of the expiry time, which is 0 for any real time,
+   // while the legacy keys are protobuf messages starting with a field tag, which is never 0
+   private static final byte[] LEGACY_EXPIRY_INDEX_START = {1};
+   private static final int EXPIRY_INDEX_MIGRATION_BATCH = 10_000;
 
    protected RocksDBStoreConfiguration configuration;
    private RocksDB db;
@@ -102,6 +127,14 @@
    private KeyPartitioner keyPartitioner;
    private MarshallableEntryFactory<K, V> entryFactory;
    private BlockingManager blockingManager;
+   // Shared by all the column families of the data database, closed after the database
+   private Cache blockCache;
+   private Filter bloomFilter;
+   private BlockBasedTableConfig tableConfig;
+   private WriteBufferManager writeBufferManager;
+   private RateLimiter rateLimiter;
+   private Statistics statistics;
+   private Set<Object> metricIds;
 
    @Override
    public CompletionStage<Void> start(InitializationContext ctx) {
@@ -134,6 +167,7 @@ public CompletionStage<Void> start(InitializationContext ctx) {
 
       return blockingManager.runBlocking(() -> {
          try {
+            initSharedResources();
             initDefaultHandler();
             MetadataImpl existingMeta = handler.loadMetadata();
             if (existingMeta == null && !configuration.purgeOnStartup()) {
@@ -143,14 +177,136 @@ public CompletionStage<Void> start(InitializationContext ctx) {
                migrateFromV11();
                PERSISTENCE.persistedDataSuccessfulMigrated(cacheName);
             }
+            if (!handler.hasOrderedExpiryIndex()) {
+               migrateExpiryIndex();
+               handler.markOrderedExpiryIndex();
+            }
             // Update the metadata entry to use the current Infinispan version
             handler.writeMetadata();
          } catch (Exception e) {
             throw new CacheConfigurationException("Unable to open database", e);
          }
+         registerMetrics();
       }, "rocksdb-open");
    }
 
+   /**
+    * Creates the native objects that are shared by the column families of the data database. Without them every
+    * segment column family would get its own block cache and memtable budget, so the memory used by the store would
+    * grow with the number of segments.
+    */
+   private void initSharedResources() {
+      RocksDBTuningConfiguration tuning = configuration.tuning();
+      if (tuning.blockCacheSize() > 0) {
+         blockCache = switch (tuning.blockCacheType()) {
+            // An estimated entry charge of 0 lets RocksDB size the cache table automatically
+            case HYPER_CLOCK -> new HyperClockCache(tuning.blockCacheSize(), 0, -1, false);
+            case LRU -> new LRUCache(tuning.blockCacheSize());
+         };
+      }
+      if (tuning.writeBufferManagerSize() > 0) {
+         writeBufferManager = new WriteBufferManager(tuning.writeBufferManagerSize(), blockCache);
+      }
+      if (tuning.compactionRateLimit() > 0) {
+         rateLimiter = new RateLimiter(tuning.compactionRateLimit());
+      }
+      if (tuning.statistics()) {
+         statistics = new Statistics();
+      }
+      // A table factory set through the "data." properties takes precedence
+      if (columnFamilyProperties == null || !columnFamilyProperties.containsKey("block_based_table_factory")) {
+         tableConfig = new BlockBasedTableConfig();
+         if (blockCache != null) {
+            // Charge the index and filter blocks to the shared cache too, so that it bounds the memory of all the
+            // column families
+            tableConfig.setBlockCache(blockCache)
+                  .setCacheIndexAndFilterBlocks(true)
+                  .setPinL0FilterAndIndexBlocksInCache(true);
+         }
+         if (tuning.blockSize() > 0) {
+            tableConfig.setBlockSize(tuning.blockSize());
+         }
+         if (tuning.bloomFilterBits() > 0) {
+            bloomFilter = new BloomFilter(tuning.bloomFilterBits());
+            tableConfig.setFilterPolicy(bloomFilter);
+         }
+      }
+   }
+
+   private void closeSharedResources() {
+      tableConfig = null;
+      if (bloomFilter != null) {
+         bloomFilter.close();
+         bloomFilter = null;
+      }
+      if (writeBufferManager != null) {
+         writeBufferManager.close();
+         writeBufferManager = null;
+      }
+      if (blockCache != null) {
+         blockCache.close();
+         blockCache = null;
+      }
+      if (rateLimiter != null) {
+         rateLimiter.close();
+         rateLimiter = null;
+      }
+      if (statistics != null) {
+         statistics.close();
+         statistics = null;
+      }
+   }
+
+   private void registerMetrics() {
+      if (statistics == null) {
+         return;
+      }
+      ComponentRef<CacheMetricsRegistration> metricsRegistration = ComponentRegistry.of(ctx.getCache()).getComponent(CacheMetricsRegistration.class);
+      if (metricsRegistration != null && metricsRegistration.isRunning() && metricsRegistration.running().metricsEnabled()) {
+         metricIds = metricsRegistration.running().registerExternalMetrics(this, "RocksDbStore", storeMetrics());
+      }
+   }
+
+   private void unregisterMetrics() {
+      if (metricIds != null) {
+         ComponentRef<CacheMetricsRegistration> metricsRegistration = ComponentRegistry.of(ctx.getCache()).getComponent(CacheMetricsRegistration.class);
+         metricsRegistration.wired().unregisterMetrics(metricIds);
+         metricIds = null;
+      }
+   }
+
+   private static Collection<MetricInfo> storeMetrics() {
+      return List.of(
+            MetricUtils.<RocksDBStore<?, ?>>createGauge("BlockCacheHits", "Number of reads served by the block cache",
+                  s -> s.ticker(TickerType.BLOCK_CACHE_HIT), null),
+            MetricUtils.<RocksDBStore<?, ?>>createGauge("BlockCacheMisses", "Number of reads that missed the block cache",
+                  s -> s.ticker(TickerType.BLOCK_CACHE_MISS), null),
+            MetricUtils.<RocksDBStore<?, ?>>createGauge("BlockCacheHitRatio", "Ratio of the reads served by the block cache",
+                  RocksDBStore::blockCacheHitRatio, null),
+            MetricUtils.<RocksDBStore<?, ?>>createGauge("BlockCacheUsage", "Bytes used by the shared block cache",
+                  s -> s.blockCache == null ? 0 : s.blockCache.getUsage(), null),
+            MetricUtils.<RocksDBStore<?, ?>>createGauge("BloomFilterUseful", "Number of reads avoided by the bloom filters",
+                  s -> s.ticker(TickerType.BLOOM_FILTER_USEFUL), null),
+            MetricUtils.<RocksDBStore<?, ?>>createGauge("StallMicros", "Microseconds writes were stalled waiting for flushes or compactions",
+                  s -> s.ticker(TickerType.STALL_MICROS), null),
+            MetricUtils.<RocksDBStore<?, ?>>createGauge("CompactionReadBytes", "Bytes read by compactions",
+                  s -> s.ticker(TickerType.COMPACT_READ_BYTES), null),
+            MetricUtils.<RocksDBStore<?, ?>>createGauge("CompactionWriteBytes", "Bytes written by compactions",
+                  s -> s.ticker(TickerType.COMPACT_WRITE_BYTES), null)
+      );
+   }
+
+   private long ticker(TickerType type) {
+      Statistics stats = statistics;
+      return stats == null ? 0 : stats.getTickerCount(type);
+   }
+
+   private double blockCacheHitRatio() {
+      long hits = ticker(TickerType.BLOCK_CACHE_HIT);
+      long total = hits + ticker(TickerType.BLOCK_CACHE_MISS);
+      return total == 0 ? 0 : (double) hits / total;
+   }
+
    private void initDefaultHandler() throws RocksDBException {
       this.handler = createHandler(getLocation(), getExpirationLocation());
       this.db = handler.db;
@@ -209,6 +365,7 @@ private void migrateFromV11() throws IOException, RocksDBException {
          migrationHandler.db.write(dataWriteOptions(), batch);
          for (MarshallableEntry<K, V> e : expirableEntries)
             addNewExpiry(migrationHandler.expiredDb, e);
+         migrationHandler.markOrderedExpiryIndex();
 
          // Close original and new handler
          handler.close();
@@ -231,6 +388,47 @@ private void migrateFromV11() throws IOException, RocksDBException {
       }
    }
 
+   /**
+    * Rewrites an expiration index written before it was ordered by expiry time. The legacy index is keyed by the
+    * marshalled expiry time, which does not sort by time, and its values are either a marshalled key or an
+    * {@link ExpiryBucket} of marshalled keys.
+    * <p>
+    * Each batch writes the new keys and deletes the legacy keys they replace atomically, and the legacy keys sort after
+    * all the new ones. A migration interrupted by a crash is resumed on the next start by iterating only the remaining
+    * legacy keys.
+    */
+   private void migrateExpiryIndex() throws RocksDBException {
+      try (ReadOptions readOptions = new ReadOptions().setFillCache(false);
+           RocksIterator it = expiredDb.newIterator(readOptions)) {
+         // The iterator reads from an implicit snapshot, so the rewritten keys are not visited again
+         WriteBatch batch = new WriteBatch();
+         try {
+            for (it.seek(LEGACY_EXPIRY_INDEX_START); it.isValid(); it.next()) {
+               byte[] legacyKey = it.key();
+               long expiry = this.<Long>unmarshall(legacyKey);
+               Object value = unmarshall(it.value());
+               if (value instanceof ExpiryBucket) {
+                  for (byte[] marshalledKey : ((ExpiryBucket) value).entries) {
+                     batch.put(expiryIndexKey(expiry, marshalledKey), Util.EMPTY_BYTE_ARRAY);
+                  }
+               } else {
+                  batch.put(expiryIndexKey(expiry, it.value()), Util.EMPTY_BYTE_ARRAY);
+               }
+               batch.delete(legacyKey);
+               if (batch.count() >= EXPIRY_INDEX_MIGRATION_BATCH) {
+                  expiredDb.write(dataWriteOptions(), batch);
+                  batch.clear();
+               }
+            }
+            if (batch.count() > 0) {
+               expiredDb.write(dataWriteOptions(), batch);
+            }
+         } finally {
+            batch.close();
+         }
+      }
+   }
+
    private Path getQualifiedLocation(String qualifier) {
       return org.infinispan.persistence.PersistenceUtil.getQualifiedLocation(ctx.getGlobalConfiguration(), configuration.location(), ctx.getCache().getName(), qualifier);
    }
@@ -259,6 +457,15 @@ private DBOptions dataDbOptions() {
       } else {
          dbOptions = new DBOptions();
       }
+      if (writeBufferManager != null) {
+         dbOptions.setWriteBufferManager(writeBufferManager);
+      }
+      if (rateLimiter != null) {
+         dbOptions.setRateLimiter(rateLimiter);
+      }
+      if (statistics != null) {
+         dbOptions.setStatistics(statistics);
+      }
       return dbOptions
             .setCreateIfMissing(true)
             // We have to create missing column families on open.
@@ -270,7 +477,8 @@ private DBOptions dataDbOptions() {
    protected Options expiredDbOptions() {
       return new Options()
             .setCreateIfMissing(true)
-            // Make sure keys are sorted by bytes - we use this sorting to remove entries that have expired most recently
+            // Make sure keys are sorted by bytes - the keys start with the big-endian expiry time, so the entries
+            // that are due form a single range at the start of the database
             .setComparator(BuiltinComparator.BYTEWISE_COMPARATOR);
    }
 
@@ -286,10 +494,12 @@ protected static RocksDB openDatabase(Path location, Options options) throws Roc
    @Override
    public CompletionStage<Void> stop() {
       return blockingManager.runBlocking(() -> {
+         unregisterMetrics();
          // it could be null if an issue occurs during the initialization
          if (handler != null) {
             handler.close();
          }
+         closeSharedResources();
       }, "rocksdb-stop");
    }
 
@@ -352,6 +562,11 @@ public CompletionStage<MarshallableEntry<K, V>> load(int segment, Object key) {
       return handler.load(segment, key);
    }
 
+   @Override
+   public Publisher<MarshallableEntry<K, V>> load(Collection<?> keys, ToIntFunction<Object> segmentMapper) {
+      return handler.load(keys, segmentMapper);
+   }
+
    @Override
    public CompletionStage<Void> batch(int publisherCount, Publisher<SegmentedPublisher<Object>> removePublisher,
                                       Publisher<SegmentedPublisher<MarshallableEntry<K, V>>> writePublisher) {
@@ -381,8 +596,13 @@ public CompletionStage<Void> batch(int publisherCount, Publisher<SegmentedPublis
       return blockingManager.runBlocking(() -> {
          try {
             db.write(dataWriteOptions(), batch);
-            for (MarshallableEntry<K, V> me : expirableEntries) {
-               addNewExpiry(expiredDb, me);
+            if (!expirableEntries.isEmpty()) {
+               try (WriteBatch expiryBatch = new WriteBatch()) {
+                  for (MarshallableEntry<K, V> me : expirableEntries) {
+                     expiryBatch.put(expiryIndexKey(me), Util.EMPTY_BYTE_ARRAY);
+                  }
+                  expiredDb.write(dataWriteOptions(), expiryBatch);
+               }
             }
          } catch (RocksDBException e) {
             throw new PersistenceException(e);
@@ -407,66 +627,15 @@ public Publisher<MarshallableEntry<K, V>> purgeExpired() {
    }
 
    private Flowable<MarshallableEntry<K, V>> actualPurgeExpired(long now) {
-      // The following flowable is responsible for emitting entries that have expired from expiredDb and removing the
-      // given entries
-      Flowable<byte[]> expiredFlowable = Flowable.using(() -> {
-         ReadOptions readOptions = new ReadOptions().setFillCache(false);
-         return new AbstractMap.SimpleImmutableEntry<>(readOptions, expiredDb.newIterator(readOptions));
-      }, entry -> {
-         if (entry.getValue() == null) {
-            return Flowable.empty();
-         }
-         RocksIterator iterator = entry.getValue();
-         iterator.seekToFirst();
-
-         return Flowable.fromIterable(() ->
-               new BaseRocksIterator<>(iterator) {
-                  @Override
-                  protected byte[] getNext() {
-                     byte[] keyBytes = readKey();
-                     if (keyBytes == null)
-                        return null;
-
-                     Long time = unmarshall(keyBytes);
-                     if (time > now)
-                        return null;
-                     try {
-                        expiredDb.delete(keyBytes);
-                     } catch (RocksDBException e) {
-                        throw new PersistenceException(e);
-                     }
-                     byte[] value = readValue();
-                     moveNext();
-                     return value;
-                  }
-
-
-               });
-      }, entry -> {
-         entry.getKey().close();
-         RocksIterator rocksIterator = entry.getValue();
-         if (rocksIterator != null) {
-            synchronized (rocksIterator) {
-               rocksIterator.close();
-            }
-         }
-      });
-
-      Flowable<MarshallableEntry<K, V>> expiredEntryFlowable = expiredFlowable.flatMap(expiredBytes -> {
-         Object bucketKey = unmarshall(expiredBytes);
-         if (bucketKey instanceof ExpiryBucket) {
-            return Flowable.fromIterable(((ExpiryBucket) bucketKey).entries)
-                  .flatMapMaybe(marshalledKey -> {
-                     ColumnFamilyHandle columnFamilyHandle = handler.getHandleForMarshalledKey(marshalledKey);
-                     MarshalledValue mv = handlePossiblyExpiredKey(columnFamilyHandle, marshalledKey, now);
-                     return mv == null ? Maybe.empty() : Maybe.just(entryFactory.create(unmarshall(marshalledKey), mv));
-                  });
-         } else {
-            // The bucketKey is an actual key
-            ColumnFamilyHandle columnFamilyHandle = handler.getHandle(bucketKey);
-            MarshalledValue mv = handlePossiblyExpiredKey(columnFamilyHandle, marshall(bucketKey), now);
-            return mv == null ? Flowable.empty() : Flowable.just(entryFactory.create(bucketKey, mv));
-         }
+      // The following flowable emits the marshalled keys of the expiration index entries that are due, reading only
+      // the range of the index up to now, and removes the visited entries once done
+      Flowable<byte[]> expiredFlowable = Flowable.using(() -> openExpiryIndexScan(now),
+            scan -> Flowable.fromIterable(() -> scan), ExpiryIndexScan::close);
+
+      Flowable<MarshallableEntry<K, V>> expiredEntryFlowable = expiredFlowable.flatMapMaybe(marshalledKey -> {
+         ColumnFamilyHandle columnFamilyHandle = handler.getHandleForMarshalledKey(marshalledKey);
+         MarshalledValue mv = handlePossiblyExpiredKey(columnFamilyHandle, marshalledKey, now);
+         return mv == null ? Maybe.empty() : Maybe.just(entryFactory.create(unmarshall(marshalledKey), mv));
       });
 
       if (log.isTraceEnabled()) {
@@ -547,6 +716,10 @@ private MarshallableEntry<K, V> unmarshallEntry(Object key, byte[] valueBytes) {
    }
 
    private void addNewExpiry(RocksDB expiredDb, MarshallableEntry<? extends K, ? extends V> entry) throws RocksDBException {
+      expiredDb.put(expiryIndexKey(entry), Util.EMPTY_BYTE_ARRAY);
+   }
+
+   private byte[] expiryIndexKey(MarshallableEntry<? extends K, ? extends V> entry) {
       long expiry = entry.expiryTime();
       long maxIdle = entry.getMetadata().maxIdle();
       if (maxIdle > 0) {
@@ -554,10 +727,81 @@ private void addNewExpiry(RocksDB expiredDb, MarshallableEntry<? extends K, ? ex
          // which could lead to unexpected results, hence, InternalCacheEntry calls are required
          expiry = maxIdle + ctx.getTimeService().wallClockTime();
       }
-      byte[] keyBytes = entry.getKeyBytes().copy().getBuf();
-      putExpireDbData(expiredDb, new ExpiryEntry(expiry, keyBytes));
+      return expiryIndexKey(expiry, MarshallUtil.toByteArray(entry.getKeyBytes()));
    }
 
+   /**
+    * The expiration index keys are the big-endian expiry time followed by the marshalled key, so every key has its own
+    * index entry and the bytewise order of the index is the expiry order.
+    */
+   private static byte[] expiryIndexKey(long expiry, byte[] marshalledKey) {
+      return ByteBuffer.allocate(Long.BYTES + marshalledKey.length)
+            .putLong(expiry)
+            .put(marshalledKey)
+            .array();
+   }
+
+   private ExpiryIndexScan openExpiryIndexScan(long now) {
+      Slice upperBound = new Slice(expiryIndexKey(now + 1, Util.EMPTY_BYTE_ARRAY));
+      ReadOptions readOptions = new ReadOptions().setFillCache(false).setIterateUpperBound(upperBound);
+      RocksIterator iterator = expiredDb.newIterator(readOptions);
+      iterator.seekToFirst();
+      return new ExpiryIndexScan(upperBound, readOptions, iterator);
+   }
+
+   /**
+    * Iterates the marshalled keys of the due expiration index entries. When closed, the visited index entries are
+    * removed in a single batch. Entries added to the index while scanning were not visited, so they are kept for the
+    * next purge.
+    */
+   private class ExpiryIndexScan extends BaseRocksIterator<byte[]> {
+      private final Slice upperBound;
+      private final ReadOptions readOptions;
+      private final RocksIterator iterator;
+      private final WriteBatch visited = new WriteBatch();
+
+      ExpiryIndexScan(Slice upperBound, ReadOptions readOptions, RocksIterator iterator) {
+         super(iterator);
+         this.upperBound = upperBound;
+         this.readOptions = readOptions;
+         this.iterator = iterator;
+      }
+
+      @Override
+      protected byte[] getNext() {
+         byte[] indexKey = readKey();
+         if (indexKey == null)
+            return null;
+         moveNext();
+         try {
+            visited.delete(indexKey);
+         } catch (RocksDBException e) {
+            throw new PersistenceException(e);
+         }
+         return Arrays.copyOfRange(indexKey, Long.BYTES, indexKey.length);
+      }
+
+      void close() {
+         try {
+            if (visited.count() > 0) {
+               expiredDb.write(dataWriteOptions(), visited);
+            }
+         } catch (RocksDBException e) {
+            throw new PersistenceException(e);
+         } finally {
+            synchronized (iterator) {
+               iterator.close();
+            }
+            visited.close();
+            readOptions.close();
+            upperBound.close();
+         }
+      }
+   }
+
+   /**
+    * Value of the legacy expiration index when several keys had the same expiry time, only read to migrate it.
+    */
    @ProtoTypeId(ProtoStreamTypeIds.ROCKSDB_EXPIRY_BUCKET)
    static final class ExpiryBucket {
       @ProtoField(number = 1, collectionImplementation = ArrayList.class)
@@ -584,33 +828,6 @@ static final class MetadataImpl {
       }
    }
 
-   private static final class ExpiryEntry {
-
-      final long expiry;
-      final byte[] keyBytes;
-
-      ExpiryEntry(long expiry, byte[] keyBytes) {
-         this.expiry = expiry;
-         this.keyBytes = keyBytes;
-      }
-
-      @Override
-      public boolean equals(Object o) {
-         if (this == o) return true;
-         if (o == null || getClass() != o.getClass()) return false;
-         ExpiryEntry that = (ExpiryEntry) o;
-         return expiry == that.expiry &&
-               Arrays.equals(keyBytes, that.keyBytes);
-      }
-
-      @Override
-      public int hashCode() {
-         int result = Objects.hash(expiry);
-         result = 31 * result + Arrays.hashCode(keyBytes);
-         return result;
-      }
-   }
-
    private class RocksLegacyEntryIterator extends BaseRocksIterator<MarshallableEntry<K, V>> {
       private final long now;
       private final PersistenceMarshaller pm;
@@ -742,6 +959,14 @@ MetadataImpl loadMetadata() throws RocksDBException {
          return unmarshall(db.get(metaColumnFamilyHandle, META_COLUMN_FAMILY_KEY));
       }
 
+      boolean hasOrderedExpiryIndex() throws RocksDBException {
+         return db.get(metaColumnFamilyHandle, META_EXPIRY_INDEX_KEY) != null;
+      }
+
+      void markOrderedExpiryIndex() throws RocksDBException {
+         db.put(metaColumnFamilyHandle, META_EXPIRY_INDEX_KEY, Util.EMPTY_BYTE_ARRAY);
+      }
+
       ColumnFamilyDescriptor newDescriptor(byte[] name) {
          ColumnFamilyOptions columnFamilyOptions;
          if (columnFamilyProperties != null) {
@@ -755,6 +980,15 @@ ColumnFamilyDescriptor newDescriptor(byte[] name) {
          if (configuration.attributes().attribute(RocksDBStoreConfiguration.COMPRESSION_TYPE).isModified()) {
             columnFamilyOptions.setCompressionType(configuration.compressionType().getValue());
          }
+         if (configuration.attributes().attribute(RocksDBStoreConfiguration.BOTTOMMOST_COMPRESSION_TYPE).isModified()) {
+            columnFamilyOptions.setBottommostCompressionType(configuration.bottommostCompressionType().getValue());
+         }
+         if (configuration.tuning().writeBufferSize() > 0) {
+            columnFamilyOptions.setWriteBufferSize(configuration.tuning().writeBufferSize());
+         }
+         if (tableConfig != null) {
+            columnFamilyOptions.setTableFormatConfig(tableConfig);
+         }
          return new ColumnFamilyDescriptor(name, columnFamilyOptions);
       }
 
@@ -784,6 +1018,50 @@ CompletionStage<MarshallableEntry<K, V>> load(int segment, Object key) {
          }
       }
 
+      Publisher<MarshallableEntry<K, V>> load(Collection<?> keys, ToIntFunction<Object> segmentMapper) {
+         return Flowable.defer(() -> {
+            List<Object> keysToLoad = new ArrayList<>(keys.size());
+            List<ColumnFamilyHandle> handles = new ArrayList<>(keys.size());
+            List<byte[]> marshalledKeys = new ArrayList<>(keys.size());
+            try {
+               for (Object key : keys) {
+                  ColumnFamilyHandle handle = getHandle(segmentMapper.applyAsInt(key));
+                  if (handle == null) {
+                     log.tracef("Ignoring load of key %s as handle is not currently configured", key);
+                     continue;
+                  }
+                  keysToLoad.add(key);
+                  handles.add(handle);
+                  marshalledKeys.add(marshall(key));
+               }
+            } catch (Exception e) {
+               throw new PersistenceException(e);
+            }
+            if (keysToLoad.isEmpty()) {
+               return Flowable.empty();
+            }
+            // A single multi get reads all the keys with one call
+            CompletionStage<List<byte[]>> entriesBytesStage = blockingManager.supplyBlocking(() -> {
+               try {
+                  return db.multiGetAsList(handles, marshalledKeys);
+               } catch (RocksDBException e) {
+                  throw new CompletionException(e);
+               }
+            }, "rocksdb-load-many");
+            return Flowable.fromCompletionStage(entriesBytesStage).concatMapIterable(entriesBytes -> {
+               long now = timeService.wallClockTime();
+               List<MarshallableEntry<K, V>> entries = new ArrayList<>(entriesBytes.size());
+               for (int i = 0; i < entriesBytes.size(); i++) {
+                  MarshallableEntry<K, V> me = unmarshallEntry(keysToLoad.get(i), entriesBytes.get(i));
+                  if (me != null && !me.isExpired(now)) {
+                     entries.add(me);
+                  }
+               }
+               return entries;
+            });
+         });
+      }
+
       CompletionStage<Void> write(int segment, MarshallableEntry<? extends K, ? extends V> me) {
          ColumnFamilyHandle handle = getHandle(segment);
          if (handle == null) {
@@ -1155,25 +1433,6 @@ CompletionStage<Long> approximateSize(IntSet segments) {
       }
    }
 
-   private void putExpireDbData(RocksDB expiredDb, ExpiryEntry entry) throws RocksDBException {
-      final byte[] expiryBytes = marshall(entry.expiry);
-      final byte[] existingBytes = expiredDb.get(expiryBytes);
-
-      if (existingBytes != null) {
-         // in the case of collision make the value a List ...
-         final Object existing = unmarshall(existingBytes);
-         if (existing instanceof ExpiryBucket) {
-            ((ExpiryBucket) existing).entries.add(entry.keyBytes);
-            expiredDb.put(expiryBytes, marshall(existing));
-         } else {
-            ExpiryBucket bucket = new ExpiryBucket(existingBytes, entry.keyBytes);
-            expiredDb.put(expiryBytes, marshall(bucket));
-         }
-      } else {
-         expiredDb.put(expiryBytes, entry.keyBytes);
-      }
-   }
-
    /*
     * Instead of iterate in RocksIterator we use the first and last byte array
     */
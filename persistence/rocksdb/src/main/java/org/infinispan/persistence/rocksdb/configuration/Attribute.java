@@ -12,9 +12,14 @@ public enum Attribute {
    // must be first
    UNKNOWN(null),
 
+   BLOCK_CACHE_SIZE("block-cache-size"),
+   BLOCK_CACHE_TYPE("block-cache-type"),
    BLOCK_SIZE("block-size"),
+   BLOOM_FILTER_BITS("bloom-filter-bits"),
+   BOTTOMMOST_TYPE("bottommost-type"),
    CACHE_SIZE("cache-size"),
    CLEAR_THRESHOLD("clear-threshold"),
+   COMPACTION_RATE_LIMIT("compaction-rate-limit"),
    COMPRESSION_TYPE("compressionType"),
    EXPIRED_LOCATION("expiredLocation"),
    EXPIRY_QUEUE_SIZE("expiryQueueSize"),
@@ -22,7 +27,10 @@ public enum Attribute {
    LOCATION("location"),
    PATH("path"),
    RELATIVE_TO("relative-to"),
+   STATISTICS("statistics"),
    TYPE("type"),
+   WRITE_BUFFER_MANAGER_SIZE("write-buffer-manager-size"),
+   WRITE_BUFFER_SIZE("write-buffer-size"),
    ;
 
    private final String name;
@@ -0,0 +1,17 @@
+package org.infinispan.persistence.rocksdb.configuration;
+
+/**
+ * The implementation of the block cache shared by the column families of a RocksDB store.
+ *
+ * @since 15.1
+ */
+public enum BlockCacheType {
+   /**
+    * A sharded least-recently-used cache.
+    */
+   LRU,
+   /**
+    * A lock-free clock cache, which scales better than {@link #LRU} with many concurrent readers.
+    */
+   HYPER_CLOCK
+}
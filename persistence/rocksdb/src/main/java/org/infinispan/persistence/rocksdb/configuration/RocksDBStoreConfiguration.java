@@ -22,21 +22,30 @@ public class RocksDBStoreConfiguration extends AbstractStoreConfiguration<RocksD
    final static AttributeDefinition<String> LOCATION = AttributeDefinition.builder(org.infinispan.persistence.rocksdb.configuration.Attribute.PATH, null, String.class).immutable().build();
    public final static AttributeDefinition<CompressionType> COMPRESSION_TYPE = AttributeDefinition.builder(org.infinispan.persistence.rocksdb.configuration.Attribute.COMPRESSION_TYPE, CompressionType.NONE).immutable().autoPersist(false).build();
 
+   public final static AttributeDefinition<CompressionType> BOTTOMMOST_COMPRESSION_TYPE = AttributeDefinition.builder(org.infinispan.persistence.rocksdb.configuration.Attribute.BOTTOMMOST_TYPE, CompressionType.NONE).immutable().autoPersist(false).build();
+
    public static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(RocksDBStoreConfiguration.class, AbstractStoreConfiguration.attributeDefinitionSet(), LOCATION, COMPRESSION_TYPE);
+      return new AttributeSet(RocksDBStoreConfiguration.class, AbstractStoreConfiguration.attributeDefinitionSet(), LOCATION, COMPRESSION_TYPE, BOTTOMMOST_COMPRESSION_TYPE);
    }
 
    private final RocksDBExpirationConfiguration expiration;
+   private final RocksDBTuningConfiguration tuning;
 
-   public RocksDBStoreConfiguration(AttributeSet attributes, AsyncStoreConfiguration async, RocksDBExpirationConfiguration expiration) {
+   public RocksDBStoreConfiguration(AttributeSet attributes, AsyncStoreConfiguration async, RocksDBExpirationConfiguration expiration,
+                                    RocksDBTuningConfiguration tuning) {
       super(Element.ROCKSDB_STORE, attributes, async);
       this.expiration = expiration;
+      this.tuning = tuning;
    }
 
    public RocksDBExpirationConfiguration expiration() {
       return expiration;
    }
 
+   public RocksDBTuningConfiguration tuning() {
+      return tuning;
+   }
+
    public String location() {
       return attributes.attribute(LOCATION).get();
    }
@@ -48,4 +57,12 @@ public String expiredLocation() {
    public CompressionType compressionType() {
       return attributes.attribute(COMPRESSION_TYPE).get();
    }
+
+   /**
+    * @return the compression of the bottommost level, which holds most of the data. Only applied when configured,
+    * otherwise the bottommost level uses {@link #compressionType()}.
+    */
+   public CompressionType bottommostCompressionType() {
+      return attributes.attribute(BOTTOMMOST_COMPRESSION_TYPE).get();
+   }
 }
@@ -1,6 +1,7 @@
 package org.infinispan.persistence.rocksdb.configuration;
 
 import static org.infinispan.persistence.rocksdb.configuration.RocksDBExpirationConfiguration.EXPIRED_LOCATION;
+import static org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfiguration.BOTTOMMOST_COMPRESSION_TYPE;
 import static org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfiguration.COMPRESSION_TYPE;
 import static org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfiguration.LOCATION;
 
@@ -18,6 +19,7 @@
 public class RocksDBStoreConfigurationBuilder extends AbstractStoreConfigurationBuilder<RocksDBStoreConfiguration, RocksDBStoreConfigurationBuilder> {
 
    protected RocksDBExpirationConfigurationBuilder expiration = new RocksDBExpirationConfigurationBuilder();
+   protected RocksDBTuningConfigurationBuilder tuning = new RocksDBTuningConfigurationBuilder();
 
    public RocksDBStoreConfigurationBuilder(PersistenceConfigurationBuilder builder) {
       this(builder, RocksDBStoreConfiguration.attributeDefinitionSet());
@@ -60,11 +62,28 @@ public RocksDBStoreConfigurationBuilder compressionType(CompressionType compress
       return self();
    }
 
+   /**
+    * Sets the compression of the bottommost level, which holds most of the data, so that a stronger compression can
+    * be used there while the upper levels use the faster {@link #compressionType(CompressionType)}.
+    */
+   public RocksDBStoreConfigurationBuilder bottommostCompressionType(CompressionType compressionType) {
+      attributes.attribute(BOTTOMMOST_COMPRESSION_TYPE).set(compressionType);
+      return self();
+   }
+
+   /**
+    * Tuning of the block cache, bloom filters, memtables and compactions shared by the column families of the store.
+    */
+   public RocksDBTuningConfigurationBuilder tuning() {
+      return tuning;
+   }
+
    @Override
    public void validate() {
       // how do you validate required attributes?
       super.validate();
       expiration.validate();
+      tuning.validate();
    }
 
    @Override
@@ -78,13 +97,14 @@ public void validate(GlobalConfiguration globalConfig) {
 
    @Override
    public RocksDBStoreConfiguration create() {
-      return new RocksDBStoreConfiguration(attributes.protect(), async.create(), expiration.create());
+      return new RocksDBStoreConfiguration(attributes.protect(), async.create(), expiration.create(), tuning.create());
    }
 
    @Override
    public Builder<?> read(RocksDBStoreConfiguration template, Combine combine) {
       super.read(template, combine);
       expiration.read(template.expiration(), combine);
+      tuning.read(template.tuning(), combine);
       return self();
    }
 
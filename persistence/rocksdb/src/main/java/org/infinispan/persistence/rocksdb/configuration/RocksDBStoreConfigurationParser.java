@@ -4,6 +4,7 @@
 import static org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfigurationParser.NAMESPACE;
 
 import org.infinispan.commons.configuration.io.ConfigurationReader;
+import org.infinispan.commons.util.ByteQuantity;
 import org.infinispan.configuration.cache.ConfigurationBuilder;
 import org.infinispan.configuration.parsing.ConfigurationBuilderHolder;
 import org.infinispan.configuration.parsing.ConfigurationParser;
@@ -97,6 +98,10 @@ private void parseRocksDBCacheStore(ConfigurationReader reader, RocksDBStoreConf
                this.parseCompression(reader, builder);
                break;
             }
+            case TUNING: {
+               this.parseTuning(reader, builder.tuning());
+               break;
+            }
             default: {
                Parser.parseStoreElement(reader, builder);
             }
@@ -129,6 +134,54 @@ private void parseCompression(ConfigurationReader reader, RocksDBStoreConfigurat
                builder.compressionType(CompressionType.valueOf(value));
                break;
             }
+            case BOTTOMMOST_TYPE: {
+               builder.bottommostCompressionType(CompressionType.valueOf(value));
+               break;
+            }
+            default:
+               throw ParseUtils.unexpectedAttribute(reader, i);
+         }
+      }
+      ParseUtils.requireNoContent(reader);
+   }
+
+   private void parseTuning(ConfigurationReader reader, RocksDBTuningConfigurationBuilder builder) {
+      for (int i = 0; i < reader.getAttributeCount(); i++) {
+         String value = reader.getAttributeValue(i);
+         Attribute attribute = Attribute.forName(reader.getAttributeName(i));
+         switch (attribute) {
+            case BLOCK_CACHE_SIZE: {
+               builder.blockCacheSize(ByteQuantity.parse(value));
+               break;
+            }
+            case BLOCK_CACHE_TYPE: {
+               builder.blockCacheType(ParseUtils.parseEnum(reader, i, BlockCacheType.class, value));
+               break;
+            }
+            case BLOCK_SIZE: {
+               builder.blockSize(ByteQuantity.parse(value));
+               break;
+            }
+            case BLOOM_FILTER_BITS: {
+               builder.bloomFilterBits(Double.parseDouble(value));
+               break;
+            }
+            case WRITE_BUFFER_SIZE: {
+               builder.writeBufferSize(ByteQuantity.parse(value));
+               break;
+            }
+            case WRITE_BUFFER_MANAGER_SIZE: {
+               builder.writeBufferManagerSize(ByteQuantity.parse(value));
+               break;
+            }
+            case COMPACTION_RATE_LIMIT: {
+               builder.compactionRateLimit(ByteQuantity.parse(value));
+               break;
+            }
+            case STATISTICS: {
+               builder.statistics(ParseUtils.parseBoolean(reader, i, value));
+               break;
+            }
             default:
                throw ParseUtils.unexpectedAttribute(reader, i);
          }
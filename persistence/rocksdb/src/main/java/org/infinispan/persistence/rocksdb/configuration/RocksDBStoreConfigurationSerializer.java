@@ -21,11 +21,13 @@ public void serialize(ConfigurationWriter writer, RocksDBStoreConfiguration conf
       writer.writeDefaultNamespace(RocksDBStoreConfigurationParser.NAMESPACE + Version.getMajorMinor());
       configuration.attributes().write(writer);
       writeCommonStoreSubAttributes(writer, configuration);
-      if (attributes.attribute(RocksDBStoreConfiguration.COMPRESSION_TYPE).isModified()) {
+      if (attributes.attribute(RocksDBStoreConfiguration.COMPRESSION_TYPE).isModified() || attributes.attribute(RocksDBStoreConfiguration.BOTTOMMOST_COMPRESSION_TYPE).isModified()) {
          writer.writeStartElement(Element.COMPRESSION);
          attributes.write(writer, RocksDBStoreConfiguration.COMPRESSION_TYPE, Attribute.TYPE);
+         attributes.write(writer, RocksDBStoreConfiguration.BOTTOMMOST_COMPRESSION_TYPE, Attribute.BOTTOMMOST_TYPE);
          writer.writeEndElement();
       }
+      configuration.tuning().write(writer);
       RocksDBExpirationConfiguration expiration = configuration.expiration();
       AttributeSet expirationAttrs = expiration.attributes();
       if (expirationAttrs.attribute(RocksDBExpirationConfiguration.EXPIRED_LOCATION).isModified()) {
@@ -0,0 +1,87 @@
+package org.infinispan.persistence.rocksdb.configuration;
+
+import org.infinispan.commons.configuration.attributes.AttributeDefinition;
+import org.infinispan.commons.configuration.attributes.AttributeSet;
+import org.infinispan.commons.configuration.attributes.ConfigurationElement;
+
+/**
+ * Tuning of the RocksDB data database. The block cache, the write buffer manager and the compaction rate limiter are
+ * shared by all the column families of the store, so their sizes bound the store as a whole, regardless of the number
+ * of segments.
+ *
+ * @since 15.1
+ */
+public class RocksDBTuningConfiguration extends ConfigurationElement<RocksDBTuningConfiguration> {
+
+   static final AttributeDefinition<Long> BLOCK_CACHE_SIZE = AttributeDefinition.builder(Attribute.BLOCK_CACHE_SIZE, -1L).immutable().build();
+   static final AttributeDefinition<BlockCacheType> BLOCK_CACHE_TYPE = AttributeDefinition.builder(Attribute.BLOCK_CACHE_TYPE, BlockCacheType.LRU).immutable().build();
+   static final AttributeDefinition<Long> BLOCK_SIZE = AttributeDefinition.builder(Attribute.BLOCK_SIZE, -1L).immutable().build();
+   static final AttributeDefinition<Double> BLOOM_FILTER_BITS = AttributeDefinition.builder(Attribute.BLOOM_FILTER_BITS, 10d).immutable().build();
+   static final AttributeDefinition<Long> WRITE_BUFFER_SIZE = AttributeDefinition.builder(Attribute.WRITE_BUFFER_SIZE, -1L).immutable().build();
+   static final AttributeDefinition<Long> WRITE_BUFFER_MANAGER_SIZE = AttributeDefinition.builder(Attribute.WRITE_BUFFER_MANAGER_SIZE, -1L).immutable().build();
+   static final AttributeDefinition<Long> COMPACTION_RATE_LIMIT = AttributeDefinition.builder(Attribute.COMPACTION_RATE_LIMIT, -1L).immutable().build();
+   static final AttributeDefinition<Boolean> STATISTICS = AttributeDefinition.builder(Attribute.STATISTICS, false).immutable().build();
+
+   public static AttributeSet attributeDefinitionSet() {
+      return new AttributeSet(RocksDBTuningConfiguration.class, BLOCK_CACHE_SIZE, BLOCK_CACHE_TYPE, BLOCK_SIZE,
+            BLOOM_FILTER_BITS, WRITE_BUFFER_SIZE, WRITE_BUFFER_MANAGER_SIZE, COMPACTION_RATE_LIMIT, STATISTICS);
+   }
+
+   RocksDBTuningConfiguration(AttributeSet attributes) {
+      super(Element.TUNING, attributes);
+   }
+
+   /**
+    * @return the capacity in bytes of the block cache shared by all the column families, or -1 to let each column
+    * family use the RocksDB default cache.
+    */
+   public long blockCacheSize() {
+      return attributes.attribute(BLOCK_CACHE_SIZE).get();
+   }
+
+   public BlockCacheType blockCacheType() {
+      return attributes.attribute(BLOCK_CACHE_TYPE).get();
+   }
+
+   /**
+    * @return the size in bytes of the data blocks, or -1 to use the RocksDB default.
+    */
+   public long blockSize() {
+      return attributes.attribute(BLOCK_SIZE).get();
+   }
+
+   /**
+    * @return the bits per key of the bloom filter of each column family, or 0 to disable bloom filters.
+    */
+   public double bloomFilterBits() {
+      return attributes.attribute(BLOOM_FILTER_BITS).get();
+   }
+
+   /**
+    * @return the size in bytes of the memtable of each column family, or -1 to use the RocksDB default.
+    */
+   public long writeBufferSize() {
+      return attributes.attribute(WRITE_BUFFER_SIZE).get();
+   }
+
+   /**
+    * @return the total size in bytes of the memtables of all the column families, or -1 for no limit.
+    */
+   public long writeBufferManagerSize() {
+      return attributes.attribute(WRITE_BUFFER_MANAGER_SIZE).get();
+   }
+
+   /**
+    * @return the maximum bytes per second written by flushes and compactions, or -1 for no limit.
+    */
+   public long compactionRateLimit() {
+      return attributes.attribute(COMPACTION_RATE_LIMIT).get();
+   }
+
+   /**
+    * @return whether RocksDB statistics are collected and exported as cache metrics.
+    */
+   public boolean statistics() {
+      return attributes.attribute(STATISTICS).get();
+   }
+}
@@ -0,0 +1,113 @@
+package org.infinispan.persistence.rocksdb.configuration;
+
+import static org.infinispan.persistence.rocksdb.configuration.RocksDBTuningConfiguration.BLOCK_CACHE_SIZE;
+import static org.infinispan.persistence.rocksdb.configuration.RocksDBTuningConfiguration.BLOCK_CACHE_TYPE;
+import static org.infinispan.persistence.rocksdb.configuration.RocksDBTuningConfiguration.BLOCK_SIZE;
+import static org.infinispan.persistence.rocksdb.configuration.RocksDBTuningConfiguration.BLOOM_FILTER_BITS;
+import static org.infinispan.persistence.rocksdb.configuration.RocksDBTuningConfiguration.COMPACTION_RATE_LIMIT;
+import static org.infinispan.persistence.rocksdb.configuration.RocksDBTuningConfiguration.STATISTICS;
+import static org.infinispan.persistence.rocksdb.configuration.RocksDBTuningConfiguration.WRITE_BUFFER_MANAGER_SIZE;
+import static org.infinispan.persistence.rocksdb.configuration.RocksDBTuningConfiguration.WRITE_BUFFER_SIZE;
+
+import java.lang.invoke.MethodHandles;
+
+import org.infinispan.commons.configuration.Builder;
+import org.infinispan.commons.configuration.Combine;
+import org.infinispan.commons.configuration.attributes.AttributeSet;
+import org.infinispan.persistence.rocksdb.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+/**
+ * @since 15.1
+ */
+public class RocksDBTuningConfigurationBuilder implements Builder<RocksDBTuningConfiguration> {
+   private static final Log log = LogFactory.getLog(MethodHandles.lookup().lookupClass(), Log.class);
+
+   private final AttributeSet attributes;
+
+   RocksDBTuningConfigurationBuilder() {
+      attributes = RocksDBTuningConfiguration.attributeDefinitionSet();
+   }
+
+   public AttributeSet attributes() {
+      return attributes;
+   }
+
+   /**
+    * Sets the capacity in bytes of a block cache shared by all the column families of the store.
+    */
+   public RocksDBTuningConfigurationBuilder blockCacheSize(long blockCacheSize) {
+      attributes.attribute(BLOCK_CACHE_SIZE).set(blockCacheSize);
+      return this;
+   }
+
+   public RocksDBTuningConfigurationBuilder blockCacheType(BlockCacheType blockCacheType) {
+      attributes.attribute(BLOCK_CACHE_TYPE).set(blockCacheType);
+      return this;
+   }
+
+   public RocksDBTuningConfigurationBuilder blockSize(long blockSize) {
+      attributes.attribute(BLOCK_SIZE).set(blockSize);
+      return this;
+   }
+
+   /**
+    * Sets the bits per key of the bloom filter of each column family. 0 disables the bloom filters.
+    */
+   public RocksDBTuningConfigurationBuilder bloomFilterBits(double bloomFilterBits) {
+      attributes.attribute(BLOOM_FILTER_BITS).set(bloomFilterBits);
+      return this;
+   }
+
+   public RocksDBTuningConfigurationBuilder writeBufferSize(long writeBufferSize) {
+      attributes.attribute(WRITE_BUFFER_SIZE).set(writeBufferSize);
+      return this;
+   }
+
+   /**
+    * Limits the total size in bytes of the memtables of all the column families. The memory is charged to the shared
+    * block cache, which must be configured.
+    */
+   public RocksDBTuningConfigurationBuilder writeBufferManagerSize(long writeBufferManagerSize) {
+      attributes.attribute(WRITE_BUFFER_MANAGER_SIZE).set(writeBufferManagerSize);
+      return this;
+   }
+
+   /**
+    * Limits the bytes per second written by flushes and compactions.
+    */
+   public RocksDBTuningConfigurationBuilder compactionRateLimit(long compactionRateLimit) {
+      attributes.attribute(COMPACTION_RATE_LIMIT).set(compactionRateLimit);
+      return this;
+   }
+
+   /**
+    * Enables the collection of RocksDB statistics, which are exported as cache metrics when statistics are enabled on
+    * the cache.
+    */
+   public RocksDBTuningConfigurationBuilder statistics(boolean statistics) {
+      attributes.attribute(STATISTICS).set(statistics);
+      return this;
+   }
+
+   @Override
+   public void validate() {
+      if (attributes.attribute(BLOOM_FILTER_BITS).get() < 0) {
+         throw log.rocksDBInvalidTuningAttribute(Attribute.BLOOM_FILTER_BITS.getLocalName(), attributes.attribute(BLOOM_FILTER_BITS).get());
+      }
+      if (attributes.attribute(WRITE_BUFFER_MANAGER_SIZE).get() > 0 && attributes.attribute(BLOCK_CACHE_SIZE).get() <= 0) {
+         throw log.rocksDBWriteBufferManagerRequiresBlockCache();
+      }
+   }
+
+   @Override
+   public RocksDBTuningConfiguration create() {
+      return new RocksDBTuningConfiguration(attributes.protect());
+   }
+
+   @Override
+   public Builder<?> read(RocksDBTuningConfiguration template, Combine combine) {
+      attributes.read(template.attributes(), combine);
+      return this;
+   }
+}
@@ -21,4 +21,10 @@ public interface Log extends BasicLogger {
 
    @Message(value = "RocksDB properties %s, contains an unknown property", id = 294)
    CacheConfigurationException rocksDBUnknownPropertiesSupplied(String properties);
+
+   @Message(value = "Invalid value %2$s for RocksDB tuning attribute '%1$s'", id = 295)
+   CacheConfigurationException rocksDBInvalidTuningAttribute(String attribute, Object value);
+
+   @Message(value = "A RocksDB write buffer manager size requires a block cache size, the memtables are charged to the block cache", id = 296)
+   CacheConfigurationException rocksDBWriteBufferManagerRequiresBlockCache();
 }
@@ -8,6 +8,7 @@
 import static org.testng.AssertJUnit.assertTrue;
 import static org.testng.AssertJUnit.fail;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -17,6 +18,7 @@
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.infinispan.commons.io.ByteBufferImpl;
+import org.infinispan.commons.marshall.MarshallUtil;
 import org.infinispan.commons.test.CommonsTestingUtil;
 import org.infinispan.commons.util.IntSet;
 import org.infinispan.commons.util.Util;
@@ -30,7 +32,10 @@
 import org.infinispan.persistence.spi.MarshallableEntry;
 import org.infinispan.persistence.spi.NonBlockingStore;
 import org.infinispan.persistence.spi.PersistenceException;
+import org.infinispan.test.TestingUtil;
 import org.infinispan.test.fwk.TestInternalCacheEntryFactory;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.RocksDB;
 import org.testng.AssertJUnit;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.Factory;
@@ -174,6 +179,75 @@ public void testSegmentsRemovedAndAdded() {
       assertEquals(Arrays.asList(KEY_1, KEY_2), listKeys(null));
    }
 
+   /**
+    * Entries expiring at the same time share an expiry timestamp in the expiration index, and a purge must only
+    * remove the entries that are due.
+    */
+   public void testPurgeOnlyDueEntries() {
+      long lifespan = 1000;
+      InternalCacheEntry<Object, Object> ice1 = internalCacheEntry("k1", "v1", lifespan);
+      InternalCacheEntry<Object, Object> ice2 = internalCacheEntry("k2", "v2", lifespan);
+      InternalCacheEntry<Object, Object> ice3 = internalCacheEntry("k3", "v3", lifespan * 10);
+      store.write(marshalledEntry(ice1));
+      store.write(marshalledEntry(ice2));
+      store.write(marshalledEntry(ice3));
+
+      timeService.advance(lifespan + 1);
+      purgeExpired(ice1, ice2);
+      assertTrue(store.contains("k3"));
+
+      // The purged range of the index is gone, the next purge only sees the entry that became due since
+      assertEquals(0, store.purge().size());
+      timeService.advance(lifespan * 10);
+      purgeExpired(ice3);
+   }
+
+   /**
+    * Writes the expiration index in the format used before it was ordered, as left by a migration interrupted after
+    * rewriting some of its keys, and checks that the migration on start keeps the expired entries purged.
+    */
+   public void testLegacyExpiryIndexMigratedOnStart() throws Exception {
+      long lifespan = 1000;
+      InternalCacheEntry<Object, Object> ice1 = internalCacheEntry("k1", "v1", lifespan);
+      InternalCacheEntry<Object, Object> ice2 = internalCacheEntry("k2", "v2", lifespan);
+      InternalCacheEntry<Object, Object> ice3 = internalCacheEntry("k3", "v3", lifespan * 10);
+      MarshallableEntry<Object, Object> me1 = marshalledEntry(ice1);
+      MarshallableEntry<Object, Object> me2 = marshalledEntry(ice2);
+      store.write(me1);
+      store.write(me2);
+      store.write(marshalledEntry(ice3));
+
+      RocksDBStore<?, ?> rocksDBStore = (RocksDBStore<?, ?>) store.delegate();
+      RocksDB expiredDb = TestingUtil.extractField(rocksDBStore, "expiredDb");
+      Object handler = TestingUtil.extractField(rocksDBStore, "handler");
+      RocksDB db = TestingUtil.extractField(handler, "db");
+      ColumnFamilyHandle metaHandle = TestingUtil.extractField(handler, "metaColumnFamilyHandle");
+
+      // k1 and k2 expire at the same time, so the legacy index kept them in a bucket, while k3 was already rewritten
+      long expiry = me1.expiryTime();
+      assertEquals(expiry, me2.expiryTime());
+      byte[] k1 = MarshallUtil.toByteArray(me1.getKeyBytes());
+      byte[] k2 = MarshallUtil.toByteArray(me2.getKeyBytes());
+      expiredDb.delete(orderedExpiryIndexKey(expiry, k1));
+      expiredDb.delete(orderedExpiryIndexKey(expiry, k2));
+      expiredDb.put(getMarshaller().objectToByteBuffer(expiry),
+            getMarshaller().objectToByteBuffer(new RocksDBStore.ExpiryBucket(k1, k2)));
+      db.delete(metaHandle, RocksDBStore.META_EXPIRY_INDEX_KEY);
+
+      store.stopAndWait();
+      startStore(store);
+
+      timeService.advance(lifespan + 1);
+      purgeExpired(ice1, ice2);
+      assertTrue(store.contains("k3"));
+      timeService.advance(lifespan * 10);
+      purgeExpired(ice3);
+   }
+
+   private static byte[] orderedExpiryIndexKey(long expiry, byte[] marshalledKey) {
+      return ByteBuffer.allocate(Long.BYTES + marshalledKey.length).putLong(expiry).put(marshalledKey).array();
+   }
+
    public void testClear() {
       MarshallableEntry me1 = marshallableEntryFactory.create(KEY_1, "value");
       store.write(1, me1);
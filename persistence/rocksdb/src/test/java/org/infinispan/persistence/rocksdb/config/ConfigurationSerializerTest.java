@@ -16,5 +16,6 @@ protected void compareStoreConfiguration(String name, StoreConfiguration beforeS
       RocksDBStoreConfiguration after = (RocksDBStoreConfiguration) afterStore;
       assertEquals(before.attributes(), after.attributes());
       assertEquals(before.expiration().attributes(), after.expiration().attributes());
+      assertEquals(before.tuning().attributes(), after.tuning().attributes());
    }
 }
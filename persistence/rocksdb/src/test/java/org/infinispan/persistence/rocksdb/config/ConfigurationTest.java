@@ -8,6 +8,7 @@
 import java.net.URL;
 
 import org.infinispan.Cache;
+import org.infinispan.commons.CacheConfigurationException;
 import org.infinispan.commons.test.CommonsTestingUtil;
 import org.infinispan.commons.util.Util;
 import org.infinispan.configuration.cache.Configuration;
@@ -19,8 +20,11 @@
 import org.infinispan.configuration.parsing.ParserRegistry;
 import org.infinispan.manager.DefaultCacheManager;
 import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.persistence.rocksdb.configuration.BlockCacheType;
+import org.infinispan.persistence.rocksdb.configuration.CompressionType;
 import org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfiguration;
 import org.infinispan.persistence.rocksdb.configuration.RocksDBStoreConfigurationBuilder;
+import org.infinispan.persistence.rocksdb.configuration.RocksDBTuningConfiguration;
 import org.infinispan.test.AbstractInfinispanTest;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.Test;
@@ -82,5 +86,58 @@ public void testXmlConfig() throws IOException {
       RocksDBStoreConfiguration rocksdbConfig = (RocksDBStoreConfiguration) cacheLoaderConfig;
       assertEquals("/tmp/rocksdb/52/data", rocksdbConfig.location());
       assertEquals("/tmp/rocksdb/52/expired", rocksdbConfig.expiredLocation());
+      assertEquals(CompressionType.LZ4, rocksdbConfig.compressionType());
+      assertEquals(CompressionType.ZSTD, rocksdbConfig.bottommostCompressionType());
+
+      RocksDBTuningConfiguration tuning = rocksdbConfig.tuning();
+      assertEquals(64 * 1_000_000L, tuning.blockCacheSize());
+      assertEquals(BlockCacheType.HYPER_CLOCK, tuning.blockCacheType());
+      assertEquals(16 * 1_000L, tuning.blockSize());
+      assertEquals(12d, tuning.bloomFilterBits());
+      assertEquals(4 * 1_000_000L, tuning.writeBufferSize());
+      assertEquals(32 * 1_000_000L, tuning.writeBufferManagerSize());
+      assertEquals(16 * 1_000_000L, tuning.compactionRateLimit());
+      assertTrue(tuning.statistics());
+   }
+
+   public void testTunedStore() {
+      GlobalConfiguration globalConfig = new GlobalConfigurationBuilder()
+            .globalState().persistentLocation(tmpDirectory)
+            .metrics().gauges(true)
+            .build();
+
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.statistics().enable();
+      builder.persistence().addStore(RocksDBStoreConfigurationBuilder.class)
+            .location(tmpDirectory + "/tuned-data")
+            .expiredLocation(tmpDirectory + "/tuned-expired")
+            .tuning()
+            .blockCacheSize(8 * 1024 * 1024)
+            .writeBufferManagerSize(4 * 1024 * 1024)
+            .compactionRateLimit(16 * 1024 * 1024)
+            .statistics(true);
+
+      EmbeddedCacheManager cacheManager = new DefaultCacheManager(globalConfig);
+      try {
+         cacheManager.defineConfiguration("tunedCache", builder.build());
+         Cache<String, String> cache = cacheManager.getCache("tunedCache");
+         cache.put("hello", "there");
+         cache.evict("hello");
+         assertEquals("there", cache.get("hello"));
+         // Restarting the store closes and recreates the shared native objects
+         cache.stop();
+         cache.start();
+         assertEquals("there", cache.get("hello"));
+      } finally {
+         cacheManager.stop();
+      }
+   }
+
+   @Test(expectedExceptions = CacheConfigurationException.class)
+   public void testWriteBufferManagerRequiresBlockCache() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.persistence().addStore(RocksDBStoreConfigurationBuilder.class)
+            .tuning().writeBufferManagerSize(1024 * 1024);
+      builder.build();
    }
 }
@@ -103,12 +103,34 @@ private Query<T> createQuery() {
 
    @Override
    public List<T> list() {
+      if (resultCache() != null) {
+         return execute().list();
+      }
       return createQuery().list();
    }
 
    @Override
    public QueryResult<T> execute() {
-      return createQuery().execute();
+      QueryResultCache resultCache = resultCache();
+      if (resultCache == null) {
+         return createQuery().execute();
+      }
+
+      QueryResultCache.Key key = new QueryResultCache.Key(queryString,
+            namedParameters != null ? new HashMap<>(namedParameters) : null, startOffset, maxResults, hitCountAccuracy, local);
+      String entityName = parsingResult.getTargetEntityName();
+      QueryResult<T> result = resultCache.get(key, entityName);
+      if (result == null) {
+         // Read before executing, so that a write applied during the execution invalidates the result
+         long generation = resultCache.generation(entityName);
+         result = createQuery().execute();
+         resultCache.put(key, entityName, generation, result);
+      }
+      return result;
+   }
+
+   private QueryResultCache resultCache() {
+      return parsingResult.getStatementType() == IckleParsingResult.StatementType.SELECT ? queryEngine.resultCache(local) : null;
    }
 
    @Override
@@ -7,6 +7,7 @@
 import java.util.Map;
 
 import org.infinispan.AdvancedCache;
+import org.infinispan.configuration.cache.CacheMode;
 import org.infinispan.objectfilter.Matcher;
 import org.infinispan.objectfilter.ObjectFilter;
 import org.infinispan.objectfilter.SortField;
@@ -69,6 +70,11 @@
     */
    protected final QueryCache queryCache;
 
+   /**
+    * Optional cache for query results, only present for indexed caches.
+    */
+   private final QueryResultCache resultCache;
+
    private final int defaultMaxResults;
 
    protected LocalQueryStatistics queryStatistics;
@@ -81,6 +87,7 @@ protected QueryEngine(AdvancedCache<?, ?> cache, Class<? extends Matcher> matche
       this.queryCache = SecurityActions.getGlobalComponentRegistry(cache.getCacheManager()).getComponent(QueryCache.class);
       this.queryStatistics = SecurityActions.getCacheComponentRegistry(cache).getComponent(LocalQueryStatistics.class);
       this.matcher = SecurityActions.getCacheComponentRegistry(cache).getComponent(matcherImplClass);
+      this.resultCache = SecurityActions.getCacheComponentRegistry(cache).getComponent(QueryResultCache.class);
       this.defaultMaxResults = cache.getCacheConfiguration().query().defaultMaxResults();
       propertyHelper = ((BaseMatcher<TypeMetadata, ?, ?>) matcher).getPropertyHelper();
    }
@@ -480,6 +487,19 @@ protected BaseQuery<?> buildQueryNoAggregations(QueryFactory queryFactory, Strin
             parsingResult.getProjections(), startOffset, maxResults, defaultMaxResults, queryStatistics, local);
    }
 
+   /**
+    * @return the result cache, or {@code null} if the results of the query cannot be cached. The results of a query
+    * are cached only if every write that changes them is applied on this node: in local and replicated caches, and for
+    * local queries in distributed caches.
+    */
+   QueryResultCache resultCache(boolean local) {
+      if (resultCache == null) {
+         return null;
+      }
+      CacheMode cacheMode = cache.getCacheConfiguration().clustering().cacheMode();
+      return !cacheMode.isClustered() || cacheMode.isReplicated() || local && cacheMode.isDistributed() ? resultCache : null;
+   }
+
    protected IckleParsingResult<TypeMetadata> parse(String queryString) {
       return queryCache != null
             ? queryCache.get(cache.getName(), queryString, null, IckleParsingResult.class, (qs, accumulators) -> IckleParser.parse(qs, propertyHelper))
@@ -0,0 +1,178 @@
+package org.infinispan.query.core.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.infinispan.commons.marshall.WrappedBytes;
+import org.infinispan.query.dsl.QueryResult;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * Caches the results of the queries of a cache, keyed by the query string and its parameters, until a write of the
+ * queried entity type invalidates them.
+ * <p>
+ * Each entity type has a generation, incremented after each write of an entry of that type has been applied. A result
+ * is stored with the generation read before the query was executed, and it is only returned while that generation is
+ * current, so a write completing while the query runs prevents its result from being served. Invalidation does not
+ * remove the stale results, they are discarded when they are looked up or evicted.
+ * <p>
+ * The cached list is copied when it is stored and every time it is returned, including the rows of the projections,
+ * so a caller modifying its result does not change the result returned to the others. Entities are not copied: like
+ * the results of an uncached query, they are the instances held by the cache.
+ *
+ * @since 15.1
+ */
+@ThreadSafe
+public final class QueryResultCache {
+
+   private final Cache<Key, CachedResult> results;
+
+   private final ConcurrentMap<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+   /**
+    * Incremented when the entity type of a write is unknown, added to the generation of every entity type.
+    */
+   private final AtomicLong globalGeneration = new AtomicLong();
+
+   private final LongAdder hits = new LongAdder();
+   private final LongAdder misses = new LongAdder();
+
+   private volatile Function<Object, String> entityNameResolver;
+
+   public QueryResultCache(int maxEntries) {
+      results = Caffeine.newBuilder().maximumSize(maxEntries).build();
+   }
+
+   /**
+    * Sets the function returning the entity name of the values which are not Java entities, for example protobuf
+    * messages. The function returns {@code null} if the entity name is not known.
+    */
+   public void entityNameResolver(Function<Object, String> entityNameResolver) {
+      this.entityNameResolver = entityNameResolver;
+   }
+
+   /**
+    * @return the generation of the entity type, to be read before executing a query and passed to
+    * {@link #put(Key, String, long, QueryResult)}.
+    */
+   public long generation(String entityName) {
+      // Both counters only increase, so their sum changes whenever either of them does
+      return globalGeneration.get() + generations.computeIfAbsent(entityName, k -> new AtomicLong()).get();
+   }
+
+   /**
+    * @return the cached result, or {@code null} if there is none or it was invalidated.
+    */
+   public <T> QueryResult<T> get(Key key, String entityName) {
+      CachedResult cached = results.getIfPresent(key);
+      if (cached != null) {
+         if (cached.generation == generation(entityName)) {
+            hits.increment();
+            return (QueryResult<T>) copy(cached.result);
+         }
+         results.asMap().remove(key, cached);
+      }
+      misses.increment();
+      return null;
+   }
+
+   public void put(Key key, String entityName, long generation, QueryResult<?> result) {
+      results.put(key, new CachedResult(generation, copy(result)));
+   }
+
+   private static <T> QueryResult<T> copy(QueryResult<T> result) {
+      List<T> list = result.list();
+      List<T> copy = new ArrayList<>(list.size());
+      for (T e : list) {
+         // Projections are returned as arrays, which the caller can modify
+         copy.add(e instanceof Object[] ? (T) ((Object[]) e).clone() : e);
+      }
+      return new QueryResultImpl<>(result.count(), copy);
+   }
+
+   /**
+    * Invalidates the results of the queries targeting the type of the value, including its super types.
+    */
+   public void invalidate(Object value) {
+      if (value == null) {
+         return;
+      }
+      Function<Object, String> resolver = entityNameResolver;
+      String entityName = resolver != null ? resolver.apply(value) : null;
+      if (entityName != null) {
+         invalidate(entityName);
+      } else if (value instanceof WrappedBytes || value instanceof byte[]) {
+         // The entity type cannot be known without unmarshalling the value
+         invalidateAll();
+      } else {
+         for (Class<?> c = value.getClass(); c != null && c != Object.class; c = c.getSuperclass()) {
+            invalidate(c.getName());
+            for (Class<?> i : c.getInterfaces()) {
+               invalidate(i.getName());
+            }
+         }
+      }
+   }
+
+   public void invalidate(String entityName) {
+      AtomicLong generation = generations.get(entityName);
+      if (generation != null) {
+         generation.incrementAndGet();
+      }
+   }
+
+   public void invalidateAll() {
+      globalGeneration.incrementAndGet();
+   }
+
+   public long getHits() {
+      return hits.sum();
+   }
+
+   public long getMisses() {
+      return misses.sum();
+   }
+
+   /**
+    * @return the ratio of the lookups that found a valid result, between 0 and 1.
+    */
+   public double getHitRatio() {
+      long h = hits.sum();
+      long total = h + misses.sum();
+      return total == 0 ? 0 : (double) h / total;
+   }
+
+   public long size() {
+      return results.estimatedSize();
+   }
+
+   public void clearStatistics() {
+      hits.reset();
+      misses.reset();
+   }
+
+   public void clear() {
+      results.invalidateAll();
+      invalidateAll();
+   }
+
+   /**
+    * The key of a cached result, with all the parameters that change the result of a query.
+    */
+   public record Key(String queryString, Map<String, Object> namedParameters, long startOffset, int maxResults,
+                     Integer hitCountAccuracy, boolean local) {
+   }
+
+   private record CachedResult(long generation, QueryResult<?> result) {
+   }
+}
@@ -54,6 +54,7 @@
 import org.infinispan.interceptors.InvocationSuccessAction;
 import org.infinispan.persistence.manager.PersistenceManager;
 import org.infinispan.persistence.manager.PersistenceManager.StoreChangeListener;
+import org.infinispan.query.core.impl.QueryResultCache;
 import org.infinispan.query.impl.ComponentRegistryUtils;
 import org.infinispan.query.logging.Log;
 import org.infinispan.search.mapper.mapping.SearchMapping;
@@ -109,6 +110,7 @@ public String toString() {
    private final Map<String, Class<?>> indexedClasses;
 
    private SearchMapping searchMapping;
+   private QueryResultCache resultCache;
    private SegmentListener segmentListener;
    private final StoreChangeListener storeChangeListener = pm -> isPersistenceEnabled = pm.isEnabled();
 
@@ -134,6 +136,7 @@ protected void start() {
          cache.addListener(segmentListener);
       }
       searchMapping = ComponentRegistryUtils.getSearchMapping(cache);
+      resultCache = ComponentRegistryUtils.getQueryResultCache(cache);
       persistenceManager.addStoreListener(storeChangeListener);
    }
 
@@ -170,7 +173,7 @@ public BlockingManager getBlockingManager() {
 
    private Object handleDataWriteCommand(InvocationContext ctx, DataWriteCommand command) {
       if (command.hasAnyFlag(FlagBitSets.SKIP_INDEXING)) {
-         return invokeNext(ctx, command);
+         return invokeNextWithoutIndexing(ctx, command);
       }
       // Make sure the searchMapping is ready to accept requests before allowing the invocation to proceed further
       if (searchMapping.isClose()) {
@@ -194,7 +197,7 @@ private Object handleDataWriteCommand(InvocationContext ctx, DataWriteCommand co
 
    private Object handleManyWriteCommand(InvocationContext ctx, WriteCommand command) {
       if (command.hasAnyFlag(FlagBitSets.SKIP_INDEXING)) {
-         return invokeNext(ctx, command);
+         return invokeNextWithoutIndexing(ctx, command);
       }
       return invokeNextThenApply(ctx, command, (rCtx, cmd, rv) -> {
          if (!cmd.isSuccessful()) {
@@ -213,6 +216,14 @@ private Object handleManyWriteCommand(InvocationContext ctx, WriteCommand comman
       });
    }
 
+   private Object invokeNextWithoutIndexing(InvocationContext ctx, WriteCommand command) {
+      if (resultCache == null) {
+         return invokeNext(ctx, command);
+      }
+      // The values are not extracted, so the entity types are unknown
+      return invokeNextAndFinally(ctx, command, (rCtx, cmd, rv, t) -> resultCache.invalidateAll());
+   }
+
    private void registerOldValue(InvocationContext ctx, Object key, boolean unreliablePrevious, Map<Object, Object> oldValues) {
       CacheEntry<?, ?> entryTx = ctx.lookupEntry(key);
       if (entryTx != null && (entryTx.getValue() != null || !unreliablePrevious)) {
@@ -346,6 +357,9 @@ public void purgeAllIndexes() {
 
       // avoid starting if not created yet
       searchMapping.findScopeAll().map(SearchScope::workspace).ifPresent(SearchWorkspace::purge);
+      if (resultCache != null) {
+         resultCache.invalidateAll();
+      }
    }
 
    public void purgeIndex(Class<?> entityType) {
@@ -354,6 +368,9 @@ public void purgeIndex(Class<?> entityType) {
       }
 
       searchMapping.scope(entityType).workspace().purge();
+      if (resultCache != null) {
+         resultCache.invalidateAll();
+      }
    }
 
    /**
@@ -372,6 +389,9 @@ void purgeIndex(IntSet segments) {
 
       Set<String> routingKeys = segments.intStream().boxed().map(Objects::toString).collect(Collectors.toSet());
       scope.get().workspace().purge(routingKeys);
+      if (resultCache != null) {
+         resultCache.invalidateAll();
+      }
    }
 
    /**
@@ -421,6 +441,9 @@ private Object extractKey(Object storedKey) {
    CompletableFuture<?> processChange(InvocationContext ctx, FlagAffectedCommand command, Object storedKey, Object storedOldValue, Object storedNewValue) {
       if (searchMapping.isRestarting()) {
          log.mappingIsRestarting();
+         if (resultCache != null) {
+            resultCache.invalidateAll();
+         }
          return CompletableFutures.completedNull();
       }
 
@@ -458,9 +481,22 @@ && shouldModifyIndexes(command, ctx, storedKey)) {
       } else if (log.isTraceEnabled()) {
          log.tracef("Update not needed for %s", newValue);
       }
+      if (resultCache != null) {
+         // Invalidate once the index is updated, so that the queries executed after the invalidation see the change
+         operation = operation.whenComplete((ignored, t) -> invalidateResults(oldValue, newValue));
+      }
       return operation;
    }
 
+   private void invalidateResults(Object oldValue, Object newValue) {
+      if (oldValue == UNKNOWN) {
+         resultCache.invalidateAll();
+      } else {
+         resultCache.invalidate(oldValue);
+      }
+      resultCache.invalidate(newValue);
+   }
+
    private boolean replacedWithADifferentEntity(Object value, Object previousValue) {
       return value != null && previousValue != null && value.getClass() != previousValue.getClass();
    }
@@ -469,6 +505,9 @@ private void processClearCommand(InvocationContext ctx, ClearCommand command, Ob
       if (shouldModifyIndexes(command, ctx, null)) {
          purgeAllIndexes();
       }
+      if (resultCache != null) {
+         resultCache.invalidateAll();
+      }
    }
 
    public boolean isStopping() {
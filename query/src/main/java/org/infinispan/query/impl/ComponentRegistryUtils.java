@@ -10,6 +10,7 @@
 import org.infinispan.query.backend.KeyTransformationHandler;
 import org.infinispan.query.backend.QueryInterceptor;
 import org.infinispan.query.core.impl.QueryCache;
+import org.infinispan.query.core.impl.QueryResultCache;
 import org.infinispan.query.core.stats.impl.LocalQueryStatistics;
 import org.infinispan.query.core.stats.impl.SearchStatsRetriever;
 import org.infinispan.query.dsl.embedded.impl.QueryEngine;
@@ -85,6 +86,13 @@ public static QueryCache getQueryCache(Cache<?, ?> cache) {
       return SecurityActions.getCacheComponentRegistry(cache.getAdvancedCache()).getComponent(QueryCache.class);
    }
 
+   /**
+    * Returns the optional QueryResultCache.
+    */
+   public static QueryResultCache getQueryResultCache(Cache<?, ?> cache) {
+      return SecurityActions.getCacheComponentRegistry(cache.getAdvancedCache()).getComponent(QueryResultCache.class);
+   }
+
    public static Indexer getIndexer(AdvancedCache<?, ?> cache) {
       ensureIndexed(cache);
       return getRequiredComponent(cache, Indexer.class);
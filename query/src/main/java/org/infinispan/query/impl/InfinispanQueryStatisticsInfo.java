@@ -5,6 +5,7 @@
 import org.infinispan.jmx.annotations.MBean;
 import org.infinispan.jmx.annotations.ManagedAttribute;
 import org.infinispan.jmx.annotations.ManagedOperation;
+import org.infinispan.query.core.impl.QueryResultCache;
 import org.infinispan.query.core.stats.IndexInfo;
 import org.infinispan.query.core.stats.IndexStatistics;
 import org.infinispan.query.core.stats.QueryStatistics;
@@ -32,11 +33,13 @@ public final class InfinispanQueryStatisticsInfo {
 
    private final QueryStatistics queryStatistics;
    private final IndexStatistics indexStatistics;
+   private final QueryResultCache resultCache;
    private final Authorizer authorizer;
 
-   InfinispanQueryStatisticsInfo(SearchStatistics searchStatistics, Authorizer authorizer) {
+   InfinispanQueryStatisticsInfo(SearchStatistics searchStatistics, QueryResultCache resultCache, Authorizer authorizer) {
       this.queryStatistics = searchStatistics.getQueryStatistics();
       this.indexStatistics = searchStatistics.getIndexStatistics();
+      this.resultCache = resultCache;
       this.authorizer = authorizer;
    }
 
@@ -44,6 +47,9 @@ public final class InfinispanQueryStatisticsInfo {
    public void clear() {
       authorizer.checkPermission(AuthorizationPermission.ADMIN);
       queryStatistics.clear();
+      if (resultCache != null) {
+         resultCache.clearStatistics();
+      }
    }
 
    @ManagedAttribute
@@ -92,6 +98,26 @@ public long getObjectsLoadedCount() {
       return queryStatistics.getLoadCount();
    }
 
+   @ManagedAttribute(description = "Number of queries answered by the query result cache")
+   public long getResultCacheHitCount() {
+      return resultCache == null ? 0 : resultCache.getHits();
+   }
+
+   @ManagedAttribute(description = "Number of cacheable queries not found in the query result cache")
+   public long getResultCacheMissCount() {
+      return resultCache == null ? 0 : resultCache.getMisses();
+   }
+
+   @ManagedAttribute(description = "Fraction of the cacheable queries answered by the query result cache")
+   public double getResultCacheHitRatio() {
+      return resultCache == null ? 0 : resultCache.getHitRatio();
+   }
+
+   @ManagedAttribute(description = "Number of query results held by the query result cache")
+   public long getResultCacheSize() {
+      return resultCache == null ? 0 : resultCache.size();
+   }
+
    @ManagedAttribute
    public boolean isStatisticsEnabled() {
       return queryStatistics.isEnabled();
@@ -144,7 +170,11 @@ public Json getLegacyQueryStatistics() {
             .set("object_loading_execution_max_time", getObjectLoadingExecutionMaxTime())
             .set("object_loading_execution_avg_time", getObjectLoadingExecutionAvgTime())
             .set("objects_loaded_count", getObjectsLoadedCount())
-            .set("search_query_execution_max_time_query_string", getSearchQueryExecutionMaxTimeQueryString());
+            .set("search_query_execution_max_time_query_string", getSearchQueryExecutionMaxTimeQueryString())
+            .set("result_cache_hit_count", getResultCacheHitCount())
+            .set("result_cache_miss_count", getResultCacheMissCount())
+            .set("result_cache_hit_ratio", getResultCacheHitRatio())
+            .set("result_cache_size", getResultCacheSize());
    }
 
    public CompletionStage<Json> computeLegacyIndexStatistics() {
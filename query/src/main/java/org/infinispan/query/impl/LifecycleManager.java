@@ -58,6 +58,7 @@
 import org.infinispan.query.clustered.QueryResponse;
 import org.infinispan.query.core.QueryProducerImpl;
 import org.infinispan.query.core.impl.QueryCache;
+import org.infinispan.query.core.impl.QueryResultCache;
 import org.infinispan.query.core.stats.IndexStatistics;
 import org.infinispan.query.core.stats.impl.LocalQueryStatistics;
 import org.infinispan.query.dsl.embedded.impl.ObjectReflectionMatcher;
@@ -138,6 +139,11 @@ public void cacheStarting(ComponentRegistry cr, Configuration cfg, String cacheN
             searchMapping = createSearchMapping(queryStatistics, cfg.indexing(), indexedClasses, cr, cache,
                   keyTransformationHandler, aggregatedClassLoader);
 
+            int resultCacheSize = cfg.query().resultCacheSize();
+            if (resultCacheSize > 0) {
+               cr.registerComponent(new QueryResultCache(resultCacheSize), QueryResultCache.class);
+            }
+
             createQueryInterceptorIfNeeded(cr, cfg, cache, indexedClasses);
 
             Indexer massIndexer = new DistributedExecutorMassIndexer(cache);
@@ -241,7 +247,8 @@ public void cacheStarted(ComponentRegistry cr, String cacheName) {
 
       AdvancedCache<?, ?> cache = cr.getComponent(Cache.class).getAdvancedCache();
       Indexer massIndexer = ComponentRegistryUtils.getIndexer(cache);
-      InfinispanQueryStatisticsInfo stats = new InfinispanQueryStatisticsInfo(Search.getSearchStatistics(cache), SecurityActions.getCacheComponentRegistry(cache).getComponent(Authorizer.class));
+      InfinispanQueryStatisticsInfo stats = new InfinispanQueryStatisticsInfo(Search.getSearchStatistics(cache),
+            ComponentRegistryUtils.getQueryResultCache(cache), SecurityActions.getCacheComponentRegistry(cache).getComponent(Authorizer.class));
       cr.registerComponent(stats, InfinispanQueryStatisticsInfo.class);
 
       registerQueryMBeans(cr, massIndexer, stats);
@@ -8,21 +8,23 @@
 import java.util.HashSet;
 import java.util.Set;
 import java.util.function.Function;
-import java.util.stream.Stream;
 
 import org.infinispan.AdvancedCache;
 import org.infinispan.commons.marshall.AbstractExternalizer;
 import org.infinispan.commons.time.TimeService;
+import org.infinispan.commons.util.ProcessorInfo;
 import org.infinispan.commons.util.concurrent.CompletableFutures;
-import org.infinispan.container.entries.CacheEntry;
+import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.context.Flag;
 import org.infinispan.distribution.ch.KeyPartitioner;
 import org.infinispan.encoding.DataConversion;
+import org.infinispan.factories.ComponentRegistry;
 import org.infinispan.manager.EmbeddedCacheManager;
 import org.infinispan.query.impl.ComponentRegistryUtils;
 import org.infinispan.query.impl.externalizers.ExternalizerIds;
 import org.infinispan.search.mapper.mapping.SearchMapping;
 import org.infinispan.security.actions.SecurityActions;
+import org.infinispan.util.concurrent.BlockingManager;
 import org.infinispan.commons.util.concurrent.AggregateCompletionStage;
 import org.infinispan.commons.util.concurrent.CompletionStages;
 
@@ -63,23 +65,15 @@ public Void apply(EmbeddedCacheManager embeddedCacheManager) {
 
       if (keys == null || keys.isEmpty()) {
          preIndex(cache, indexUpdater, notifier);
-         MassIndexerProgressState progressState = new MassIndexerProgressState(notifier);
          if (!skipIndex) {
-            try (Stream<CacheEntry<Object, Object>> stream = reindexCache.getAdvancedCache().withFlags(Flag.CACHE_MODE_LOCAL)
-                  .cacheEntrySet().stream()) {
-               stream.forEach(entry -> {
-                  Object key = entry.getKey();
-                  Object value = valueDataConversion.extractIndexable(entry.getValue(), javaEmbeddedEntities);
-                  int segment = keyPartitioner.getSegment(key);
-
-                  if (value != null && indexUpdater.typeIsIndexed(value, indexedTypes)) {
-                     progressState.addItem(key, value,
-                           indexUpdater.updateIndex(key, value, segment));
-                  }
-               });
-            }
+            Configuration configuration = SecurityActions.getCacheConfiguration(reindexCache);
+            ParallelSegmentIndexer segmentIndexer = new ParallelSegmentIndexer(reindexCache.withFlags(Flag.CACHE_MODE_LOCAL),
+                  valueDataConversion, javaEmbeddedEntities, indexUpdater, indexedTypes, keyPartitioner, notifier,
+                  ProcessorInfo.availableProcessors());
+            segmentIndexer.run(ComponentRegistry.componentOf(cache, BlockingManager.class),
+                  configuration.clustering().hash().numSegments(), ParallelSegmentIndexer.indexBySegment(configuration));
          }
-         postIndex(indexUpdater, progressState, notifier);
+         postIndex(indexUpdater, notifier);
       } else {
          DataConversion keyDataConversion = cache.getKeyDataConversion();
          Set<Class<?>> classSet = new HashSet<>(keys.size());
@@ -111,8 +105,7 @@ private void preIndex(AdvancedCache<Object, Object> cache, IndexUpdater indexUpd
       notifier.notifyIndexingStarting();
    }
 
-   private void postIndex(IndexUpdater indexUpdater, MassIndexerProgressState progressState, MassIndexerProgressNotifier notifier) {
-      progressState.waitForAsyncCompletion();
+   private void postIndex(IndexUpdater indexUpdater, MassIndexerProgressNotifier notifier) {
       indexUpdater.flush(indexedTypes);
       indexUpdater.refresh(indexedTypes);
       notifier.notifyIndexingCompletedSuccessfully();
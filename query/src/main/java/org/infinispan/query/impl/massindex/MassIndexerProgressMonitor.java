@@ -1,6 +1,7 @@
 package org.infinispan.query.impl.massindex;
 
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.infinispan.commons.time.TimeService;
@@ -15,6 +16,8 @@ public class MassIndexerProgressMonitor {
    private static final Log log = LogFactory.getLog(MassIndexerProgressMonitor.class, Log.class);
 
    private final AtomicLong documentsDoneCounter = new AtomicLong();
+   private final AtomicInteger segmentsDoneCounter = new AtomicInteger();
+   private volatile int segments;
    private volatile long startTime;
    private final int logAfterNumberOfDocuments;
    private final TimeService timeService;
@@ -48,6 +51,40 @@ public void documentsAdded(long increment) {
       }
    }
 
+   /**
+    * Sets the number of segments the reindexing is split into, used to report the progress.
+    */
+   public void segmentsToIndex(int segments) {
+      this.segments = segments;
+   }
+
+   public void segmentIndexed() {
+      segmentsDoneCounter.incrementAndGet();
+   }
+
+   public long getDocumentsAdded() {
+      return documentsDoneCounter.get();
+   }
+
+   /**
+    * @return the documents indexed per second since the first one was added.
+    */
+   public long getThroughput() {
+      long done = documentsDoneCounter.get();
+      if (done == 0) {
+         return 0;
+      }
+      return throughput(done, timeService.timeDuration(startTime, TimeUnit.MILLISECONDS));
+   }
+
+   /**
+    * @return the percentage of the segments indexed, or -1 if the reindexing is not split by segment.
+    */
+   public int getProgress() {
+      int total = segments;
+      return total == 0 ? -1 : segmentsDoneCounter.get() * 100 / total;
+   }
+
    public void preIndexingReloading() {
       log.preIndexingReloading();
    }
@@ -66,6 +103,16 @@ protected int getStatusMessagePeriod() {
    }
 
    protected void printStatusMessage(long startTime, long doneCount) {
-      log.indexingDocumentsCompleted(doneCount, timeService.timeDuration(startTime, TimeUnit.MILLISECONDS));
+      long elapsedMs = timeService.timeDuration(startTime, TimeUnit.MILLISECONDS);
+      int total = segments;
+      if (total == 0) {
+         log.indexingDocumentsCompleted(doneCount, elapsedMs);
+      } else {
+         log.indexingDocumentsProgress(doneCount, elapsedMs, throughput(doneCount, elapsedMs), segmentsDoneCounter.get(), total);
+      }
+   }
+
+   private static long throughput(long documents, long elapsedMs) {
+      return documents * 1000 / Math.max(elapsedMs, 1);
    }
 }
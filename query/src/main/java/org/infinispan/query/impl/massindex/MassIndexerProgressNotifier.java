@@ -38,6 +38,18 @@ void notifyIndexingStarting() {
       monitor.indexingStarting();
    }
 
+   void notifySegmentsToIndex(int segments) {
+      monitor.segmentsToIndex(segments);
+   }
+
+   void notifySegmentIndexed() {
+      monitor.segmentIndexed();
+   }
+
+   MassIndexerProgressMonitor monitor() {
+      return monitor;
+   }
+
    void notifyDocumentsAdded(int size) {
       monitor.documentsAdded(size);
    }
@@ -0,0 +1,145 @@
+package org.infinispan.query.impl.massindex;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.CacheStream;
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.commons.util.IntSets;
+import org.infinispan.commons.util.concurrent.AggregateCompletionStage;
+import org.infinispan.commons.util.concurrent.CompletableFutures;
+import org.infinispan.commons.util.concurrent.CompletionStages;
+import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.configuration.cache.PersistenceConfiguration;
+import org.infinispan.container.entries.CacheEntry;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.encoding.DataConversion;
+import org.infinispan.query.logging.Log;
+import org.infinispan.util.concurrent.BlockingManager;
+import org.infinispan.util.logging.LogFactory;
+
+/**
+ * Reindexes the local entries of a cache with several workers, each one claiming the next segment not indexed yet.
+ * <p>
+ * The documents are sent to the index in batches: a worker waits for a whole batch to be written before reading more
+ * entries, which keeps the pending index operations below what the indexer accepts before rejecting them.
+ *
+ * @since 15.1
+ */
+final class ParallelSegmentIndexer {
+
+   private static final Log log = LogFactory.getLog(ParallelSegmentIndexer.class, Log.class);
+
+   // The indexer buffers up to 10_000 operations, leave room for the writes done while reindexing
+   static final int MAX_PENDING_DOCUMENTS = 5_000;
+
+   private final AdvancedCache<Object, Object> cache;
+   private final DataConversion valueDataConversion;
+   private final boolean javaEmbeddedEntities;
+   private final IndexUpdater indexUpdater;
+   private final Collection<Class<?>> indexedTypes;
+   private final KeyPartitioner keyPartitioner;
+   private final MassIndexerProgressNotifier notifier;
+   private final int workers;
+   private final int batchSize;
+
+   /**
+    * @param cache a cache reading the local entries in their storage format.
+    */
+   ParallelSegmentIndexer(AdvancedCache<Object, Object> cache, DataConversion valueDataConversion,
+                          boolean javaEmbeddedEntities, IndexUpdater indexUpdater, Collection<Class<?>> indexedTypes,
+                          KeyPartitioner keyPartitioner, MassIndexerProgressNotifier notifier, int workers) {
+      this.cache = cache;
+      this.valueDataConversion = valueDataConversion;
+      this.javaEmbeddedEntities = javaEmbeddedEntities;
+      this.indexUpdater = indexUpdater;
+      this.indexedTypes = indexedTypes;
+      this.keyPartitioner = keyPartitioner;
+      this.notifier = notifier;
+      this.workers = Math.max(1, workers);
+      this.batchSize = Math.max(1, MAX_PENDING_DOCUMENTS / this.workers);
+   }
+
+   /**
+    * Indexes all the local entries, blocking until the documents are written.
+    *
+    * @param segmented whether the entries of a segment can be read without reading the others, see
+    *                  {@link #indexBySegment(Configuration)}. Otherwise, they are indexed by a single worker.
+    */
+   void run(BlockingManager blockingManager, int numSegments, boolean segmented) {
+      if (!segmented) {
+         indexEntries(null);
+         return;
+      }
+
+      int activeWorkers = Math.min(workers, numSegments);
+      log.indexingSegments(numSegments, activeWorkers);
+      notifier.notifySegmentsToIndex(numSegments);
+      AtomicInteger nextSegment = new AtomicInteger();
+      AggregateCompletionStage<Void> stage = CompletionStages.aggregateCompletionStage();
+      for (int i = 0; i < activeWorkers; i++) {
+         stage.dependsOn(blockingManager.runBlocking(() -> {
+            int segment;
+            while ((segment = nextSegment.getAndIncrement()) < numSegments) {
+               indexEntries(IntSets.immutableSet(segment));
+               notifier.notifySegmentIndexed();
+            }
+         }, "reindex-" + cache.getName() + "-" + i));
+      }
+      CompletionStages.join(stage.freeze());
+   }
+
+   /**
+    * @return whether the entries of a segment can be read without reading the others. Local and invalidation caches
+    * have a data container which is not segmented, and a store which is not segmented reads all its entries: filtering
+    * a segment then scans everything, once per segment.
+    */
+   static boolean indexBySegment(Configuration configuration) {
+      PersistenceConfiguration persistence = configuration.persistence();
+      return configuration.clustering().cacheMode().needsStateTransfer() &&
+            (!persistence.usingStores() || persistence.usingSegmentedStore());
+   }
+
+   private void indexEntries(IntSet segments) {
+      List<CompletableFuture<?>> batch = new ArrayList<>(batchSize);
+      CacheStream<CacheEntry<Object, Object>> allEntries = cache.cacheEntrySet().stream();
+      try (CacheStream<CacheEntry<Object, Object>> stream = segments == null ? allEntries : allEntries.filterKeySegments(segments)) {
+         Iterator<CacheEntry<Object, Object>> iterator = stream.iterator();
+         while (iterator.hasNext()) {
+            CacheEntry<Object, Object> entry = iterator.next();
+            Object key = entry.getKey();
+            Object value = valueDataConversion.extractIndexable(entry.getValue(), javaEmbeddedEntities);
+            if (value == null || !indexUpdater.typeIsIndexed(value, indexedTypes)) {
+               continue;
+            }
+            batch.add(indexUpdater.updateIndex(key, value, keyPartitioner.getSegment(key))
+                  .whenComplete((ignore, t) -> {
+                     if (t != null) {
+                        notifier.notifyEntityIndexingFailure(value.getClass(), key, t);
+                     } else {
+                        notifier.notifyDocumentsAdded(1);
+                     }
+                  }));
+            if (batch.size() == batchSize) {
+               awaitBatch(batch);
+            }
+         }
+      }
+      awaitBatch(batch);
+   }
+
+   private static void awaitBatch(List<CompletableFuture<?>> batch) {
+      if (batch.isEmpty()) {
+         return;
+      }
+      // Failures are recorded by the notifier and reported once all the entries are indexed
+      CompletableFutures.uncheckedAwait(CompletableFuture.allOf(batch.toArray(new CompletableFuture[0]))
+            .exceptionally(CompletableFutures.toNullFunction()));
+      batch.clear();
+   }
+}
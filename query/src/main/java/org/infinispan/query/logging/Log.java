@@ -218,5 +218,13 @@ public interface Log extends BasicLogger {
 
    @Message(value = "Hibernate Search updates are not keeping up. Look into increasing index writer queue and/or thread pool sizes.", id = 14067)
    CacheBackpressureFullException hibernateSearchBackpressure();
+
+   @LogMessage(level = INFO)
+   @Message(value = "Reindexing %1$d segments with %2$d parallel workers", id = 14068)
+   void indexingSegments(int segments, int workers);
+
+   @LogMessage(level = DEBUG)
+   @Message(value = "%1$d documents indexed in %2$d ms (%3$d documents/s), %4$d of %5$d segments completed", id = 14069)
+   void indexingDocumentsProgress(long doneCount, long elapsedMs, long throughput, int segmentsDone, int segments);
    // !!!!!! When adding anything new here please check the last used id in org.infinispan.query.core.impl.Log !!!!!!
 }
@@ -71,6 +71,18 @@ public void testReindexing() throws Exception {
       verifyFindsCar(2, "megane");
    }
 
+   public void testReindexingAllSegments() throws Exception {
+      // Enough entries to fill several batches and to be spread over most segments
+      int count = 500;
+      for (int i = 0; i < count; i++) {
+         cache(i % caches().size()).getAdvancedCache().withFlags(Flag.SKIP_INDEXING)
+               .put(key("CAR" + i), new Car("clio", "red", i));
+      }
+      verifyCountsCar(0, "clio");
+      rebuildIndexes();
+      verifyCountsCar(count, "clio");
+   }
+
    public void testPartiallyReindex() throws Exception {
       cache(0).getAdvancedCache().withFlags(Flag.SKIP_INDEXING).put(key("F1NUM"), new Car("megane", "white", 300));
       Search.getIndexer(cache(0)).run(key("F1NUM")).toCompletableFuture().join();
@@ -102,6 +114,15 @@ protected void verifyFindsCar(Cache<?, Car> cache, int expectedCount, String car
       assertEquals(cacheQuery.list().size(), expectedCount);
    }
 
+   private void verifyCountsCar(int expectedCount, String carMake) {
+      // The default max results would truncate the list
+      String q = String.format("FROM %s where make:'%s'", Car.class.getName(), carMake);
+      for (Cache<String, Car> cache : this.<String, Car>caches()) {
+         Query<Car> cacheQuery = cache.query(q);
+         assertEquals(cacheQuery.execute().count().value(), expectedCount);
+      }
+   }
+
    private void assertIndexedEntities(int expected, Class<?> entityClass, Cache<?, Car> cache) {
       IndexStatisticsSnapshot indexStatistics = await(Search.getClusteredSearchStatistics(cache)).getIndexStatistics();
       IndexInfo indexInfo = indexStatistics.indexInfos().get(entityClass.getName());
@@ -0,0 +1,133 @@
+package org.infinispan.query.impl;
+
+import static org.infinispan.configuration.cache.IndexStorage.LOCAL_HEAP;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotNull;
+
+import java.util.List;
+
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.query.core.impl.QueryResultCache;
+import org.infinispan.query.dsl.Query;
+import org.infinispan.query.dsl.embedded.testdomain.hsearch.UserHS;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.CleanupAfterMethod;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the results of the Ickle queries are cached, and invalidated by the writes of the entities they target.
+ *
+ * @since 15.1
+ */
+@Test(groups = "functional", testName = "query.impl.QueryResultCacheEmbeddedTest")
+@CleanupAfterMethod
+public class QueryResultCacheEmbeddedTest extends SingleCacheManagerTest {
+
+   private static final String QUERY = "from " + UserHS.class.getName() + " u where u.name = :name";
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() {
+      ConfigurationBuilder cfg = getDefaultStandaloneCacheConfig(false);
+      cfg.indexing().enable()
+            .storage(LOCAL_HEAP)
+            .addIndexedEntity(UserHS.class);
+      cfg.query().resultCacheSize(10);
+      return TestCacheManagerFactory.createCacheManager(cfg);
+   }
+
+   public void testResultsAreCachedUntilWrite() {
+      QueryResultCache resultCache = ComponentRegistryUtils.getQueryResultCache(cache);
+      assertNotNull(resultCache);
+      cache.put("user_1", user(1, "John"));
+
+      assertEquals(1, queryByName("John").size());
+      assertEquals(0, resultCache.getHits());
+      assertEquals(1, resultCache.getMisses());
+
+      assertEquals(1, queryByName("John").size());
+      assertEquals(1, resultCache.getHits());
+      assertEquals(1, resultCache.size());
+
+      // Different parameters are a different entry
+      assertEquals(0, queryByName("Jane").size());
+      assertEquals(2, resultCache.getMisses());
+
+      cache.put("user_2", user(2, "John"));
+      assertEquals(2, queryByName("John").size());
+      assertEquals(3, resultCache.getMisses());
+
+      cache.remove("user_1");
+      assertEquals(1, queryByName("John").size());
+      assertEquals(4, resultCache.getMisses());
+
+      cache.clear();
+      assertEquals(0, queryByName("John").size());
+      assertEquals(5, resultCache.getMisses());
+      assertEquals(1, resultCache.getHits());
+   }
+
+   public void testWritesOfOtherTypesKeepResults() {
+      QueryResultCache resultCache = ComponentRegistryUtils.getQueryResultCache(cache);
+      cache.put("user_1", user(1, "John"));
+
+      assertEquals(1, queryByName("John").size());
+      cache.put("other", "not an entity");
+      assertEquals(1, queryByName("John").size());
+      assertEquals(1, resultCache.getHits());
+   }
+
+   public void testModifyingResultKeepsCachedResult() {
+      QueryResultCache resultCache = ComponentRegistryUtils.getQueryResultCache(cache);
+      cache.put("user_1", user(1, "John"));
+
+      List<UserHS> miss = queryByName("John");
+      miss.clear();
+      List<UserHS> hit = queryByName("John");
+      assertEquals(1, hit.size());
+      hit.add(user(2, "John"));
+      assertEquals(1, queryByName("John").size());
+      assertEquals(2, resultCache.getHits());
+
+      // The miss stores the projection rows, the hits return copies of them
+      projectNamesByName("John").get(0)[0] = "Jane";
+      projectNamesByName("John").get(0)[0] = "Jane";
+      assertEquals("John", projectNamesByName("John").get(0)[0]);
+      assertEquals(4, resultCache.getHits());
+   }
+
+   public void testStatistics() {
+      QueryResultCache resultCache = ComponentRegistryUtils.getQueryResultCache(cache);
+      cache.put("user_1", user(1, "John"));
+      queryByName("John");
+      queryByName("John");
+      queryByName("John");
+      assertEquals(2d / 3, resultCache.getHitRatio(), 0.001);
+
+      InfinispanQueryStatisticsInfo stats = TestingUtil.extractComponent(cache, InfinispanQueryStatisticsInfo.class);
+      assertEquals(2, stats.getResultCacheHitCount());
+      assertEquals(1, stats.getResultCacheMissCount());
+      assertEquals(1, stats.getResultCacheSize());
+   }
+
+   private List<UserHS> queryByName(String name) {
+      Query<UserHS> query = cache.query(QUERY);
+      query.setParameter("name", name);
+      return query.list();
+   }
+
+   private List<Object[]> projectNamesByName(String name) {
+      Query<Object[]> query = cache.query("select u.name from " + UserHS.class.getName() + " u where u.name = :name");
+      query.setParameter("name", name);
+      return query.list();
+   }
+
+   private static UserHS user(int id, String name) {
+      UserHS user = new UserHS();
+      user.setId(id);
+      user.setName(name);
+      return user;
+   }
+}
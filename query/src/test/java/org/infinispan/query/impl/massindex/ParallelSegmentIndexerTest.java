@@ -0,0 +1,83 @@
+package org.infinispan.query.impl.massindex;
+
+import static org.infinispan.configuration.cache.IndexStorage.LOCAL_HEAP;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.Collections;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.context.Flag;
+import org.infinispan.factories.ComponentRegistry;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.persistence.dummy.DummyInMemoryStoreConfigurationBuilder;
+import org.infinispan.query.impl.ComponentRegistryUtils;
+import org.infinispan.query.test.Person;
+import org.infinispan.search.mapper.mapping.SearchMapping;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.util.concurrent.BlockingManager;
+import org.testng.annotations.Test;
+
+/**
+ * Tests when {@link ParallelSegmentIndexer} reads the entries one segment at a time.
+ *
+ * @since 15.1
+ */
+@Test(groups = "functional", testName = "query.impl.massindex.ParallelSegmentIndexerTest")
+public class ParallelSegmentIndexerTest extends SingleCacheManagerTest {
+
+   private static final int NUM_ENTITIES = 50;
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      ConfigurationBuilder cfg = getDefaultStandaloneCacheConfig(false);
+      cfg.indexing().enable()
+            .storage(LOCAL_HEAP)
+            .addIndexedEntity(Person.class);
+      return TestCacheManagerFactory.createCacheManager(cfg);
+   }
+
+   public void testIndexBySegment() {
+      assertFalse(ParallelSegmentIndexer.indexBySegment(configuration(CacheMode.LOCAL, false, false)));
+      assertFalse(ParallelSegmentIndexer.indexBySegment(configuration(CacheMode.INVALIDATION_SYNC, false, false)));
+      assertTrue(ParallelSegmentIndexer.indexBySegment(configuration(CacheMode.DIST_SYNC, false, false)));
+      assertTrue(ParallelSegmentIndexer.indexBySegment(configuration(CacheMode.REPL_SYNC, true, true)));
+      assertFalse(ParallelSegmentIndexer.indexBySegment(configuration(CacheMode.DIST_SYNC, true, false)));
+   }
+
+   public void testLocalCacheIndexedInSinglePass() {
+      for (int i = 0; i < NUM_ENTITIES; i++) {
+         cache.getAdvancedCache().withFlags(Flag.SKIP_INDEXING).put(i, new Person("name" + i, "blurb" + i, i));
+      }
+
+      AdvancedCache<Object, Object> reindexCache = cache.getAdvancedCache().withStorageMediaType();
+      Configuration configuration = reindexCache.getCacheConfiguration();
+      SearchMapping searchMapping = ComponentRegistryUtils.getSearchMapping(cache);
+      MassIndexerProgressNotifier notifier = new MassIndexerProgressNotifier(searchMapping,
+            ComponentRegistryUtils.getTimeService(cache));
+      ParallelSegmentIndexer indexer = new ParallelSegmentIndexer(reindexCache, cache.getAdvancedCache().getValueDataConversion(),
+            configuration.indexing().useJavaEmbeddedEntities(), new IndexUpdater(searchMapping),
+            Collections.singleton(Person.class), ComponentRegistryUtils.getKeyPartitioner(cache), notifier, 4);
+
+      indexer.run(ComponentRegistry.componentOf(cache, BlockingManager.class),
+            configuration.clustering().hash().numSegments(), ParallelSegmentIndexer.indexBySegment(configuration));
+
+      // No segment was claimed: the container was read once instead of once per segment
+      assertEquals(-1, notifier.monitor().getProgress());
+      assertEquals(NUM_ENTITIES, notifier.monitor().getDocumentsAdded());
+   }
+
+   private static Configuration configuration(CacheMode cacheMode, boolean store, boolean segmentedStore) {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.clustering().cacheMode(cacheMode);
+      if (store) {
+         builder.persistence().addStore(DummyInMemoryStoreConfigurationBuilder.class).segmented(segmentedStore);
+      }
+      return builder.build();
+   }
+}
@@ -18,6 +18,7 @@
 import org.infinispan.encoding.DataConversion;
 import org.infinispan.protostream.SerializationContext;
 import org.infinispan.query.core.impl.QueryCache;
+import org.infinispan.query.core.impl.QueryResultCache;
 import org.infinispan.query.impl.EntityLoader;
 import org.infinispan.query.remote.impl.logging.Log;
 import org.infinispan.query.remote.impl.mapping.SerializationContextSearchMapping;
@@ -45,6 +46,7 @@ public class LazySearchMapping implements SearchMapping {
    private final EntityLoader<?> entityLoader;
    private final SerializationContext serCtx;
    private final QueryCache queryCache;
+   private final QueryResultCache resultCache;
 
    private LazyRef<SearchMapping> searchMappingRef = new LazyRef<>(this::createMapping);
    private final StampedLock stampedLock = new StampedLock();
@@ -53,13 +55,15 @@ public class LazySearchMapping implements SearchMapping {
 
    public LazySearchMapping(SearchMappingCommonBuilding commonBuilding, EntityLoader<?> entityLoader,
                             SerializationContext serCtx, AdvancedCache<?, ?> cache,
-                            ProtobufMetadataManagerImpl protobufMetadataManager, QueryCache queryCache) {
+                            ProtobufMetadataManagerImpl protobufMetadataManager, QueryCache queryCache,
+                            QueryResultCache resultCache) {
       this.commonBuilding = commonBuilding;
       this.entityLoader = entityLoader;
       this.serCtx = serCtx;
       this.cache = cache;
       this.protobufMetadataManager = protobufMetadataManager;
       this.queryCache = queryCache;
+      this.resultCache = resultCache;
    }
 
    @Override
@@ -220,6 +224,9 @@ public int entityIndexingFailures() {
    public void reload() {
       long stamp = stampedLock.writeLock();
       queryCache.clear(cache.getName());
+      if (resultCache != null) {
+         resultCache.invalidateAll();
+      }
       try {
          searchMappingRef.get().close();
          searchMappingRef = new LazyRef<>(this::createMapping);
@@ -30,6 +30,7 @@
 import org.infinispan.marshall.protostream.impl.SerializationContextRegistry;
 import org.infinispan.protostream.SerializationContext;
 import org.infinispan.query.core.impl.QueryCache;
+import org.infinispan.query.core.impl.QueryResultCache;
 import org.infinispan.query.core.stats.IndexStatistics;
 import org.infinispan.query.core.stats.impl.LocalQueryStatistics;
 import org.infinispan.query.impl.EntityLoader;
@@ -43,6 +44,7 @@
 import org.infinispan.query.remote.impl.filter.IckleContinuousQueryProtobufCacheEventFilterConverter;
 import org.infinispan.query.remote.impl.filter.IckleProtobufCacheEventFilterConverter;
 import org.infinispan.query.remote.impl.filter.IckleProtobufFilterAndConverter;
+import org.infinispan.query.remote.impl.indexing.ProtobufValueWrapper;
 import org.infinispan.query.remote.impl.persistence.PersistenceContextInitializerImpl;
 import org.infinispan.query.stats.impl.LocalIndexStatistics;
 import org.infinispan.registry.InternalCacheRegistry;
@@ -161,8 +163,14 @@ public void cacheStarting(ComponentRegistry cr, Configuration cfg, String cacheN
             EntityLoader<?> entityLoader = new EntityLoader<>(cache, queryStatistics);
 
             QueryCache queryCache = cr.getGlobalComponentRegistry().getComponent(QueryCache.class);
+            QueryResultCache resultCache = cr.getComponent(QueryResultCache.class);
+            if (resultCache != null) {
+               // Protobuf entities are only known by their message type, not by their class
+               resultCache.entityNameResolver(value -> value instanceof ProtobufValueWrapper wrapper
+                     && wrapper.getMessageDescriptor() != null ? wrapper.getMessageDescriptor().getFullName() : null);
+            }
             searchMapping = new LazySearchMapping(commonBuilding, entityLoader, serCtx, cache, protobufMetadataManager,
-                  queryCache);
+                  queryCache, resultCache);
 
             cr.registerComponent(searchMapping, SearchMapping.class);
             BasicComponentRegistry bcr = cr.getComponent(BasicComponentRegistry.class);
@@ -27,12 +27,14 @@ public class BaseRequestProcessor {
    protected final Channel channel;
    protected final Executor executor;
    protected final HotRodServer server;
+   protected final CoalescingWindow coalescingWindow;
    private final HotRodAccessLogging accessLogging;
 
    BaseRequestProcessor(Channel channel, Executor executor, HotRodServer server) {
       this.channel = channel;
       this.executor = executor;
       this.server = server;
+      this.coalescingWindow = CoalescingWindow.create(channel, server);
       this.accessLogging = server.accessLogging();
    }
 
@@ -102,7 +104,7 @@ void writeException(HotRodHeader header, Throwable cause) {
       }
       ByteBuf buf = header.encoder().errorResponse(header, server, channel, msg, status);
       int responseBytes = buf.readableBytes();
-      ChannelFuture future = channel.writeAndFlush(buf);
+      ChannelFuture future = write(buf);
       if (header instanceof AccessLoggingHeader) {
          accessLogging.logException(future, (AccessLoggingHeader) header, cause.toString(), responseBytes);
       }
@@ -138,12 +140,16 @@ void writeNotExist(HotRodHeader header) {
 
    protected void writeResponse(HotRodHeader header, ByteBuf buf) {
       int responseBytes = buf.readableBytes();
-      ChannelFuture future = channel.writeAndFlush(buf);
+      ChannelFuture future = write(buf);
       if (header instanceof AccessLoggingHeader) {
          accessLogging.logOK(future, (AccessLoggingHeader) header, responseBytes);
       }
    }
 
+   private ChannelFuture write(ByteBuf buf) {
+      return coalescingWindow == null ? channel.writeAndFlush(buf) : coalescingWindow.write(buf);
+   }
+
    private String createErrorMsg(Throwable t) {
       Set<Throwable> causes = new LinkedHashSet<>();
       Throwable initial = t;
@@ -1,9 +1,13 @@
 package org.infinispan.server.hotrod;
 
 import javax.security.auth.Subject;
+import java.util.ArrayList;
 import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
@@ -14,6 +18,7 @@
 
 import org.infinispan.AdvancedCache;
 import org.infinispan.commons.logging.LogFactory;
+import org.infinispan.commons.marshall.WrappedByteArray;
 import org.infinispan.commons.util.BloomFilter;
 import org.infinispan.commons.util.IntSets;
 import org.infinispan.commons.util.MurmurHash3BloomFilter;
@@ -40,11 +45,14 @@
 
 class CacheRequestProcessor extends BaseRequestProcessor {
    private static final Log log = LogFactory.getLog(CacheRequestProcessor.class, Log.class);
+   static final int MAX_PIPELINED_GETS = 256;
 
    private final ClientListenerRegistry listenerRegistry;
    private final InfinispanTelemetry telemetryService;
 
    private final ConcurrentMap<String, BloomFilter<byte[]>> bloomFilters = new ConcurrentHashMap<>();
+   // Only accessed from the event loop
+   private PipelinedGets pipelinedGets;
 
    CacheRequestProcessor(Channel channel, Executor executor, HotRodServer server, InfinispanTelemetry telemetryService) {
       super(channel, executor, server);
@@ -85,7 +93,82 @@ void get(HotRodHeader header, Subject subject, byte[] key) {
       ExtendedCacheInfo cacheInfo = server.getCacheInfo(header);
       AdvancedCache<byte[], byte[]> cache = server.cache(cacheInfo, header, subject);
 
-      getInternal(header, cache, key);
+      if (coalescingWindow != null && header.op == HotRodOperation.GET && channel.eventLoop().inEventLoop()) {
+         coalesceGet(header, subject, cache, key);
+      } else {
+         getInternal(header, cache, key);
+      }
+   }
+
+   /**
+    * Invoked when the decoder starts handling a request: the gets coalesced so far are executed before any other kind
+    * of request, so the requests of a connection still take effect in the order they were sent.
+    */
+   void requestDecoded(HotRodHeader header) {
+      if (pipelinedGets != null && header.op != HotRodOperation.GET) {
+         dispatchPipelinedGets();
+      }
+   }
+
+   private void coalesceGet(HotRodHeader header, Subject subject, AdvancedCache<byte[], byte[]> cache, byte[] key) {
+      PipelinedGets gets = pipelinedGets;
+      if (gets != null && !gets.accepts(header, subject)) {
+         dispatchPipelinedGets();
+         gets = null;
+      }
+      if (gets == null) {
+         PipelinedGets newGets = new PipelinedGets(header, subject, cache);
+         pipelinedGets = gets = newGets;
+         coalescingWindow.schedule(() -> {
+            if (pipelinedGets == newGets) {
+               dispatchPipelinedGets();
+            }
+         });
+      }
+      gets.headers.add(header);
+      gets.keys.add(key);
+      if (gets.keys.size() == MAX_PIPELINED_GETS) {
+         dispatchPipelinedGets();
+      }
+   }
+
+   private void dispatchPipelinedGets() {
+      PipelinedGets gets = pipelinedGets;
+      pipelinedGets = null;
+      if (gets.keys.size() == 1) {
+         getInternal(gets.headers.get(0), gets.cache, gets.keys.get(0));
+         return;
+      }
+      if (log.isTraceEnabled()) {
+         log.tracef("Executing %d pipelined gets on cache %s", gets.keys.size(), gets.cache.getName());
+      }
+      // A distributed cache sends a single command to each owner of the keys
+      gets.cache.getAllAsync(new HashSet<>(gets.keys))
+            .whenComplete((map, throwable) -> handlePipelinedGets(gets, map, throwable));
+   }
+
+   private void handlePipelinedGets(PipelinedGets gets, Map<byte[], byte[]> map, Throwable throwable) {
+      if (throwable != null) {
+         for (HotRodHeader header : gets.headers) {
+            writeException(header, throwable);
+         }
+         return;
+      }
+      Map<WrappedByteArray, byte[]> values = new HashMap<>(map.size() * 4 / 3, 0.75f);
+      map.forEach((k, v) -> values.put(new WrappedByteArray(k), v));
+      for (int i = 0; i < gets.headers.size(); i++) {
+         HotRodHeader header = gets.headers.get(i);
+         byte[] value = values.get(new WrappedByteArray(gets.keys.get(i)));
+         try {
+            if (value == null) {
+               writeNotExist(header);
+            } else {
+               writeResponse(header, header.encoder().valueResponse(header, server, channel, OperationStatus.Success, value));
+            }
+         } catch (Throwable t) {
+            writeException(header, t);
+         }
+      }
    }
 
    void updateBloomFilter(HotRodHeader header, Subject subject, byte[] bloomArray) {
@@ -667,6 +750,31 @@ private <T> InfinispanSpan<T> requestStart(HotRodHeader header, InfinispanSpanAt
       return telemetryService.startTraceRequest(header.op.name(), spanAttributes, header);
    }
 
+   /**
+    * Consecutive gets on the same cache, with the same flags and subject, executed as a single multi-key get.
+    */
+   private static class PipelinedGets {
+      final HotRodHeader first;
+      final Subject subject;
+      final AdvancedCache<byte[], byte[]> cache;
+      final List<HotRodHeader> headers = new ArrayList<>();
+      final List<byte[]> keys = new ArrayList<>();
+
+      PipelinedGets(HotRodHeader first, Subject subject, AdvancedCache<byte[], byte[]> cache) {
+         this.first = first;
+         this.subject = subject;
+         this.cache = cache;
+      }
+
+      boolean accepts(HotRodHeader header, Subject subject) {
+         return header.version == first.version && header.flag == first.flag
+               && header.cacheName.equals(first.cacheName)
+               && Objects.equals(header.keyType, first.keyType)
+               && Objects.equals(header.valueType, first.valueType)
+               && Objects.equals(subject, this.subject);
+      }
+   }
+
    private static class ConditionalResponse {
       final boolean result;
       final CacheEntry<byte[], byte[]> entry;
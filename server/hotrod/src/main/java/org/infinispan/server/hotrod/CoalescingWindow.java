@@ -0,0 +1,79 @@
+package org.infinispan.server.hotrod;
+
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.server.hotrod.configuration.HotRodServerConfiguration;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.EventLoop;
+
+/**
+ * Coalesces the work done for the requests pipelined on a connection, see
+ * {@link HotRodServerConfiguration#coalescingWindow()}.
+ * <p>
+ * The responses are written to the channel as soon as they are ready, but the channel is flushed once per window, so
+ * the responses of all the requests completed in the meantime are sent with a single write.
+ *
+ * @since 15.1
+ */
+final class CoalescingWindow {
+   private final Channel channel;
+   private final long windowMicros;
+   private final Runnable flushTask = this::flush;
+   // Only accessed from the event loop
+   private boolean flushScheduled;
+
+   private CoalescingWindow(Channel channel, long windowMicros) {
+      this.channel = channel;
+      this.windowMicros = windowMicros;
+   }
+
+   /**
+    * @return the window of the channel, or {@code null} if coalescing is disabled.
+    */
+   static CoalescingWindow create(Channel channel, HotRodServer server) {
+      long windowMicros = server.getConfiguration().coalescingWindow();
+      return windowMicros < 0 ? null : new CoalescingWindow(channel, windowMicros);
+   }
+
+   /**
+    * Writes the response, flushing it when the window elapses.
+    */
+   ChannelFuture write(ByteBuf buf) {
+      ChannelPromise promise = channel.newPromise();
+      EventLoop eventLoop = channel.eventLoop();
+      if (eventLoop.inEventLoop()) {
+         write(buf, promise);
+      } else {
+         eventLoop.execute(() -> write(buf, promise));
+      }
+      return promise;
+   }
+
+   private void write(ByteBuf buf, ChannelPromise promise) {
+      channel.write(buf, promise);
+      if (!flushScheduled) {
+         flushScheduled = true;
+         schedule(flushTask);
+      }
+   }
+
+   private void flush() {
+      flushScheduled = false;
+      channel.flush();
+   }
+
+   /**
+    * Runs the task in the event loop once the window elapses.
+    */
+   void schedule(Runnable task) {
+      if (windowMicros == 0) {
+         channel.eventLoop().execute(task);
+      } else {
+         channel.eventLoop().schedule(task, windowMicros, TimeUnit.MICROSECONDS);
+      }
+   }
+}
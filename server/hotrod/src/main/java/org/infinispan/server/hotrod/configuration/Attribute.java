@@ -11,6 +11,7 @@ public enum Attribute {
    UNKNOWN(null), // must be first
 
    AWAIT_INITIAL_RETRIEVAL,
+   COALESCING_WINDOW,
    EXTERNAL_HOST,
    EXTERNAL_PORT,
    HOST_NAME,
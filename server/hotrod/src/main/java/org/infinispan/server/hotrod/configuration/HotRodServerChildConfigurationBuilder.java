@@ -27,6 +27,12 @@ public interface HotRodServerChildConfigurationBuilder {
     */
    HotRodServerChildConfigurationBuilder proxyPort(int proxyPort);
 
+   /**
+    * Sets the window, in microseconds, during which the responses and the pipelined gets of a connection are
+    * coalesced. {@code 0} coalesces within an event loop iteration, {@code -1} disables coalescing.
+    */
+   HotRodServerChildConfigurationBuilder coalescingWindow(long coalescingWindow);
+
    /**
     * Configures the lock acquisition timeout for the topology cache. See {@link LockingConfigurationBuilder#lockAcquisitionTimeout(long)}.
     * Defaults to 10 seconds
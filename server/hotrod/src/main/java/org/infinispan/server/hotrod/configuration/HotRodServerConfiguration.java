@@ -18,13 +18,14 @@ public class HotRodServerConfiguration extends ProtocolServerConfiguration<HotRo
 
    public static final AttributeDefinition<String> PROXY_HOST = AttributeDefinition.builder(Attribute.EXTERNAL_HOST, null, String.class).immutable().build();
    public static final AttributeDefinition<Integer> PROXY_PORT = AttributeDefinition.builder(Attribute.EXTERNAL_PORT, -1).immutable().build();
+   public static final AttributeDefinition<Long> COALESCING_WINDOW = AttributeDefinition.builder(Attribute.COALESCING_WINDOW, -1L).immutable().build();
 
    private final TopologyCacheConfiguration topologyCache;
    private final EncryptionConfiguration encryption;
 
    public static AttributeSet attributeDefinitionSet() {
       return new AttributeSet(HotRodServerConfiguration.class, ProtocolServerConfiguration.attributeDefinitionSet(),
-            PROXY_HOST, PROXY_PORT);
+            PROXY_HOST, PROXY_PORT, COALESCING_WINDOW);
    }
 
    HotRodServerConfiguration(AttributeSet attributes,
@@ -52,6 +53,14 @@ public int publicPort() {
       return attributes.attribute(PROXY_PORT).orElse(port());
    }
 
+   /**
+    * @return the time, in microseconds, during which the responses and the pipelined gets of a connection are
+    * coalesced, {@code 0} to coalesce them within an event loop iteration, or {@code -1} if coalescing is disabled.
+    */
+   public long coalescingWindow() {
+      return attributes.attribute(COALESCING_WINDOW).get();
+   }
+
    public String topologyCacheName() {
       String name = name();
       return TOPOLOGY_CACHE_NAME_PREFIX + (!name.isEmpty() ? "_" + name : name);
@@ -2,6 +2,7 @@
 
 import static org.infinispan.server.core.configuration.ProtocolServerConfiguration.HOST;
 import static org.infinispan.server.core.configuration.ProtocolServerConfiguration.NAME;
+import static org.infinispan.server.hotrod.configuration.HotRodServerConfiguration.COALESCING_WINDOW;
 import static org.infinispan.server.hotrod.configuration.HotRodServerConfiguration.PROXY_HOST;
 import static org.infinispan.server.hotrod.configuration.HotRodServerConfiguration.PROXY_PORT;
 
@@ -72,6 +73,20 @@ public HotRodServerConfigurationBuilder proxyPort(int proxyPort) {
       return this;
    }
 
+   /**
+    * Coalesces the work of the requests pipelined on a connection. The responses are written as they complete but
+    * flushed together once the window elapses, and consecutive gets on the same cache are executed as a single
+    * multi-key get. A window of {@code 0} coalesces within the current event loop iteration. Defaults to {@code -1},
+    * which disables coalescing.
+    *
+    * @param coalescingWindow the window in microseconds
+    */
+   @Override
+   public HotRodServerConfigurationBuilder coalescingWindow(long coalescingWindow) {
+      attributes.attribute(COALESCING_WINDOW).set(coalescingWindow);
+      return this;
+   }
+
    /**
     * Configures the lock acquisition timeout for the topology cache. See {@link LockingConfigurationBuilder#lockAcquisitionTimeout(long)}.
     * Defaults to 10 seconds
@@ -157,6 +172,9 @@ public void validate() {
       if (attributes.attribute(PROXY_HOST).isNull() && attributes.attribute(HOST).isNull()) {
          throw Log.CONFIG.missingHostAddress();
       }
+      if (attributes.attribute(COALESCING_WINDOW).get() < -1) {
+         throw Log.CONFIG.illegalCoalescingWindow(attributes.attribute(COALESCING_WINDOW).get());
+      }
       topologyCache.validate();
       encryption.validate();
    }
@@ -86,6 +86,9 @@ public interface Log extends BasicLogger {
    @Message(value = "Cache '%s' must have REPEATABLE_READ isolation level", id = 6021)
    IllegalStateException unexpectedIsolationLevel(String cacheName);
 
+   @Message(value = "Coalescing window can't be lower than -1: %d", id = 6022)
+   CacheConfigurationException illegalCoalescingWindow(long coalescingWindow);
+
    @Message(value = "Expects a STRONG counter for '%s'", id = 28023)
    CounterException invalidWeakCounter(String name);
 
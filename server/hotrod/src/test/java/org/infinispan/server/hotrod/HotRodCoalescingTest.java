@@ -0,0 +1,82 @@
+package org.infinispan.server.hotrod;
+
+import static org.infinispan.server.hotrod.HotRodConstants.GET_REQUEST;
+import static org.infinispan.server.hotrod.HotRodConstants.PUT_REQUEST;
+import static org.infinispan.server.hotrod.HotRodConstants.REMOVE_REQUEST;
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.assertKeyDoesNotExist;
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.assertStatus;
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.assertSuccess;
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.k;
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.startHotRodServer;
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.v;
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.server.hotrod.configuration.HotRodServerConfigurationBuilder;
+import org.infinispan.server.hotrod.test.Op;
+import org.infinispan.server.hotrod.test.TestGetResponse;
+import org.infinispan.server.hotrod.test.TestResponse;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the pipelined requests of a connection return the same responses, in the same order, when the server
+ * coalesces them.
+ *
+ * @since 15.1
+ */
+@Test(groups = "functional", testName = "server.hotrod.HotRodCoalescingTest")
+public class HotRodCoalescingTest extends HotRodSingleNodeTest {
+
+   @Override
+   protected HotRodServer createStartHotRodServer(EmbeddedCacheManager cacheManager) {
+      return startHotRodServer(cacheManager, new HotRodServerConfigurationBuilder().coalescingWindow(0));
+   }
+
+   public void testPipelinedGets(Method m) {
+      int count = CacheRequestProcessor.MAX_PIPELINED_GETS + 10;
+      for (int i = 0; i < count; i += 2) {
+         client().put(k(m, i + "-"), 0, 0, v(m, i + "-"));
+      }
+
+      List<Op> ops = new ArrayList<>();
+      for (int i = 0; i < count; i++) {
+         ops.add(op(GET_REQUEST, k(m, i + "-"), null));
+      }
+      List<TestResponse> responses = client().executePipelined(ops);
+      assertEquals(count, responses.size());
+      for (int i = 0; i < count; i++) {
+         TestGetResponse response = (TestGetResponse) responses.get(i);
+         if (i % 2 == 0) {
+            assertSuccess(response, v(m, i + "-"));
+         } else {
+            assertKeyDoesNotExist(response);
+         }
+      }
+   }
+
+   public void testPipelinedGetsSeeEarlierWrites(Method m) {
+      List<Op> ops = new ArrayList<>();
+      ops.add(op(GET_REQUEST, k(m), null));
+      ops.add(op(PUT_REQUEST, k(m), v(m)));
+      ops.add(op(GET_REQUEST, k(m), null));
+      ops.add(op(GET_REQUEST, k(m, "other-"), null));
+      ops.add(op(REMOVE_REQUEST, k(m), null));
+      ops.add(op(GET_REQUEST, k(m), null));
+      List<TestResponse> responses = client().executePipelined(ops);
+
+      assertKeyDoesNotExist((TestGetResponse) responses.get(0));
+      assertStatus(responses.get(1), OperationStatus.Success);
+      assertSuccess((TestGetResponse) responses.get(2), v(m));
+      assertKeyDoesNotExist((TestGetResponse) responses.get(3));
+      assertStatus(responses.get(4), OperationStatus.Success);
+      assertKeyDoesNotExist((TestGetResponse) responses.get(5));
+   }
+
+   private Op op(byte code, byte[] key, byte[] value) {
+      return new Op(0xA0, protocolVersion(), code, cacheName, key, 0, 0, value, 0, 0, (byte) 1, 0);
+   }
+}
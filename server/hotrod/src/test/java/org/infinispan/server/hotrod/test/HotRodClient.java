@@ -317,6 +317,34 @@ private TestResponse execute(Op op, long expectedResponseMessageId) {
       }
    }
 
+   /**
+    * Sends all the operations before reading any response, like a client pipelining its requests.
+    */
+   public List<TestResponse> executePipelined(List<Op> ops) {
+      ClientHandler handler = (ClientHandler) ch.pipeline().last();
+      List<CompletableFuture<TestResponse>> responseStages = new ArrayList<>(ops.size());
+      for (Op op : ops) {
+         log.tracef("Sending request %s", op);
+         responseStages.add(handler.waitForResponse(op.id).toCompletableFuture());
+         idToOp.put(op.id, op);
+         ch.write(op);
+      }
+      ch.flush();
+      List<TestResponse> responses = new ArrayList<>(ops.size());
+      try {
+         for (CompletableFuture<TestResponse> responseStage : responseStages) {
+            responses.add(responseStage.get(rspTimeoutSeconds, TimeUnit.SECONDS));
+         }
+      } catch (ExecutionException e) {
+         throw new CompletionException(e.getCause());
+      } catch (InterruptedException e) {
+         throw new CompletionException(e);
+      } catch (java.util.concurrent.TimeoutException e) {
+         throw new TimeoutException("No response from server in " + rspTimeoutSeconds + "s", e);
+      }
+      return responses;
+   }
+
    public boolean writeOp(Op op) {
       return writeOp(op, true);
    }
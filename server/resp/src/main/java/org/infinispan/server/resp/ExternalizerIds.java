@@ -7,4 +7,8 @@ public interface ExternalizerIds {
    Integer EVENT_LISTENER_CONVERTER = 2202;
 
    Integer COMPOSED_FILTER_CONVERTER = 2203;
+
+   Integer BITFIELD_FUNCTION = 2204;
+
+   Integer BITCOUNT_FUNCTION = 2205;
 }
@@ -3,6 +3,7 @@
 import static org.infinispan.server.resp.RespConstants.CRLF;
 import static org.infinispan.server.resp.RespConstants.CRLF_STRING;
 import static org.infinispan.server.resp.RespConstants.NULL;
+import static org.infinispan.server.resp.RespConstants.NULL_STRING;
 
 import java.util.Collection;
 import java.util.List;
@@ -17,9 +18,14 @@
 import org.infinispan.context.Flag;
 import org.infinispan.factories.GlobalComponentRegistry;
 import org.infinispan.factories.KnownComponentNames;
+import org.infinispan.functional.FunctionalMap;
+import org.infinispan.functional.impl.FunctionalMapImpl;
+import org.infinispan.functional.impl.ReadOnlyMapImpl;
+import org.infinispan.functional.impl.ReadWriteMapImpl;
 import org.infinispan.multimap.impl.EmbeddedMultimapListCache;
 import org.infinispan.multimap.impl.EmbeddedMultimapPairCache;
 import org.infinispan.multimap.impl.EmbeddedMultimapSortedSetCache;
+import org.infinispan.multimap.impl.EmbeddedMultimapStreamCache;
 import org.infinispan.multimap.impl.EmbeddedSetCache;
 import org.infinispan.security.AuthorizationManager;
 import org.infinispan.security.AuthorizationPermission;
@@ -38,6 +44,9 @@ public class Resp3Handler extends Resp3AuthHandler {
    protected EmbeddedMultimapPairCache<byte[], byte[], byte[]> mapMultimap;
    protected EmbeddedSetCache<byte[], byte[]> embeddedSetCache;
    protected EmbeddedMultimapSortedSetCache<byte[], byte[]> sortedSetMultimap;
+   protected EmbeddedMultimapStreamCache<byte[]> streamMultimap;
+   protected FunctionalMap.ReadWriteMap<byte[], byte[]> stringReadWriteMap;
+   protected FunctionalMap.ReadOnlyMap<byte[], byte[]> stringReadOnlyMap;
    protected final ScheduledExecutorService scheduler;
    protected final BlockingManager blockingManager;
 
@@ -61,6 +70,10 @@ public void setCache(AdvancedCache<byte[], byte[]> cache) {
       mapMultimap = new EmbeddedMultimapPairCache<>(toMultimap);
       embeddedSetCache = new EmbeddedSetCache<>(toMultimap);
       sortedSetMultimap = new EmbeddedMultimapSortedSetCache<>(toMultimap);
+      streamMultimap = new EmbeddedMultimapStreamCache<>(toMultimap);
+      FunctionalMapImpl<byte[], byte[]> functionalMap = FunctionalMapImpl.create(cache);
+      stringReadWriteMap = ReadWriteMapImpl.create(functionalMap);
+      stringReadOnlyMap = ReadOnlyMapImpl.create(functionalMap);
    }
 
    public EmbeddedMultimapListCache<byte[], byte[]> getListMultimap() {
@@ -79,6 +92,21 @@ public EmbeddedMultimapSortedSetCache<byte[], byte[]> getSortedSeMultimap() {
       return sortedSetMultimap;
    }
 
+   public EmbeddedMultimapStreamCache<byte[]> getStreamMultimap() {
+      return streamMultimap;
+   }
+
+   /**
+    * @return a functional view of the cache, to update string values on the owner of their key.
+    */
+   public FunctionalMap.ReadWriteMap<byte[], byte[]> getStringReadWriteMap() {
+      return stringReadWriteMap;
+   }
+
+   public FunctionalMap.ReadOnlyMap<byte[], byte[]> getStringReadOnlyMap() {
+      return stringReadOnlyMap;
+   }
+
    public ScheduledExecutorService getScheduler() {
       return scheduler;
    }
@@ -130,7 +158,7 @@ protected static void handleCollectionLongResult(Collection<Long> collection, By
          handleNullResult(alloc);
       } else {
          String result = "*" + collection.size() + CRLF_STRING
-               + collection.stream().map(value -> ":" + value + CRLF_STRING).collect(Collectors.joining());
+               + collection.stream().map(value -> value == null ? NULL_STRING : ":" + value + CRLF_STRING).collect(Collectors.joining());
          ByteBufferUtils.stringToByteBufAscii(result, alloc);
       }
    }
@@ -11,6 +11,8 @@
 import org.infinispan.lifecycle.ModuleLifecycle;
 import org.infinispan.marshall.protostream.impl.SerializationContextRegistry;
 import org.infinispan.server.iteration.IterationFilter;
+import org.infinispan.server.resp.commands.bitmap.BitCountFunction;
+import org.infinispan.server.resp.commands.bitmap.BitfieldFunction;
 import org.infinispan.server.resp.commands.tx.WATCH;
 import org.infinispan.server.resp.filter.ComposedFilterConverter;
 import org.infinispan.server.resp.filter.EventListenerConverter;
@@ -28,6 +30,8 @@ public void cacheManagerStarting(GlobalComponentRegistry gcr, GlobalConfiguratio
       externalizerMap.put(WATCH.EXTERNALIZER.getId(), WATCH.EXTERNALIZER);
       externalizerMap.put(EventListenerConverter.EXTERNALIZER.getId(), EventListenerConverter.EXTERNALIZER);
       externalizerMap.put(ComposedFilterConverter.EXTERNALIZER.getId(), ComposedFilterConverter.EXTERNALIZER);
+      externalizerMap.put(BitfieldFunction.EXTERNALIZER.getId(), BitfieldFunction.EXTERNALIZER);
+      externalizerMap.put(BitCountFunction.EXTERNALIZER.getId(), BitCountFunction.EXTERNALIZER);
 
       // Externalizer that could be loaded by other modules.
       externalizerMap.put(ITERATION_FILTER, new IterationFilter.IterationFilterExternalizer());
@@ -0,0 +1,67 @@
+package org.infinispan.server.resp.commands.bitmap;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+import org.infinispan.server.resp.Consumers;
+import org.infinispan.server.resp.Resp3Handler;
+import org.infinispan.server.resp.RespCommand;
+import org.infinispan.server.resp.RespErrorUtil;
+import org.infinispan.server.resp.RespRequestHandler;
+import org.infinispan.server.resp.Util;
+import org.infinispan.server.resp.commands.ArgumentUtils;
+import org.infinispan.server.resp.commands.Resp3Command;
+
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * Counts the bits set in the string stored at key.
+ * <p>
+ * <code>BITCOUNT key [start end [BYTE | BIT]]</code>
+ * <p>
+ * The count runs on the owner of the key, so only the result is sent back instead of the whole value.
+ *
+ * @since 15.1
+ * @see <a href="https://redis.io/commands/bitcount/">Redis Documentation</a>
+ */
+public class BITCOUNT extends RespCommand implements Resp3Command {
+   private static final byte[] BYTE = "BYTE".getBytes();
+   private static final byte[] BIT = "BIT".getBytes();
+
+   public BITCOUNT() {
+      super(-2, 1, 1, 1);
+   }
+
+   @Override
+   public CompletionStage<RespRequestHandler> perform(Resp3Handler handler,
+                                                      ChannelHandlerContext ctx,
+                                                      List<byte[]> arguments) {
+      long start = 0;
+      long end = -1;
+      boolean bitUnit = false;
+      if (arguments.size() != 1) {
+         if (arguments.size() < 3 || arguments.size() > 4) {
+            RespErrorUtil.syntaxError(handler.allocator());
+            return handler.myStage();
+         }
+         try {
+            start = ArgumentUtils.toLong(arguments.get(1));
+            end = ArgumentUtils.toLong(arguments.get(2));
+         } catch (NumberFormatException e) {
+            RespErrorUtil.valueNotInteger(handler.allocator());
+            return handler.myStage();
+         }
+         if (arguments.size() == 4) {
+            if (Util.isAsciiBytesEquals(BIT, arguments.get(3))) {
+               bitUnit = true;
+            } else if (!Util.isAsciiBytesEquals(BYTE, arguments.get(3))) {
+               RespErrorUtil.syntaxError(handler.allocator());
+               return handler.myStage();
+            }
+         }
+      }
+      CompletionStage<Long> cs = handler.getStringReadOnlyMap().eval(arguments.get(0),
+            new BitCountFunction(start, end, bitUnit));
+      return handler.stageToReturn(cs, ctx, Consumers.LONG_BICONSUMER);
+   }
+}
@@ -0,0 +1,159 @@
+package org.infinispan.server.resp.commands.bitmap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+import org.infinispan.server.resp.Consumers;
+import org.infinispan.server.resp.Resp3Handler;
+import org.infinispan.server.resp.RespCommand;
+import org.infinispan.server.resp.RespErrorUtil;
+import org.infinispan.server.resp.RespRequestHandler;
+import org.infinispan.server.resp.Util;
+import org.infinispan.server.resp.commands.ArgumentUtils;
+import org.infinispan.server.resp.commands.Resp3Command;
+
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * Treats the string stored at key as an array of integers of arbitrary width and offset.
+ * <p>
+ * <code>BITFIELD key [GET type offset] [SET type offset value] [INCRBY type offset increment]
+ * [OVERFLOW WRAP|SAT|FAIL] ...</code>
+ * <p>
+ * Types are <code>i1</code> to <code>i64</code> for signed integers and <code>u1</code> to <code>u63</code> for
+ * unsigned ones. An offset prefixed with <code>#</code> is multiplied by the width of the type. The operations run as
+ * a single function on the owner of the key, which updates the value in place.
+ *
+ * @since 15.1
+ * @see <a href="https://redis.io/commands/bitfield/">Redis Documentation</a>
+ */
+public class BITFIELD extends RespCommand implements Resp3Command {
+   private static final byte[] GET = "GET".getBytes();
+   private static final byte[] SET = "SET".getBytes();
+   private static final byte[] INCRBY = "INCRBY".getBytes();
+   private static final byte[] OVERFLOW = "OVERFLOW".getBytes();
+   private static final byte[] WRAP = "WRAP".getBytes();
+   private static final byte[] SAT = "SAT".getBytes();
+   private static final byte[] FAIL = "FAIL".getBytes();
+
+   private final boolean readOnly;
+
+   public BITFIELD() {
+      this(false);
+   }
+
+   protected BITFIELD(boolean readOnly) {
+      super(-2, 1, 1, 1);
+      this.readOnly = readOnly;
+   }
+
+   @Override
+   public CompletionStage<RespRequestHandler> perform(Resp3Handler handler,
+                                                      ChannelHandlerContext ctx,
+                                                      List<byte[]> arguments) {
+      List<BitfieldFunction.Operation> operations = parseOperations(handler, arguments);
+      if (operations == null) {
+         return handler.myStage();
+      }
+      byte[] key = arguments.get(0);
+      CompletionStage<List<Long>> cs;
+      if (operations.stream().allMatch(op -> op.type() == BitfieldFunction.GET)) {
+         // No need to lock the key or to involve the backup owners
+         cs = handler.getStringReadOnlyMap().eval(key, new BitfieldFunction<>(operations));
+      } else {
+         cs = handler.getStringReadWriteMap().eval(key, new BitfieldFunction<>(operations));
+      }
+      return handler.stageToReturn(cs, ctx, Consumers.COLLECTION_LONG_BICONSUMER);
+   }
+
+   /**
+    * @return the operations of the command, or <code>null</code> if an error was already written.
+    */
+   private List<BitfieldFunction.Operation> parseOperations(Resp3Handler handler, List<byte[]> arguments) {
+      List<BitfieldFunction.Operation> operations = new ArrayList<>();
+      byte overflow = BitmapUtils.OVERFLOW_WRAP;
+      for (int i = 1; i < arguments.size(); i++) {
+         byte[] arg = arguments.get(i);
+         byte type;
+         if (Util.isAsciiBytesEquals(GET, arg)) {
+            type = BitfieldFunction.GET;
+         } else if (Util.isAsciiBytesEquals(SET, arg)) {
+            type = BitfieldFunction.SET;
+         } else if (Util.isAsciiBytesEquals(INCRBY, arg)) {
+            type = BitfieldFunction.INCRBY;
+         } else if (Util.isAsciiBytesEquals(OVERFLOW, arg) && i + 1 < arguments.size()) {
+            byte[] policy = arguments.get(++i);
+            if (Util.isAsciiBytesEquals(WRAP, policy)) {
+               overflow = BitmapUtils.OVERFLOW_WRAP;
+            } else if (Util.isAsciiBytesEquals(SAT, policy)) {
+               overflow = BitmapUtils.OVERFLOW_SAT;
+            } else if (Util.isAsciiBytesEquals(FAIL, policy)) {
+               overflow = BitmapUtils.OVERFLOW_FAIL;
+            } else {
+               RespErrorUtil.customError("Invalid OVERFLOW type specified", handler.allocator());
+               return null;
+            }
+            continue;
+         } else {
+            RespErrorUtil.syntaxError(handler.allocator());
+            return null;
+         }
+         int required = type == BitfieldFunction.GET ? 2 : 3;
+         if (i + required >= arguments.size()) {
+            RespErrorUtil.syntaxError(handler.allocator());
+            return null;
+         }
+         if (readOnly && type != BitfieldFunction.GET) {
+            RespErrorUtil.customError("BITFIELD_RO only supports the GET subcommand", handler.allocator());
+            return null;
+         }
+         byte[] typeArg = arguments.get(i + 1);
+         int bits = parseBits(typeArg);
+         if (bits < 0) {
+            RespErrorUtil.customError("Invalid bitfield type. Use something like i16 u8. Note that u64 is not supported but i64 is.",
+                  handler.allocator());
+            return null;
+         }
+         long offset = BitmapUtils.parseBitOffset(arguments.get(i + 2), true, bits);
+         if (offset < 0) {
+            BitmapUtils.bitOffsetOutOfRange(handler.allocator());
+            return null;
+         }
+         long value = 0;
+         if (type != BitfieldFunction.GET) {
+            try {
+               value = ArgumentUtils.toLong(arguments.get(i + 3));
+            } catch (NumberFormatException e) {
+               RespErrorUtil.valueNotInteger(handler.allocator());
+               return null;
+            }
+         }
+         operations.add(new BitfieldFunction.Operation(type, typeArg[0] == 'i' || typeArg[0] == 'I', bits, offset,
+               value, overflow));
+         i += required;
+      }
+      return operations;
+   }
+
+   /**
+    * @return the width of a type such as <code>i8</code> or <code>u16</code>, or -1 if it is not valid.
+    */
+   private static int parseBits(byte[] type) {
+      if (type.length < 2 || type.length > 3) {
+         return -1;
+      }
+      boolean signed = type[0] == 'i' || type[0] == 'I';
+      if (!signed && type[0] != 'u' && type[0] != 'U') {
+         return -1;
+      }
+      int bits = 0;
+      for (int i = 1; i < type.length; i++) {
+         if (type[i] < '0' || type[i] > '9') {
+            return -1;
+         }
+         bits = bits * 10 + type[i] - '0';
+      }
+      return bits < 1 || bits > (signed ? 64 : 63) ? -1 : bits;
+   }
+}
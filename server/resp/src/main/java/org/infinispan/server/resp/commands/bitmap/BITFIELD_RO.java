@@ -0,0 +1,14 @@
+package org.infinispan.server.resp.commands.bitmap;
+
+/**
+ * Read-only variant of {@link BITFIELD}, which only accepts <code>GET</code> operations.
+ *
+ * @since 15.1
+ * @see <a href="https://redis.io/commands/bitfield_ro/">Redis Documentation</a>
+ */
+public class BITFIELD_RO extends BITFIELD {
+
+   public BITFIELD_RO() {
+      super(true);
+   }
+}
@@ -0,0 +1,110 @@
+package org.infinispan.server.resp.commands.bitmap;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Collectors;
+
+import org.infinispan.commons.util.concurrent.CompletionStages;
+import org.infinispan.server.resp.Consumers;
+import org.infinispan.server.resp.Resp3Handler;
+import org.infinispan.server.resp.RespCommand;
+import org.infinispan.server.resp.RespErrorUtil;
+import org.infinispan.server.resp.RespRequestHandler;
+import org.infinispan.server.resp.Util;
+import org.infinispan.server.resp.commands.Resp3Command;
+
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * Performs a bitwise operation between strings and stores the result in the destination key.
+ * <p>
+ * <code>BITOP AND | OR | XOR | NOT destkey key [key ...]</code>
+ * <p>
+ * Missing keys and strings shorter than the longest one are treated as zeros. The result is as long as the longest
+ * string, and the destination key is removed when it is empty. The sources may live on different owners, so they are
+ * read and combined by the node receiving the command.
+ *
+ * @since 15.1
+ * @see <a href="https://redis.io/commands/bitop/">Redis Documentation</a>
+ */
+public class BITOP extends RespCommand implements Resp3Command {
+   private static final byte[] AND = "AND".getBytes();
+   private static final byte[] OR = "OR".getBytes();
+   private static final byte[] XOR = "XOR".getBytes();
+   private static final byte[] NOT = "NOT".getBytes();
+
+   public BITOP() {
+      super(-4, 2, -1, 1);
+   }
+
+   @Override
+   public CompletionStage<RespRequestHandler> perform(Resp3Handler handler,
+                                                      ChannelHandlerContext ctx,
+                                                      List<byte[]> arguments) {
+      byte[] operation = arguments.get(0);
+      if (!Util.isAsciiBytesEquals(AND, operation) && !Util.isAsciiBytesEquals(OR, operation)
+            && !Util.isAsciiBytesEquals(XOR, operation) && !Util.isAsciiBytesEquals(NOT, operation)) {
+         RespErrorUtil.syntaxError(handler.allocator());
+         return handler.myStage();
+      }
+      if (Util.isAsciiBytesEquals(NOT, operation) && arguments.size() != 3) {
+         RespErrorUtil.customError("BITOP NOT must be called with a single source key.", handler.allocator());
+         return handler.myStage();
+      }
+      byte[] destination = arguments.get(1);
+      List<byte[]> sources = arguments.subList(2, arguments.size());
+      CompletionStage<Long> cs = CompletionStages.performSequentially(sources.iterator(), k -> getAsync(handler, k),
+                  Collectors.toList())
+            .thenCompose(values -> {
+               byte[] result = apply(operation, values);
+               if (result.length == 0) {
+                  return handler.ignorePreviousValuesCache().removeAsync(destination).thenApply(ignore -> 0L);
+               }
+               return handler.ignorePreviousValuesCache().putAsync(destination, result)
+                     .thenApply(ignore -> (long) result.length);
+            });
+      return handler.stageToReturn(cs, ctx, Consumers.LONG_BICONSUMER);
+   }
+
+   private static CompletionStage<byte[]> getAsync(Resp3Handler handler, byte[] key) {
+      try {
+         // The cast fails with values of other types, which is reported as WRONGTYPE
+         return handler.cache().getAsync(key).thenApply(v -> (byte[]) (Object) v);
+      } catch (Exception ex) {
+         return CompletableFuture.failedFuture(ex);
+      }
+   }
+
+   private static byte[] apply(byte[] operation, List<byte[]> values) {
+      int length = 0;
+      for (byte[] value : values) {
+         if (value != null) {
+            length = Math.max(length, value.length);
+         }
+      }
+      byte[] result = new byte[length];
+      if (Util.isAsciiBytesEquals(NOT, operation)) {
+         byte[] value = values.get(0);
+         for (int i = 0; i < length; i++) {
+            result[i] = (byte) ~value[i];
+         }
+         return result;
+      }
+      boolean and = Util.isAsciiBytesEquals(AND, operation);
+      boolean or = Util.isAsciiBytesEquals(OR, operation);
+      byte[] first = values.get(0);
+      if (first != null) {
+         System.arraycopy(first, 0, result, 0, first.length);
+      }
+      for (int v = 1; v < values.size(); v++) {
+         byte[] value = values.get(v);
+         int valueLength = value == null ? 0 : value.length;
+         for (int i = 0; i < length; i++) {
+            byte b = i < valueLength ? value[i] : 0;
+            result[i] = and ? (byte) (result[i] & b) : or ? (byte) (result[i] | b) : (byte) (result[i] ^ b);
+         }
+      }
+      return result;
+   }
+}
@@ -0,0 +1,79 @@
+package org.infinispan.server.resp.commands.bitmap;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Collections;
+import java.util.Set;
+
+import org.infinispan.commons.marshall.AdvancedExternalizer;
+import org.infinispan.functional.EntryView;
+import org.infinispan.server.resp.ExternalizerIds;
+import org.infinispan.util.function.SerializableFunction;
+
+/**
+ * Counts the bits set in a range of a string value on the owner of the key, so that only the count is returned
+ * instead of the value.
+ * <p>
+ * Negative bounds count from the end of the value, as in Redis.
+ *
+ * @since 15.1
+ */
+public final class BitCountFunction implements SerializableFunction<EntryView.ReadEntryView<byte[], byte[]>, Long> {
+   public static final AdvancedExternalizer<BitCountFunction> EXTERNALIZER = new Externalizer();
+
+   private final long start;
+   private final long end;
+   private final boolean bitUnit;
+
+   /**
+    * @param start   the first byte or bit to count.
+    * @param end     the last byte or bit to count, inclusive.
+    * @param bitUnit whether the bounds are bit offsets instead of byte offsets.
+    */
+   public BitCountFunction(long start, long end, boolean bitUnit) {
+      this.start = start;
+      this.end = end;
+      this.bitUnit = bitUnit;
+   }
+
+   @Override
+   public Long apply(EntryView.ReadEntryView<byte[], byte[]> entryView) {
+      byte[] value = entryView.peek().orElse(null);
+      if (value == null || value.length == 0) {
+         return 0L;
+      }
+      long total = bitUnit ? (long) value.length << 3 : value.length;
+      long from = start < 0 ? Math.max(0, total + start) : start;
+      long to = end < 0 ? Math.max(0, total + end) : Math.min(end, total - 1);
+      if (from > to) {
+         return 0L;
+      }
+      return bitUnit ? BitmapUtils.bitCountBits(value, from, to) : BitmapUtils.bitCount(value, (int) from, (int) to + 1);
+   }
+
+   private static class Externalizer implements AdvancedExternalizer<BitCountFunction> {
+
+      @Override
+      public Set<Class<? extends BitCountFunction>> getTypeClasses() {
+         return Collections.singleton(BitCountFunction.class);
+      }
+
+      @Override
+      public Integer getId() {
+         return ExternalizerIds.BITCOUNT_FUNCTION;
+      }
+
+      @Override
+      public void writeObject(ObjectOutput output, BitCountFunction object) throws IOException {
+         output.writeLong(object.start);
+         output.writeLong(object.end);
+         output.writeBoolean(object.bitUnit);
+      }
+
+      @Override
+      public BitCountFunction readObject(ObjectInput input) throws IOException {
+         return new BitCountFunction(input.readLong(), input.readLong(), input.readBoolean());
+      }
+   }
+}
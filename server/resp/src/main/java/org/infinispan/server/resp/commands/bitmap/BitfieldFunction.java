@@ -0,0 +1,141 @@
+package org.infinispan.server.resp.commands.bitmap;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.infinispan.commons.marshall.AdvancedExternalizer;
+import org.infinispan.functional.EntryView;
+import org.infinispan.server.resp.ExternalizerIds;
+import org.infinispan.util.function.SerializableFunction;
+
+/**
+ * Reads and updates integers of arbitrary width at arbitrary bit offsets of a string value, on the owner of the key.
+ * <p>
+ * The function only carries the operations, so a backup owner applies the same change to its copy instead of
+ * receiving the whole value. Values large enough for the operations are updated in place; shorter values are padded
+ * with zeros first. The function is applied to read-only views for <code>BITFIELD_RO</code> and <code>GETBIT</code>,
+ * in which case it must only contain {@link #GET} operations.
+ *
+ * @since 15.1
+ */
+public final class BitfieldFunction<V extends EntryView.ReadEntryView<byte[], byte[]>> implements SerializableFunction<V, List<Long>> {
+   public static final AdvancedExternalizer<BitfieldFunction> EXTERNALIZER = new Externalizer();
+
+   public static final byte GET = 0;
+   public static final byte SET = 1;
+   public static final byte INCRBY = 2;
+
+   private final List<Operation> operations;
+
+   public BitfieldFunction(List<Operation> operations) {
+      this.operations = operations;
+   }
+
+   @Override
+   public List<Long> apply(V entryView) {
+      byte[] value = entryView.peek().orElse(null);
+      List<Long> results = new ArrayList<>(operations.size());
+      boolean changed = false;
+      long[] limit = new long[1];
+      for (Operation op : operations) {
+         long current = BitmapUtils.getBits(value, op.offset, op.bits, op.signed);
+         if (op.type == GET) {
+            results.add(current);
+            continue;
+         }
+         long newValue = op.type == SET ? op.value : current + op.value;
+         long incr = op.type == SET ? 0 : op.value;
+         long base = op.type == SET ? op.value : current;
+         int overflow = op.signed
+               ? BitmapUtils.checkSignedOverflow(base, incr, op.bits, op.overflow, limit)
+               : BitmapUtils.checkUnsignedOverflow(base, incr, op.bits, op.overflow, limit);
+         if (overflow != 0) {
+            if (op.overflow == BitmapUtils.OVERFLOW_FAIL) {
+               results.add(null);
+               continue;
+            }
+            newValue = limit[0];
+         }
+         value = BitmapUtils.ensureBits(value, op.offset + op.bits);
+         BitmapUtils.setBits(value, op.offset, op.bits, newValue);
+         changed = true;
+         results.add(op.type == SET ? current : newValue);
+      }
+      if (changed) {
+         ((EntryView.ReadWriteEntryView<byte[], byte[]>) entryView).set(value);
+      }
+      return results;
+   }
+
+   /**
+    * A <code>GET</code>, <code>SET</code> or <code>INCRBY</code> operation with its overflow policy.
+    */
+   public static final class Operation {
+      final byte type;
+      final boolean signed;
+      final int bits;
+      final long offset;
+      final long value;
+      final byte overflow;
+
+      public Operation(byte type, boolean signed, int bits, long offset, long value, byte overflow) {
+         this.type = type;
+         this.signed = signed;
+         this.bits = bits;
+         this.offset = offset;
+         this.value = value;
+         this.overflow = overflow;
+      }
+
+      public static Operation get(boolean signed, int bits, long offset) {
+         return new Operation(GET, signed, bits, offset, 0, BitmapUtils.OVERFLOW_WRAP);
+      }
+
+      public byte type() {
+         return type;
+      }
+   }
+
+   private static class Externalizer implements AdvancedExternalizer<BitfieldFunction> {
+
+      @Override
+      public Set<Class<? extends BitfieldFunction>> getTypeClasses() {
+         return Collections.singleton(BitfieldFunction.class);
+      }
+
+      @Override
+      public Integer getId() {
+         return ExternalizerIds.BITFIELD_FUNCTION;
+      }
+
+      @Override
+      public void writeObject(ObjectOutput output, BitfieldFunction object) throws IOException {
+         List<Operation> operations = object.operations;
+         output.writeInt(operations.size());
+         for (Operation op : operations) {
+            output.writeByte(op.type);
+            output.writeBoolean(op.signed);
+            output.writeByte(op.bits);
+            output.writeLong(op.offset);
+            output.writeLong(op.value);
+            output.writeByte(op.overflow);
+         }
+      }
+
+      @Override
+      public BitfieldFunction readObject(ObjectInput input) throws IOException {
+         int size = input.readInt();
+         List<Operation> operations = new ArrayList<>(size);
+         for (int i = 0; i < size; i++) {
+            operations.add(new Operation(input.readByte(), input.readBoolean(), input.readByte(), input.readLong(),
+                  input.readLong(), input.readByte()));
+         }
+         return new BitfieldFunction<>(operations);
+      }
+   }
+}
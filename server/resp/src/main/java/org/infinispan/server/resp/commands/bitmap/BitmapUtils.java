@@ -0,0 +1,208 @@
+package org.infinispan.server.resp.commands.bitmap;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.infinispan.commons.util.Util;
+import org.infinispan.server.resp.ByteBufPool;
+import org.infinispan.server.resp.RespErrorUtil;
+
+/**
+ * Bit level access to string values, shared by the bitmap commands and the functions they run on the owner of a key.
+ * <p>
+ * Bits are numbered as in Redis: bit 0 is the most significant bit of the first byte.
+ *
+ * @since 15.1
+ */
+public final class BitmapUtils {
+   /**
+    * Highest bit offset accepted, which limits the values to 512MB like Redis does.
+    */
+   public static final long MAX_BIT_OFFSET = (1L << 32) - 1;
+
+   public static final byte OVERFLOW_WRAP = 0;
+   public static final byte OVERFLOW_SAT = 1;
+   public static final byte OVERFLOW_FAIL = 2;
+
+   // Reads 8 bytes at any index, so counting bits handles a long per iteration
+   private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+   private BitmapUtils() {
+   }
+
+   public static void bitOffsetOutOfRange(ByteBufPool alloc) {
+      RespErrorUtil.customError("bit offset is not an integer or out of range", alloc);
+   }
+
+   /**
+    * Parses a bit offset between 0 and {@link #MAX_BIT_OFFSET}, optionally prefixed with <code>#</code> to multiply it
+    * by the width of a bitfield.
+    *
+    * @return the offset, or -1 if it is not valid.
+    */
+   public static long parseBitOffset(byte[] arg, boolean allowMultiplier, int bits) {
+      boolean multiply = allowMultiplier && arg.length > 1 && arg[0] == '#';
+      long offset;
+      try {
+         offset = Long.parseLong(new String(arg, multiply ? 1 : 0, multiply ? arg.length - 1 : arg.length, StandardCharsets.US_ASCII));
+      } catch (NumberFormatException e) {
+         return -1;
+      }
+      if (multiply) {
+         if (offset > MAX_BIT_OFFSET / bits) {
+            return -1;
+         }
+         offset *= bits;
+      }
+      return offset < 0 || offset > MAX_BIT_OFFSET ? -1 : offset;
+   }
+
+   /**
+    * @return the number of bits set in the bytes <code>[from, to)</code>.
+    */
+   public static long bitCount(byte[] value, int from, int to) {
+      long count = 0;
+      int i = from;
+      // Independent accumulators let the popcount instructions of consecutive words run in parallel
+      long c0 = 0, c1 = 0, c2 = 0, c3 = 0;
+      for (; i + 32 <= to; i += 32) {
+         c0 += Long.bitCount((long) LONG_VIEW.get(value, i));
+         c1 += Long.bitCount((long) LONG_VIEW.get(value, i + 8));
+         c2 += Long.bitCount((long) LONG_VIEW.get(value, i + 16));
+         c3 += Long.bitCount((long) LONG_VIEW.get(value, i + 24));
+      }
+      count += c0 + c1 + c2 + c3;
+      for (; i + 8 <= to; i += 8) {
+         count += Long.bitCount((long) LONG_VIEW.get(value, i));
+      }
+      for (; i < to; i++) {
+         count += Integer.bitCount(value[i] & 0xFF);
+      }
+      return count;
+   }
+
+   /**
+    * @return the number of bits set between the bits <code>from</code> and <code>to</code>, both inclusive.
+    */
+   public static long bitCountBits(byte[] value, long from, long to) {
+      int firstByte = (int) (from >>> 3);
+      int lastByte = (int) (to >>> 3);
+      long count = bitCount(value, firstByte, lastByte + 1);
+      // Remove the bits of the first byte before the start, and the ones of the last byte after the end
+      int headMask = (0xFF << (8 - (int) (from & 7))) & 0xFF;
+      int tailMask = (1 << (7 - (int) (to & 7))) - 1;
+      count -= Integer.bitCount(value[firstByte] & headMask);
+      count -= Integer.bitCount(value[lastByte] & tailMask);
+      return count;
+   }
+
+   /**
+    * Reads an integer of <code>bits</code> bits starting at the bit <code>offset</code>. Bits after the end of the
+    * value are zero.
+    */
+   public static long getBits(byte[] value, long offset, int bits, boolean signed) {
+      long result = 0;
+      int length = value == null ? 0 : value.length;
+      for (int j = 0; j < bits; j++, offset++) {
+         int byteIndex = (int) (offset >>> 3);
+         int bit = byteIndex < length ? (value[byteIndex] >> (7 - (int) (offset & 7))) & 1 : 0;
+         result = (result << 1) | bit;
+      }
+      if (signed && bits < 64 && (result & (1L << (bits - 1))) != 0) {
+         result |= -1L << bits;
+      }
+      return result;
+   }
+
+   /**
+    * Writes the <code>bits</code> least significant bits of <code>v</code> starting at the bit <code>offset</code>.
+    * The value must be large enough to hold them.
+    */
+   public static void setBits(byte[] value, long offset, int bits, long v) {
+      for (int j = 0; j < bits; j++, offset++) {
+         int byteIndex = (int) (offset >>> 3);
+         int mask = 1 << (7 - (int) (offset & 7));
+         if (((v >>> (bits - 1 - j)) & 1) != 0) {
+            value[byteIndex] |= (byte) mask;
+         } else {
+            value[byteIndex] &= (byte) ~mask;
+         }
+      }
+   }
+
+   /**
+    * @return the value itself if it can hold <code>bits</code> bits, or a copy padded with zeros otherwise.
+    */
+   public static byte[] ensureBits(byte[] value, long bits) {
+      int length = (int) ((bits + 7) >>> 3);
+      if (value == null) {
+         return length == 0 ? Util.EMPTY_BYTE_ARRAY : new byte[length];
+      }
+      return value.length >= length ? value : Arrays.copyOf(value, length);
+   }
+
+   /**
+    * Checks whether adding <code>incr</code> to the unsigned integer <code>value</code> of <code>bits</code> bits
+    * overflows, and computes the value to store in that case.
+    *
+    * @param limit receives the wrapped or saturated value when there is an overflow and the policy is not
+    *              {@link #OVERFLOW_FAIL}.
+    * @return 1 on overflow, -1 on underflow, 0 otherwise.
+    */
+   public static int checkUnsignedOverflow(long value, long incr, int bits, byte overflow, long[] limit) {
+      long max = bits == 64 ? -1L : (1L << bits) - 1;
+      long maxIncr = max - value;
+      long minIncr = -value;
+      int result;
+      if (Long.compareUnsigned(value, max) > 0 || (incr > 0 && incr > maxIncr)) {
+         result = 1;
+         limit[0] = max;
+      } else if (incr < 0 && incr < minIncr) {
+         result = -1;
+         limit[0] = 0;
+      } else {
+         return 0;
+      }
+      if (overflow == OVERFLOW_WRAP) {
+         long mask = bits == 64 ? 0 : -1L << bits;
+         limit[0] = (value + incr) & ~mask;
+      }
+      return result;
+   }
+
+   /**
+    * Checks whether adding <code>incr</code> to the signed integer <code>value</code> of <code>bits</code> bits
+    * overflows, and computes the value to store in that case.
+    *
+    * @see #checkUnsignedOverflow(long, long, int, byte, long[])
+    */
+   public static int checkSignedOverflow(long value, long incr, int bits, byte overflow, long[] limit) {
+      long max = bits == 64 ? Long.MAX_VALUE : (1L << (bits - 1)) - 1;
+      long min = -max - 1;
+      // Both can overflow, but they are only used once value is known to be in range
+      long maxIncr = max - value;
+      long minIncr = min - value;
+      int result;
+      if (value > max || (bits != 64 && incr > maxIncr) || (value >= 0 && incr > 0 && incr > maxIncr)) {
+         result = 1;
+         limit[0] = max;
+      } else if (value < min || (bits != 64 && incr < minIncr) || (value < 0 && incr < 0 && incr < minIncr)) {
+         result = -1;
+         limit[0] = min;
+      } else {
+         return 0;
+      }
+      if (overflow == OVERFLOW_WRAP) {
+         long c = value + incr;
+         if (bits < 64) {
+            long mask = -1L << bits;
+            c = (c & (1L << (bits - 1))) != 0 ? c | mask : c & ~mask;
+         }
+         limit[0] = c;
+      }
+      return result;
+   }
+}
@@ -0,0 +1,40 @@
+package org.infinispan.server.resp.commands.bitmap;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+import org.infinispan.server.resp.Consumers;
+import org.infinispan.server.resp.Resp3Handler;
+import org.infinispan.server.resp.RespCommand;
+import org.infinispan.server.resp.RespRequestHandler;
+import org.infinispan.server.resp.commands.Resp3Command;
+
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * Returns the bit at offset in the string stored at key. Bits after the end of the string are 0.
+ *
+ * @since 15.1
+ * @see <a href="https://redis.io/commands/getbit/">Redis Documentation</a>
+ */
+public class GETBIT extends RespCommand implements Resp3Command {
+
+   public GETBIT() {
+      super(3, 1, 1, 1);
+   }
+
+   @Override
+   public CompletionStage<RespRequestHandler> perform(Resp3Handler handler,
+                                                      ChannelHandlerContext ctx,
+                                                      List<byte[]> arguments) {
+      long offset = BitmapUtils.parseBitOffset(arguments.get(1), false, 1);
+      if (offset < 0) {
+         BitmapUtils.bitOffsetOutOfRange(handler.allocator());
+         return handler.myStage();
+      }
+      List<BitfieldFunction.Operation> operations = List.of(BitfieldFunction.Operation.get(false, 1, offset));
+      CompletionStage<Long> cs = handler.getStringReadOnlyMap().eval(arguments.get(0), new BitfieldFunction<>(operations))
+            .thenApply(results -> results.get(0));
+      return handler.stageToReturn(cs, ctx, Consumers.LONG_BICONSUMER);
+   }
+}
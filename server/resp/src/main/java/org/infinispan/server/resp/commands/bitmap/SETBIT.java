@@ -0,0 +1,50 @@
+package org.infinispan.server.resp.commands.bitmap;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+import org.infinispan.server.resp.Consumers;
+import org.infinispan.server.resp.Resp3Handler;
+import org.infinispan.server.resp.RespCommand;
+import org.infinispan.server.resp.RespErrorUtil;
+import org.infinispan.server.resp.RespRequestHandler;
+import org.infinispan.server.resp.commands.Resp3Command;
+
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * Sets or clears the bit at offset in the string stored at key, and returns its previous value. The string is padded
+ * with zeros when it is shorter than the offset.
+ * <p>
+ * The bit is changed in place on the owner of the key, and only the offset and the bit are sent to the other owners.
+ *
+ * @since 15.1
+ * @see <a href="https://redis.io/commands/setbit/">Redis Documentation</a>
+ */
+public class SETBIT extends RespCommand implements Resp3Command {
+
+   public SETBIT() {
+      super(4, 1, 1, 1);
+   }
+
+   @Override
+   public CompletionStage<RespRequestHandler> perform(Resp3Handler handler,
+                                                      ChannelHandlerContext ctx,
+                                                      List<byte[]> arguments) {
+      long offset = BitmapUtils.parseBitOffset(arguments.get(1), false, 1);
+      if (offset < 0) {
+         BitmapUtils.bitOffsetOutOfRange(handler.allocator());
+         return handler.myStage();
+      }
+      byte[] bit = arguments.get(2);
+      if (bit.length != 1 || (bit[0] != '0' && bit[0] != '1')) {
+         RespErrorUtil.customError("bit is not an integer or out of range", handler.allocator());
+         return handler.myStage();
+      }
+      BitfieldFunction.Operation operation = new BitfieldFunction.Operation(BitfieldFunction.SET, false, 1, offset,
+            bit[0] - '0', BitmapUtils.OVERFLOW_WRAP);
+      CompletionStage<Long> cs = handler.getStringReadWriteMap().eval(arguments.get(0), new BitfieldFunction<>(List.of(operation)))
+            .thenApply(results -> results.get(0));
+      return handler.stageToReturn(cs, ctx, Consumers.LONG_BICONSUMER);
+   }
+}
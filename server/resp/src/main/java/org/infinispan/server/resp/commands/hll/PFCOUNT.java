@@ -0,0 +1,72 @@
+package org.infinispan.server.resp.commands.hll;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Collector;
+
+import org.infinispan.commons.util.concurrent.CompletionStages;
+import org.infinispan.functional.FunctionalMap;
+import org.infinispan.functional.impl.FunctionalMapImpl;
+import org.infinispan.functional.impl.ReadOnlyMapImpl;
+import org.infinispan.server.resp.Consumers;
+import org.infinispan.server.resp.Resp3Handler;
+import org.infinispan.server.resp.RespCommand;
+import org.infinispan.server.resp.RespRequestHandler;
+import org.infinispan.server.resp.commands.Resp3Command;
+import org.infinispan.server.resp.hll.HyperLogLog;
+
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * The `<code>PFCOUNT key [key ...]</code>` command.
+ * <p>
+ * Returns the estimated cardinality of the HyperLogLog (HLL) stored at <code>key</code>. The estimation is calculated
+ * where the entry is stored, and only the cardinality is returned. With multiple keys, the HLLs are merged into a
+ * temporary HLL, and the command returns the estimated cardinality of the union. A key that does not exist counts as
+ * an empty HLL.
+ * </p>
+ *
+ * @see <a href="https://redis.io/commands/pfcount/">Redis documentation.</a>
+ * @since 15.1
+ */
+public class PFCOUNT extends RespCommand implements Resp3Command {
+
+   public PFCOUNT() {
+      super(-2, 1, -1, 1);
+   }
+
+   @Override
+   public CompletionStage<RespRequestHandler> perform(Resp3Handler handler, ChannelHandlerContext ctx, List<byte[]> arguments) {
+      FunctionalMap.ReadOnlyMap<byte[], Object> cache =
+            ReadOnlyMapImpl.create(FunctionalMapImpl.create(handler.typedCache(null)));
+
+      CompletionStage<Long> cs;
+      if (arguments.size() == 1) {
+         // Storing something which is not an HLL fails the cast.
+         cs = cache.eval(arguments.get(0), view -> view.find()
+               .map(stored -> ((HyperLogLog) stored).cardinality())
+               .orElse(0L));
+      } else {
+         cs = union(cache, arguments).thenApply(HyperLogLog::cardinality);
+      }
+      return handler.stageToReturn(cs, ctx, Consumers.LONG_BICONSUMER);
+   }
+
+   /**
+    * Merges the HLLs stored at the given keys into a new HLL. The stored HLLs are not modified.
+    *
+    * @param cache: The functional map to read the HLLs.
+    * @param keys: The keys to read, a key that does not exist is ignored.
+    * @return A stage completing with the union of all HLLs.
+    */
+   static CompletionStage<HyperLogLog> union(FunctionalMap.ReadOnlyMap<byte[], Object> cache, List<byte[]> keys) {
+      return CompletionStages.performSequentially(keys.iterator(),
+            key -> cache.eval(key, view -> (HyperLogLog) view.find().orElse(null)),
+            Collector.<HyperLogLog, HyperLogLog>of(HyperLogLog::new, (union, hll) -> {
+               if (hll != null) union.merge(hll);
+            }, (left, right) -> {
+               left.merge(right);
+               return left;
+            }));
+   }
+}
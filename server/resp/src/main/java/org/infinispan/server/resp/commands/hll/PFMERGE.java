@@ -0,0 +1,52 @@
+package org.infinispan.server.resp.commands.hll;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+import org.infinispan.functional.impl.FunctionalMapImpl;
+import org.infinispan.functional.impl.ReadOnlyMapImpl;
+import org.infinispan.functional.impl.ReadWriteMapImpl;
+import org.infinispan.server.resp.Consumers;
+import org.infinispan.server.resp.Resp3Handler;
+import org.infinispan.server.resp.RespCommand;
+import org.infinispan.server.resp.RespRequestHandler;
+import org.infinispan.server.resp.commands.Resp3Command;
+import org.infinispan.server.resp.hll.HyperLogLog;
+
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * The `<code>PFMERGE destkey [sourcekey [sourcekey ...]]</code>` command.
+ * <p>
+ * Merges the HyperLogLog (HLL) structures stored at the source keys into the HLL stored at <code>destkey</code>. The
+ * destination is created if it does not exist. The union of the sources is merged into the destination where the
+ * destination is stored, and the sources are not modified.
+ * </p>
+ *
+ * @see <a href="https://redis.io/commands/pfmerge/">Redis documentation.</a>
+ * @since 15.1
+ */
+public class PFMERGE extends RespCommand implements Resp3Command {
+
+   public PFMERGE() {
+      super(-2, 1, -1, 1);
+   }
+
+   @Override
+   public CompletionStage<RespRequestHandler> perform(Resp3Handler handler, ChannelHandlerContext ctx, List<byte[]> arguments) {
+      byte[] destination = arguments.get(0);
+      FunctionalMapImpl<byte[], Object> fmap = FunctionalMapImpl.create(handler.typedCache(null));
+
+      CompletionStage<Object> cs = PFCOUNT.union(ReadOnlyMapImpl.create(fmap), arguments.subList(1, arguments.size()))
+            .thenCompose(union -> ReadWriteMapImpl.create(fmap).eval(destination, union, (sources, view) -> {
+               // Storing something which is not an HLL fails the cast.
+               HyperLogLog hll = (HyperLogLog) view.find().orElse(null);
+               if (hll == null) hll = new HyperLogLog();
+
+               hll.merge(sources);
+               view.set(hll);
+               return null;
+            }));
+      return handler.stageToReturn(cs, ctx, Consumers.OK_BICONSUMER);
+   }
+}
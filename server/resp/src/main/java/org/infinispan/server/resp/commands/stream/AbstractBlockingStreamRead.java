@@ -0,0 +1,283 @@
+package org.infinispan.server.resp.commands.stream;
+
+import java.lang.invoke.MethodHandles;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.commons.logging.LogFactory;
+import org.infinispan.encoding.DataConversion;
+import org.infinispan.multimap.impl.EmbeddedMultimapStreamCache;
+import org.infinispan.multimap.impl.StreamBucket;
+import org.infinispan.multimap.impl.StreamEntry;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryCreated;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryModified;
+import org.infinispan.notifications.cachelistener.event.CacheEntryEvent;
+import org.infinispan.server.resp.ByteBufPool;
+import org.infinispan.server.resp.Resp3Handler;
+import org.infinispan.server.resp.RespCommand;
+import org.infinispan.server.resp.RespRequestHandler;
+import org.infinispan.server.resp.commands.Resp3Command;
+import org.infinispan.server.resp.filter.EventListenerConverter;
+import org.infinispan.server.resp.filter.EventListenerKeysFilter;
+import org.infinispan.server.resp.logging.Log;
+
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * Reads entries from several streams, blocking until one of them has entries to return when <code>BLOCK</code> is
+ * given.
+ * <p>
+ * Blocking works as in {@link org.infinispan.server.resp.commands.list.blocking.AbstractBlockingPop}: a clustered
+ * listener filtered on the keys of the command is installed, and the streams are read again after the listener is
+ * installed and after every event, until entries are found or the timeout expires. Events received while a read is
+ * running are coalesced into a single read.
+ * <p>
+ * The timeout and the reads are mutually exclusive: a read with <code>GROUP</code> consumes the entries it returns, so
+ * a timeout firing while a read is running waits for that read to complete the command instead.
+ *
+ * @since 15.1
+ */
+public abstract class AbstractBlockingStreamRead extends RespCommand implements Resp3Command {
+   private static final Log log = LogFactory.getLog(MethodHandles.lookup().lookupClass(), Log.class);
+
+   protected AbstractBlockingStreamRead(int arity, int firstKeyPos, int lastKeyPos, int steps) {
+      super(arity, firstKeyPos, lastKeyPos, steps);
+   }
+
+   /**
+    * @return the configuration of the read, or <code>null</code> if an error was already written.
+    */
+   abstract StreamReadConfiguration parseArguments(Resp3Handler handler, List<byte[]> arguments);
+
+   /**
+    * Completes the identifiers of the configuration which depend on the state of the streams before reading.
+    */
+   abstract CompletionStage<Void> resolveIds(EmbeddedMultimapStreamCache<byte[]> streamMultimap,
+                                             StreamReadConfiguration configuration);
+
+   /**
+    * @return whether the command blocks when there are no entries to return.
+    */
+   abstract boolean canBlock(StreamReadConfiguration configuration);
+
+   @Override
+   public CompletionStage<RespRequestHandler> perform(Resp3Handler handler,
+                                                      ChannelHandlerContext ctx,
+                                                      List<byte[]> arguments) {
+      StreamReadConfiguration configuration = parseArguments(handler, arguments);
+      if (configuration == null) {
+         return handler.myStage();
+      }
+      EmbeddedMultimapStreamCache<byte[]> streamMultimap = handler.getStreamMultimap();
+      CompletionStage<ReadResult> stage = resolveIds(streamMultimap, configuration)
+            .thenCompose(ignore -> readAllKeys(streamMultimap, configuration))
+            .thenCompose(result -> result.isComplete() || !canBlock(configuration)
+                  ? CompletableFuture.completedFuture(result)
+                  : addSubscriber(configuration, handler));
+      return handler.stageToReturn(stage, ctx, this::writeResult);
+   }
+
+   private void writeResult(ReadResult result, ByteBufPool alloc) {
+      if (result != null && result.noGroupKey != null) {
+         StreamCommonUtils.noGroup(result.noGroupKey, result.group, getName() + " with GROUP option", alloc);
+      } else {
+         StreamCommonUtils.writeStreams(result == null ? null : result.entries, alloc);
+      }
+   }
+
+   private CompletableFuture<ReadResult> addSubscriber(StreamReadConfiguration configuration, Resp3Handler handler) {
+      if (log.isTraceEnabled()) {
+         log.tracef("Stream subscriber for keys: " + configuration.keys());
+      }
+      AdvancedCache<byte[], Object> cache = handler.typedCache(null);
+      DataConversion vc = cache.getValueDataConversion();
+      StreamListener listener = new StreamListener(handler, cache, configuration);
+      EventListenerKeysFilter filter = new EventListenerKeysFilter(configuration.keys().toArray(byte[][]::new));
+      CompletionStage<Void> addListenerStage = cache.addListenerAsync(listener, filter,
+            new EventListenerConverter<Object, Object, byte[]>(vc));
+      addListenerStage.whenComplete((ignore, t) -> {
+         if (t != null) {
+            listener.synchronizer.resultFuture.completeExceptionally(t);
+            return;
+         }
+         // Entries added while the listener was installed raise no event, so read again
+         listener.startTimer(configuration.timeout());
+         listener.synchronizer.onEvent();
+      });
+      return listener.synchronizer.resultFuture;
+   }
+
+   private static CompletionStage<ReadResult> readAllKeys(EmbeddedMultimapStreamCache<byte[]> streamMultimap,
+                                                          StreamReadConfiguration configuration) {
+      ReadResult result = new ReadResult(configuration.group());
+      CompletionStage<ReadResult> stage = CompletableFuture.completedFuture(result);
+      for (int i = 0; i < configuration.keys().size(); ++i) {
+         int idx = i;
+         stage = stage.thenCompose(r -> r.noGroupKey != null
+               ? CompletableFuture.completedFuture(r)
+               : readKey(streamMultimap, configuration, idx).thenApply(entries -> r.add(configuration, idx, entries)));
+      }
+      return stage;
+   }
+
+   private static CompletionStage<List<StreamEntry>> readKey(EmbeddedMultimapStreamCache<byte[]> streamMultimap,
+                                                             StreamReadConfiguration configuration, int idx) {
+      byte[] key = configuration.key(idx);
+      if (configuration.isGroup()) {
+         return streamMultimap.readGroup(key, configuration.group(), configuration.consumer(), configuration.id(idx),
+               configuration.count(), configuration.noAck());
+      }
+      return streamMultimap.after(key, configuration.id(idx), configuration.count());
+   }
+
+   static class ReadResult {
+      private final Map<byte[], List<StreamEntry>> entries = new LinkedHashMap<>();
+      private final String group;
+      private byte[] noGroupKey;
+
+      private ReadResult(String group) {
+         this.group = group;
+      }
+
+      private ReadResult add(StreamReadConfiguration configuration, int idx, List<StreamEntry> read) {
+         if (read == null) {
+            noGroupKey = configuration.key(idx);
+         } else if (!read.isEmpty() || configuration.id(idx) != null && configuration.isGroup()) {
+            // Reads of the pending entries of a group always return the stream, even if empty
+            entries.put(configuration.key(idx), read);
+         }
+         return this;
+      }
+
+      private boolean isComplete() {
+         return noGroupKey != null || !entries.isEmpty();
+      }
+   }
+
+   @Listener(clustered = true)
+   public static class StreamListener {
+      private final AdvancedCache<byte[], Object> cache;
+      private final Resp3Handler handler;
+      private final ReadListenerSynchronizer synchronizer;
+      private volatile ScheduledFuture<?> scheduledTimer;
+
+      private StreamListener(Resp3Handler handler, AdvancedCache<byte[], Object> cache,
+                             StreamReadConfiguration configuration) {
+         this.cache = cache;
+         this.handler = handler;
+         this.synchronizer = new ReadListenerSynchronizer(handler.getStreamMultimap(), configuration);
+
+         synchronizer.resultFuture.whenComplete((ignore_v, ignore_t) -> {
+            deleteTimer();
+            cache.removeListenerAsync(this);
+         });
+      }
+
+      private void startTimer(long timeout) {
+         deleteTimer();
+         scheduledTimer = (timeout > 0)
+               ? handler.getScheduler().schedule(synchronizer::onTimeout, timeout, TimeUnit.MILLISECONDS)
+               : null;
+      }
+
+      private void deleteTimer() {
+         if (scheduledTimer != null)
+            scheduledTimer.cancel(true);
+         scheduledTimer = null;
+      }
+
+      @CacheEntryCreated
+      @CacheEntryModified
+      public void onEvent(CacheEntryEvent<Object, Object> entryEvent) {
+         try {
+            if (entryEvent.getValue() instanceof StreamBucket) {
+               synchronizer.onEvent();
+            }
+         } catch (Exception ex) {
+            synchronizer.resultFuture.completeExceptionally(ex);
+         }
+      }
+   }
+
+   /**
+    * Serializes the reads triggered by the listener so that only one runs at a time, and completes
+    * <code>resultFuture</code> with the first read returning entries. A timeout only completes
+    * <code>resultFuture</code> while no read is running, otherwise the running read completes it once done.
+    */
+   public static class ReadListenerSynchronizer {
+      private final CompletableFuture<ReadResult> resultFuture;
+      private final EmbeddedMultimapStreamCache<byte[]> streamMultimap;
+      private final StreamReadConfiguration configuration;
+      // Reads requested, guarded by this: 0 when idle, 1 while reading, 2 if another read is needed afterwards
+      private int requested;
+      // Guarded by this, once set no read is started
+      private boolean timedOut;
+
+      private ReadListenerSynchronizer(EmbeddedMultimapStreamCache<byte[]> streamMultimap,
+                                       StreamReadConfiguration configuration) {
+         this.resultFuture = new CompletableFuture<>();
+         this.streamMultimap = streamMultimap;
+         this.configuration = configuration;
+      }
+
+      private void onEvent() {
+         synchronized (this) {
+            if (timedOut || resultFuture.isDone()) {
+               return;
+            }
+            if (requested++ > 0) {
+               requested = 2;
+               return;
+            }
+         }
+         runRead();
+      }
+
+      private void onTimeout() {
+         synchronized (this) {
+            timedOut = true;
+            if (requested > 0) {
+               // The running read owns the result, it completes it when done
+               return;
+            }
+         }
+         resultFuture.complete(null);
+      }
+
+      private void runRead() {
+         readAllKeys(streamMultimap, configuration).whenComplete((result, t) -> {
+            if (t != null) {
+               resultFuture.completeExceptionally(t);
+               return;
+            }
+            if (result.isComplete()) {
+               resultFuture.complete(result);
+               return;
+            }
+            boolean expired;
+            synchronized (this) {
+               expired = timedOut;
+               if (expired) {
+                  requested = 0;
+               } else if (--requested == 0) {
+                  return;
+               } else {
+                  requested = 1;
+               }
+            }
+            if (expired) {
+               resultFuture.complete(null);
+            } else if (!resultFuture.isDone()) {
+               runRead();
+            }
+         });
+      }
+   }
+}
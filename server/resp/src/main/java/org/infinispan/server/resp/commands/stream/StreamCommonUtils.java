@@ -0,0 +1,118 @@
+package org.infinispan.server.resp.commands.stream;
+
+import static org.infinispan.server.resp.RespConstants.CRLF_STRING;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.infinispan.multimap.impl.StreamEntry;
+import org.infinispan.multimap.impl.StreamEntryId;
+import org.infinispan.server.resp.ByteBufPool;
+import org.infinispan.server.resp.ByteBufferUtils;
+import org.infinispan.server.resp.Consumers;
+import org.infinispan.server.resp.Resp3Handler;
+import org.infinispan.server.resp.RespErrorUtil;
+
+/**
+ * Parsing of stream entry identifiers and writing of stream entries shared by the stream commands.
+ *
+ * @since 15.1
+ */
+public final class StreamCommonUtils {
+   public static final byte[] COUNT = "COUNT".getBytes();
+   public static final byte[] BLOCK = "BLOCK".getBytes();
+   public static final byte[] STREAMS = "STREAMS".getBytes();
+   /**
+    * Marker returned by {@link #parseRangeBound(byte[], boolean)} when an exclusive bound is the lowest or highest
+    * identifier possible, compared by reference.
+    */
+   public static final StreamEntryId EMPTY_RANGE = StreamEntryId.of(0, 0);
+
+   private StreamCommonUtils() {
+   }
+
+   /**
+    * Parses a strict identifier, <code>&lt;ms&gt;-&lt;seq&gt;</code> or <code>&lt;ms&gt;</code>.
+    *
+    * @return the identifier, or <code>null</code> if the argument is not a valid identifier.
+    */
+   public static StreamEntryId parseId(byte[] arg, long defaultSeq) {
+      try {
+         return StreamEntryId.parse(new String(arg, StandardCharsets.US_ASCII), defaultSeq);
+      } catch (NumberFormatException e) {
+         return null;
+      }
+   }
+
+   /**
+    * Parses a bound of a range, accepting <code>-</code> and <code>+</code> for the lowest and highest identifiers
+    * and a <code>(</code> prefix for an exclusive bound.
+    *
+    * @param start whether the argument is the start of the range.
+    * @return the inclusive identifier, {@link #EMPTY_RANGE} if an exclusive bound leaves nothing to match, or
+    *         <code>null</code> if the argument is not valid.
+    */
+   public static StreamEntryId parseRangeBound(byte[] arg, boolean start) {
+      if (arg.length == 1 && arg[0] == '-') {
+         return StreamEntryId.MIN;
+      }
+      if (arg.length == 1 && arg[0] == '+') {
+         return StreamEntryId.MAX;
+      }
+      boolean exclusive = arg.length > 1 && arg[0] == '(';
+      String id = new String(arg, exclusive ? 1 : 0, exclusive ? arg.length - 1 : arg.length, StandardCharsets.US_ASCII);
+      StreamEntryId parsed;
+      try {
+         parsed = StreamEntryId.parse(id, start ? 0 : -1L);
+      } catch (NumberFormatException e) {
+         return null;
+      }
+      if (!exclusive) {
+         return parsed;
+      }
+      StreamEntryId bound = start ? parsed.next() : parsed.previous();
+      return bound == null ? EMPTY_RANGE : bound;
+   }
+
+   public static void invalidId(ByteBufPool alloc) {
+      RespErrorUtil.customError("Invalid stream ID specified as stream command argument", alloc);
+   }
+
+   public static void noGroup(byte[] key, String group, String command, ByteBufPool alloc) {
+      ByteBufferUtils.stringToByteBuf("-NOGROUP No such key '" + new String(key, StandardCharsets.UTF_8)
+            + "' or consumer group '" + group + "' in " + command + CRLF_STRING, alloc);
+   }
+
+   /**
+    * Writes an entry as an array with the identifier and the array of fields and values. Entries of a pending list
+    * which were removed from the stream have a null array of fields.
+    */
+   public static void writeEntry(StreamEntry entry, ByteBufPool alloc) {
+      Resp3Handler.writeArrayPrefix(2, alloc);
+      Resp3Handler.handleBulkAsciiResult(entry.id().toString(), alloc);
+      Consumers.GET_ARRAY_BICONSUMER.accept(entry.fields().isEmpty() ? null : entry.fields(), alloc);
+   }
+
+   public static void writeEntries(List<StreamEntry> entries, ByteBufPool alloc) {
+      Resp3Handler.writeArrayPrefix(entries.size(), alloc);
+      for (StreamEntry entry : entries) {
+         writeEntry(entry, alloc);
+      }
+   }
+
+   /**
+    * Writes the entries read from several streams as a map of stream name to entries, or null if there is none.
+    */
+   public static void writeStreams(Map<byte[], List<StreamEntry>> streams, ByteBufPool alloc) {
+      if (streams == null || streams.isEmpty()) {
+         Consumers.GET_ARRAY_BICONSUMER.accept(null, alloc);
+         return;
+      }
+      Resp3Handler.writeMapPrefix(streams.size(), alloc);
+      for (Map.Entry<byte[], List<StreamEntry>> stream : streams.entrySet()) {
+         Consumers.BULK_BICONSUMER.accept(stream.getKey(), alloc);
+         writeEntries(stream.getValue(), alloc);
+      }
+   }
+}
@@ -0,0 +1,75 @@
+package org.infinispan.server.resp.commands.stream;
+
+import java.util.List;
+
+import org.infinispan.multimap.impl.StreamEntryId;
+
+class StreamReadConfiguration {
+
+   private final List<byte[]> keys;
+   private final StreamEntryId[] ids;
+   private final long count;
+   private final long timeout;
+   private final String group;
+   private final String consumer;
+   private final boolean noAck;
+
+   StreamReadConfiguration(List<byte[]> keys, StreamEntryId[] ids, long count, long timeout, String group,
+                           String consumer, boolean noAck) {
+      this.keys = keys;
+      this.ids = ids;
+      this.count = count;
+      this.timeout = timeout;
+      this.group = group;
+      this.consumer = consumer;
+      this.noAck = noAck;
+   }
+
+   public List<byte[]> keys() {
+      return keys;
+   }
+
+   public byte[] key(int idx) {
+      return keys.get(idx);
+   }
+
+   /**
+    * @return the identifier after which the stream is read, or <code>null</code> for the entries which are new: the
+    *         ones added after the command for <code>XREAD</code>, or the ones never delivered to the group for
+    *         <code>XREADGROUP</code>.
+    */
+   public StreamEntryId id(int idx) {
+      return ids[idx];
+   }
+
+   public void id(int idx, StreamEntryId id) {
+      ids[idx] = id;
+   }
+
+   public long count() {
+      return count;
+   }
+
+   /**
+    * @return the milliseconds to block, <code>0</code> to block forever, or a negative number to not block.
+    */
+   public long timeout() {
+      return timeout;
+   }
+
+   public boolean isGroup() {
+      return group != null;
+   }
+
+   public String group() {
+      return group;
+   }
+
+   public String consumer() {
+      return consumer;
+   }
+
+   public boolean noAck() {
+      return noAck;
+   }
+}
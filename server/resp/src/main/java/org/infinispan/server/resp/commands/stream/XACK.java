@@ -0,0 +1,47 @@
+package org.infinispan.server.resp.commands.stream;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+import org.infinispan.multimap.impl.StreamEntryId;
+import org.infinispan.server.resp.Consumers;
+import org.infinispan.server.resp.Resp3Handler;
+import org.infinispan.server.resp.RespCommand;
+import org.infinispan.server.resp.RespRequestHandler;
+import org.infinispan.server.resp.commands.Resp3Command;
+
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * Removes entries from the pending list of a consumer group of the stream stored at key.
+ * <p>
+ * Returns the number of entries acknowledged, ignoring the ones which were not pending.
+ *
+ * @since 15.1
+ * @see <a href="https://redis.io/commands/xack/">Redis Documentation</a>
+ */
+public class XACK extends RespCommand implements Resp3Command {
+
+   public XACK() {
+      super(-4, 1, 1, 1);
+   }
+
+   @Override
+   public CompletionStage<RespRequestHandler> perform(Resp3Handler handler, ChannelHandlerContext ctx,
+                                                      List<byte[]> arguments) {
+      byte[] key = arguments.get(0);
+      String group = new String(arguments.get(1), StandardCharsets.UTF_8);
+      List<StreamEntryId> ids = new ArrayList<>(arguments.size() - 2);
+      for (int i = 2; i < arguments.size(); i++) {
+         StreamEntryId id = StreamCommonUtils.parseId(arguments.get(i), 0);
+         if (id == null) {
+            StreamCommonUtils.invalidId(handler.allocator());
+            return handler.myStage();
+         }
+         ids.add(id);
+      }
+      return handler.stageToReturn(handler.getStreamMultimap().acknowledge(key, group, ids), ctx, Consumers.LONG_BICONSUMER);
+   }
+}
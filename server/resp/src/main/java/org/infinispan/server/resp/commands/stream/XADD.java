@@ -0,0 +1,122 @@
+package org.infinispan.server.resp.commands.stream;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+import org.infinispan.multimap.impl.StreamEntryId;
+import org.infinispan.server.resp.ByteBufPool;
+import org.infinispan.server.resp.Resp3Handler;
+import org.infinispan.server.resp.RespCommand;
+import org.infinispan.server.resp.RespErrorUtil;
+import org.infinispan.server.resp.RespRequestHandler;
+import org.infinispan.server.resp.Util;
+import org.infinispan.server.resp.commands.ArgumentUtils;
+import org.infinispan.server.resp.commands.Resp3Command;
+
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * Appends an entry to the stream stored at key, creating the stream if it does not exist unless
+ * <code>NOMKSTREAM</code> is given.
+ * <p>
+ * The identifier is either <code>*</code> to generate it from the current time, <code>&lt;ms&gt;-*</code> to only
+ * generate the sequence number, or an explicit identifier greater than the last one of the stream.
+ * <code>MAXLEN</code> trims the stream to the given length after appending; approximate trimming (<code>~</code>) is
+ * accepted and trims exactly.
+ * <p>
+ * Returns the identifier of the entry, or null if <code>NOMKSTREAM</code> is given and the stream does not exist.
+ *
+ * @since 15.1
+ * @see <a href="https://redis.io/commands/xadd/">Redis Documentation</a>
+ */
+public class XADD extends RespCommand implements Resp3Command {
+   private static final byte[] NOMKSTREAM = "NOMKSTREAM".getBytes();
+   private static final byte[] MAXLEN = "MAXLEN".getBytes();
+   private static final byte[] LIMIT = "LIMIT".getBytes();
+
+   public XADD() {
+      super(-5, 1, 1, 1);
+   }
+
+   @Override
+   public CompletionStage<RespRequestHandler> perform(Resp3Handler handler, ChannelHandlerContext ctx,
+                                                      List<byte[]> arguments) {
+      byte[] key = arguments.get(0);
+      boolean noMkStream = false;
+      long maxLength = -1;
+      int pos = 1;
+      try {
+         while (pos < arguments.size()) {
+            byte[] arg = arguments.get(pos);
+            if (Util.isAsciiBytesEquals(NOMKSTREAM, arg)) {
+               noMkStream = true;
+               pos++;
+            } else if (Util.isAsciiBytesEquals(MAXLEN, arg)) {
+               byte[] value = arguments.get(++pos);
+               boolean approximate = value.length == 1 && value[0] == '~';
+               if (approximate || (value.length == 1 && value[0] == '=')) {
+                  value = arguments.get(++pos);
+               }
+               maxLength = ArgumentUtils.toLong(value);
+               if (maxLength < 0) {
+                  RespErrorUtil.customError("The MAXLEN argument must be >= 0.", handler.allocator());
+                  return handler.myStage();
+               }
+               pos++;
+               if (pos < arguments.size() && Util.isAsciiBytesEquals(LIMIT, arguments.get(pos))) {
+                  if (!approximate) {
+                     RespErrorUtil.customError("syntax error, LIMIT cannot be used without the special ~ option", handler.allocator());
+                     return handler.myStage();
+                  }
+                  ArgumentUtils.toLong(arguments.get(++pos));
+                  pos++;
+               }
+            } else {
+               break;
+            }
+         }
+      } catch (NumberFormatException e) {
+         RespErrorUtil.valueNotInteger(handler.allocator());
+         return handler.myStage();
+      } catch (IndexOutOfBoundsException e) {
+         RespErrorUtil.syntaxError(handler.allocator());
+         return handler.myStage();
+      }
+
+      int fields = arguments.size() - pos - 1;
+      if (fields <= 0 || fields % 2 != 0) {
+         RespErrorUtil.wrongArgumentNumber(this, handler.allocator());
+         return handler.myStage();
+      }
+
+      byte[] idArg = arguments.get(pos);
+      StreamEntryId id = null;
+      boolean autoSequence = false;
+      if (!(idArg.length == 1 && idArg[0] == '*')) {
+         autoSequence = idArg.length > 2 && idArg[idArg.length - 1] == '*' && idArg[idArg.length - 2] == '-';
+         id = StreamCommonUtils.parseId(autoSequence ? Arrays.copyOf(idArg, idArg.length - 2) : idArg, 0);
+         if (id == null) {
+            StreamCommonUtils.invalidId(handler.allocator());
+            return handler.myStage();
+         }
+         if (!autoSequence && id.equals(StreamEntryId.MIN)) {
+            RespErrorUtil.customError("The ID specified in XADD must be greater than 0-0", handler.allocator());
+            return handler.myStage();
+         }
+      }
+
+      List<byte[]> entry = arguments.subList(pos + 1, arguments.size());
+      CompletionStage<StreamEntryId> cs = handler.getStreamMultimap()
+            .add(key, id, autoSequence, List.copyOf(entry), maxLength, noMkStream);
+      return handler.stageToReturn(cs, ctx, XADD::writeId);
+   }
+
+   private static void writeId(StreamEntryId id, ByteBufPool alloc) {
+      if (StreamEntryId.MIN.equals(id)) {
+         RespErrorUtil.customError("The ID specified in XADD is equal or smaller than the target stream top item", alloc);
+      } else {
+         Resp3Handler.handleBulkAsciiResult(id == null ? null : id.toString(), alloc);
+      }
+   }
+}
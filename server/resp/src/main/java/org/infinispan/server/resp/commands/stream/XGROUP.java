@@ -0,0 +1,112 @@
+package org.infinispan.server.resp.commands.stream;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+import org.infinispan.multimap.impl.StreamEntryId;
+import org.infinispan.server.resp.ByteBufferUtils;
+import org.infinispan.server.resp.Consumers;
+import org.infinispan.server.resp.Resp3Handler;
+import org.infinispan.server.resp.RespCommand;
+import org.infinispan.server.resp.RespErrorUtil;
+import org.infinispan.server.resp.RespRequestHandler;
+import org.infinispan.server.resp.Util;
+import org.infinispan.server.resp.commands.ArgumentUtils;
+import org.infinispan.server.resp.commands.Resp3Command;
+
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * Manages the consumer groups of the stream stored at key.
+ * <ul>
+ *    <li><code>XGROUP CREATE key group &lt;id | $&gt; [MKSTREAM] [ENTRIESREAD n]</code> creates a group whose consumers
+ *    receive the entries after the given identifier, or after the last entry with <code>$</code>. The stream is
+ *    created empty with <code>MKSTREAM</code>. <code>ENTRIESREAD</code> is accepted and ignored.</li>
+ *    <li><code>XGROUP DESTROY key group</code> destroys a group and its pending entries.</li>
+ * </ul>
+ *
+ * @since 15.1
+ * @see <a href="https://redis.io/commands/xgroup/">Redis Documentation</a>
+ */
+public class XGROUP extends RespCommand implements Resp3Command {
+   private static final byte[] CREATE = "CREATE".getBytes();
+   private static final byte[] DESTROY = "DESTROY".getBytes();
+   private static final byte[] MKSTREAM = "MKSTREAM".getBytes();
+   private static final byte[] ENTRIESREAD = "ENTRIESREAD".getBytes();
+
+   public XGROUP() {
+      super(-2, 0, 0, 0);
+   }
+
+   @Override
+   public CompletionStage<RespRequestHandler> perform(Resp3Handler handler, ChannelHandlerContext ctx,
+                                                      List<byte[]> arguments) {
+      byte[] subcommand = arguments.get(0);
+      if (Util.isAsciiBytesEquals(CREATE, subcommand) && arguments.size() >= 4) {
+         return create(handler, ctx, arguments);
+      }
+      if (Util.isAsciiBytesEquals(DESTROY, subcommand) && arguments.size() == 3) {
+         return destroy(handler, ctx, arguments);
+      }
+      RespErrorUtil.customError("unknown subcommand or wrong number of arguments for '"
+            + new String(subcommand, StandardCharsets.UTF_8) + "'", handler.allocator());
+      return handler.myStage();
+   }
+
+   private CompletionStage<RespRequestHandler> create(Resp3Handler handler, ChannelHandlerContext ctx,
+                                                      List<byte[]> arguments) {
+      byte[] key = arguments.get(1);
+      String group = new String(arguments.get(2), StandardCharsets.UTF_8);
+      byte[] idArg = arguments.get(3);
+      StreamEntryId id = null;
+      if (!(idArg.length == 1 && idArg[0] == '$')) {
+         id = StreamCommonUtils.parseId(idArg, 0);
+         if (id == null) {
+            StreamCommonUtils.invalidId(handler.allocator());
+            return handler.myStage();
+         }
+      }
+      boolean mkStream = false;
+      for (int i = 4; i < arguments.size(); i++) {
+         if (Util.isAsciiBytesEquals(MKSTREAM, arguments.get(i))) {
+            mkStream = true;
+         } else if (Util.isAsciiBytesEquals(ENTRIESREAD, arguments.get(i)) && i + 1 < arguments.size()) {
+            try {
+               ArgumentUtils.toLong(arguments.get(++i));
+            } catch (NumberFormatException e) {
+               RespErrorUtil.valueNotInteger(handler.allocator());
+               return handler.myStage();
+            }
+         } else {
+            RespErrorUtil.syntaxError(handler.allocator());
+            return handler.myStage();
+         }
+      }
+      CompletionStage<Boolean> cs = handler.getStreamMultimap().createGroup(key, group, id, mkStream);
+      return handler.stageToReturn(cs, ctx, (created, alloc) -> {
+         if (created == null) {
+            RespErrorUtil.customError("The XGROUP subcommand requires the key to exist. Note that for CREATE you " +
+                  "may want to use the MKSTREAM option to create an empty stream automatically.", alloc);
+         } else if (created) {
+            Consumers.OK_BICONSUMER.accept(null, alloc);
+         } else {
+            ByteBufferUtils.stringToByteBufAscii("-BUSYGROUP Consumer Group name already exists\r\n", alloc);
+         }
+      });
+   }
+
+   private CompletionStage<RespRequestHandler> destroy(Resp3Handler handler, ChannelHandlerContext ctx,
+                                                       List<byte[]> arguments) {
+      byte[] key = arguments.get(1);
+      String group = new String(arguments.get(2), StandardCharsets.UTF_8);
+      CompletionStage<Boolean> cs = handler.getStreamMultimap().destroyGroup(key, group);
+      return handler.stageToReturn(cs, ctx, (destroyed, alloc) -> {
+         if (destroyed == null) {
+            RespErrorUtil.noSuchKey(alloc);
+         } else {
+            Consumers.BOOLEAN_BICONSUMER.accept(destroyed, alloc);
+         }
+      });
+   }
+}
@@ -0,0 +1,31 @@
+package org.infinispan.server.resp.commands.stream;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+import org.infinispan.server.resp.Consumers;
+import org.infinispan.server.resp.Resp3Handler;
+import org.infinispan.server.resp.RespCommand;
+import org.infinispan.server.resp.RespRequestHandler;
+import org.infinispan.server.resp.commands.Resp3Command;
+
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * Returns the number of entries of the stream stored at key, or 0 if the key does not exist.
+ *
+ * @since 15.1
+ * @see <a href="https://redis.io/commands/xlen/">Redis Documentation</a>
+ */
+public class XLEN extends RespCommand implements Resp3Command {
+
+   public XLEN() {
+      super(2, 1, 1, 1);
+   }
+
+   @Override
+   public CompletionStage<RespRequestHandler> perform(Resp3Handler handler, ChannelHandlerContext ctx,
+                                                      List<byte[]> arguments) {
+      return handler.stageToReturn(handler.getStreamMultimap().length(arguments.get(0)), ctx, Consumers.LONG_BICONSUMER);
+   }
+}
@@ -0,0 +1,76 @@
+package org.infinispan.server.resp.commands.stream;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.infinispan.multimap.impl.StreamEntry;
+import org.infinispan.multimap.impl.StreamEntryId;
+import org.infinispan.server.resp.Resp3Handler;
+import org.infinispan.server.resp.RespCommand;
+import org.infinispan.server.resp.RespErrorUtil;
+import org.infinispan.server.resp.RespRequestHandler;
+import org.infinispan.server.resp.Util;
+import org.infinispan.server.resp.commands.ArgumentUtils;
+import org.infinispan.server.resp.commands.Resp3Command;
+
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * Returns the entries of the stream stored at key with an identifier between start and end.
+ * <p>
+ * <code>-</code> and <code>+</code> are the lowest and highest identifiers possible, an identifier without sequence
+ * number matches all the entries of that millisecond, and a <code>(</code> prefix excludes the bound. The number of
+ * entries returned can be limited with <code>COUNT</code>.
+ *
+ * @since 15.1
+ * @see <a href="https://redis.io/commands/xrange/">Redis Documentation</a>
+ */
+public class XRANGE extends RespCommand implements Resp3Command {
+   private final boolean rev;
+
+   public XRANGE() {
+      this(false);
+   }
+
+   protected XRANGE(boolean rev) {
+      super(-4, 1, 1, 1);
+      this.rev = rev;
+   }
+
+   @Override
+   public CompletionStage<RespRequestHandler> perform(Resp3Handler handler, ChannelHandlerContext ctx,
+                                                      List<byte[]> arguments) {
+      byte[] key = arguments.get(0);
+      // XREVRANGE receives the end before the start
+      StreamEntryId start = StreamCommonUtils.parseRangeBound(arguments.get(rev ? 2 : 1), true);
+      StreamEntryId end = StreamCommonUtils.parseRangeBound(arguments.get(rev ? 1 : 2), false);
+      if (start == null || end == null) {
+         StreamCommonUtils.invalidId(handler.allocator());
+         return handler.myStage();
+      }
+
+      long count = -1;
+      if (arguments.size() > 3) {
+         if (arguments.size() != 5 || !Util.isAsciiBytesEquals(StreamCommonUtils.COUNT, arguments.get(3))) {
+            RespErrorUtil.syntaxError(handler.allocator());
+            return handler.myStage();
+         }
+         try {
+            count = Math.max(0, ArgumentUtils.toLong(arguments.get(4)));
+         } catch (NumberFormatException e) {
+            RespErrorUtil.valueNotInteger(handler.allocator());
+            return handler.myStage();
+         }
+      }
+
+      CompletionStage<List<StreamEntry>> cs;
+      if (start == StreamCommonUtils.EMPTY_RANGE || end == StreamCommonUtils.EMPTY_RANGE) {
+         cs = CompletableFuture.completedFuture(Collections.emptyList());
+      } else {
+         cs = handler.getStreamMultimap().range(key, start, end, count, rev);
+      }
+      return handler.stageToReturn(cs, ctx, StreamCommonUtils::writeEntries);
+   }
+}
@@ -0,0 +1,105 @@
+package org.infinispan.server.resp.commands.stream;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.infinispan.multimap.impl.EmbeddedMultimapStreamCache;
+import org.infinispan.multimap.impl.StreamEntryId;
+import org.infinispan.server.resp.Resp3Handler;
+import org.infinispan.server.resp.RespErrorUtil;
+import org.infinispan.server.resp.Util;
+import org.infinispan.server.resp.commands.ArgumentUtils;
+
+/**
+ * Reads the entries of one or more streams with an identifier greater than the given one, in the form
+ * <code>XREAD [COUNT count] [BLOCK milliseconds] STREAMS key [key ...] id [id ...]</code>.
+ * <p>
+ * The identifier <code>$</code> stands for the last entry of the stream when the command is received, so that only
+ * entries added afterwards are returned. With <code>BLOCK</code>, the command waits until one of the streams has
+ * entries to return or the timeout expires; a timeout of 0 blocks forever.
+ * <p>
+ * Returns a map of stream name to entries for the streams with entries, or null if there is none.
+ *
+ * @since 15.1
+ * @see <a href="https://redis.io/commands/xread/">Redis Documentation</a>
+ */
+public class XREAD extends AbstractBlockingStreamRead {
+
+   public XREAD() {
+      super(-4, 0, 0, 0);
+   }
+
+   @Override
+   StreamReadConfiguration parseArguments(Resp3Handler handler, List<byte[]> arguments) {
+      long count = -1;
+      long timeout = -1;
+      int pos = 0;
+      try {
+         while (pos < arguments.size() && !Util.isAsciiBytesEquals(StreamCommonUtils.STREAMS, arguments.get(pos))) {
+            byte[] arg = arguments.get(pos++);
+            if (Util.isAsciiBytesEquals(StreamCommonUtils.COUNT, arg)) {
+               count = ArgumentUtils.toLong(arguments.get(pos++));
+               if (count <= 0) {
+                  count = -1;
+               }
+            } else if (Util.isAsciiBytesEquals(StreamCommonUtils.BLOCK, arg)) {
+               timeout = ArgumentUtils.toLong(arguments.get(pos++));
+               if (timeout < 0) {
+                  RespErrorUtil.customError("timeout is negative", handler.allocator());
+                  return null;
+               }
+            } else {
+               RespErrorUtil.syntaxError(handler.allocator());
+               return null;
+            }
+         }
+      } catch (NumberFormatException e) {
+         RespErrorUtil.valueNotInteger(handler.allocator());
+         return null;
+      } catch (IndexOutOfBoundsException e) {
+         RespErrorUtil.syntaxError(handler.allocator());
+         return null;
+      }
+
+      int streams = arguments.size() - pos - 1;
+      if (pos == arguments.size() || streams == 0 || streams % 2 != 0) {
+         RespErrorUtil.customError("Unbalanced 'xread' list of streams: for each stream key an ID or '$' must be specified.", handler.allocator());
+         return null;
+      }
+      int numKeys = streams / 2;
+      List<byte[]> keys = arguments.subList(pos + 1, pos + 1 + numKeys);
+      StreamEntryId[] ids = new StreamEntryId[numKeys];
+      for (int i = 0; i < numKeys; i++) {
+         byte[] idArg = arguments.get(pos + 1 + numKeys + i);
+         if (idArg.length == 1 && idArg[0] == '$') {
+            continue;
+         }
+         ids[i] = StreamCommonUtils.parseId(idArg, 0);
+         if (ids[i] == null) {
+            StreamCommonUtils.invalidId(handler.allocator());
+            return null;
+         }
+      }
+      return new StreamReadConfiguration(keys, ids, count, timeout, null, null, false);
+   }
+
+   @Override
+   CompletionStage<Void> resolveIds(EmbeddedMultimapStreamCache<byte[]> streamMultimap,
+                                    StreamReadConfiguration configuration) {
+      CompletionStage<Void> stage = CompletableFuture.completedFuture(null);
+      for (int i = 0; i < configuration.keys().size(); i++) {
+         if (configuration.id(i) == null) {
+            int idx = i;
+            stage = stage.thenCompose(ignore -> streamMultimap.lastId(configuration.key(idx)))
+                  .thenAccept(id -> configuration.id(idx, id));
+         }
+      }
+      return stage;
+   }
+
+   @Override
+   boolean canBlock(StreamReadConfiguration configuration) {
+      return configuration.timeout() >= 0;
+   }
+}
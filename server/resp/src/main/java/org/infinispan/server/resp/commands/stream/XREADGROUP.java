@@ -0,0 +1,120 @@
+package org.infinispan.server.resp.commands.stream;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.infinispan.multimap.impl.EmbeddedMultimapStreamCache;
+import org.infinispan.multimap.impl.StreamEntryId;
+import org.infinispan.server.resp.Resp3Handler;
+import org.infinispan.server.resp.RespErrorUtil;
+import org.infinispan.server.resp.Util;
+import org.infinispan.server.resp.commands.ArgumentUtils;
+
+/**
+ * Reads the entries of one or more streams as a consumer of a group, in the form
+ * <code>XREADGROUP GROUP group consumer [COUNT count] [BLOCK milliseconds] [NOACK] STREAMS key [key ...] id [id ...]</code>.
+ * <p>
+ * The identifier <code>&gt;</code> reads the entries never delivered to any consumer of the group, which are added to
+ * the pending entries of the consumer unless <code>NOACK</code> is given. Any other identifier reads the pending
+ * entries of the consumer after it. Only reads of new entries block.
+ * <p>
+ * Returns a map of stream name to entries, or null if there is none.
+ *
+ * @since 15.1
+ * @see <a href="https://redis.io/commands/xreadgroup/">Redis Documentation</a>
+ */
+public class XREADGROUP extends AbstractBlockingStreamRead {
+   private static final byte[] GROUP = "GROUP".getBytes();
+   private static final byte[] NOACK = "NOACK".getBytes();
+
+   public XREADGROUP() {
+      super(-7, 0, 0, 0);
+   }
+
+   @Override
+   StreamReadConfiguration parseArguments(Resp3Handler handler, List<byte[]> arguments) {
+      if (!Util.isAsciiBytesEquals(GROUP, arguments.get(0))) {
+         RespErrorUtil.syntaxError(handler.allocator());
+         return null;
+      }
+      String group = new String(arguments.get(1), StandardCharsets.UTF_8);
+      String consumer = new String(arguments.get(2), StandardCharsets.UTF_8);
+      long count = -1;
+      long timeout = -1;
+      boolean noAck = false;
+      int pos = 3;
+      try {
+         while (pos < arguments.size() && !Util.isAsciiBytesEquals(StreamCommonUtils.STREAMS, arguments.get(pos))) {
+            byte[] arg = arguments.get(pos++);
+            if (Util.isAsciiBytesEquals(StreamCommonUtils.COUNT, arg)) {
+               count = ArgumentUtils.toLong(arguments.get(pos++));
+            } else if (Util.isAsciiBytesEquals(StreamCommonUtils.BLOCK, arg)) {
+               timeout = ArgumentUtils.toLong(arguments.get(pos++));
+               if (timeout < 0) {
+                  RespErrorUtil.customError("timeout is negative", handler.allocator());
+                  return null;
+               }
+            } else if (Util.isAsciiBytesEquals(NOACK, arg)) {
+               noAck = true;
+            } else {
+               RespErrorUtil.syntaxError(handler.allocator());
+               return null;
+            }
+         }
+      } catch (NumberFormatException e) {
+         RespErrorUtil.valueNotInteger(handler.allocator());
+         return null;
+      } catch (IndexOutOfBoundsException e) {
+         RespErrorUtil.syntaxError(handler.allocator());
+         return null;
+      }
+
+      int streams = arguments.size() - pos - 1;
+      if (pos == arguments.size() || streams == 0 || streams % 2 != 0) {
+         RespErrorUtil.customError("Unbalanced 'xreadgroup' list of streams: for each stream key an ID or '>' must be specified.", handler.allocator());
+         return null;
+      }
+      int numKeys = streams / 2;
+      List<byte[]> keys = arguments.subList(pos + 1, pos + 1 + numKeys);
+      StreamEntryId[] ids = new StreamEntryId[numKeys];
+      for (int i = 0; i < numKeys; i++) {
+         byte[] idArg = arguments.get(pos + 1 + numKeys + i);
+         if (idArg.length == 1 && idArg[0] == '>') {
+            continue;
+         }
+         if (idArg.length == 1 && idArg[0] == '$') {
+            RespErrorUtil.customError("The $ ID is meaningless in the context of XREADGROUP: you want to read the " +
+                  "history of this consumer by specifying a proper ID, or use the > ID to get new messages. The $ ID " +
+                  "would just return an empty result set.", handler.allocator());
+            return null;
+         }
+         ids[i] = StreamCommonUtils.parseId(idArg, 0);
+         if (ids[i] == null) {
+            StreamCommonUtils.invalidId(handler.allocator());
+            return null;
+         }
+      }
+      return new StreamReadConfiguration(keys, ids, count, timeout, group, consumer, noAck);
+   }
+
+   @Override
+   CompletionStage<Void> resolveIds(EmbeddedMultimapStreamCache<byte[]> streamMultimap,
+                                    StreamReadConfiguration configuration) {
+      return CompletableFuture.completedFuture(null);
+   }
+
+   @Override
+   boolean canBlock(StreamReadConfiguration configuration) {
+      if (configuration.timeout() < 0) {
+         return false;
+      }
+      for (int i = 0; i < configuration.keys().size(); i++) {
+         if (configuration.id(i) != null) {
+            return false;
+         }
+      }
+      return true;
+   }
+}
@@ -0,0 +1,15 @@
+package org.infinispan.server.resp.commands.stream;
+
+/**
+ * Returns the entries of the stream stored at key with an identifier between end and start, in reverse order.
+ *
+ * @since 15.1
+ * @see XRANGE
+ * @see <a href="https://redis.io/commands/xrevrange/">Redis Documentation</a>
+ */
+public class XREVRANGE extends XRANGE {
+
+   public XREVRANGE() {
+      super(true);
+   }
+}
@@ -102,6 +102,56 @@ public boolean add(byte[] data) {
       return ret;
    }
 
+   /**
+    * Merges the given HLL into this one, so this HLL estimates the cardinality of the union of both.
+    *
+    * <p>
+    * Two explicit representations merge the hashes, changing to the compact representation if the union reaches the
+    * threshold. Otherwise, the compact representation is used, and the registers of both are merged.
+    * </p>
+    *
+    * @param other: The HLL to read the elements from.
+    */
+   public void merge(HyperLogLog other) {
+      HLLRepresentation source = other.store();
+      if (source == null || other == this) return;
+
+      ExplicitSet src = null;
+      CompactSet target = null;
+      synchronized (this) {
+         if (compact == null && source instanceof ExplicitSet) {
+            if (explicit == null) explicit = new ExplicitSet();
+
+            explicit.merge((ExplicitSet) source);
+            if (explicit.needsMigration()) {
+               src = explicit;
+               explicit = null;
+               compact = new CompactSet();
+               target = compact;
+            }
+         } else {
+            // Merging a compact representation always promotes to the compact representation.
+            if (compact == null) {
+               src = explicit;
+               explicit = null;
+               compact = new CompactSet();
+            }
+            target = compact;
+         }
+      }
+
+      if (target == null) return;
+
+      // Migrate and merge outside the synchronized block. Both representations are thread-safe.
+      if (src != null) src.migrate(target);
+      if (source instanceof CompactSet) {
+         target.merge((CompactSet) source);
+      } else if (src == null) {
+         // The explicit source was not merged into a migrated explicit representation.
+         ((ExplicitSet) source).migrate(target);
+      }
+   }
+
    public long cardinality() {
       HLLRepresentation representation = store();
       return representation == null ? 0 : representation.cardinality();
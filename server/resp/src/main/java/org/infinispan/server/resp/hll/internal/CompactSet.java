@@ -128,6 +128,34 @@ public boolean set(byte[] data) {
       return setRegister(Util.hash(data));
    }
 
+   /**
+    * Merges the registers of the given set into this one.
+    * <p>
+    * Each register keeps the maximum between the two sets. The result is the same as if all elements added to
+    * {@param other} were added to this set, so the estimation is of the cardinality of the union.
+    * </p>
+    *
+    * @param other: The set to read the registers from.
+    * @return if any register was updated or not.
+    */
+   public boolean merge(CompactSet other) {
+      if (other == this) return false;
+
+      long[] registers;
+      synchronized (other) {
+         registers = other.store.clone();
+      }
+
+      boolean changed = false;
+      synchronized (this) {
+         for (int bucket = 0; bucket < HLL_BUCKET_TOTAL; bucket++) {
+            byte value = register(registers, bucket);
+            if (value > minimum && setRegister(bucket, value)) changed = true;
+         }
+      }
+      return changed;
+   }
+
    /**
     * The cardinality estimation is based on [2] (see class doc).
     * <p>
@@ -254,16 +282,7 @@ private boolean setRegister(int bucket, byte value) {
       byte stored;
 
       synchronized (this) {
-         if (spilled) {
-            // The register value spans across two positions.
-            // First halve, we use the remainder to skip unnecessary bits.
-            // Second halve, we now skip (MAX_SIZE - remainder) bits to retrieve the remaining bits.
-            // Then the | to append the two halves and a mask.
-            stored = (byte) (((store[first] >>> offset) | (store[second] << (MAX_REGISTER_ENTRY - offset))) & SINGLE_REGISTER_MASK);
-         } else {
-            // The value is within a single register. We simply use the remainder and a mask.
-            stored = (byte) ((store[first] >>> offset) & SINGLE_REGISTER_MASK);
-         }
+         stored = register(store, bucket);
 
          // We only update in case the sequence of zeroes is greater than seen previously.
          if (value > stored) {
@@ -299,6 +318,31 @@ private boolean setRegister(int bucket, byte value) {
       return false;
    }
 
+   /**
+    * Reads the value of the register for the given {@param bucket} from {@param store}.
+    *
+    * @param store: The registers array, with the same layout as {@link #store}.
+    * @param bucket: The bucket identified by the hash P least-significant bits.
+    * @return the count of consecutive zeroes stored in the register.
+    */
+   private static byte register(long[] store, int bucket) {
+      int index = bucket * REGISTER_WIDTH;
+      int first = index >>> REGISTER_WIDTH;
+      int second = (index + REGISTER_WIDTH - 1) >>> REGISTER_WIDTH;
+      int offset = index & SINGLE_REGISTER_MASK;
+
+      if (first != second) {
+         // The register value spans across two positions.
+         // First halve, we use the remainder to skip unnecessary bits.
+         // Second halve, we now skip (MAX_SIZE - remainder) bits to retrieve the remaining bits.
+         // Then the | to append the two halves and a mask.
+         return (byte) (((store[first] >>> offset) | (store[second] << (MAX_REGISTER_ENTRY - offset))) & SINGLE_REGISTER_MASK);
+      }
+
+      // The value is within a single register. We simply use the remainder and a mask.
+      return (byte) ((store[first] >>> offset) & SINGLE_REGISTER_MASK);
+   }
+
    @ProtoField(number = 1, collectionImplementation = ArrayList.class)
    List<Long> store() {
       return LongStream.of(store)
@@ -58,6 +58,16 @@ public boolean needsMigration() {
       return storage.size() >= threshold;
    }
 
+   /**
+    * Adds the hashes of the given set into this one.
+    *
+    * @param other: The set to read the hashes from.
+    * @return true if any hash was added, and false otherwise.
+    */
+   public boolean merge(ExplicitSet other) {
+      return storage.addAll(other.storage);
+   }
+
    public void migrate(CompactSet cs) {
       cs.readSource(storage);
    }
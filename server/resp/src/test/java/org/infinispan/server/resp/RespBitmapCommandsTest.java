@@ -0,0 +1,191 @@
+package org.infinispan.server.resp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.infinispan.server.resp.test.RespTestingUtil.assertWrongType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import io.lettuce.core.BitFieldArgs;
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.output.ArrayOutput;
+import io.lettuce.core.output.IntegerOutput;
+import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.protocol.CommandType;
+import io.lettuce.core.protocol.ProtocolKeyword;
+
+@Test(groups = "functional", testName = "server.resp.RespBitmapCommandsTest")
+public class RespBitmapCommandsTest extends SingleNodeRespBaseTest {
+
+   private static final ProtocolKeyword BITFIELD_RO = new ProtocolKeyword() {
+      @Override
+      public byte[] getBytes() {
+         return name().getBytes(StandardCharsets.US_ASCII);
+      }
+
+      @Override
+      public String name() {
+         return "BITFIELD_RO";
+      }
+   };
+
+   public void testSetbitAndGetbit() {
+      RedisCommands<String, String> redis = redisConnection.sync();
+      String key = "setbit";
+      assertThat(redis.getbit(key, 7)).isZero();
+      assertThat(redis.setbit(key, 7, 1)).isZero();
+      assertThat(redis.setbit(key, 7, 1)).isEqualTo(1);
+      assertThat(redis.getbit(key, 7)).isEqualTo(1);
+      assertThat(redis.getbit(key, 1000)).isZero();
+      assertThat(redis.get(key)).isEqualTo("\u0001");
+
+      // Setting a bit after the end pads the value with zeros
+      assertThat(redis.setbit(key, 23, 1)).isZero();
+      assertThat(redis.strlen(key)).isEqualTo(3);
+      assertThat(redis.setbit(key, 7, 0)).isEqualTo(1);
+      assertThat(redis.getbit(key, 7)).isZero();
+
+      // Updates the existing string values
+      redis.set("setbit-string", "a");
+      assertThat(redis.setbit("setbit-string", 6, 1)).isZero();
+      assertThat(redis.get("setbit-string")).isEqualTo("c");
+
+      assertThatThrownBy(() -> redis.setbit(key, -1, 1))
+            .isInstanceOf(RedisCommandExecutionException.class)
+            .hasMessageContaining("bit offset is not an integer or out of range");
+      assertThatThrownBy(() -> redis.setbit(key, 1, 2))
+            .isInstanceOf(RedisCommandExecutionException.class)
+            .hasMessageContaining("bit is not an integer or out of range");
+      assertWrongType(() -> redis.rpush("setbit-list", "e"), () -> redis.setbit("setbit-list", 1, 1));
+      assertWrongType(() -> {}, () -> redis.getbit("setbit-list", 1));
+   }
+
+   public void testBitcount() {
+      RedisCommands<String, String> redis = redisConnection.sync();
+      String key = "bitcount";
+      assertThat(redis.bitcount(key)).isZero();
+      redis.set(key, "foobar");
+      assertThat(redis.bitcount(key)).isEqualTo(26);
+      assertThat(redis.bitcount(key, 0, 0)).isEqualTo(4);
+      assertThat(redis.bitcount(key, 1, 1)).isEqualTo(6);
+      assertThat(redis.bitcount(key, -2, -1)).isEqualTo(7);
+      assertThat(redis.bitcount(key, 3, 1)).isZero();
+      assertThat(redis.bitcount(key, 0, 100)).isEqualTo(26);
+
+      StringCodec codec = StringCodec.UTF8;
+      assertThat(redis.dispatch(CommandType.BITCOUNT, new IntegerOutput<>(codec),
+            new CommandArgs<>(codec).addKey(key).add(5).add(30).add("BIT"))).isEqualTo(17);
+      assertThatThrownBy(() -> redis.dispatch(CommandType.BITCOUNT, new IntegerOutput<>(codec),
+            new CommandArgs<>(codec).addKey(key).add(0).add(1).add("BITS")))
+            .isInstanceOf(RedisCommandExecutionException.class)
+            .hasMessageContaining("syntax error");
+
+      // Larger than a few words, so every counting loop is used
+      StringBuilder sb = new StringBuilder();
+      for (int i = 0; i < 1000; i++) {
+         sb.append((char) ('0' + i % 10));
+      }
+      redis.set("bitcount-large", sb.toString());
+      long expected = sb.chars().mapToLong(Integer::bitCount).sum();
+      assertThat(redis.bitcount("bitcount-large")).isEqualTo(expected);
+      assertThat(redis.bitcount("bitcount-large", 3, 997)).isEqualTo(sb.substring(3, 998).chars().mapToLong(Integer::bitCount).sum());
+      assertWrongType(() -> redis.rpush("bitcount-list", "e"), () -> redis.bitcount("bitcount-list"));
+   }
+
+   public void testBitop() {
+      RedisCommands<String, String> redis = redisConnection.sync();
+      redis.set("bitop1", "abc");
+      redis.set("bitop2", "a");
+      assertThat(redis.bitopAnd("bitop-and", "bitop1", "bitop2")).isEqualTo(3);
+      assertThat(redis.get("bitop-and")).isEqualTo("a\u0000\u0000");
+      assertThat(redis.bitopOr("bitop-or", "bitop1", "bitop2", "bitop-missing")).isEqualTo(3);
+      assertThat(redis.get("bitop-or")).isEqualTo("abc");
+      assertThat(redis.bitopXor("bitop-xor", "bitop1", "bitop2")).isEqualTo(3);
+      assertThat(redis.get("bitop-xor")).isEqualTo("\u0000bc");
+
+      redis.set("bitop-not-source", "\u000f");
+      assertThat(redis.bitopNot("bitop-not", "bitop-not-source")).isEqualTo(1);
+      assertThat(redis.getbit("bitop-not", 0)).isEqualTo(1);
+      assertThat(redis.getbit("bitop-not", 7)).isZero();
+
+      // An empty result removes the destination
+      assertThat(redis.bitopAnd("bitop-and", "bitop-missing")).isZero();
+      assertThat(redis.exists("bitop-and")).isZero();
+
+      StringCodec codec = StringCodec.UTF8;
+      assertThatThrownBy(() -> redis.dispatch(CommandType.BITOP, new IntegerOutput<>(codec),
+            new CommandArgs<>(codec).add("NOT").addKey("dest").addKey("bitop1").addKey("bitop2")))
+            .isInstanceOf(RedisCommandExecutionException.class)
+            .hasMessageContaining("BITOP NOT must be called with a single source key");
+      assertWrongType(() -> redis.rpush("bitop-list", "e"), () -> redis.bitopOr("dest", "bitop1", "bitop-list"));
+   }
+
+   public void testBitfield() {
+      RedisCommands<String, String> redis = redisConnection.sync();
+      String key = "bitfield";
+      assertThat(redis.bitfield(key, new BitFieldArgs().incrBy(BitFieldArgs.signed(5), 100, 1)
+            .get(BitFieldArgs.unsigned(4), 0))).containsExactly(1L, 0L);
+
+      assertThat(redis.bitfield(key, new BitFieldArgs().set(BitFieldArgs.signed(8), 0, -100)
+            .get(BitFieldArgs.signed(8), 0).get(BitFieldArgs.unsigned(8), 0))).containsExactly(0L, -100L, 156L);
+      assertThat(redis.bitfield(key, new BitFieldArgs().set(BitFieldArgs.unsigned(8), BitFieldArgs.typeWidthBasedOffset(1), 7)
+            .get(BitFieldArgs.unsigned(8), 8))).containsExactly(0L, 7L);
+      assertThat(redis.bitfield(key, new BitFieldArgs().set(BitFieldArgs.signed(64), 203, Long.MIN_VALUE)
+            .get(BitFieldArgs.signed(64), 203))).containsExactly(0L, Long.MIN_VALUE);
+   }
+
+   public void testBitfieldOverflow() {
+      RedisCommands<String, String> redis = redisConnection.sync();
+      String key = "bitfield-overflow";
+      BitFieldArgs args = new BitFieldArgs()
+            .incrBy(BitFieldArgs.unsigned(2), 102, 1)
+            .overflow(BitFieldArgs.OverflowType.SAT).incrBy(BitFieldArgs.unsigned(2), 100, 1)
+            .overflow(BitFieldArgs.OverflowType.FAIL).incrBy(BitFieldArgs.unsigned(2), 104, 1);
+      assertThat(redis.bitfield(key, args)).containsExactly(1L, 1L, 1L);
+      assertThat(redis.bitfield(key, args)).containsExactly(2L, 2L, 2L);
+      assertThat(redis.bitfield(key, args)).containsExactly(3L, 3L, 3L);
+      assertThat(redis.bitfield(key, args)).containsExactly(0L, 3L, null);
+      assertThat(redis.bitfield(key, new BitFieldArgs().incrBy(BitFieldArgs.signed(8), 0, -200)
+            .overflow(BitFieldArgs.OverflowType.SAT).incrBy(BitFieldArgs.signed(8), 16, -200)))
+            .containsExactly(56L, -128L);
+   }
+
+   public void testBitfieldErrors() {
+      RedisCommands<String, String> redis = redisConnection.sync();
+      StringCodec codec = StringCodec.UTF8;
+      assertThatThrownBy(() -> redis.dispatch(CommandType.BITFIELD, new ArrayOutput<>(codec),
+            new CommandArgs<>(codec).addKey("bitfield-errors").add("GET").add("u64").add(0)))
+            .isInstanceOf(RedisCommandExecutionException.class)
+            .hasMessageContaining("Invalid bitfield type");
+      assertThatThrownBy(() -> redis.dispatch(CommandType.BITFIELD, new ArrayOutput<>(codec),
+            new CommandArgs<>(codec).addKey("bitfield-errors").add("GET").add("u8").add(-1)))
+            .isInstanceOf(RedisCommandExecutionException.class)
+            .hasMessageContaining("bit offset is not an integer or out of range");
+      assertThatThrownBy(() -> redis.dispatch(CommandType.BITFIELD, new ArrayOutput<>(codec),
+            new CommandArgs<>(codec).addKey("bitfield-errors").add("SET").add("u8").add(0)))
+            .isInstanceOf(RedisCommandExecutionException.class)
+            .hasMessageContaining("syntax error");
+      assertThat(redis.exists("bitfield-errors")).isZero();
+      assertWrongType(() -> redis.rpush("bitfield-list", "e"),
+            () -> redis.bitfield("bitfield-list", new BitFieldArgs().get(BitFieldArgs.unsigned(8), 0)));
+   }
+
+   public void testBitfieldReadOnly() {
+      RedisCommands<String, String> redis = redisConnection.sync();
+      StringCodec codec = StringCodec.UTF8;
+      redis.set("bitfield-ro", "a");
+      List<Object> result = redis.dispatch(BITFIELD_RO, new ArrayOutput<>(codec),
+            new CommandArgs<>(codec).addKey("bitfield-ro").add("GET").add("u8").add(0).add("GET").add("i4").add(4));
+      assertThat(result).containsExactly(97L, 1L);
+      assertThatThrownBy(() -> redis.dispatch(BITFIELD_RO, new ArrayOutput<>(codec),
+            new CommandArgs<>(codec).addKey("bitfield-ro").add("SET").add("u8").add(0).add(1)))
+            .isInstanceOf(RedisCommandExecutionException.class)
+            .hasMessageContaining("BITFIELD_RO only supports the GET subcommand");
+      assertThat(redis.get("bitfield-ro")).isEqualTo("a");
+   }
+}
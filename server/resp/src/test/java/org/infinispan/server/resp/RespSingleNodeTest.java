@@ -1184,6 +1184,62 @@ public void testPFADD() {
       // assertWrongType(() -> redis.pfadd("data", "e1"), () -> redis.get("data"));
    }
 
+   @Test
+   public void testPFCOUNT() {
+      RedisCommands<String, String> redis = redisConnection.sync();
+
+      assertThat(redis.pfcount("pfcount-missing")).isEqualTo(0L);
+
+      redis.pfadd("pfcount-1", "el1", "el2", "el3");
+      redis.pfadd("pfcount-2", "el3", "el4");
+      assertThat(redis.pfcount("pfcount-1")).isEqualTo(3L);
+      assertThat(redis.pfcount("pfcount-2")).isEqualTo(2L);
+
+      // The union of both, the missing key counts as empty.
+      assertThat(redis.pfcount("pfcount-1", "pfcount-2", "pfcount-missing")).isEqualTo(4L);
+
+      // Counting does not modify the stored structures.
+      assertThat(redis.pfcount("pfcount-1")).isEqualTo(3L);
+
+      for (int i = 0; i < 1000; i++) {
+         redis.pfadd("pfcount-1", "value-" + i);
+      }
+      assertThat(redis.pfcount("pfcount-1")).isBetween(990L, 1010L);
+      assertThat(redis.pfcount("pfcount-1", "pfcount-2")).isBetween(991L, 1011L);
+
+      assertWrongType(() -> redis.set("plain", "string"), () -> redis.pfcount("plain"));
+      assertWrongType(() -> {}, () -> redis.pfcount("pfcount-1", "plain"));
+   }
+
+   @Test
+   public void testPFMERGE() {
+      RedisCommands<String, String> redis = redisConnection.sync();
+
+      redis.pfadd("pfmerge-1", "el1", "el2", "el3");
+      redis.pfadd("pfmerge-2", "el3", "el4");
+
+      // Creates the destination with the union of the sources.
+      assertThat(redis.pfmerge("pfmerge-dest", "pfmerge-1", "pfmerge-2")).isEqualTo(OK);
+      assertThat(redis.pfcount("pfmerge-dest")).isEqualTo(4L);
+      assertThat(redis.pfcount("pfmerge-1")).isEqualTo(3L);
+
+      // The destination is part of the union.
+      redis.pfadd("pfmerge-3", "el5");
+      assertThat(redis.pfmerge("pfmerge-dest", "pfmerge-3")).isEqualTo(OK);
+      assertThat(redis.pfcount("pfmerge-dest")).isEqualTo(5L);
+
+      // Merging the compact representation.
+      for (int i = 0; i < 1000; i++) {
+         redis.pfadd("pfmerge-large", "value-" + i);
+      }
+      assertThat(redis.pfmerge("pfmerge-dest", "pfmerge-large", "pfmerge-missing")).isEqualTo(OK);
+      assertThat(redis.pfcount("pfmerge-dest")).isEqualTo(redis.pfcount("pfmerge-dest", "pfmerge-large"));
+      assertThat(redis.pfcount("pfmerge-dest")).isBetween(995L, 1015L);
+
+      assertWrongType(() -> redis.set("plain", "string"), () -> redis.pfmerge("plain", "pfmerge-1"));
+      assertWrongType(() -> {}, () -> redis.pfmerge("pfmerge-dest", "plain"));
+   }
+
    @Test
    public void testKeys() {
       RedisCommands<String, String> redis = redisConnection.sync();
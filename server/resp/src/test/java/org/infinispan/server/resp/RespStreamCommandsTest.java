@@ -0,0 +1,210 @@
+package org.infinispan.server.resp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.infinispan.server.resp.test.RespTestingUtil.assertWrongType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.Test;
+
+import io.lettuce.core.Consumer;
+import io.lettuce.core.Limit;
+import io.lettuce.core.Range;
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.StreamMessage;
+import io.lettuce.core.XAddArgs;
+import io.lettuce.core.XGroupCreateArgs;
+import io.lettuce.core.XReadArgs;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.lettuce.core.api.sync.RedisCommands;
+
+@Test(groups = "functional", testName = "server.resp.RespStreamCommandsTest")
+public class RespStreamCommandsTest extends SingleNodeRespBaseTest {
+
+   public void testXaddAndXlen() {
+      RedisCommands<String, String> redis = redisConnection.sync();
+      String key = "xadd";
+      assertThat(redis.xlen(key)).isZero();
+      assertThat(redis.xadd(key, new XAddArgs().id("1-1"), "f1", "v1")).isEqualTo("1-1");
+      assertThat(redis.xadd(key, new XAddArgs().id("1-*"), "f2", "v2")).isEqualTo("1-2");
+      String generated = redis.xadd(key, Map.of("f3", "v3"));
+      assertThat(generated).matches("\\d+-\\d+");
+      assertThat(redis.xlen(key)).isEqualTo(3);
+
+      assertThatThrownBy(() -> redis.xadd(key, new XAddArgs().id("1-1"), "f", "v"))
+            .isInstanceOf(RedisCommandExecutionException.class)
+            .hasMessageContaining("equal or smaller than the target stream top item");
+      assertThatThrownBy(() -> redis.xadd("other", new XAddArgs().id("0-0"), "f", "v"))
+            .isInstanceOf(RedisCommandExecutionException.class)
+            .hasMessageContaining("must be greater than 0-0");
+      assertThatThrownBy(() -> redis.xadd("other", new XAddArgs().id("abc"), "f", "v"))
+            .isInstanceOf(RedisCommandExecutionException.class)
+            .hasMessageContaining("Invalid stream ID");
+
+      assertThat(redis.xadd("nomkstream", new XAddArgs().nomkstream(), "f", "v")).isNull();
+      assertThat(redis.exists("nomkstream")).isZero();
+
+      assertThat(redis.type(key)).isEqualTo("stream");
+      assertWrongType(() -> redis.rpush("xadd-list", "e"), () -> redis.xadd("xadd-list", Map.of("f", "v")));
+   }
+
+   public void testXaddMaxLen() {
+      RedisCommands<String, String> redis = redisConnection.sync();
+      String key = "xadd-maxlen";
+      for (int i = 1; i <= 1000; i++) {
+         redis.xadd(key, new XAddArgs().id(i + "-0").maxlen(10), "f", String.valueOf(i));
+      }
+      assertThat(redis.xlen(key)).isEqualTo(10);
+      List<StreamMessage<String, String>> messages = redis.xrange(key, Range.create("-", "+"));
+      assertThat(messages).extracting(StreamMessage::getId).first().isEqualTo("991-0");
+      assertThat(messages).extracting(StreamMessage::getId).last().isEqualTo("1000-0");
+   }
+
+   public void testXrange() {
+      RedisCommands<String, String> redis = redisConnection.sync();
+      String key = "xrange";
+      for (int i = 1; i <= 300; i++) {
+         redis.xadd(key, new XAddArgs().id(i + "-" + (i % 2)), "f", String.valueOf(i), "g", "x");
+      }
+      List<StreamMessage<String, String>> all = redis.xrange(key, Range.create("-", "+"));
+      assertThat(all).hasSize(300);
+      assertThat(all.get(0).getBody()).containsEntry("f", "1").containsEntry("g", "x");
+
+      assertThat(redis.xrange(key, Range.create("10", "12"))).extracting(StreamMessage::getId)
+            .containsExactly("10-0", "11-1", "12-0");
+      assertThat(redis.xrange(key, Range.create("(10-0", "12"))).extracting(StreamMessage::getId)
+            .containsExactly("11-1", "12-0");
+      assertThat(redis.xrange(key, Range.create("100", "+"), Limit.from(2))).extracting(StreamMessage::getId)
+            .containsExactly("100-0", "101-1");
+      assertThat(redis.xrevrange(key, Range.create("298", "+"))).extracting(StreamMessage::getId)
+            .containsExactly("300-0", "299-1", "298-0");
+      assertThat(redis.xrevrange(key, Range.create("-", "+"), Limit.from(1))).extracting(StreamMessage::getId)
+            .containsExactly("300-0");
+      assertThat(redis.xrange(key, Range.create("500", "+"))).isEmpty();
+      assertThat(redis.xrange("missing", Range.create("-", "+"))).isEmpty();
+   }
+
+   public void testXread() {
+      RedisCommands<String, String> redis = redisConnection.sync();
+      redis.xadd("xread1", new XAddArgs().id("1-0"), "a", "1");
+      redis.xadd("xread1", new XAddArgs().id("2-0"), "a", "2");
+      redis.xadd("xread2", new XAddArgs().id("3-0"), "b", "3");
+
+      List<StreamMessage<String, String>> messages = redis.xread(
+            XReadArgs.StreamOffset.from("xread1", "1-0"), XReadArgs.StreamOffset.from("xread2", "0"));
+      assertThat(messages).extracting(StreamMessage::getStream).containsExactly("xread1", "xread2");
+      assertThat(messages).extracting(StreamMessage::getId).containsExactly("2-0", "3-0");
+
+      messages = redis.xread(XReadArgs.Builder.count(1), XReadArgs.StreamOffset.from("xread1", "0"));
+      assertThat(messages).extracting(StreamMessage::getId).containsExactly("1-0");
+
+      assertThat(redis.xread(XReadArgs.StreamOffset.latest("xread1"))).isEmpty();
+   }
+
+   public void testBlockingXread() throws Exception {
+      RedisAsyncCommands<String, String> async = newConnection().async();
+      RedisCommands<String, String> redis = redisConnection.sync();
+      redis.xadd("xread-block", new XAddArgs().id("1-0"), "a", "1");
+
+      RedisFuture<List<StreamMessage<String, String>>> future = async.xread(XReadArgs.Builder.block(0),
+            XReadArgs.StreamOffset.latest("xread-block"));
+      // The command does not return the entries already in the stream
+      Thread.sleep(100);
+      assertThat(future.isDone()).isFalse();
+
+      redis.xadd("xread-block", new XAddArgs().id("2-0"), "a", "2");
+      List<StreamMessage<String, String>> messages = future.get(10, TimeUnit.SECONDS);
+      assertThat(messages).extracting(StreamMessage::getId).containsExactly("2-0");
+
+      // Expires with no entries
+      assertThat(redis.xread(XReadArgs.Builder.block(50), XReadArgs.StreamOffset.latest("xread-block"))).isEmpty();
+   }
+
+   public void testConsumerGroups() {
+      RedisCommands<String, String> redis = redisConnection.sync();
+      String key = "xgroup";
+      assertThatThrownBy(() -> redis.xgroupCreate(XReadArgs.StreamOffset.from(key, "0"), "g1"))
+            .isInstanceOf(RedisCommandExecutionException.class)
+            .hasMessageContaining("requires the key to exist");
+      assertThat(redis.xgroupCreate(XReadArgs.StreamOffset.from(key, "0"), "g1", XGroupCreateArgs.Builder.mkstream()))
+            .isEqualTo("OK");
+      assertThatThrownBy(() -> redis.xgroupCreate(XReadArgs.StreamOffset.from(key, "0"), "g1"))
+            .isInstanceOf(RedisCommandExecutionException.class)
+            .hasMessageStartingWith("BUSYGROUP");
+
+      for (int i = 1; i <= 5; i++) {
+         redis.xadd(key, new XAddArgs().id(i + "-0"), "f", String.valueOf(i));
+      }
+
+      List<StreamMessage<String, String>> messages = redis.xreadgroup(Consumer.from("g1", "c1"),
+            XReadArgs.Builder.count(2), XReadArgs.StreamOffset.lastConsumed(key));
+      assertThat(messages).extracting(StreamMessage::getId).containsExactly("1-0", "2-0");
+      messages = redis.xreadgroup(Consumer.from("g1", "c2"), XReadArgs.StreamOffset.lastConsumed(key));
+      assertThat(messages).extracting(StreamMessage::getId).containsExactly("3-0", "4-0", "5-0");
+      assertThat(redis.xreadgroup(Consumer.from("g1", "c2"), XReadArgs.StreamOffset.lastConsumed(key))).isEmpty();
+
+      // Pending entries of each consumer
+      messages = redis.xreadgroup(Consumer.from("g1", "c1"), XReadArgs.StreamOffset.from(key, "0"));
+      assertThat(messages).extracting(StreamMessage::getId).containsExactly("1-0", "2-0");
+      assertThat(redis.xack(key, "g1", "1-0", "3-0", "9-0")).isEqualTo(2);
+      messages = redis.xreadgroup(Consumer.from("g1", "c1"), XReadArgs.StreamOffset.from(key, "0"));
+      assertThat(messages).extracting(StreamMessage::getId).containsExactly("2-0");
+      messages = redis.xreadgroup(Consumer.from("g1", "c2"), XReadArgs.StreamOffset.from(key, "0"));
+      assertThat(messages).extracting(StreamMessage::getId).containsExactly("4-0", "5-0");
+
+      // A group created at the end of the stream only receives new entries
+      assertThat(redis.xgroupCreate(XReadArgs.StreamOffset.latest(key), "g2")).isEqualTo("OK");
+      assertThat(redis.xreadgroup(Consumer.from("g2", "c1"), XReadArgs.StreamOffset.lastConsumed(key))).isEmpty();
+      redis.xadd(key, new XAddArgs().id("6-0"), "f", "6");
+      messages = redis.xreadgroup(Consumer.from("g2", "c1"), XReadArgs.StreamOffset.lastConsumed(key));
+      assertThat(messages).extracting(StreamMessage::getId).containsExactly("6-0");
+
+      assertThat(redis.xgroupDestroy(key, "g2")).isTrue();
+      assertThat(redis.xgroupDestroy(key, "g2")).isFalse();
+      assertThatThrownBy(() -> redis.xreadgroup(Consumer.from("g2", "c1"), XReadArgs.StreamOffset.lastConsumed(key)))
+            .isInstanceOf(RedisCommandExecutionException.class)
+            .hasMessageStartingWith("NOGROUP");
+   }
+
+   public void testBlockingXreadgroup() throws Exception {
+      RedisAsyncCommands<String, String> async = newConnection().async();
+      RedisCommands<String, String> redis = redisConnection.sync();
+      String key = "xreadgroup-block";
+      redis.xgroupCreate(XReadArgs.StreamOffset.latest(key), "g", XGroupCreateArgs.Builder.mkstream());
+
+      RedisFuture<List<StreamMessage<String, String>>> future = async.xreadgroup(Consumer.from("g", "c"),
+            XReadArgs.Builder.block(0), XReadArgs.StreamOffset.lastConsumed(key));
+      Thread.sleep(100);
+      assertThat(future.isDone()).isFalse();
+
+      redis.xadd(key, new XAddArgs().id("1-0"), "a", "1");
+      List<StreamMessage<String, String>> messages = future.get(10, TimeUnit.SECONDS);
+      assertThat(messages).extracting(StreamMessage::getId).containsExactly("1-0");
+      assertThat(redis.xack(key, "g", "1-0")).isEqualTo(1);
+   }
+
+   public void testBlockingXreadgroupTimeoutRacingXadd() throws Exception {
+      RedisAsyncCommands<String, String> async = newConnection().async();
+      RedisCommands<String, String> redis = redisConnection.sync();
+      String key = "xreadgroup-block-race";
+      redis.xgroupCreate(XReadArgs.StreamOffset.latest(key), "g", XGroupCreateArgs.Builder.mkstream());
+
+      // With NOACK an entry consumed by a read that lost against the timeout would be lost for good
+      List<String> added = new ArrayList<>();
+      List<String> read = new ArrayList<>();
+      for (int i = 1; i <= 100; i++) {
+         RedisFuture<List<StreamMessage<String, String>>> future = async.xreadgroup(Consumer.from("g", "c"),
+               XReadArgs.Builder.block(i % 10 + 1).noack(true), XReadArgs.StreamOffset.lastConsumed(key));
+         added.add(redis.xadd(key, new XAddArgs().id(i + "-0"), "a", String.valueOf(i)));
+         future.get(10, TimeUnit.SECONDS).forEach(m -> read.add(m.getId()));
+      }
+      redis.xreadgroup(Consumer.from("g", "c"), XReadArgs.Builder.noack(true), XReadArgs.StreamOffset.lastConsumed(key))
+            .forEach(m -> read.add(m.getId()));
+      assertThat(read).containsExactlyElementsOf(added);
+   }
+}
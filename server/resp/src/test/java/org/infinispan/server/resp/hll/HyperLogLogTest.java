@@ -139,6 +139,83 @@ public void testConcurrentOperationsRepresentation(HLLRepresentation representat
       assertThat(representation.cardinality()).isEqualTo(expected);
    }
 
+   public void testMergeExplicitRepresentations() {
+      HyperLogLog first = new HyperLogLog();
+      HyperLogLog second = new HyperLogLog();
+      for (int i = 0; i < 100; i++) {
+         first.add(("hll-" + i).getBytes(StandardCharsets.US_ASCII));
+         second.add(("hll-" + (i + 50)).getBytes(StandardCharsets.US_ASCII));
+      }
+
+      first.merge(second);
+
+      // The union is still below the threshold and keeps an exact cardinality.
+      assertThat(first.store()).isInstanceOf(ExplicitSet.class);
+      assertThat(first.cardinality()).isEqualTo(150L);
+      assertThat(second.cardinality()).isEqualTo(100L);
+
+      // The union reaches the size threshold.
+      HyperLogLog third = new HyperLogLog();
+      HyperLogLog all = new HyperLogLog();
+      for (int i = 0; i < 200; i++) {
+         if (i >= 150) third.add(("hll-" + i).getBytes(StandardCharsets.US_ASCII));
+         all.add(("hll-" + i).getBytes(StandardCharsets.US_ASCII));
+      }
+      first.merge(third);
+
+      assertThat(first.store()).isInstanceOf(CompactSet.class);
+      assertThat(first).isEqualTo(all);
+   }
+
+   public void testMergeCompactRepresentations() {
+      HyperLogLog first = new HyperLogLog();
+      HyperLogLog second = new HyperLogLog();
+      HyperLogLog all = new HyperLogLog();
+      for (int i = 0; i < 10_000; i++) {
+         byte[] value = ("hll-" + i).getBytes(StandardCharsets.US_ASCII);
+         all.add(value);
+         if (i % 2 == 0) first.add(value);
+         else second.add(value);
+      }
+
+      first.merge(second);
+
+      // Merging the registers is the same as adding all elements to a single HLL.
+      assertThat(first.store()).isInstanceOf(CompactSet.class);
+      assertThat(first).isEqualTo(all);
+      assertThat(first.cardinality()).isEqualTo(all.cardinality());
+   }
+
+   public void testMergeCompactIntoExplicitRepresentation() {
+      HyperLogLog explicit = new HyperLogLog();
+      HyperLogLog compact = new HyperLogLog();
+      HyperLogLog all = new HyperLogLog();
+      for (int i = 0; i < 10; i++) {
+         byte[] value = ("explicit-" + i).getBytes(StandardCharsets.US_ASCII);
+         explicit.add(value);
+         all.add(value);
+      }
+      for (int i = 0; i < 1000; i++) {
+         byte[] value = ("compact-" + i).getBytes(StandardCharsets.US_ASCII);
+         compact.add(value);
+         all.add(value);
+      }
+
+      explicit.merge(compact);
+
+      assertThat(explicit.store()).isInstanceOf(CompactSet.class);
+      assertThat(explicit).isEqualTo(all);
+
+      // Merging an explicit representation into a compact one.
+      HyperLogLog small = new HyperLogLog();
+      small.add("small".getBytes(StandardCharsets.US_ASCII));
+      all.add("small".getBytes(StandardCharsets.US_ASCII));
+      compact.merge(small);
+      compact.merge(explicit);
+
+      assertThat(compact).isEqualTo(all);
+   }
+
    @DataProvider
    protected Object[][] representations() {
       return new Object[][] {
@@ -0,0 +1,88 @@
+package org.infinispan.server.resp.profiling;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.server.resp.hll.internal.CompactSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the cardinality estimation, the merge and the insertion throughput of the compact HyperLogLog
+ * representation, which are the operations behind <code>PFCOUNT</code>, <code>PFMERGE</code> and <code>PFADD</code>.
+ */
+public class HyperLogLogBenchmark {
+
+   private static final int MEASUREMENT_ITERATIONS_COUNT = 10;
+   private static final int WARMUP_ITERATIONS_COUNT = 10;
+
+   public static void main(String[] args) throws Exception {
+      Options opt = new OptionsBuilder()
+            .include(HyperLogLogBenchmark.class.getName() + ".*")
+            .mode(Mode.Throughput)
+            .timeUnit(TimeUnit.MILLISECONDS)
+            .warmupIterations(WARMUP_ITERATIONS_COUNT)
+            .measurementIterations(MEASUREMENT_ITERATIONS_COUNT)
+            .forks(3)
+            .shouldFailOnError(true)
+            .build();
+
+      new Runner(opt).run();
+   }
+
+   @State(Scope.Thread)
+   public static class CompactState {
+      @Param({"1000", "100000", "10000000"})
+      int cardinality;
+
+      CompactSet populated;
+      CompactSet other;
+      byte[][] elements;
+      int next;
+
+      @Setup(Level.Trial)
+      public void setup() {
+         populated = populate("first-", cardinality);
+         other = populate("second-", cardinality);
+         elements = new byte[1024][];
+         for (int i = 0; i < elements.length; i++) {
+            elements[i] = ("element-" + i).getBytes(StandardCharsets.US_ASCII);
+         }
+      }
+
+      private static CompactSet populate(String prefix, int cardinality) {
+         CompactSet set = new CompactSet();
+         for (int i = 0; i < cardinality; i++) {
+            set.set((prefix + i).getBytes(StandardCharsets.US_ASCII));
+         }
+         return set;
+      }
+   }
+
+   @Benchmark
+   public long cardinality(CompactState state) {
+      return state.populated.cardinality();
+   }
+
+   @Benchmark
+   public long mergeAndCount(CompactState state) {
+      // A fresh set is the temporary union of a multi-key PFCOUNT.
+      CompactSet union = new CompactSet();
+      union.merge(state.populated);
+      union.merge(state.other);
+      return union.cardinality();
+   }
+
+   @Benchmark
+   public boolean add(CompactState state) {
+      return state.populated.set(state.elements[state.next++ & (state.elements.length - 1)]);
+   }
+}
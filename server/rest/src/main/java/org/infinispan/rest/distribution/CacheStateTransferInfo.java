@@ -0,0 +1,103 @@
+package org.infinispan.rest.distribution;
+
+import static org.infinispan.commons.marshall.ProtoStreamTypeIds.CACHE_STATE_TRANSFER_INFO;
+
+import org.infinispan.commons.dataconversion.internal.Json;
+import org.infinispan.commons.dataconversion.internal.JsonSerialization;
+import org.infinispan.protostream.annotations.ProtoFactory;
+import org.infinispan.protostream.annotations.ProtoField;
+import org.infinispan.protostream.annotations.ProtoTypeId;
+import org.infinispan.statetransfer.OutboundTransferStatistics;
+import org.infinispan.statetransfer.StateTransferManager;
+import org.infinispan.statetransfer.StateTransferProgress;
+
+import net.jcip.annotations.Immutable;
+
+/**
+ * Progress of the state transfer of a cache on a node.
+ * <p/>
+ * The remaining times are estimated from the segments transferred so far, and are -1 when no segment has been
+ * transferred yet.
+ *
+ * @since 15.1
+ */
+@Immutable
+@ProtoTypeId(CACHE_STATE_TRANSFER_INFO)
+public class CacheStateTransferInfo implements JsonSerialization {
+   private final String cacheName;
+   private final double inboundProgress;
+   private final long inboundRemainingTime;
+   private final double outboundProgress;
+   private final long outboundRemainingTime;
+   private final long outboundThroughput;
+   private final double outboundCompressionRatio;
+
+   @ProtoFactory
+   public CacheStateTransferInfo(String cacheName, double inboundProgress, long inboundRemainingTime,
+                                 double outboundProgress, long outboundRemainingTime, long outboundThroughput,
+                                 double outboundCompressionRatio) {
+      this.cacheName = cacheName;
+      this.inboundProgress = inboundProgress;
+      this.inboundRemainingTime = inboundRemainingTime;
+      this.outboundProgress = outboundProgress;
+      this.outboundRemainingTime = outboundRemainingTime;
+      this.outboundThroughput = outboundThroughput;
+      this.outboundCompressionRatio = outboundCompressionRatio;
+   }
+
+   @ProtoField(1)
+   public String cacheName() {
+      return cacheName;
+   }
+
+   @ProtoField(value = 2, defaultValue = "100")
+   public double inboundProgress() {
+      return inboundProgress;
+   }
+
+   @ProtoField(value = 3, defaultValue = "0")
+   public long inboundRemainingTime() {
+      return inboundRemainingTime;
+   }
+
+   @ProtoField(value = 4, defaultValue = "100")
+   public double outboundProgress() {
+      return outboundProgress;
+   }
+
+   @ProtoField(value = 5, defaultValue = "0")
+   public long outboundRemainingTime() {
+      return outboundRemainingTime;
+   }
+
+   @ProtoField(value = 6, defaultValue = "0")
+   public long outboundThroughput() {
+      return outboundThroughput;
+   }
+
+   @ProtoField(value = 7, defaultValue = "1")
+   public double outboundCompressionRatio() {
+      return outboundCompressionRatio;
+   }
+
+   @Override
+   public Json toJson() {
+      return Json.object()
+            .set("cache_name", cacheName)
+            .set("inbound_progress", inboundProgress)
+            .set("inbound_remaining_time", inboundRemainingTime)
+            .set("outbound_progress", outboundProgress)
+            .set("outbound_remaining_time", outboundRemainingTime)
+            .set("outbound_throughput", outboundThroughput)
+            .set("outbound_compression_ratio", outboundCompressionRatio);
+   }
+
+   public static CacheStateTransferInfo resolve(String cacheName, StateTransferManager stateTransferManager) {
+      StateTransferProgress inbound = stateTransferManager.getStateConsumer().inboundProgress();
+      StateTransferProgress outbound = stateTransferManager.getStateProvider().outboundProgress();
+      OutboundTransferStatistics statistics = stateTransferManager.getStateProvider().getOutboundTransferStatistics();
+      return new CacheStateTransferInfo(cacheName, inbound.getPercentage(), inbound.getEstimatedRemainingMillis(),
+            outbound.getPercentage(), outbound.getEstimatedRemainingMillis(), statistics.getThroughput(),
+            statistics.getCompressionRatio());
+   }
+}
@@ -9,6 +9,8 @@
             CacheDistributionInfo.class,
             NodeDistributionInfo.class,
             KeyDistributionInfo.class,
+            NodeStateTransferInfo.class,
+            CacheStateTransferInfo.class,
       },
       schemaFileName = "persistence.distribution.proto",
       schemaFilePath = "proto/generated",
@@ -0,0 +1,80 @@
+package org.infinispan.rest.distribution;
+
+import static org.infinispan.commons.marshall.ProtoStreamTypeIds.CLUSTER_STATE_TRANSFER_INFO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.infinispan.commons.dataconversion.internal.Json;
+import org.infinispan.commons.dataconversion.internal.JsonSerialization;
+import org.infinispan.factories.ComponentRegistry;
+import org.infinispan.factories.GlobalComponentRegistry;
+import org.infinispan.lifecycle.ComponentStatus;
+import org.infinispan.manager.CacheManagerInfo;
+import org.infinispan.protostream.annotations.ProtoFactory;
+import org.infinispan.protostream.annotations.ProtoField;
+import org.infinispan.protostream.annotations.ProtoTypeId;
+import org.infinispan.statetransfer.StateTransferManager;
+
+import net.jcip.annotations.Immutable;
+
+/**
+ * Collect the state transfer progress of the clustered caches running on a node.
+ *
+ * @since 15.1
+ */
+@Immutable
+@ProtoTypeId(CLUSTER_STATE_TRANSFER_INFO)
+public class NodeStateTransferInfo implements JsonSerialization, NodeDataDistribution {
+   private final String name;
+   private final List<String> addresses;
+   private final List<CacheStateTransferInfo> caches;
+
+   @ProtoFactory
+   public NodeStateTransferInfo(String name, List<String> addresses, List<CacheStateTransferInfo> caches) {
+      this.name = name;
+      this.addresses = addresses;
+      this.caches = caches;
+   }
+
+   @ProtoField(1)
+   @Override
+   public String name() {
+      return name;
+   }
+
+   @ProtoField(value = 2, collectionImplementation = ArrayList.class)
+   @Override
+   public List<String> addresses() {
+      return addresses;
+   }
+
+   @ProtoField(value = 3, collectionImplementation = ArrayList.class)
+   public List<CacheStateTransferInfo> caches() {
+      return caches;
+   }
+
+   @Override
+   public Json toJson() {
+      return Json.object()
+            .set("node_name", name)
+            .set("node_addresses", Json.array(addresses.toArray()))
+            .set("caches", Json.array(caches.stream().map(CacheStateTransferInfo::toJson).toArray()));
+   }
+
+   public static NodeStateTransferInfo resolve(CacheManagerInfo manager, GlobalComponentRegistry registry) {
+      List<CacheStateTransferInfo> caches = new ArrayList<>();
+      manager.getCacheNames().sorted().forEach(cacheName -> {
+         ComponentRegistry cr = registry.getNamedComponentRegistry(cacheName);
+         if (cr == null || cr.getStatus() != ComponentStatus.RUNNING)
+            return;
+
+         // Local caches do not have a state transfer manager
+         StateTransferManager stateTransferManager = cr.getStateTransferManager();
+         if (stateTransferManager != null) {
+            caches.add(CacheStateTransferInfo.resolve(cacheName, stateTransferManager));
+         }
+      });
+      return new NodeStateTransferInfo(manager.getNodeName(), manager.getPhysicalAddressesRaw(), caches);
+   }
+}
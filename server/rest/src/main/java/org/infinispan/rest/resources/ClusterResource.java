@@ -25,6 +25,7 @@
 import org.infinispan.remoting.transport.Address;
 import org.infinispan.rest.InvocationHelper;
 import org.infinispan.rest.distribution.NodeDistributionInfo;
+import org.infinispan.rest.distribution.NodeStateTransferInfo;
 import org.infinispan.rest.framework.ResourceHandler;
 import org.infinispan.rest.framework.RestRequest;
 import org.infinispan.rest.framework.RestResponse;
@@ -57,6 +58,9 @@ public Invocations getInvocations() {
             .invocation().method(GET).path("/v2/cluster").withAction("distribution")
                .permission(AuthorizationPermission.MONITOR).name("CLUSTER DISTRIBUTION").auditContext(AuditContext.SERVER)
                .handleWith(this::distribution)
+            .invocation().method(GET).path("/v2/cluster").withAction("state-transfer")
+               .permission(AuthorizationPermission.MONITOR).name("CLUSTER STATE TRANSFER").auditContext(AuditContext.SERVER)
+               .handleWith(this::stateTransfer)
             .invocation().methods(GET, HEAD).path("/v2/cluster/backups")
                .permission(AuthorizationPermission.ADMIN).name("BACKUP NAMES").auditContext(AuditContext.SERVER)
                .handleWith(this::getAllBackupNames)
@@ -137,4 +141,36 @@ private CompletionStage<List<NodeDistributionInfo>> clusterDistribution() {
                return Immutables.immutableListWrap(collection.toArray(new NodeDistributionInfo[0]));
             });
    }
+
+   private CompletionStage<RestResponse> stateTransfer(RestRequest request) {
+      boolean pretty = isPretty(request);
+      return clusterStateTransfer()
+            .thenApply(infos -> asJsonResponse(invocationHelper.newResponse(request), Json.array(infos.stream()
+                  .map(NodeStateTransferInfo::toJson).toArray()), pretty));
+   }
+
+   private CompletionStage<List<NodeStateTransferInfo>> clusterStateTransfer() {
+      EmbeddedCacheManager cacheManager = invocationHelper.getProtocolServer().getCacheManager();
+      List<Address> members = cacheManager.getMembers();
+      if (members == null) {
+         NodeStateTransferInfo info = NodeStateTransferInfo
+               .resolve(cacheManager.getCacheManagerInfo(), SecurityActions.getGlobalComponentRegistry(cacheManager));
+         return CompletableFuture.completedFuture(Collections.singletonList(info));
+      }
+
+      Map<Address, NodeStateTransferInfo> infos = new ConcurrentHashMap<>(members.size());
+      return SecurityActions.getClusterExecutor(cacheManager)
+            .submitConsumer(
+                  ecm -> NodeStateTransferInfo.resolve(ecm.getCacheManagerInfo(), SecurityActions.getGlobalComponentRegistry(ecm)),
+                  (address, info, t) -> {
+                     if (t != null) {
+                        throw CompletableFutures.asCompletionException(t);
+                     }
+                     infos.putIfAbsent(address, info);
+                  })
+            .thenApply(ignore -> {
+               Collection<NodeStateTransferInfo> collection = infos.values();
+               return Immutables.immutableListWrap(collection.toArray(new NodeStateTransferInfo[0]));
+            });
+   }
 }
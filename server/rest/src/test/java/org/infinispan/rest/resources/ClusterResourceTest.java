@@ -49,4 +49,25 @@ public void testClusterDistribution() {
          assertTrue(pattern.matcher(node.at("node_name").asString()).matches());
       }
    }
+
+   @Test
+   public void testClusterStateTransfer() {
+      CompletionStage<RestResponse> response = adminClient.cluster().stateTransfer();
+      assertThat(response).isOk();
+
+      Json json = Json.read(join(response).body());
+      assertTrue(json.isArray());
+      List<Json> list = json.asJsonList();
+
+      assertEquals(NUM_SERVERS, list.size());
+      for (Json node : list) {
+         assertEquals(node.at("node_addresses").asJsonList().size(), 1);
+         for (Json cache : node.at("caches").asJsonList()) {
+            // No rebalance is running once the cluster is formed
+            assertEquals(100.0, cache.at("inbound_progress").asDouble());
+            assertEquals(100.0, cache.at("outbound_progress").asDouble());
+            assertEquals(0, cache.at("outbound_remaining_time").asLong());
+         }
+      }
+   }
 }
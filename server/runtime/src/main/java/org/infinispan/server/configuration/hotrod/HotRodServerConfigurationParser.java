@@ -97,6 +97,10 @@ private void parseHotRodConnector(ConfigurationReader reader, ServerConfiguratio
                builder.topologyNetworkPrefixOverride(Boolean.parseBoolean(value));
                break;
             }
+            case COALESCING_WINDOW: {
+               builder.coalescingWindow(Long.parseLong(value));
+               break;
+            }
             default: {
                ServerConfigurationParser.parseCommonConnectorAttributes(reader, i, serverBuilder, builder);
             }